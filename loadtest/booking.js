@@ -0,0 +1,83 @@
+// Load test of the booking and reading paths, used to compare the platform and the
+// virtual thread modes. Run it through compare.sh or directly with
+//   k6 run -e BASE_URL=http://localhost:8080 loadtest/booking.js
+// No results are committed: they depend on the hardware and the MongoDB deployment.
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const ATHLETES = Number(__ENV.ATHLETES || 500);
+const VUS = Number(__ENV.VUS || 400);
+const DURATION = __ENV.DURATION || '2m';
+const JSON_HEADERS = { headers: { 'Content-Type': 'application/json' } };
+const TRAINING_TYPES = ['STRENGHT', 'FUNCTIONAL', 'ENDURANCE', 'HIIT', 'POWER'];
+
+export const options = {
+	scenarios: {
+		mixed: {
+			executor: 'ramping-vus',
+			startVUs: 0,
+			stages: [
+				{ duration: '30s', target: VUS },
+				{ duration: DURATION, target: VUS },
+				{ duration: '15s', target: 0 },
+			],
+		},
+	},
+	thresholds: {
+		http_req_failed: ['rate<0.01'],
+	},
+	summaryTrendStats: ['avg', 'med', 'p(95)', 'p(99)', 'max'],
+};
+
+function person(document) {
+	return { name: 'Load', surname: 'Test', documentType: 'DNI', document: document };
+}
+
+export function setup() {
+	const run = Date.now();
+	const coaches = http.post(`${BASE_URL}/coaches/batch`,
+		JSON.stringify([1, 2, 3, 4, 5].map((i) => ({ personalInformation: person(`LC-${run}-${i}`) }))), JSON_HEADERS);
+	const athletes = [];
+	for (let i = 0; i < ATHLETES; i++) {
+		athletes.push({ age: 30, height: '180', personalInformation: person(`LA-${run}-${i}`) });
+	}
+	const report = http.post(`${BASE_URL}/athletes/batch`, JSON.stringify(athletes), JSON_HEADERS);
+	const created = (response) => response.json('results').filter((r) => r.status === 'CREATED').map((r) => r.id);
+	return { coachIds: created(coaches), athleteIds: created(report) };
+}
+
+function pick(list) {
+	return list[Math.floor(Math.random() * list.length)];
+}
+
+export default function (data) {
+	const athleteId = pick(data.athleteIds);
+	const roll = Math.random();
+	if (roll < 0.3) {
+		const date = new Date(Date.now() + Math.floor(Math.random() * 90 * 24) * 3600 * 1000);
+		const response = http.post(`${BASE_URL}/appointments`, JSON.stringify({
+			date: date.toISOString().substring(0, 19),
+			coachId: pick(data.coachIds),
+			athleteId: athleteId,
+			trainingTypeRecord: pick(TRAINING_TYPES),
+		}), Object.assign({ tags: { name: 'book' } }, JSON_HEADERS));
+		check(response, { 'booked': (r) => r.status === 200 });
+	} else if (roll < 0.6) {
+		const response = http.get(`${BASE_URL}/appointments/athletes/${athleteId}?slice=true&size=20`,
+			{ tags: { name: 'athleteAppointments' } });
+		check(response, { 'listed': (r) => r.status === 200 });
+	} else if (roll < 0.8) {
+		const response = http.get(`${BASE_URL}/athletes/${athleteId}`, { tags: { name: 'athlete' } });
+		check(response, { 'found': (r) => r.status === 200 });
+	} else {
+		const response = http.get(`${BASE_URL}/athletes?slice=true&size=20&view=summary`,
+			{ tags: { name: 'athletes' } });
+		check(response, { 'listed': (r) => r.status === 200 });
+	}
+}
+
+export function handleSummary(data) {
+	const output = __ENV.SUMMARY;
+	return output ? { [output]: JSON.stringify(data, null, 2) } : {};
+}
@@ -0,0 +1,47 @@
+#!/usr/bin/env bash
+# Runs booking.js against the application in the platform thread mode and in the
+# virtual thread mode, one after the other, and prints both summaries side by side.
+# Requires Java 21, k6 and jq, and a MongoDB reachable with the application.yml settings.
+# No results are committed; run it in the target environment before choosing a mode.
+#
+#   mvn -Pjava21 clean package -DskipTests
+#   loadtest/compare.sh
+#
+# VUS, DURATION and ATHLETES are passed through to booking.js.
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+JAR=$(ls target/demo-healthlifting-*.jar | head -1)
+BASE_URL=${BASE_URL:-http://localhost:8080}
+RESULTS=loadtest/results
+mkdir -p "$RESULTS"
+
+run_mode() {
+	local mode=$1 profiles=$2
+	echo "== $mode threads"
+	java -jar "$JAR" --spring.profiles.active="$profiles" > "$RESULTS/$mode.log" 2>&1 &
+	local pid=$!
+	trap 'kill $pid 2>/dev/null || true' EXIT
+	until curl -sf "$BASE_URL/actuator/health" > /dev/null; do
+		kill -0 $pid 2>/dev/null || { echo "application did not start, see $RESULTS/$mode.log"; exit 1; }
+		sleep 1
+	done
+	k6 run --quiet -e BASE_URL="$BASE_URL" -e SUMMARY="$RESULTS/$mode.json" loadtest/booking.js
+	kill $pid
+	wait $pid 2>/dev/null || true
+	trap - EXIT
+}
+
+run_mode platform default
+run_mode virtual virtual-threads
+
+printf '\n%-10s %12s %10s %10s %10s %10s\n' mode req/s avg_ms p95_ms p99_ms failed
+for mode in platform virtual; do
+	jq -r --arg mode "$mode" '[$mode,
+		(.metrics.http_reqs.values.rate | floor),
+		(.metrics.http_req_duration.values.avg * 10 | floor / 10),
+		(.metrics.http_req_duration.values["p(95)"] * 10 | floor / 10),
+		(.metrics.http_req_duration.values["p(99)"] * 10 | floor / 10),
+		(.metrics.http_req_failed.values.rate)] | @tsv' "$RESULTS/$mode.json" |
+		awk -F'\t' '{ printf "%-10s %12s %10s %10s %10s %10s\n", $1, $2, $3, $4, $5, $6 }'
+done
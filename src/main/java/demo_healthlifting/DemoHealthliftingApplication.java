@@ -4,8 +4,11 @@ import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.core.Ordered;
 
-@EnableCaching
+// The cache runs before the NegativeLookupCache and LoadCoalescer aspects, so
+// only misses reach them
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 2)
 @SpringBootApplication(exclude = { DataSourceAutoConfiguration.class })
 public class DemoHealthliftingApplication {
 
@@ -1,22 +1,59 @@
 package demo_healthlifting.application.ports.input;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
 
 import demo_healthlifting.domain.exception.BusinessException;
 import demo_healthlifting.domain.model.Appointment;
+import demo_healthlifting.domain.model.AppointmentFilter;
+import demo_healthlifting.domain.model.CoachAvailability;
+import demo_healthlifting.domain.model.ImportReport;
+import demo_healthlifting.domain.model.SearchCriterion;
+import demo_healthlifting.domain.model.TrainingTypeRecord;
 import jakarta.validation.Valid;
 
 public interface AppointmentServiceInputPort {
 
 	String createAppointment(@Valid Appointment appointment) throws BusinessException;
 
+	ImportReport importAppointments(List<Appointment> appointments) throws BusinessException;
+
 	Optional<Appointment> getAppointment(@Valid String idAppointment);
 
 	Page<Appointment> getAppointments(@Valid Pageable pageable) throws BusinessException;
 
+	Window<Appointment> getAppointments(ScrollPosition position, int size) throws BusinessException;
+
+	long countAppointments();
+
+	Page<Appointment> searchAppointments(List<SearchCriterion> criteria, Pageable pageable)
+			throws BusinessException;
+
+	Slice<Appointment> getAppointmentsSlice(Pageable pageable) throws BusinessException;
+
+	Slice<Appointment> getAppointmentsSliceByCoachId(String id, LocalDateTime from, LocalDateTime to,
+			Pageable pageable) throws BusinessException;
+
+	Slice<Appointment> getAppointmentsSliceByAthleteId(String id, LocalDateTime from, LocalDateTime to,
+			Pageable pageable) throws BusinessException;
+
+	long countAppointmentsByCoachId(String id, LocalDateTime from, LocalDateTime to);
+
+	long countAppointmentsByAthleteId(String id, LocalDateTime from, LocalDateTime to);
+
+	Slice<Appointment> searchAppointments(AppointmentFilter filter, Pageable pageable) throws BusinessException;
+
+	long countAppointments(AppointmentFilter filter);
+
 	Page<Appointment> getAppointmentsByCoachDocument(String document, Pageable pageable) throws BusinessException;
 
 	Page<Appointment> getAppointmentsByAthleteDocument(String document, Pageable pageable) throws BusinessException;
@@ -27,8 +64,15 @@ public interface AppointmentServiceInputPort {
 
 	void deleteAppointment(@Valid String id) throws BusinessException;
 
-	Page<Appointment> getAppointmentsByCoachId(String id, Pageable pageable) throws BusinessException;
+	Page<Appointment> getAppointmentsByCoachId(String id, LocalDateTime from, LocalDateTime to, Pageable pageable)
+			throws BusinessException;
+
+	Page<Appointment> getAppointmentsByAthleteId(String id, LocalDateTime from, LocalDateTime to, Pageable pageable)
+			throws BusinessException;
+
+	List<CoachAvailability> getCoachesAvailability(List<String> coachIds, LocalDateTime from, LocalDateTime to,
+			TrainingTypeRecord trainingType, Duration duration) throws BusinessException;
 
-	Page<Appointment> getAppointmentsByAthleteId(String id, Pageable pageable) throws BusinessException;
+	Stream<Appointment> exportAppointments();
 
 }
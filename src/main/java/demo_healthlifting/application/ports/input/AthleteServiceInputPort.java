@@ -1,22 +1,47 @@
 package demo_healthlifting.application.ports.input;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
 
 import demo_healthlifting.domain.exception.BusinessException;
 import demo_healthlifting.domain.model.Athlete;
+import demo_healthlifting.domain.model.ImportReport;
+import demo_healthlifting.domain.model.AthleteSummary;
+import demo_healthlifting.domain.model.PersonSuggestion;
+import demo_healthlifting.domain.model.SearchCriterion;
 import jakarta.validation.Valid;
 
 public interface AthleteServiceInputPort {
 
 	String createAthlete(@Valid Athlete athlete);
 
+	ImportReport importAthletes(List<Athlete> athletes) throws BusinessException;
+
 	Optional<Athlete> getAthlete(@Valid String idAthlete);
 
 	Page<Athlete> getAthletes(@Valid Pageable pageable) throws BusinessException;
 
+	Window<Athlete> getAthletes(ScrollPosition position, int size) throws BusinessException;
+
+	long countAthletes();
+
+	Page<Athlete> searchAthletes(List<SearchCriterion> criteria, Pageable pageable) throws BusinessException;
+
+	List<PersonSuggestion> suggestAthletes(String prefix, int limit) throws BusinessException;
+
+	Slice<Athlete> getAthletesSlice(Pageable pageable) throws BusinessException;
+
+	Page<AthleteSummary> getAthleteSummaries(Pageable pageable) throws BusinessException;
+
+	Slice<AthleteSummary> getAthleteSummariesSlice(Pageable pageable) throws BusinessException;
+
 	void modificationPartialAthlete(@Valid Athlete inputAthlete) throws BusinessException;
 
 	void modificationTotalAthlete(@Valid Athlete inputAthlete) throws BusinessException;
@@ -25,4 +50,6 @@ public interface AthleteServiceInputPort {
 
 	Optional<Athlete> findByAthletePersonalInformationDocument(@Valid String document);
 
+	Stream<Athlete> exportAthletes();
+
 }
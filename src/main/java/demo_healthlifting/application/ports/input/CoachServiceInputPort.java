@@ -1,22 +1,47 @@
 package demo_healthlifting.application.ports.input;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
 
 import demo_healthlifting.domain.exception.BusinessException;
 import demo_healthlifting.domain.model.Coach;
+import demo_healthlifting.domain.model.ImportReport;
+import demo_healthlifting.domain.model.CoachSummary;
+import demo_healthlifting.domain.model.PersonSuggestion;
+import demo_healthlifting.domain.model.SearchCriterion;
 import jakarta.validation.Valid;
 
 public interface CoachServiceInputPort {
 
 	String createCoach(@Valid Coach coach);
 
+	ImportReport importCoaches(List<Coach> coaches) throws BusinessException;
+
 	Optional<Coach> getCoach(@Valid String idCoach);
 
 	Page<Coach> getCoaches(@Valid Pageable pageable) throws BusinessException;
 
+	Window<Coach> getCoaches(ScrollPosition position, int size) throws BusinessException;
+
+	long countCoaches();
+
+	Page<Coach> searchCoaches(List<SearchCriterion> criteria, Pageable pageable) throws BusinessException;
+
+	List<PersonSuggestion> suggestCoaches(String prefix, int limit) throws BusinessException;
+
+	Slice<Coach> getCoachesSlice(Pageable pageable) throws BusinessException;
+
+	Page<CoachSummary> getCoachSummaries(Pageable pageable) throws BusinessException;
+
+	Slice<CoachSummary> getCoachSummariesSlice(Pageable pageable) throws BusinessException;
+
 	void modificationPartialCoach(@Valid Coach inputCoach) throws BusinessException;
 
 	void modificationTotalCoach(@Valid Coach inputCoach) throws BusinessException;
@@ -25,4 +50,6 @@ public interface CoachServiceInputPort {
 
 	Optional<Coach> findByCoachPersonalInformationDocument(@Valid String document);
 
+	Stream<Coach> exportCoaches();
+
 }
@@ -0,0 +1,27 @@
+package demo_healthlifting.application.ports.input;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.domain.Pageable;
+
+import demo_healthlifting.domain.model.Appointment;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveAppointmentServiceInputPort {
+
+	Mono<String> createAppointment(Appointment appointment);
+
+	Mono<Appointment> getAppointment(String idAppointment);
+
+	Flux<Appointment> getAppointments(Pageable pageable);
+
+	Flux<Appointment> getAppointmentsByCoachId(String id, LocalDateTime from, LocalDateTime to, Pageable pageable);
+
+	Flux<Appointment> getAppointmentsByAthleteId(String id, LocalDateTime from, LocalDateTime to, Pageable pageable);
+
+	Mono<Void> modificationPartialAppointment(Appointment inputAppointment);
+
+	Mono<Void> deleteAppointment(String idAppointment);
+
+}
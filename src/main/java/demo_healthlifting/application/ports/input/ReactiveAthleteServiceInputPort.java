@@ -0,0 +1,23 @@
+package demo_healthlifting.application.ports.input;
+
+import org.springframework.data.domain.Pageable;
+
+import demo_healthlifting.domain.model.Athlete;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveAthleteServiceInputPort {
+
+	Mono<String> createAthlete(Athlete athlete);
+
+	Mono<Athlete> getAthlete(String idAthlete);
+
+	Flux<Athlete> getAthletes(Pageable pageable);
+
+	Mono<Athlete> findByAthletePersonalInformationDocument(String document);
+
+	Mono<Void> modificationPartialAthlete(Athlete inputAthlete);
+
+	Mono<Void> deleteAthlete(String idAthlete);
+
+}
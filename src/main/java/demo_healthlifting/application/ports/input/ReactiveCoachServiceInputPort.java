@@ -0,0 +1,23 @@
+package demo_healthlifting.application.ports.input;
+
+import org.springframework.data.domain.Pageable;
+
+import demo_healthlifting.domain.model.Coach;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveCoachServiceInputPort {
+
+	Mono<String> createCoach(Coach coach);
+
+	Mono<Coach> getCoach(String idCoach);
+
+	Flux<Coach> getCoaches(Pageable pageable);
+
+	Mono<Coach> findByCoachPersonalInformationDocument(String document);
+
+	Mono<Void> modificationPartialCoach(Coach inputCoach);
+
+	Mono<Void> deleteCoach(String idCoach);
+
+}
@@ -0,0 +1,25 @@
+package demo_healthlifting.application.ports.input;
+
+import org.springframework.data.domain.Pageable;
+
+import demo_healthlifting.domain.model.TrainingSheet;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveTrainingSheetServiceInputPort {
+
+	Mono<String> createTrainingSheet(TrainingSheet trainingSheet);
+
+	Mono<TrainingSheet> getTrainingSheet(String idTrainingSheet);
+
+	Flux<TrainingSheet> getTrainingSheets(Pageable pageable);
+
+	Flux<TrainingSheet> getTrainingSheetsByAthleteId(String athleteId, Pageable pageable);
+
+	Flux<TrainingSheet> getTrainingSheetsByCoachId(String coachId, Pageable pageable);
+
+	Mono<Void> modificationPartialTrainingSheet(TrainingSheet inputTrainingSheet);
+
+	Mono<Void> deleteTrainingSheet(String idTrainingSheet);
+
+}
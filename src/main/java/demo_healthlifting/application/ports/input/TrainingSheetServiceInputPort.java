@@ -1,12 +1,19 @@
 package demo_healthlifting.application.ports.input;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
 
 import demo_healthlifting.domain.exception.BusinessException;
+import demo_healthlifting.domain.model.SearchCriterion;
 import demo_healthlifting.domain.model.TrainingSheet;
+import demo_healthlifting.domain.model.TrainingSheetFilter;
 import jakarta.validation.Valid;
 
 public interface TrainingSheetServiceInputPort {
@@ -16,6 +23,19 @@ public interface TrainingSheetServiceInputPort {
 
 	Page<TrainingSheet> getTrainingSheets(@Valid Pageable pageable) throws BusinessException;
 
+	Window<TrainingSheet> getTrainingSheets(ScrollPosition position, int size) throws BusinessException;
+
+	long countTrainingSheets();
+
+	Page<TrainingSheet> searchTrainingSheets(List<SearchCriterion> criteria, Pageable pageable)
+			throws BusinessException;
+
+	Slice<TrainingSheet> searchTrainingSheets(TrainingSheetFilter filter, Pageable pageable) throws BusinessException;
+
+	long countTrainingSheets(TrainingSheetFilter filter);
+
+	Slice<TrainingSheet> getTrainingSheetsSlice(Pageable pageable) throws BusinessException;
+
 	Page<TrainingSheet> getTrainingSheetsByAthleteId(@Valid String athleteId, Pageable pageable)
 			throws BusinessException;
 
@@ -27,4 +47,6 @@ public interface TrainingSheetServiceInputPort {
 
 	void deleteTrainingSheet(@Valid String idTrainingSheet) throws BusinessException;
 
-}
\ No newline at end of file
+	Stream<TrainingSheet> exportTrainingSheets();
+
+}
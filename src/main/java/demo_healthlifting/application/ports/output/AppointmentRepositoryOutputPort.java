@@ -1,26 +1,62 @@
 package demo_healthlifting.application.ports.output;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
 
 import demo_healthlifting.domain.exception.BusinessException;
 import demo_healthlifting.domain.model.Appointment;
+import demo_healthlifting.domain.model.AppointmentFilter;
+import demo_healthlifting.domain.model.ImportResult;
+import demo_healthlifting.domain.model.SearchCriterion;
 import jakarta.validation.Valid;
 
 public interface AppointmentRepositoryOutputPort {
 
 	Appointment createAppointment(@Valid Appointment appointment);
 
+	List<ImportResult> createAppointments(List<Appointment> appointments);
+
 	Optional<Appointment> getAppointment(@Valid String idAppointment);
 
-	Page<Appointment> getAppointmentsByCoachId(String id, Pageable pageable) throws BusinessException;
+	Page<Appointment> getAppointmentsByCoachId(String id, LocalDateTime from, LocalDateTime to, Pageable pageable)
+			throws BusinessException;
 
-	Page<Appointment> getAppointmentsByAthleteId(String id, Pageable pageable) throws BusinessException;
+	Page<Appointment> getAppointmentsByAthleteId(String id, LocalDateTime from, LocalDateTime to, Pageable pageable)
+			throws BusinessException;
 
 	Page<Appointment> getAppointments(@Valid Pageable pageable);
 
+	Window<Appointment> getAppointments(ScrollPosition position, int size);
+
+	long countAppointments();
+
+	Page<Appointment> searchAppointments(List<SearchCriterion> criteria, Pageable pageable)
+			throws BusinessException;
+
+	Slice<Appointment> getAppointmentsSlice(Pageable pageable);
+
+	Slice<Appointment> getAppointmentsSliceByCoachId(String id, LocalDateTime from, LocalDateTime to,
+			Pageable pageable);
+
+	Slice<Appointment> getAppointmentsSliceByAthleteId(String id, LocalDateTime from, LocalDateTime to,
+			Pageable pageable);
+
+	long countAppointmentsByCoachId(String id, LocalDateTime from, LocalDateTime to);
+
+	long countAppointmentsByAthleteId(String id, LocalDateTime from, LocalDateTime to);
+
+	Slice<Appointment> findAppointments(AppointmentFilter filter, Pageable pageable);
+
+	long countAppointments(AppointmentFilter filter);
+
 	Page<Appointment> getAppointmentsByCoachPersonalInformationDocument(String document, Pageable pageable);
 
 	Page<Appointment> getAppointmentsByAthletePersonalInformationDocument(String document, Pageable pageable);
@@ -31,4 +67,6 @@ public interface AppointmentRepositoryOutputPort {
 
 	Appointment addAppointment(@Valid Appointment appointment);
 
+	Stream<Appointment> streamAppointments();
+
 }
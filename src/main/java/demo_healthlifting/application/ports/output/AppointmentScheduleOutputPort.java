@@ -0,0 +1,24 @@
+package demo_healthlifting.application.ports.output;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import demo_healthlifting.domain.exception.BusinessException;
+import demo_healthlifting.domain.model.Appointment;
+import demo_healthlifting.domain.model.FreeSlot;
+import demo_healthlifting.domain.model.TrainingTypeRecord;
+
+public interface AppointmentScheduleOutputPort {
+
+	void reserve(Appointment appointment) throws BusinessException;
+
+	void reschedule(Appointment previous, Appointment updated) throws BusinessException;
+
+	void release(Appointment appointment);
+
+	Duration sessionDuration(TrainingTypeRecord trainingType);
+
+	List<FreeSlot> findCoachFreeSlots(String coachId, LocalDateTime from, LocalDateTime to, Duration duration);
+
+}
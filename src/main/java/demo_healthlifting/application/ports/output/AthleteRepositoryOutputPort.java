@@ -1,21 +1,54 @@
 package demo_healthlifting.application.ports.output;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
 
+import demo_healthlifting.domain.exception.BusinessException;
 import demo_healthlifting.domain.model.Athlete;
+import demo_healthlifting.domain.model.AthleteSummary;
+import demo_healthlifting.domain.model.ImportResult;
+import demo_healthlifting.domain.model.PersonSuggestion;
+import demo_healthlifting.domain.model.SearchCriterion;
 import jakarta.validation.Valid;
 
 public interface AthleteRepositoryOutputPort {
 
 	String createAthlete(@Valid Athlete athlete);
 
+	List<ImportResult> createAthletes(List<Athlete> athletes);
+
+	Set<String> findExistingAthleteDocuments(Collection<String> documents);
+
+	List<AthleteSummary> getAthleteSummariesById(Collection<String> ids);
+
 	Optional<Athlete> getAthlete(@Valid String idAthlete);;
 
 	Page<Athlete> getAthletes(@Valid Pageable pageable);
 
+	Window<Athlete> getAthletes(ScrollPosition position, int size);
+
+	long countAthletes();
+
+	Page<Athlete> searchAthletes(List<SearchCriterion> criteria, Pageable pageable) throws BusinessException;
+
+	List<PersonSuggestion> suggestAthletes(String prefix, int limit);
+
+	Slice<Athlete> getAthletesSlice(Pageable pageable);
+
+	Page<AthleteSummary> getAthleteSummaries(Pageable pageable);
+
+	Slice<AthleteSummary> getAthleteSummariesSlice(Pageable pageable);
+
 	void modifyAthlete(@Valid Athlete updated);
 
 	void deleteAthlete(@Valid String idAthlete);
@@ -24,4 +57,16 @@ public interface AthleteRepositoryOutputPort {
 
 	Optional<Athlete> findByAthletePersonalInformationDocument(@Valid String document);
 
+	void addAppointment(String idAthlete, String idAppointment);
+
+	void removeAppointment(String idAthlete, String idAppointment);
+
+	void addAppointments(Map<String, List<String>> idAppointmentsByAthlete);
+
+	void addTrainingSheet(String idAthlete, String idTrainingSheet);
+
+	void removeTrainingSheet(String idAthlete, String idTrainingSheet);
+
+	Stream<Athlete> streamAthletes();
+
 }
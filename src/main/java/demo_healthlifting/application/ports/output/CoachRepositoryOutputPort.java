@@ -1,27 +1,72 @@
 package demo_healthlifting.application.ports.output;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
 
+import demo_healthlifting.domain.exception.BusinessException;
 import demo_healthlifting.domain.model.Coach;
+import demo_healthlifting.domain.model.CoachSummary;
+import demo_healthlifting.domain.model.ImportResult;
+import demo_healthlifting.domain.model.PersonSuggestion;
+import demo_healthlifting.domain.model.SearchCriterion;
 import jakarta.validation.Valid;
 
 public interface CoachRepositoryOutputPort {
 
 	String createCoach(@Valid Coach coach);
 
+	List<ImportResult> createCoaches(List<Coach> coaches);
+
+	Set<String> findExistingCoachDocuments(Collection<String> documents);
+
+	List<CoachSummary> getCoachSummariesById(Collection<String> ids);
+
 	Optional<Coach> getCoach(@Valid String idCoach);
 
 	Optional<Coach> getCoachById(@Valid String coachId);
 
 	Page<Coach> getCoaches(@Valid Pageable pageable);
 
+	Window<Coach> getCoaches(ScrollPosition position, int size);
+
+	long countCoaches();
+
+	Page<Coach> searchCoaches(List<SearchCriterion> criteria, Pageable pageable) throws BusinessException;
+
+	List<PersonSuggestion> suggestCoaches(String prefix, int limit);
+
+	Slice<Coach> getCoachesSlice(Pageable pageable);
+
+	Page<CoachSummary> getCoachSummaries(Pageable pageable);
+
+	Slice<CoachSummary> getCoachSummariesSlice(Pageable pageable);
+
 	void modifyCoach(@Valid Coach updated);
 
 	void deleteCoach(@Valid String idCoach);
 
 	Optional<Coach> findByCoachPersonalInformationDocument(@Valid String document);
 
+	void addAppointment(String idCoach, String idAppointment);
+
+	void removeAppointment(String idCoach, String idAppointment);
+
+	void addAppointments(Map<String, List<String>> idAppointmentsByCoach);
+
+	void addTrainingSheet(String idCoach, String idTrainingSheet);
+
+	void removeTrainingSheet(String idCoach, String idTrainingSheet);
+
+	Stream<Coach> streamCoaches();
+
 }
@@ -0,0 +1,27 @@
+package demo_healthlifting.application.ports.output;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.domain.Pageable;
+
+import demo_healthlifting.domain.model.Appointment;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveAppointmentRepositoryOutputPort {
+
+	Mono<Appointment> createAppointment(Appointment appointment);
+
+	Mono<Appointment> getAppointment(String idAppointment);
+
+	Flux<Appointment> getAppointments(Pageable pageable);
+
+	Flux<Appointment> getAppointmentsByCoachId(String id, LocalDateTime from, LocalDateTime to, Pageable pageable);
+
+	Flux<Appointment> getAppointmentsByAthleteId(String id, LocalDateTime from, LocalDateTime to, Pageable pageable);
+
+	Mono<Void> modifyAppointment(Appointment updated);
+
+	Mono<Void> deleteAppointment(String idAppointment);
+
+}
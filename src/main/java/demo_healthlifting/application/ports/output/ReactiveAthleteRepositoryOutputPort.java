@@ -0,0 +1,33 @@
+package demo_healthlifting.application.ports.output;
+
+import org.springframework.data.domain.Pageable;
+
+import demo_healthlifting.domain.model.Athlete;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveAthleteRepositoryOutputPort {
+
+	Mono<String> createAthlete(Athlete athlete);
+
+	Mono<Athlete> getAthlete(String idAthlete);
+
+	Mono<Athlete> getAthleteById(String idAthlete);
+
+	Flux<Athlete> getAthletes(Pageable pageable);
+
+	Mono<Athlete> findByAthletePersonalInformationDocument(String document);
+
+	Mono<Void> modifyAthlete(Athlete updated);
+
+	Mono<Void> deleteAthlete(String idAthlete);
+
+	Mono<Void> addAppointment(String idAthlete, String idAppointment);
+
+	Mono<Void> removeAppointment(String idAthlete, String idAppointment);
+
+	Mono<Void> addTrainingSheet(String idAthlete, String idTrainingSheet);
+
+	Mono<Void> removeTrainingSheet(String idAthlete, String idTrainingSheet);
+
+}
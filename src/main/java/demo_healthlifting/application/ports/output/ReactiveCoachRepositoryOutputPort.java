@@ -0,0 +1,33 @@
+package demo_healthlifting.application.ports.output;
+
+import org.springframework.data.domain.Pageable;
+
+import demo_healthlifting.domain.model.Coach;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveCoachRepositoryOutputPort {
+
+	Mono<String> createCoach(Coach coach);
+
+	Mono<Coach> getCoach(String idCoach);
+
+	Mono<Coach> getCoachById(String idCoach);
+
+	Flux<Coach> getCoaches(Pageable pageable);
+
+	Mono<Coach> findByCoachPersonalInformationDocument(String document);
+
+	Mono<Void> modifyCoach(Coach updated);
+
+	Mono<Void> deleteCoach(String idCoach);
+
+	Mono<Void> addAppointment(String idCoach, String idAppointment);
+
+	Mono<Void> removeAppointment(String idCoach, String idAppointment);
+
+	Mono<Void> addTrainingSheet(String idCoach, String idTrainingSheet);
+
+	Mono<Void> removeTrainingSheet(String idCoach, String idTrainingSheet);
+
+}
@@ -0,0 +1,25 @@
+package demo_healthlifting.application.ports.output;
+
+import org.springframework.data.domain.Pageable;
+
+import demo_healthlifting.domain.model.TrainingSheet;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveTrainingSheetRepositoryOutputPort {
+
+	Mono<TrainingSheet> createTrainingSheet(TrainingSheet trainingSheet);
+
+	Mono<TrainingSheet> getTrainingSheet(String idTrainingSheet);
+
+	Flux<TrainingSheet> getTrainingSheets(Pageable pageable);
+
+	Flux<TrainingSheet> getTrainingSheetsByAthleteId(String id, Pageable pageable);
+
+	Flux<TrainingSheet> getTrainingSheetsByCoachId(String id, Pageable pageable);
+
+	Mono<Void> modifyTrainingSheet(TrainingSheet updated);
+
+	Mono<Void> deleteTrainingSheet(String idTrainingSheet);
+
+}
@@ -1,12 +1,19 @@
 package demo_healthlifting.application.ports.output;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
 
 import demo_healthlifting.domain.exception.BusinessException;
+import demo_healthlifting.domain.model.SearchCriterion;
 import demo_healthlifting.domain.model.TrainingSheet;
+import demo_healthlifting.domain.model.TrainingSheetFilter;
 import jakarta.validation.Valid;
 
 public interface TrainingSheetRepositoryOutputPort {
@@ -16,6 +23,19 @@ public interface TrainingSheetRepositoryOutputPort {
 
 	Page<TrainingSheet> getTrainingSheets(@Valid Pageable pageable);
 
+	Window<TrainingSheet> getTrainingSheets(ScrollPosition position, int size);
+
+	long countTrainingSheets();
+
+	Page<TrainingSheet> searchTrainingSheets(List<SearchCriterion> criteria, Pageable pageable)
+			throws BusinessException;
+
+	Slice<TrainingSheet> findTrainingSheets(TrainingSheetFilter filter, Pageable pageable);
+
+	long countTrainingSheets(TrainingSheetFilter filter);
+
+	Slice<TrainingSheet> getTrainingSheetsSlice(Pageable pageable);
+
 	void modifyTrainingSheet(@Valid TrainingSheet updated);
 
 	void deleteTrainingSheet(@Valid String idTrainingSheet);
@@ -24,4 +44,6 @@ public interface TrainingSheetRepositoryOutputPort {
 
 	Page<TrainingSheet> getTrainingSheetsByCoachId(String id, Pageable pageable) throws BusinessException;
 
+	Stream<TrainingSheet> streamTrainingSheets();
+
 }
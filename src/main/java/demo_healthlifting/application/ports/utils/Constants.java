@@ -1,9 +1,17 @@
 package demo_healthlifting.application.ports.utils;
 
+import java.util.Set;
+
 public class Constants {
 	private Constants() {
 		// Private constructor
 	}
 	
 	public static final int MAXIMUM_PAGINATION = 100;
+
+	public static final int MAXIMUM_SEARCH_FILTERS = 10;
+
+	public static final int MAXIMUM_SEARCH_VALUES = 100;
+
+	public static final Set<String> APPOINTMENT_SEARCH_SORT_FIELDS = Set.of("date", "id");
 }
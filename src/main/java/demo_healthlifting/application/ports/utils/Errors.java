@@ -8,5 +8,22 @@ public class Errors {
 	public static final String MAXIMUM_PAGINATION_EXCEEDED = "MAXIMUM_PAGINATION_EXCEEDED";
 	public static final String PERSON_NOT_FOUND = "PERSON_NOT_FOUND";
 	public static final String APPOINTMENT_NOT_FOUND = "APPOINTMENT_NOT_FOUND";
+	public static final String INVALID_CURSOR = "INVALID_CURSOR";
+	public static final String INVALID_PAGE_SIZE = "INVALID_PAGE_SIZE";
+	public static final String INVALID_VIEW = "INVALID_VIEW";
+	public static final String UNSUPPORTED_EXPORT_FORMAT = "UNSUPPORTED_EXPORT_FORMAT";
+	public static final String MAXIMUM_IMPORT_EXCEEDED = "MAXIMUM_IMPORT_EXCEEDED";
+	public static final String REQUIRED_FIELDS_MISSING = "REQUIRED_FIELDS_MISSING";
+	public static final String DUPLICATED_DOCUMENT = "DUPLICATED_DOCUMENT";
+	public static final String DUPLICATED_APPOINTMENT = "DUPLICATED_APPOINTMENT";
+	public static final String DUPLICATED_KEY = "DUPLICATED_KEY";
+	public static final String APPOINTMENT_NOT_LINKED = "APPOINTMENT_NOT_LINKED";
+	public static final String SCHEDULE_CONFLICT = "SCHEDULE_CONFLICT";
+	public static final String INVALID_DATE_RANGE = "INVALID_DATE_RANGE";
+	public static final String INVALID_DURATION = "INVALID_DURATION";
+	public static final String MAXIMUM_AVAILABILITY_EXCEEDED = "MAXIMUM_AVAILABILITY_EXCEEDED";
+	public static final String WRITE_FAILED = "WRITE_FAILED";
+	public static final String INVALID_SEARCH_FILTER = "INVALID_SEARCH_FILTER";
+	public static final String MAXIMUM_SEARCH_FILTERS_EXCEEDED = "MAXIMUM_SEARCH_FILTERS_EXCEEDED";
 
 }
@@ -1,18 +1,40 @@
 package demo_healthlifting.application.service;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 
 import demo_healthlifting.application.ports.input.AppointmentServiceInputPort;
 import demo_healthlifting.application.ports.input.AthleteServiceInputPort;
 import demo_healthlifting.application.ports.input.CoachServiceInputPort;
 import demo_healthlifting.application.ports.output.AppointmentRepositoryOutputPort;
+import demo_healthlifting.application.ports.output.AppointmentScheduleOutputPort;
 import demo_healthlifting.application.ports.output.AthleteRepositoryOutputPort;
 import demo_healthlifting.application.ports.output.CoachRepositoryOutputPort;
 import demo_healthlifting.application.ports.utils.Constants;
@@ -20,8 +42,19 @@ import demo_healthlifting.application.ports.utils.Errors;
 import demo_healthlifting.domain.exception.BusinessException;
 import demo_healthlifting.domain.mapper.HealthliftingPatchMapper;
 import demo_healthlifting.domain.model.Appointment;
+import demo_healthlifting.domain.model.AppointmentFilter;
 import demo_healthlifting.domain.model.Athlete;
+import demo_healthlifting.domain.model.AthleteSummary;
 import demo_healthlifting.domain.model.Coach;
+import demo_healthlifting.domain.model.CoachAvailability;
+import demo_healthlifting.domain.model.CoachSummary;
+import demo_healthlifting.domain.model.ImportReport;
+import demo_healthlifting.domain.model.ImportResult;
+import demo_healthlifting.domain.model.ImportStatus;
+import demo_healthlifting.domain.model.PersonSuggestion;
+import demo_healthlifting.domain.model.PersonalInformation;
+import demo_healthlifting.domain.model.SearchCriterion;
+import demo_healthlifting.domain.model.TrainingTypeRecord;
 import jakarta.transaction.Transactional;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
@@ -40,9 +73,28 @@ public class HealthliftingService
 	@Autowired
 	AppointmentRepositoryOutputPort appointmentRepository;
 
+	@Autowired
+	AppointmentScheduleOutputPort appointmentSchedule;
+
 	@Autowired
 	HealthliftingPatchMapper healthliftingPatchMapper;
 
+	@Autowired
+	@Qualifier("applicationTaskExecutor")
+	Executor repositoryExecutor;
+
+	@Value("${healthlifting.relations.embedded-ids:true}")
+	boolean embeddedIds;
+
+	@Value("${healthlifting.import.max-rows:10000}")
+	int maxImportRows;
+
+	@Value("${healthlifting.availability.max-coaches:500}")
+	int maxAvailabilityCoaches;
+
+	@Value("${healthlifting.availability.max-days:31}")
+	int maxAvailabilityDays;
+
 	/**
 	 * Creates a new athlete.
 	 *
@@ -92,11 +144,16 @@ public class HealthliftingService
 	}
 
 	/**
-	 * Creates a new appointment.
+	 * Creates a new appointment. The athlete and the coach are looked up
+	 * concurrently and the session is booked in their schedules before saving it.
+	 * Once the appointment is saved, it is added to both of them concurrently. If
+	 * either link fails the other one, the appointment and the booking are undone.
 	 *
 	 * @param appointment the appointment to be created
 	 * @return the ID of the newly created appointment
-	 * @throws BusinessException if there is a problem creating the appointment
+	 * @throws BusinessException if the athlete or the coach is not found, either
+	 *                           of them is already booked at that time, or the
+	 *                           appointment could not be linked to them
 	 */
 	@Override
 	@Transactional
@@ -108,62 +165,213 @@ public class HealthliftingService
 			throw new IllegalArgumentException("El objeto appointment no puede ser null.");
 		}
 
-		String exitId = null;
-
-		// Buscar al atleta por su ID
-		log.debug("Looking for athlete with ID: {}", appointment.getAthleteId());
-		Optional<Athlete> athleteOpt = athleteRepository.getAthleteById(appointment.getAthleteId());
-		if (athleteOpt.isPresent()) {
-			Athlete athlete = athleteOpt.get();
-			log.debug("Atleta encontrado: {}", athlete);
-
-			// Buscar al entrenador por su ID
-			log.debug("Looking for coach with ID: {}", appointment.getCoachId());
-			Optional<Coach> coachOpt = coachRepository.getCoachById(appointment.getCoachId());
-			if (coachOpt.isPresent()) {
-				Coach coach = coachOpt.get();
-				log.debug("Entrenador encontrado: {}", coach);
-
-				// Establecer los datos del atleta en la cita
-				appointment.setAthleteId(athlete.getId());
-				appointment.setAthleteName(athlete.getPersonalInformation().getName());
-				appointment.setAthleteSurname(athlete.getPersonalInformation().getSurname());
-				appointment.setAthleteDocument(athlete.getPersonalInformation().getDocument());
-
-				// Establecer los datos del entrenador en la cita
-				appointment.setCoachId(coach.getId());
-				appointment.setCoachName(coach.getPersonalInformation().getName());
-				appointment.setCoachSurname(coach.getPersonalInformation().getSurname());
-				appointment.setCoachDocument(coach.getPersonalInformation().getDocument());
-
-				// Guardar la cita
-				log.debug("Saving the appointment");
-				Appointment savedAppointment = appointmentRepository.addAppointment(appointment);
-				exitId = savedAppointment.getId();
-				log.debug("Appointment saved with ID: {}", exitId);
-
-				// Añadir la cita a la lista de citas del atleta
-				log.debug("Adding appointment to athlete's list of appointments");
-				athlete.getIdAppointments().add(savedAppointment.getId());
-				athleteRepository.modifyAthlete(athlete);
-
-				// Añadir la cita a la lista de citas del entrenador
-				log.debug("Adding appointment to coach's list of appointments");
-				coach.getIdAppointments().add(savedAppointment.getId());
-				coachRepository.modifyCoach(coach);
+		// Buscar al atleta y al entrenador a la vez
+		log.debug("Looking for athlete {} and coach {}", appointment.getAthleteId(), appointment.getCoachId());
+		CompletableFuture<Optional<Athlete>> athleteFuture = CompletableFuture
+				.supplyAsync(() -> athleteRepository.getAthleteById(appointment.getAthleteId()), repositoryExecutor);
+		CompletableFuture<Optional<Coach>> coachFuture = CompletableFuture
+				.supplyAsync(() -> coachRepository.getCoachById(appointment.getCoachId()), repositoryExecutor);
 
-			} else {
-				log.error("Entrenador no encontrado con ID: {}", appointment.getCoachId());
-				throw new BusinessException(Errors.PERSON_NOT_FOUND);
-			}
-		} else {
+		Optional<Athlete> athleteOpt = join(athleteFuture);
+		if (athleteOpt.isEmpty()) {
 			log.error("Atleta no encontrado con ID: {}", appointment.getAthleteId());
 			throw new BusinessException(Errors.PERSON_NOT_FOUND);
 		}
+		Optional<Coach> coachOpt = join(coachFuture);
+		if (coachOpt.isEmpty()) {
+			log.error("Entrenador no encontrado con ID: {}", appointment.getCoachId());
+			throw new BusinessException(Errors.PERSON_NOT_FOUND);
+		}
+		Athlete athlete = athleteOpt.get();
+		Coach coach = coachOpt.get();
+
+		// Establecer los datos del atleta en la cita
+		appointment.setAthleteId(athlete.getId());
+		appointment.setAthleteName(athlete.getPersonalInformation().getName());
+		appointment.setAthleteSurname(athlete.getPersonalInformation().getSurname());
+		appointment.setAthleteDocument(athlete.getPersonalInformation().getDocument());
+
+		// Establecer los datos del entrenador en la cita
+		appointment.setCoachId(coach.getId());
+		appointment.setCoachName(coach.getPersonalInformation().getName());
+		appointment.setCoachSurname(coach.getPersonalInformation().getSurname());
+		appointment.setCoachDocument(coach.getPersonalInformation().getDocument());
+
+		// Reservar la sesión en las agendas del atleta y del entrenador
+		appointmentSchedule.reserve(appointment);
+
+		// Guardar la cita
+		log.debug("Saving the appointment");
+		String exitId;
+		try {
+			exitId = appointmentRepository.addAppointment(appointment).getId();
+		} catch (RuntimeException e) {
+			appointmentSchedule.release(appointment);
+			throw e;
+		}
+		log.debug("Appointment saved with ID: {}", exitId);
+
+		// Las citas se consultan por athleteId/coachId, las listas de ids son opcionales
+		if (embeddedIds) {
+			try {
+				linkAppointment(exitId, athlete.getId(), coach.getId());
+			} catch (BusinessException e) {
+				appointmentSchedule.release(appointment);
+				throw e;
+			}
+		}
+
 		log.debug("Exiting createAppointment with exitId: {}", exitId);
 		return exitId;
 	}
 
+	/**
+	 * Imports a batch of athletes. Null rows, rows without a document, and rows
+	 * whose document is repeated in the batch or already in use are rejected and
+	 * the rest are inserted in bulk.
+	 *
+	 * @param athletes the athletes to be imported
+	 * @return the result of every row, in request order
+	 * @throws BusinessException if the batch exceeds the maximum allowed
+	 */
+	@Override
+	public ImportReport importAthletes(List<Athlete> athletes) throws BusinessException {
+		log.debug("importAthletes");
+		long start = System.nanoTime();
+		checkImportSize(athletes);
+
+		ImportResult[] results = new ImportResult[athletes.size()];
+		List<Integer> accepted = acceptByDocument(athletes, Athlete::getPersonalInformation,
+				athleteRepository::findExistingAthleteDocuments, results);
+		List<Athlete> newAthletes = accepted.stream().map(athletes::get).toList();
+		newAthletes.forEach(athlete -> {
+			athlete.setIdAppointments(new ArrayList<>());
+			athlete.setIdTrainingSheet(new ArrayList<>());
+		});
+
+		merge(results, accepted, athleteRepository.createAthletes(newAthletes));
+		return report("importAthletes", results, start);
+	}
+
+	/**
+	 * Imports a batch of coaches. Null rows, rows without a document, and rows
+	 * whose document is repeated in the batch or already in use are rejected and
+	 * the rest are inserted in bulk.
+	 *
+	 * @param coaches the coaches to be imported
+	 * @return the result of every row, in request order
+	 * @throws BusinessException if the batch exceeds the maximum allowed
+	 */
+	@Override
+	public ImportReport importCoaches(List<Coach> coaches) throws BusinessException {
+		log.debug("importCoaches");
+		long start = System.nanoTime();
+		checkImportSize(coaches);
+
+		ImportResult[] results = new ImportResult[coaches.size()];
+		List<Integer> accepted = acceptByDocument(coaches, Coach::getPersonalInformation,
+				coachRepository::findExistingCoachDocuments, results);
+		List<Coach> newCoaches = accepted.stream().map(coaches::get).toList();
+		newCoaches.forEach(coach -> {
+			coach.setIdAppointments(new ArrayList<>());
+			coach.setIdTrainingSheet(new ArrayList<>());
+		});
+
+		merge(results, accepted, coachRepository.createCoaches(newCoaches));
+		return report("importCoaches", results, start);
+	}
+
+	/**
+	 * Imports a batch of appointments. The athletes and coaches of the whole batch
+	 * are resolved with one query each, rows repeated in the batch or with an
+	 * unknown athlete or coach are rejected, and the rest are inserted in bulk and
+	 * linked to their athlete and coach with one bulk update per collection.
+	 *
+	 * @param appointments the appointments to be imported
+	 * @return the result of every row, in request order
+	 * @throws BusinessException if the batch exceeds the maximum allowed
+	 */
+	@Override
+	public ImportReport importAppointments(List<Appointment> appointments) throws BusinessException {
+		log.debug("importAppointments");
+		long start = System.nanoTime();
+		checkImportSize(appointments);
+
+		ImportResult[] results = new ImportResult[appointments.size()];
+		Set<List<Object>> seen = new HashSet<>();
+		List<Integer> valid = new ArrayList<>();
+		for (int i = 0; i < appointments.size(); i++) {
+			Appointment appointment = appointments.get(i);
+			if (appointment == null || appointment.getDate() == null || appointment.getCoachId() == null
+					|| appointment.getAthleteId() == null || appointment.getTrainingTypeRecord() == null) {
+				results[i] = ImportResult.rejected(i, ImportStatus.INVALID, Errors.REQUIRED_FIELDS_MISSING);
+			} else if (!seen
+					.add(List.of(appointment.getCoachId(), appointment.getAthleteId(), appointment.getDate()))) {
+				results[i] = ImportResult.rejected(i, ImportStatus.DUPLICATED, Errors.DUPLICATED_APPOINTMENT);
+			} else {
+				valid.add(i);
+			}
+		}
+
+		Map<String, AthleteSummary> athletes = athleteRepository
+				.getAthleteSummariesById(valid.stream().map(i -> appointments.get(i).getAthleteId()).toList())
+				.stream().collect(Collectors.toMap(AthleteSummary::getId, Function.identity()));
+		Map<String, CoachSummary> coaches = coachRepository
+				.getCoachSummariesById(valid.stream().map(i -> appointments.get(i).getCoachId()).toList())
+				.stream().collect(Collectors.toMap(CoachSummary::getId, Function.identity()));
+
+		List<Integer> accepted = new ArrayList<>();
+		for (int i : valid) {
+			Appointment appointment = appointments.get(i);
+			AthleteSummary athlete = athletes.get(appointment.getAthleteId());
+			CoachSummary coach = coaches.get(appointment.getCoachId());
+			if (athlete == null || coach == null) {
+				results[i] = ImportResult.rejected(i, ImportStatus.INVALID, Errors.PERSON_NOT_FOUND);
+				continue;
+			}
+			appointment.setAthleteName(athlete.getPersonalInformation().getName());
+			appointment.setAthleteSurname(athlete.getPersonalInformation().getSurname());
+			appointment.setAthleteDocument(athlete.getPersonalInformation().getDocument());
+			appointment.setCoachName(coach.getPersonalInformation().getName());
+			appointment.setCoachSurname(coach.getPersonalInformation().getSurname());
+			appointment.setCoachDocument(coach.getPersonalInformation().getDocument());
+			try {
+				appointmentSchedule.reserve(appointment);
+			} catch (BusinessException e) {
+				results[i] = ImportResult.rejected(i, ImportStatus.CONFLICT, e.getMessage());
+				continue;
+			}
+			accepted.add(i);
+		}
+
+		List<Appointment> newAppointments = accepted.stream().map(appointments::get).toList();
+		List<ImportResult> created;
+		try {
+			created = appointmentRepository.createAppointments(newAppointments);
+		} catch (RuntimeException e) {
+			newAppointments.forEach(appointmentSchedule::release);
+			throw e;
+		}
+		created.stream().filter(result -> result.getStatus() != ImportStatus.CREATED)
+				.forEach(result -> appointmentSchedule.release(newAppointments.get(result.getIndex())));
+		merge(results, accepted, created);
+
+		if (embeddedIds) {
+			Map<String, List<String>> byAthlete = new HashMap<>();
+			Map<String, List<String>> byCoach = new HashMap<>();
+			for (ImportResult result : created) {
+				if (result.getStatus() == ImportStatus.CREATED) {
+					Appointment appointment = newAppointments.get(result.getIndex());
+					byAthlete.computeIfAbsent(appointment.getAthleteId(), id -> new ArrayList<>()).add(result.getId());
+					byCoach.computeIfAbsent(appointment.getCoachId(), id -> new ArrayList<>()).add(result.getId());
+				}
+			}
+			athleteRepository.addAppointments(byAthlete);
+			coachRepository.addAppointments(byCoach);
+		}
+		return report("importAppointments", results, start);
+	}
+
 	/**
 	 * Retrieves an athlete by ID.
 	 *
@@ -286,44 +494,52 @@ public class HealthliftingService
 	}
 
 	/**
-	 * Retrieves a paginated list of appointments by coach ID.
+	 * Retrieves a paginated list of appointments by coach ID, optionally within a
+	 * date range.
 	 *
 	 * @param id       the ID of the coach
+	 * @param from     the inclusive start of the date range, or null
+	 * @param to       the inclusive end of the date range, or null
 	 * @param pageable the pagination information
 	 * @return a paginated list of appointments
 	 * @throws BusinessException if the coach is not found
 	 */
 	@Override
 	@Transactional
-	public Page<Appointment> getAppointmentsByCoachId(String id, Pageable pageable) throws BusinessException {
+	public Page<Appointment> getAppointmentsByCoachId(String id, LocalDateTime from, LocalDateTime to,
+			Pageable pageable) throws BusinessException {
 		log.debug("getAppointmentByCoachId");
 
 		Optional<Coach> coachOpt = coachRepository.getCoachById(id);
 		if (coachOpt.isPresent()) {
 			Coach coach = coachOpt.get();
-			return appointmentRepository.getAppointmentsByCoachId(coach.getId(), pageable);
+			return appointmentRepository.getAppointmentsByCoachId(coach.getId(), from, to, pageable);
 		} else {
 			throw new BusinessException(Errors.PERSON_NOT_FOUND);
 		}
 	}
 
 	/**
-	 * Retrieves a paginated list of appointments by athlete ID.
+	 * Retrieves a paginated list of appointments by athlete ID, optionally within
+	 * a date range.
 	 *
 	 * @param id       the ID of the athlete
+	 * @param from     the inclusive start of the date range, or null
+	 * @param to       the inclusive end of the date range, or null
 	 * @param pageable the pagination information
 	 * @return a paginated list of appointments
 	 * @throws BusinessException if the athlete is not found
 	 */
 	@Override
 	@Transactional
-	public Page<Appointment> getAppointmentsByAthleteId(String id, Pageable pageable) throws BusinessException {
+	public Page<Appointment> getAppointmentsByAthleteId(String id, LocalDateTime from, LocalDateTime to,
+			Pageable pageable) throws BusinessException {
 		log.debug("getAppointmentsByAthleteId");
 
 		Optional<Athlete> athleteOpt = athleteRepository.getAthlete(id);
 		if (athleteOpt.isPresent()) {
 			Athlete athlete = athleteOpt.get();
-			return appointmentRepository.getAppointmentsByAthleteId(athlete.getId(), pageable);
+			return appointmentRepository.getAppointmentsByAthleteId(athlete.getId(), from, to, pageable);
 		} else {
 			throw new BusinessException(Errors.PERSON_NOT_FOUND);
 		}
@@ -348,6 +564,136 @@ public class HealthliftingService
 		return athleteRepository.getAthletes(pageable);
 	}
 
+	/**
+	 * Retrieves the athletes that follow a keyset position.
+	 *
+	 * @param position the position of the last athlete already returned
+	 * @param size     the maximum number of athletes
+	 * @return a window of athletes
+	 * @throws BusinessException if the size is not positive or exceeds the maximum
+	 */
+	@Override
+	public Window<Athlete> getAthletes(ScrollPosition position, int size) throws BusinessException {
+		log.debug("getAthletesByPosition");
+
+		if (size <= 0) {
+			throw new BusinessException(Errors.INVALID_PAGE_SIZE);
+		}
+		if (size >= Constants.MAXIMUM_PAGINATION) {
+			throw new BusinessException(Errors.MAXIMUM_PAGINATION_EXCEEDED);
+		}
+
+		return athleteRepository.getAthletes(position, size);
+	}
+
+	/**
+	 * Counts the athletes that are not eliminated.
+	 *
+	 * @return the number of athletes
+	 */
+	@Override
+	public long countAthletes() {
+		log.debug("countAthletes");
+
+		return athleteRepository.countAthletes();
+	}
+
+	/**
+	 * Retrieves a page of the athletes that match every search criterion.
+	 *
+	 * @param criteria the search criteria
+	 * @param pageable the pagination information
+	 * @return a page of athletes
+	 * @throws BusinessException if the pagination size exceeds the maximum allowed
+	 *                           or a criterion is not accepted
+	 */
+	@Override
+	public Page<Athlete> searchAthletes(List<SearchCriterion> criteria, Pageable pageable) throws BusinessException {
+		log.debug("searchAthletes");
+
+		if (pageable.getPageSize() >= Constants.MAXIMUM_PAGINATION) {
+			throw new BusinessException(Errors.MAXIMUM_PAGINATION_EXCEEDED);
+		}
+		return athleteRepository.searchAthletes(criteria, pageable);
+	}
+
+	/**
+	 * Suggests the athletes whose name, surname or document starts with the text
+	 * typed, ignoring accents and case.
+	 *
+	 * @param prefix the text typed
+	 * @param limit  the maximum number of suggestions
+	 * @return the suggested athletes
+	 * @throws BusinessException if the text is blank or the limit exceeds the
+	 *                           maximum allowed
+	 */
+	@Override
+	public List<PersonSuggestion> suggestAthletes(String prefix, int limit) throws BusinessException {
+		log.debug("suggestAthletes");
+
+		if (prefix == null || prefix.isBlank()) {
+			throw new BusinessException(Errors.REQUIRED_FIELDS_MISSING);
+		}
+		if (limit >= Constants.MAXIMUM_PAGINATION) {
+			throw new BusinessException(Errors.MAXIMUM_PAGINATION_EXCEEDED);
+		}
+		return athleteRepository.suggestAthletes(prefix, limit);
+	}
+
+	/**
+	 * Retrieves a slice of athletes, without counting them.
+	 *
+	 * @param pageable the pagination information
+	 * @return a slice of athletes
+	 * @throws BusinessException if the pagination size exceeds the maximum allowed
+	 */
+	@Override
+	public Slice<Athlete> getAthletesSlice(Pageable pageable) throws BusinessException {
+		log.debug("getAthletesSlice");
+
+		if (pageable.getPageSize() >= Constants.MAXIMUM_PAGINATION) {
+			throw new BusinessException(Errors.MAXIMUM_PAGINATION_EXCEEDED);
+		}
+
+		return athleteRepository.getAthletesSlice(pageable);
+	}
+
+	/**
+	 * Retrieves a paginated list of athlete summaries.
+	 *
+	 * @param pageable the pagination information
+	 * @return a paginated list of athlete summaries
+	 * @throws BusinessException if the pagination size exceeds the maximum allowed
+	 */
+	@Override
+	public Page<AthleteSummary> getAthleteSummaries(Pageable pageable) throws BusinessException {
+		log.debug("getAthleteSummaries");
+
+		if (pageable.getPageSize() >= Constants.MAXIMUM_PAGINATION) {
+			throw new BusinessException(Errors.MAXIMUM_PAGINATION_EXCEEDED);
+		}
+
+		return athleteRepository.getAthleteSummaries(pageable);
+	}
+
+	/**
+	 * Retrieves a slice of athlete summaries, without counting them.
+	 *
+	 * @param pageable the pagination information
+	 * @return a slice of athlete summaries
+	 * @throws BusinessException if the pagination size exceeds the maximum allowed
+	 */
+	@Override
+	public Slice<AthleteSummary> getAthleteSummariesSlice(Pageable pageable) throws BusinessException {
+		log.debug("getAthleteSummariesSlice");
+
+		if (pageable.getPageSize() >= Constants.MAXIMUM_PAGINATION) {
+			throw new BusinessException(Errors.MAXIMUM_PAGINATION_EXCEEDED);
+		}
+
+		return athleteRepository.getAthleteSummariesSlice(pageable);
+	}
+
 	/**
 	 * Retrieves a paginated list of coaches.
 	 *
@@ -367,6 +713,136 @@ public class HealthliftingService
 		return coachRepository.getCoaches(pageable);
 	}
 
+	/**
+	 * Retrieves the coaches that follow a keyset position.
+	 *
+	 * @param position the position of the last coach already returned
+	 * @param size     the maximum number of coaches
+	 * @return a window of coaches
+	 * @throws BusinessException if the size is not positive or exceeds the maximum
+	 */
+	@Override
+	public Window<Coach> getCoaches(ScrollPosition position, int size) throws BusinessException {
+		log.debug("getCoachesByPosition");
+
+		if (size <= 0) {
+			throw new BusinessException(Errors.INVALID_PAGE_SIZE);
+		}
+		if (size >= Constants.MAXIMUM_PAGINATION) {
+			throw new BusinessException(Errors.MAXIMUM_PAGINATION_EXCEEDED);
+		}
+
+		return coachRepository.getCoaches(position, size);
+	}
+
+	/**
+	 * Counts the coaches that are not eliminated.
+	 *
+	 * @return the number of coaches
+	 */
+	@Override
+	public long countCoaches() {
+		log.debug("countCoaches");
+
+		return coachRepository.countCoaches();
+	}
+
+	/**
+	 * Retrieves a page of the coaches that match every search criterion.
+	 *
+	 * @param criteria the search criteria
+	 * @param pageable the pagination information
+	 * @return a page of coaches
+	 * @throws BusinessException if the pagination size exceeds the maximum allowed
+	 *                           or a criterion is not accepted
+	 */
+	@Override
+	public Page<Coach> searchCoaches(List<SearchCriterion> criteria, Pageable pageable) throws BusinessException {
+		log.debug("searchCoaches");
+
+		if (pageable.getPageSize() >= Constants.MAXIMUM_PAGINATION) {
+			throw new BusinessException(Errors.MAXIMUM_PAGINATION_EXCEEDED);
+		}
+		return coachRepository.searchCoaches(criteria, pageable);
+	}
+
+	/**
+	 * Suggests the coaches whose name, surname or document starts with the text
+	 * typed, ignoring accents and case.
+	 *
+	 * @param prefix the text typed
+	 * @param limit  the maximum number of suggestions
+	 * @return the suggested coaches
+	 * @throws BusinessException if the text is blank or the limit exceeds the
+	 *                           maximum allowed
+	 */
+	@Override
+	public List<PersonSuggestion> suggestCoaches(String prefix, int limit) throws BusinessException {
+		log.debug("suggestCoaches");
+
+		if (prefix == null || prefix.isBlank()) {
+			throw new BusinessException(Errors.REQUIRED_FIELDS_MISSING);
+		}
+		if (limit >= Constants.MAXIMUM_PAGINATION) {
+			throw new BusinessException(Errors.MAXIMUM_PAGINATION_EXCEEDED);
+		}
+		return coachRepository.suggestCoaches(prefix, limit);
+	}
+
+	/**
+	 * Retrieves a slice of coaches, without counting them.
+	 *
+	 * @param pageable the pagination information
+	 * @return a slice of coaches
+	 * @throws BusinessException if the pagination size exceeds the maximum allowed
+	 */
+	@Override
+	public Slice<Coach> getCoachesSlice(Pageable pageable) throws BusinessException {
+		log.debug("getCoachesSlice");
+
+		if (pageable.getPageSize() >= Constants.MAXIMUM_PAGINATION) {
+			throw new BusinessException(Errors.MAXIMUM_PAGINATION_EXCEEDED);
+		}
+
+		return coachRepository.getCoachesSlice(pageable);
+	}
+
+	/**
+	 * Retrieves a paginated list of coach summaries.
+	 *
+	 * @param pageable the pagination information
+	 * @return a paginated list of coach summaries
+	 * @throws BusinessException if the pagination size exceeds the maximum allowed
+	 */
+	@Override
+	public Page<CoachSummary> getCoachSummaries(Pageable pageable) throws BusinessException {
+		log.debug("getCoachSummaries");
+
+		if (pageable.getPageSize() >= Constants.MAXIMUM_PAGINATION) {
+			throw new BusinessException(Errors.MAXIMUM_PAGINATION_EXCEEDED);
+		}
+
+		return coachRepository.getCoachSummaries(pageable);
+	}
+
+	/**
+	 * Retrieves a slice of coach summaries, without counting them.
+	 *
+	 * @param pageable the pagination information
+	 * @return a slice of coach summaries
+	 * @throws BusinessException if the pagination size exceeds the maximum allowed
+	 */
+	@Override
+	public Slice<CoachSummary> getCoachSummariesSlice(Pageable pageable) throws BusinessException {
+		log.debug("getCoachSummariesSlice");
+
+		if (pageable.getPageSize() >= Constants.MAXIMUM_PAGINATION) {
+			throw new BusinessException(Errors.MAXIMUM_PAGINATION_EXCEEDED);
+		}
+
+		return coachRepository.getCoachSummariesSlice(pageable);
+	}
+
 	/**
 	 * Retrieves a paginated list of appointments.
 	 *
@@ -386,6 +862,195 @@ public class HealthliftingService
 		return appointmentRepository.getAppointments(pageable);
 	}
 
+	/**
+	 * Retrieves the appointments that follow a keyset position.
+	 *
+	 * @param position the position of the last appointment already returned
+	 * @param size     the maximum number of appointments
+	 * @return a window of appointments
+	 * @throws BusinessException if the size is not positive or exceeds the maximum
+	 */
+	@Override
+	public Window<Appointment> getAppointments(ScrollPosition position, int size) throws BusinessException {
+		log.debug("getAppointmentsByPosition");
+
+		if (size <= 0) {
+			throw new BusinessException(Errors.INVALID_PAGE_SIZE);
+		}
+		if (size >= Constants.MAXIMUM_PAGINATION) {
+			throw new BusinessException(Errors.MAXIMUM_PAGINATION_EXCEEDED);
+		}
+
+		return appointmentRepository.getAppointments(position, size);
+	}
+
+	/**
+	 * Counts the appointments that are not eliminated.
+	 *
+	 * @return the number of appointments
+	 */
+	@Override
+	public long countAppointments() {
+		log.debug("countAppointments");
+
+		return appointmentRepository.countAppointments();
+	}
+
+	/**
+	 * Retrieves a page of the appointments that match every search criterion.
+	 *
+	 * @param criteria the search criteria
+	 * @param pageable the pagination information
+	 * @return a page of appointments
+	 * @throws BusinessException if the pagination size exceeds the maximum allowed
+	 *                           or a criterion is not accepted
+	 */
+	@Override
+	public Page<Appointment> searchAppointments(List<SearchCriterion> criteria, Pageable pageable)
+			throws BusinessException {
+		log.debug("searchAppointments");
+
+		if (pageable.getPageSize() >= Constants.MAXIMUM_PAGINATION) {
+			throw new BusinessException(Errors.MAXIMUM_PAGINATION_EXCEEDED);
+		}
+		return appointmentRepository.searchAppointments(criteria, pageable);
+	}
+
+	/**
+	 * Retrieves a slice of appointments, without counting them.
+	 *
+	 * @param pageable the pagination information
+	 * @return a slice of appointments
+	 * @throws BusinessException if the pagination size exceeds the maximum allowed
+	 */
+	@Override
+	public Slice<Appointment> getAppointmentsSlice(Pageable pageable) throws BusinessException {
+		log.debug("getAppointmentsSlice");
+
+		if (pageable.getPageSize() >= Constants.MAXIMUM_PAGINATION) {
+			throw new BusinessException(Errors.MAXIMUM_PAGINATION_EXCEEDED);
+		}
+
+		return appointmentRepository.getAppointmentsSlice(pageable);
+	}
+
+	/**
+	 * Retrieves a slice of appointments by coach ID, optionally within a date
+	 * range, without counting them.
+	 *
+	 * @param id       the ID of the coach
+	 * @param from     the inclusive start of the date range, or null
+	 * @param to       the inclusive end of the date range, or null
+	 * @param pageable the pagination information
+	 * @return a slice of appointments
+	 * @throws BusinessException if the coach is not found
+	 */
+	@Override
+	public Slice<Appointment> getAppointmentsSliceByCoachId(String id, LocalDateTime from, LocalDateTime to,
+			Pageable pageable) throws BusinessException {
+		log.debug("getAppointmentsSliceByCoachId");
+
+		if (coachRepository.getCoachById(id).isEmpty()) {
+			throw new BusinessException(Errors.PERSON_NOT_FOUND);
+		}
+		return appointmentRepository.getAppointmentsSliceByCoachId(id, from, to, pageable);
+	}
+
+	/**
+	 * Retrieves a slice of appointments by athlete ID, optionally within a date
+	 * range, without counting them.
+	 *
+	 * @param id       the ID of the athlete
+	 * @param from     the inclusive start of the date range, or null
+	 * @param to       the inclusive end of the date range, or null
+	 * @param pageable the pagination information
+	 * @return a slice of appointments
+	 * @throws BusinessException if the athlete is not found
+	 */
+	@Override
+	public Slice<Appointment> getAppointmentsSliceByAthleteId(String id, LocalDateTime from, LocalDateTime to,
+			Pageable pageable) throws BusinessException {
+		log.debug("getAppointmentsSliceByAthleteId");
+
+		if (athleteRepository.getAthlete(id).isEmpty()) {
+			throw new BusinessException(Errors.PERSON_NOT_FOUND);
+		}
+		return appointmentRepository.getAppointmentsSliceByAthleteId(id, from, to, pageable);
+	}
+
+	/**
+	 * Retrieves a slice of the active appointments that match a filter, without
+	 * counting them.
+	 *
+	 * @param filter   the filter
+	 * @param pageable the pagination information
+	 * @return a slice of appointments
+	 * @throws BusinessException if the pagination size exceeds the maximum allowed,
+	 *                           the date range ends before it starts or the sort
+	 *                           uses a field other than the date or the id
+	 */
+	@Override
+	public Slice<Appointment> searchAppointments(AppointmentFilter filter, Pageable pageable)
+			throws BusinessException {
+		log.debug("searchAppointments");
+
+		if (pageable.getPageSize() >= Constants.MAXIMUM_PAGINATION) {
+			throw new BusinessException(Errors.MAXIMUM_PAGINATION_EXCEEDED);
+		}
+		if (filter.getFrom() != null && filter.getTo() != null && filter.getFrom().isAfter(filter.getTo())) {
+			throw new BusinessException(Errors.INVALID_DATE_RANGE);
+		}
+		for (Sort.Order order : pageable.getSort()) {
+			if (!Constants.APPOINTMENT_SEARCH_SORT_FIELDS.contains(order.getProperty())) {
+				throw new BusinessException(Errors.INVALID_SEARCH_FILTER);
+			}
+		}
+		return appointmentRepository.findAppointments(filter, pageable);
+	}
+
+	/**
+	 * Counts the active appointments that match a filter.
+	 *
+	 * @param filter the filter
+	 * @return the number of appointments
+	 */
+	@Override
+	public long countAppointments(AppointmentFilter filter) {
+		log.debug("countAppointmentsByFilter");
+
+		return appointmentRepository.countAppointments(filter);
+	}
+
+	/**
+	 * Counts the appointments of a coach, optionally within a date range.
+	 *
+	 * @param id   the ID of the coach
+	 * @param from the inclusive start of the date range, or null
+	 * @param to   the inclusive end of the date range, or null
+	 * @return the number of appointments
+	 */
+	@Override
+	public long countAppointmentsByCoachId(String id, LocalDateTime from, LocalDateTime to) {
+		log.debug("countAppointmentsByCoachId");
+
+		return appointmentRepository.countAppointmentsByCoachId(id, from, to);
+	}
+
+	/**
+	 * Counts the appointments of an athlete, optionally within a date range.
+	 *
+	 * @param id   the ID of the athlete
+	 * @param from the inclusive start of the date range, or null
+	 * @param to   the inclusive end of the date range, or null
+	 * @return the number of appointments
+	 */
+	@Override
+	public long countAppointmentsByAthleteId(String id, LocalDateTime from, LocalDateTime to) {
+		log.debug("countAppointmentsByAthleteId");
+
+		return appointmentRepository.countAppointmentsByAthleteId(id, from, to);
+	}
+
 	/**
 	 * Partially updates an athlete's information.
 	 *
@@ -448,10 +1113,11 @@ public class HealthliftingService
 			throw new BusinessException(Errors.APPOINTMENT_NOT_FOUND);
 		}
 
+		Appointment previous = sessionOf(optAppointment.get());
 		Appointment updated = optAppointment.get();
 		healthliftingPatchMapper.update(updated, inputAppointment);
 
-		appointmentRepository.modifyAppointment(updated);
+		modifyAppointment(previous, updated);
 
 	}
 
@@ -511,7 +1177,7 @@ public class HealthliftingService
 			throw new BusinessException(Errors.APPOINTMENT_NOT_FOUND);
 		}
 
-		appointmentRepository.modifyAppointment(inputAppointment);
+		modifyAppointment(sessionOf(optAppointment.get()), inputAppointment);
 
 	}
 
@@ -572,7 +1238,236 @@ public class HealthliftingService
 		}
 
 		appointmentRepository.deleteAppointment(idAppointment);
+		appointmentSchedule.release(optAppointment.get());
+
+		if (embeddedIds) {
+			Appointment appointment = optAppointment.get();
+			athleteRepository.removeAppointment(appointment.getAthleteId(), idAppointment);
+			coachRepository.removeAppointment(appointment.getCoachId(), idAppointment);
+		}
+
+	}
+
+	/**
+	 * Finds the free slots of one or many coaches over a date range, within
+	 * working hours, where a session of the given duration, or of the duration of
+	 * the training type, fits. The slots are computed from the schedule index
+	 * without querying the appointments.
+	 *
+	 * @param coachIds     the IDs of the coaches
+	 * @param from         the inclusive start of the range
+	 * @param to           the exclusive end of the range
+	 * @param trainingType the training type of the session, may be null
+	 * @param duration     the length of the session, may be null
+	 * @return the free slots of every coach, in request order
+	 * @throws BusinessException if the range or the duration are not valid, a
+	 *                           coach is not found, or the request exceeds the
+	 *                           maximum number of coaches or days
+	 */
+	@Override
+	public List<CoachAvailability> getCoachesAvailability(List<String> coachIds, LocalDateTime from,
+			LocalDateTime to, TrainingTypeRecord trainingType, Duration duration) throws BusinessException {
+		log.debug("getCoachesAvailability");
+
+		if (from == null || to == null || !from.isBefore(to)) {
+			throw new BusinessException(Errors.INVALID_DATE_RANGE);
+		}
+		if (duration != null && (duration.isNegative() || duration.isZero())) {
+			throw new BusinessException(Errors.INVALID_DURATION);
+		}
+		List<String> ids = coachIds.stream().distinct().toList();
+		if (ids.isEmpty()) {
+			throw new BusinessException(Errors.REQUIRED_FIELDS_MISSING);
+		}
+		if (ids.size() > maxAvailabilityCoaches
+				|| Duration.between(from, to).compareTo(Duration.ofDays(maxAvailabilityDays)) > 0) {
+			throw new BusinessException(Errors.MAXIMUM_AVAILABILITY_EXCEEDED);
+		}
+
+		Map<String, CoachSummary> coaches = coachRepository.getCoachSummariesById(ids).stream()
+				.collect(Collectors.toMap(CoachSummary::getId, Function.identity()));
+		if (coaches.size() < ids.size()) {
+			throw new BusinessException(Errors.PERSON_NOT_FOUND);
+		}
+
+		Duration session = duration != null ? duration : appointmentSchedule.sessionDuration(trainingType);
+		List<CoachAvailability> availability = new ArrayList<>(ids.size());
+		for (String id : ids) {
+			PersonalInformation personalInformation = coaches.get(id).getPersonalInformation();
+			availability.add(CoachAvailability.builder().coachId(id).coachName(personalInformation.getName())
+					.coachSurname(personalInformation.getSurname())
+					.freeSlots(appointmentSchedule.findCoachFreeSlots(id, from, to, session)).build());
+		}
+		return availability;
+	}
+
+	/**
+	 * Streams the athletes not eliminated for an export. The stream must be
+	 * closed once consumed.
+	 *
+	 * @return a stream of athletes
+	 */
+	@Override
+	public Stream<Athlete> exportAthletes() {
+		log.debug("exportAthletes");
+
+		return athleteRepository.streamAthletes();
+	}
+
+	/**
+	 * Streams the coaches not eliminated for an export. The stream must be
+	 * closed once consumed.
+	 *
+	 * @return a stream of coaches
+	 */
+	@Override
+	public Stream<Coach> exportCoaches() {
+		log.debug("exportCoaches");
+
+		return coachRepository.streamCoaches();
+	}
+
+	/**
+	 * Streams the appointments not eliminated for an export. The stream must be
+	 * closed once consumed.
+	 *
+	 * @return a stream of appointments
+	 */
+	@Override
+	public Stream<Appointment> exportAppointments() {
+		log.debug("exportAppointments");
+
+		return appointmentRepository.streamAppointments();
+	}
+
+	/**
+	 * Adds the appointment to the athlete and to the coach concurrently. When one
+	 * of the updates fails, the one that succeeded is reverted and the appointment
+	 * is deleted.
+	 */
+	private void linkAppointment(String idAppointment, String idAthlete, String idCoach) throws BusinessException {
+		CompletableFuture<Void> athleteLink = CompletableFuture
+				.runAsync(() -> athleteRepository.addAppointment(idAthlete, idAppointment), repositoryExecutor);
+		CompletableFuture<Void> coachLink = CompletableFuture
+				.runAsync(() -> coachRepository.addAppointment(idCoach, idAppointment), repositoryExecutor);
+		try {
+			CompletableFuture.allOf(athleteLink, coachLink).join();
+		} catch (CompletionException e) {
+			log.error("Linking appointment {} failed, compensating", idAppointment, e.getCause());
+			if (!athleteLink.isCompletedExceptionally()) {
+				compensate(() -> athleteRepository.removeAppointment(idAthlete, idAppointment));
+			}
+			if (!coachLink.isCompletedExceptionally()) {
+				compensate(() -> coachRepository.removeAppointment(idCoach, idAppointment));
+			}
+			compensate(() -> appointmentRepository.deleteAppointment(idAppointment));
+			throw new BusinessException(Errors.APPOINTMENT_NOT_LINKED);
+		}
+	}
+
+	/**
+	 * Moves the booked session before saving the modified appointment, and moves
+	 * it back if the appointment cannot be saved.
+	 */
+	private void modifyAppointment(Appointment previous, Appointment updated) throws BusinessException {
+		appointmentSchedule.reschedule(previous, updated);
+		try {
+			appointmentRepository.modifyAppointment(updated);
+		} catch (RuntimeException e) {
+			try {
+				appointmentSchedule.reschedule(updated, previous);
+			} catch (BusinessException conflict) {
+				log.error("The previous session of appointment {} was booked in the meantime", updated.getId());
+			}
+			throw e;
+		}
+	}
+
+	/**
+	 * Copies the fields that define the booked session of an appointment, before
+	 * it is modified in place.
+	 */
+	private static Appointment sessionOf(Appointment appointment) {
+		return Appointment.builder().id(appointment.getId()).date(appointment.getDate())
+				.coachId(appointment.getCoachId()).athleteId(appointment.getAthleteId())
+				.trainingTypeRecord(appointment.getTrainingTypeRecord()).build();
+	}
+
+	private void compensate(Runnable undo) {
+		try {
+			undo.run();
+		} catch (RuntimeException e) {
+			log.error("Compensation failed", e);
+		}
+	}
+
+	/**
+	 * Waits for a repository call and rethrows its exception as is.
+	 */
+	private static <T> T join(CompletableFuture<T> future) {
+		try {
+			return future.join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException cause) {
+				throw cause;
+			}
+			throw e;
+		}
+	}
+
+	private void checkImportSize(List<?> rows) throws BusinessException {
+		if (rows.size() > maxImportRows) {
+			throw new BusinessException(Errors.MAXIMUM_IMPORT_EXCEEDED);
+		}
+	}
+
+	/**
+	 * Rejects the rows without a document and the rows whose document is repeated
+	 * in the batch, keeping the first, or already in use.
+	 *
+	 * @return the indexes of the accepted rows
+	 */
+	private <T> List<Integer> acceptByDocument(List<T> rows, Function<T, PersonalInformation> personalInformation,
+			Function<Collection<String>, Set<String>> existingDocuments, ImportResult[] results) {
+		Map<String, Integer> indexByDocument = new LinkedHashMap<>();
+		for (int i = 0; i < rows.size(); i++) {
+			PersonalInformation information = rows.get(i) == null ? null : personalInformation.apply(rows.get(i));
+			if (information == null || information.getDocument() == null || information.getDocument().isBlank()) {
+				results[i] = ImportResult.rejected(i, ImportStatus.INVALID, Errors.REQUIRED_FIELDS_MISSING);
+			} else if (indexByDocument.putIfAbsent(information.getDocument(), i) != null) {
+				results[i] = ImportResult.rejected(i, ImportStatus.DUPLICATED, Errors.DUPLICATED_DOCUMENT);
+			}
+		}
+
+		Set<String> existing = indexByDocument.isEmpty() ? Set.of()
+				: existingDocuments.apply(indexByDocument.keySet());
+		List<Integer> accepted = new ArrayList<>();
+		indexByDocument.forEach((document, i) -> {
+			if (existing.contains(document)) {
+				results[i] = ImportResult.rejected(i, ImportStatus.DUPLICATED, Errors.DUPLICATED_DOCUMENT);
+			} else {
+				accepted.add(i);
+			}
+		});
+		return accepted;
+	}
+
+	/**
+	 * Stores the results of the inserted rows, whose indexes refer to the list of
+	 * accepted rows, at the index of the row in the request.
+	 */
+	private void merge(ImportResult[] results, List<Integer> accepted, List<ImportResult> inserted) {
+		for (ImportResult result : inserted) {
+			int i = accepted.get(result.getIndex());
+			results[i] = result.toBuilder().index(i).build();
+		}
+	}
 
+	private ImportReport report(String operation, ImportResult[] results, long start) {
+		long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+		ImportReport report = ImportReport.of(Arrays.asList(results), elapsedMillis);
+		log.info("{}: {} rows, {} created in {} ms", operation, report.getTotal(), report.getCreated(), elapsedMillis);
+		return report;
 	}
 
 }
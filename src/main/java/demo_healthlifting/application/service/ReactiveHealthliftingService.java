@@ -0,0 +1,471 @@
+package demo_healthlifting.application.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import demo_healthlifting.application.ports.input.ReactiveAppointmentServiceInputPort;
+import demo_healthlifting.application.ports.input.ReactiveAthleteServiceInputPort;
+import demo_healthlifting.application.ports.input.ReactiveCoachServiceInputPort;
+import demo_healthlifting.application.ports.output.AppointmentScheduleOutputPort;
+import demo_healthlifting.application.ports.output.ReactiveAppointmentRepositoryOutputPort;
+import demo_healthlifting.application.ports.output.ReactiveAthleteRepositoryOutputPort;
+import demo_healthlifting.application.ports.output.ReactiveCoachRepositoryOutputPort;
+import demo_healthlifting.application.ports.utils.Constants;
+import demo_healthlifting.application.ports.utils.Errors;
+import demo_healthlifting.domain.exception.BusinessException;
+import demo_healthlifting.domain.mapper.HealthliftingPatchMapper;
+import demo_healthlifting.domain.model.Appointment;
+import demo_healthlifting.domain.model.Athlete;
+import demo_healthlifting.domain.model.Coach;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Non-blocking counterpart of {@link HealthliftingService}, with the same
+ * rules, used by the reactive stack. Errors are signalled as
+ * {@link BusinessException}s.
+ */
+@Slf4j
+@Service
+@Profile("reactive")
+public class ReactiveHealthliftingService implements ReactiveAthleteServiceInputPort,
+		ReactiveCoachServiceInputPort, ReactiveAppointmentServiceInputPort {
+
+	@Autowired
+	ReactiveAthleteRepositoryOutputPort athleteRepository;
+
+	@Autowired
+	ReactiveCoachRepositoryOutputPort coachRepository;
+
+	@Autowired
+	ReactiveAppointmentRepositoryOutputPort appointmentRepository;
+
+	@Autowired
+	AppointmentScheduleOutputPort appointmentSchedule;
+
+	@Autowired
+	HealthliftingPatchMapper healthliftingPatchMapper;
+
+	@Value("${healthlifting.relations.embedded-ids:true}")
+	boolean embeddedIds;
+
+	/**
+	 * Creates a new athlete.
+	 *
+	 * @param athlete the athlete to be created
+	 * @return the ID of the newly created athlete
+	 */
+	@Override
+	public Mono<String> createAthlete(Athlete athlete) {
+		log.debug("createAthlete");
+
+		athlete.setIdAppointments(new ArrayList<>());
+		athlete.setIdTrainingSheet(new ArrayList<>());
+		return athleteRepository.createAthlete(athlete).doOnNext(athlete::setId);
+	}
+
+	/**
+	 * Creates a new coach.
+	 *
+	 * @param coach the coach to be created
+	 * @return the ID of the newly created coach
+	 */
+	@Override
+	public Mono<String> createCoach(Coach coach) {
+		log.debug("createCoach");
+
+		coach.setIdAppointments(new ArrayList<>());
+		coach.setIdTrainingSheet(new ArrayList<>());
+		return coachRepository.createCoach(coach).doOnNext(coach::setId);
+	}
+
+	/**
+	 * Creates a new appointment. The athlete and the coach are looked up
+	 * concurrently and the session is booked in their schedules before saving it.
+	 * Once the appointment is saved, it is added to both of them concurrently. If
+	 * either link fails the other one, the appointment and the booking are undone.
+	 *
+	 * @param appointment the appointment to be created
+	 * @return the ID of the newly created appointment, or an error if the athlete
+	 *         or the coach is not found, either of them is already booked at that
+	 *         time or the appointment could not be linked
+	 */
+	@Override
+	public Mono<String> createAppointment(Appointment appointment) {
+		log.debug("createAppointment");
+
+		return Mono
+				.zip(athleteRepository.getAthleteById(appointment.getAthleteId()).switchIfEmpty(personNotFound()),
+						coachRepository.getCoachById(appointment.getCoachId()).switchIfEmpty(personNotFound()))
+				.flatMap(participants -> {
+					Athlete athlete = participants.getT1();
+					Coach coach = participants.getT2();
+
+					appointment.setAthleteId(athlete.getId());
+					appointment.setAthleteName(athlete.getPersonalInformation().getName());
+					appointment.setAthleteSurname(athlete.getPersonalInformation().getSurname());
+					appointment.setAthleteDocument(athlete.getPersonalInformation().getDocument());
+
+					appointment.setCoachId(coach.getId());
+					appointment.setCoachName(coach.getPersonalInformation().getName());
+					appointment.setCoachSurname(coach.getPersonalInformation().getSurname());
+					appointment.setCoachDocument(coach.getPersonalInformation().getDocument());
+
+					return reserve(appointment).then(saveAppointment(appointment));
+				});
+	}
+
+	/**
+	 * Retrieves an athlete by ID.
+	 *
+	 * @param idAthlete the ID of the athlete to be retrieved
+	 * @return the athlete, or empty if not found
+	 */
+	@Override
+	public Mono<Athlete> getAthlete(String idAthlete) {
+		log.debug("getAthlete");
+
+		return athleteRepository.getAthlete(idAthlete);
+	}
+
+	/**
+	 * Retrieves a coach by ID.
+	 *
+	 * @param idCoach the ID of the coach to be retrieved
+	 * @return the coach, or empty if not found
+	 */
+	@Override
+	public Mono<Coach> getCoach(String idCoach) {
+		log.debug("getCoach");
+
+		return coachRepository.getCoach(idCoach);
+	}
+
+	/**
+	 * Retrieves an appointment by ID.
+	 *
+	 * @param idAppointment the ID of the appointment to be retrieved
+	 * @return the appointment, or empty if not found
+	 */
+	@Override
+	public Mono<Appointment> getAppointment(String idAppointment) {
+		log.debug("getAppointment");
+
+		return appointmentRepository.getAppointment(idAppointment);
+	}
+
+	/**
+	 * Retrieves a page of athletes.
+	 *
+	 * @param pageable the pagination information
+	 * @return the athletes of the page, or an error if the pagination size
+	 *         exceeds the maximum allowed
+	 */
+	@Override
+	public Flux<Athlete> getAthletes(Pageable pageable) {
+		log.debug("getAthletes");
+
+		return checkPageSize(pageable).thenMany(athleteRepository.getAthletes(pageable));
+	}
+
+	/**
+	 * Retrieves a page of coaches.
+	 *
+	 * @param pageable the pagination information
+	 * @return the coaches of the page, or an error if the pagination size exceeds
+	 *         the maximum allowed
+	 */
+	@Override
+	public Flux<Coach> getCoaches(Pageable pageable) {
+		log.debug("getCoaches");
+
+		return checkPageSize(pageable).thenMany(coachRepository.getCoaches(pageable));
+	}
+
+	/**
+	 * Retrieves a page of appointments.
+	 *
+	 * @param pageable the pagination information
+	 * @return the appointments of the page, or an error if the pagination size
+	 *         exceeds the maximum allowed
+	 */
+	@Override
+	public Flux<Appointment> getAppointments(Pageable pageable) {
+		log.debug("getAppointments");
+
+		return checkPageSize(pageable).thenMany(appointmentRepository.getAppointments(pageable));
+	}
+
+	/**
+	 * Retrieves a page of the appointments of a coach, optionally within a date
+	 * range.
+	 *
+	 * @param id       the ID of the coach
+	 * @param from     the inclusive start of the date range, or null
+	 * @param to       the inclusive end of the date range, or null
+	 * @param pageable the pagination information
+	 * @return the appointments of the page, or an error if the coach is not found
+	 */
+	@Override
+	public Flux<Appointment> getAppointmentsByCoachId(String id, LocalDateTime from, LocalDateTime to,
+			Pageable pageable) {
+		log.debug("getAppointmentsByCoachId");
+
+		return checkPageSize(pageable).then(coachRepository.getCoachById(id).switchIfEmpty(personNotFound()))
+				.thenMany(appointmentRepository.getAppointmentsByCoachId(id, from, to, pageable));
+	}
+
+	/**
+	 * Retrieves a page of the appointments of an athlete, optionally within a
+	 * date range.
+	 *
+	 * @param id       the ID of the athlete
+	 * @param from     the inclusive start of the date range, or null
+	 * @param to       the inclusive end of the date range, or null
+	 * @param pageable the pagination information
+	 * @return the appointments of the page, or an error if the athlete is not
+	 *         found
+	 */
+	@Override
+	public Flux<Appointment> getAppointmentsByAthleteId(String id, LocalDateTime from, LocalDateTime to,
+			Pageable pageable) {
+		log.debug("getAppointmentsByAthleteId");
+
+		return checkPageSize(pageable).then(athleteRepository.getAthlete(id).switchIfEmpty(personNotFound()))
+				.thenMany(appointmentRepository.getAppointmentsByAthleteId(id, from, to, pageable));
+	}
+
+	/**
+	 * Finds an athlete by their personal information document.
+	 *
+	 * @param document the document of the athlete to be found
+	 * @return the athlete, or empty if not found
+	 */
+	@Override
+	public Mono<Athlete> findByAthletePersonalInformationDocument(String document) {
+		log.debug("findByAthletePersonalInformationDocument");
+
+		return athleteRepository.findByAthletePersonalInformationDocument(document);
+	}
+
+	/**
+	 * Finds a coach by their personal information document.
+	 *
+	 * @param document the document of the coach to be found
+	 * @return the coach, or empty if not found
+	 */
+	@Override
+	public Mono<Coach> findByCoachPersonalInformationDocument(String document) {
+		log.debug("findByCoachPersonalInformationDocument");
+
+		return coachRepository.findByCoachPersonalInformationDocument(document);
+	}
+
+	/**
+	 * Partially updates an athlete's information.
+	 *
+	 * @param inputAthlete the athlete with updated information
+	 * @return completion signal, or an error if the athlete is not found
+	 */
+	@Override
+	public Mono<Void> modificationPartialAthlete(Athlete inputAthlete) {
+		log.debug("modificationPartialAthlete");
+
+		return athleteRepository.getAthlete(inputAthlete.getId()).switchIfEmpty(personNotFound()).flatMap(updated -> {
+			healthliftingPatchMapper.update(updated, inputAthlete);
+			return athleteRepository.modifyAthlete(updated);
+		});
+	}
+
+	/**
+	 * Partially updates a coach's information.
+	 *
+	 * @param inputCoach the coach with updated information
+	 * @return completion signal, or an error if the coach is not found
+	 */
+	@Override
+	public Mono<Void> modificationPartialCoach(Coach inputCoach) {
+		log.debug("modificationPartialCoach");
+
+		return coachRepository.getCoach(inputCoach.getId()).switchIfEmpty(personNotFound()).flatMap(updated -> {
+			healthliftingPatchMapper.update(updated, inputCoach);
+			return coachRepository.modifyCoach(updated);
+		});
+	}
+
+	/**
+	 * Partially updates an appointment's information.
+	 *
+	 * @param inputAppointment the appointment with updated information
+	 * @return completion signal, or an error if the appointment is not found
+	 */
+	@Override
+	public Mono<Void> modificationPartialAppointment(Appointment inputAppointment) {
+		log.debug("modificationPartialAppointment");
+
+		return appointmentRepository.getAppointment(inputAppointment.getId())
+				.switchIfEmpty(Mono.error(new BusinessException(Errors.APPOINTMENT_NOT_FOUND))).flatMap(updated -> {
+					Appointment previous = sessionOf(updated);
+					healthliftingPatchMapper.update(updated, inputAppointment);
+					return reschedule(previous, updated).then(appointmentRepository.modifyAppointment(updated)
+							.onErrorResume(e -> reschedule(updated, previous).onErrorResume(conflict -> {
+								log.error("The previous session of appointment {} was booked in the meantime",
+										updated.getId());
+								return Mono.empty();
+							}).then(Mono.error(e))));
+				});
+	}
+
+	/**
+	 * Deletes an athlete by ID.
+	 *
+	 * @param idAthlete the ID of the athlete to be deleted
+	 * @return completion signal, or an error if the athlete is not found
+	 */
+	@Override
+	public Mono<Void> deleteAthlete(String idAthlete) {
+		log.debug("deleteAthlete");
+
+		return athleteRepository.getAthlete(idAthlete).switchIfEmpty(personNotFound())
+				.then(athleteRepository.deleteAthlete(idAthlete));
+	}
+
+	/**
+	 * Deletes a coach by ID.
+	 *
+	 * @param idCoach the ID of the coach to be deleted
+	 * @return completion signal, or an error if the coach is not found
+	 */
+	@Override
+	public Mono<Void> deleteCoach(String idCoach) {
+		log.debug("deleteCoach");
+
+		return coachRepository.getCoach(idCoach).switchIfEmpty(personNotFound())
+				.then(coachRepository.deleteCoach(idCoach));
+	}
+
+	/**
+	 * Deletes an appointment by ID and removes it from its athlete and coach.
+	 *
+	 * @param idAppointment the ID of the appointment to be deleted
+	 * @return completion signal, or an error if the appointment is not found
+	 */
+	@Override
+	public Mono<Void> deleteAppointment(String idAppointment) {
+		log.debug("deleteAppointment");
+
+		return appointmentRepository.getAppointment(idAppointment)
+				.switchIfEmpty(Mono.error(new BusinessException(Errors.APPOINTMENT_NOT_FOUND)))
+				.flatMap(appointment -> appointmentRepository.deleteAppointment(idAppointment)
+						.then(release(appointment))
+						.then(embeddedIds ? unlinkAppointment(appointment) : Mono.empty()));
+	}
+
+	/**
+	 * Saves a booked appointment and links it, releasing the booking if either
+	 * step fails.
+	 */
+	private Mono<String> saveAppointment(Appointment appointment) {
+		return appointmentRepository.createAppointment(appointment)
+				.flatMap(saved -> embeddedIds
+						? linkAppointment(saved.getId(), saved.getAthleteId(), saved.getCoachId())
+								.thenReturn(saved.getId())
+						: Mono.just(saved.getId()))
+				.onErrorResume(e -> release(appointment).then(Mono.error(e)));
+	}
+
+	/**
+	 * Adds the appointment to the athlete and to the coach concurrently. When one
+	 * of the updates fails, the one that succeeded is reverted and the appointment
+	 * is deleted.
+	 */
+	private Mono<Void> linkAppointment(String idAppointment, String idAthlete, String idCoach) {
+		return Mono.zip(succeeded(athleteRepository.addAppointment(idAthlete, idAppointment)),
+				succeeded(coachRepository.addAppointment(idCoach, idAppointment))).flatMap(links -> {
+					if (links.getT1() && links.getT2()) {
+						return Mono.empty();
+					}
+					log.error("Linking appointment {} failed, compensating", idAppointment);
+					Mono<Void> undoAthlete = links.getT1()
+							? compensate(athleteRepository.removeAppointment(idAthlete, idAppointment))
+							: Mono.empty();
+					Mono<Void> undoCoach = links.getT2()
+							? compensate(coachRepository.removeAppointment(idCoach, idAppointment))
+							: Mono.empty();
+					return Mono.when(undoAthlete, undoCoach)
+							.then(compensate(appointmentRepository.deleteAppointment(idAppointment)))
+							.then(Mono.error(new BusinessException(Errors.APPOINTMENT_NOT_LINKED)));
+				});
+	}
+
+	private Mono<Void> unlinkAppointment(Appointment appointment) {
+		return Mono.when(athleteRepository.removeAppointment(appointment.getAthleteId(), appointment.getId()),
+				coachRepository.removeAppointment(appointment.getCoachId(), appointment.getId()));
+	}
+
+	/**
+	 * The schedule may load a schedule from the database the first time it is
+	 * used, so it is called on the bounded elastic scheduler.
+	 */
+	private Mono<Void> reserve(Appointment appointment) {
+		return Mono.fromCallable(() -> {
+			appointmentSchedule.reserve(appointment);
+			return appointment;
+		}).subscribeOn(Schedulers.boundedElastic()).then();
+	}
+
+	private Mono<Void> reschedule(Appointment previous, Appointment updated) {
+		return Mono.fromCallable(() -> {
+			appointmentSchedule.reschedule(previous, updated);
+			return updated;
+		}).subscribeOn(Schedulers.boundedElastic()).then();
+	}
+
+	private Mono<Void> release(Appointment appointment) {
+		return Mono.fromRunnable(() -> appointmentSchedule.release(appointment))
+				.subscribeOn(Schedulers.boundedElastic()).then();
+	}
+
+	/**
+	 * Copies the fields that define the booked session of an appointment, before
+	 * it is modified in place.
+	 */
+	private static Appointment sessionOf(Appointment appointment) {
+		return Appointment.builder().id(appointment.getId()).date(appointment.getDate())
+				.coachId(appointment.getCoachId()).athleteId(appointment.getAthleteId())
+				.trainingTypeRecord(appointment.getTrainingTypeRecord()).build();
+	}
+
+	private Mono<Boolean> succeeded(Mono<Void> update) {
+		return update.thenReturn(true).onErrorResume(e -> {
+			log.error("Update failed", e);
+			return Mono.just(false);
+		});
+	}
+
+	private Mono<Void> compensate(Mono<Void> undo) {
+		return undo.onErrorResume(e -> {
+			log.error("Compensation failed", e);
+			return Mono.empty();
+		});
+	}
+
+	private Mono<Void> checkPageSize(Pageable pageable) {
+		return pageable.getPageSize() >= Constants.MAXIMUM_PAGINATION
+				? Mono.error(new BusinessException(Errors.MAXIMUM_PAGINATION_EXCEEDED))
+				: Mono.empty();
+	}
+
+	private static <T> Mono<T> personNotFound() {
+		return Mono.error(new BusinessException(Errors.PERSON_NOT_FOUND));
+	}
+
+}
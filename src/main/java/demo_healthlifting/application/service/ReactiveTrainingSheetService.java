@@ -0,0 +1,179 @@
+package demo_healthlifting.application.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import demo_healthlifting.application.ports.input.ReactiveTrainingSheetServiceInputPort;
+import demo_healthlifting.application.ports.output.ReactiveAthleteRepositoryOutputPort;
+import demo_healthlifting.application.ports.output.ReactiveCoachRepositoryOutputPort;
+import demo_healthlifting.application.ports.output.ReactiveTrainingSheetRepositoryOutputPort;
+import demo_healthlifting.application.ports.utils.Constants;
+import demo_healthlifting.application.ports.utils.Errors;
+import demo_healthlifting.domain.exception.BusinessException;
+import demo_healthlifting.domain.mapper.HealthliftingPatchMapper;
+import demo_healthlifting.domain.model.TrainingSheet;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link trainingSheetService}, with the same
+ * rules, used by the reactive stack.
+ */
+@Slf4j
+@Service
+@Profile("reactive")
+public class ReactiveTrainingSheetService implements ReactiveTrainingSheetServiceInputPort {
+
+	@Autowired
+	ReactiveTrainingSheetRepositoryOutputPort trainingSheetRepository;
+
+	@Autowired
+	ReactiveAthleteRepositoryOutputPort athleteRepository;
+
+	@Autowired
+	ReactiveCoachRepositoryOutputPort coachRepository;
+
+	@Autowired
+	HealthliftingPatchMapper healthliftingPatchMapper;
+
+	@Value("${healthlifting.relations.embedded-ids:true}")
+	boolean embeddedIds;
+
+	/**
+	 * Creates a new training sheet for an active athlete and adds it to the
+	 * athlete and, if any, to the coach.
+	 *
+	 * @param trainingSheet the training sheet to be created
+	 * @return the ID of the newly created training sheet, or an error if the
+	 *         athlete is not found
+	 */
+	@Override
+	public Mono<String> createTrainingSheet(TrainingSheet trainingSheet) {
+		log.debug("createTrainingSheet");
+
+		return athleteRepository.getAthleteById(trainingSheet.getAthleteId()).switchIfEmpty(personNotFound())
+				.flatMap(athlete -> trainingSheetRepository.createTrainingSheet(trainingSheet))
+				.flatMap(saved -> embeddedIds ? linkTrainingSheet(saved).thenReturn(saved.getId())
+						: Mono.just(saved.getId()));
+	}
+
+	/**
+	 * Retrieves a training sheet by ID.
+	 *
+	 * @param idTrainingSheet the ID of the training sheet to be retrieved
+	 * @return the training sheet, or empty if not found
+	 */
+	@Override
+	public Mono<TrainingSheet> getTrainingSheet(String idTrainingSheet) {
+		log.debug("getTrainingSheet");
+
+		return trainingSheetRepository.getTrainingSheet(idTrainingSheet);
+	}
+
+	/**
+	 * Retrieves a page of training sheets.
+	 *
+	 * @param pageable the pagination information
+	 * @return the training sheets of the page, or an error if the pagination size
+	 *         exceeds the maximum allowed
+	 */
+	@Override
+	public Flux<TrainingSheet> getTrainingSheets(Pageable pageable) {
+		log.debug("getTrainingSheets");
+
+		return checkPageSize(pageable).thenMany(trainingSheetRepository.getTrainingSheets(pageable));
+	}
+
+	/**
+	 * Retrieves a page of the training sheets of an athlete.
+	 *
+	 * @param athleteId the ID of the athlete
+	 * @param pageable  the pagination information
+	 * @return the training sheets of the page, or an error if the athlete is not
+	 *         found
+	 */
+	@Override
+	public Flux<TrainingSheet> getTrainingSheetsByAthleteId(String athleteId, Pageable pageable) {
+		log.debug("getTrainingSheetsByAthleteId");
+
+		return checkPageSize(pageable).then(athleteRepository.getAthlete(athleteId).switchIfEmpty(personNotFound()))
+				.thenMany(trainingSheetRepository.getTrainingSheetsByAthleteId(athleteId, pageable));
+	}
+
+	/**
+	 * Retrieves a page of the training sheets of a coach.
+	 *
+	 * @param coachId  the ID of the coach
+	 * @param pageable the pagination information
+	 * @return the training sheets of the page, or an error if the coach is not
+	 *         found
+	 */
+	@Override
+	public Flux<TrainingSheet> getTrainingSheetsByCoachId(String coachId, Pageable pageable) {
+		log.debug("getTrainingSheetsByCoachId");
+
+		return checkPageSize(pageable).then(coachRepository.getCoachById(coachId).switchIfEmpty(personNotFound()))
+				.thenMany(trainingSheetRepository.getTrainingSheetsByCoachId(coachId, pageable));
+	}
+
+	/**
+	 * Partially updates a training sheet's information.
+	 *
+	 * @param inputTrainingSheet the training sheet with updated information
+	 * @return completion signal, or an error if the training sheet is not found
+	 */
+	@Override
+	public Mono<Void> modificationPartialTrainingSheet(TrainingSheet inputTrainingSheet) {
+		log.debug("modificationPartialTrainingSheet");
+
+		return trainingSheetRepository.getTrainingSheet(inputTrainingSheet.getId()).switchIfEmpty(personNotFound())
+				.flatMap(updated -> {
+					healthliftingPatchMapper.update(updated, inputTrainingSheet);
+					return trainingSheetRepository.modifyTrainingSheet(updated);
+				});
+	}
+
+	/**
+	 * Deletes a training sheet by ID and removes it from its athlete and coach.
+	 *
+	 * @param idTrainingSheet the ID of the training sheet to be deleted
+	 * @return completion signal, or an error if the training sheet is not found
+	 */
+	@Override
+	public Mono<Void> deleteTrainingSheet(String idTrainingSheet) {
+		log.debug("deleteTrainingSheet");
+
+		return trainingSheetRepository.getTrainingSheet(idTrainingSheet).switchIfEmpty(personNotFound())
+				.flatMap(trainingSheet -> trainingSheetRepository.deleteTrainingSheet(idTrainingSheet)
+						.then(embeddedIds ? unlinkTrainingSheet(trainingSheet) : Mono.empty()));
+	}
+
+	private Mono<Void> linkTrainingSheet(TrainingSheet trainingSheet) {
+		return Mono.when(athleteRepository.addTrainingSheet(trainingSheet.getAthleteId(), trainingSheet.getId()),
+				trainingSheet.getCoachId() != null
+						? coachRepository.addTrainingSheet(trainingSheet.getCoachId(), trainingSheet.getId())
+						: Mono.empty());
+	}
+
+	private Mono<Void> unlinkTrainingSheet(TrainingSheet trainingSheet) {
+		return Mono.when(athleteRepository.removeTrainingSheet(trainingSheet.getAthleteId(), trainingSheet.getId()),
+				trainingSheet.getCoachId() != null
+						? coachRepository.removeTrainingSheet(trainingSheet.getCoachId(), trainingSheet.getId())
+						: Mono.empty());
+	}
+
+	private Mono<Void> checkPageSize(Pageable pageable) {
+		return pageable.getPageSize() >= Constants.MAXIMUM_PAGINATION
+				? Mono.error(new BusinessException(Errors.MAXIMUM_PAGINATION_EXCEEDED))
+				: Mono.empty();
+	}
+
+	private static <T> Mono<T> personNotFound() {
+		return Mono.error(new BusinessException(Errors.PERSON_NOT_FOUND));
+	}
+
+}
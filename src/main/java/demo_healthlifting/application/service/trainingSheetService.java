@@ -2,10 +2,15 @@ package demo_healthlifting.application.service;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 
 import demo_healthlifting.application.ports.input.TrainingSheetServiceInputPort;
@@ -18,7 +23,9 @@ import demo_healthlifting.domain.exception.BusinessException;
 import demo_healthlifting.domain.mapper.HealthliftingPatchMapper;
 import demo_healthlifting.domain.model.Athlete;
 import demo_healthlifting.domain.model.Coach;
+import demo_healthlifting.domain.model.SearchCriterion;
 import demo_healthlifting.domain.model.TrainingSheet;
+import demo_healthlifting.domain.model.TrainingSheetFilter;
 import jakarta.transaction.Transactional;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
@@ -39,6 +46,9 @@ public class trainingSheetService implements TrainingSheetServiceInputPort {
 	@Autowired
 	HealthliftingPatchMapper healthliftingPatchMapper;
 
+	@Value("${healthlifting.relations.embedded-ids:true}")
+	boolean embeddedIds;
+
 	/**
 	 * Creates a new training sheet.
 	 *
@@ -65,9 +75,12 @@ public class trainingSheetService implements TrainingSheetServiceInputPort {
 		String exitId = savedTrainingSheet.getId();
 
 		// Actualizamos el atleta con el ID generado de la ficha de entrenamiento
-		Athlete athlete = athleteOpt.get();
-		athlete.getIdTrainingSheet().add(exitId);
-		athleteRepository.modifyAthlete(athlete);
+		if (embeddedIds) {
+			athleteRepository.addTrainingSheet(athleteOpt.get().getId(), exitId);
+			if (trainingSheet.getCoachId() != null) {
+				coachRepository.addTrainingSheet(trainingSheet.getCoachId(), exitId);
+			}
+		}
 
 		return exitId;
 	}
@@ -103,10 +116,6 @@ public class trainingSheetService implements TrainingSheetServiceInputPort {
 		Optional<Athlete> athleteOpt = athleteRepository.getAthlete(id);
 		if (athleteOpt.isPresent()) {
 			Athlete athlete = athleteOpt.get();
-			List<String> trainingSheetsIds = athlete.getIdTrainingSheet();
-			if (trainingSheetsIds.isEmpty()) {
-				throw new BusinessException("No training sheets found for the athlete.");
-			}
 			return trainingSheetRepository.getTrainingSheetsByAthleteId(athlete.getId(), pageable);
 		} else {
 			throw new BusinessException(Errors.PERSON_NOT_FOUND);
@@ -129,10 +138,6 @@ public class trainingSheetService implements TrainingSheetServiceInputPort {
 		Optional<Coach> coachOpt = coachRepository.getCoachById(id);
 		if (coachOpt.isPresent()) {
 			Coach coach = coachOpt.get();
-			List<String> trainingSheetsIds = coach.getIdTrainingSheet();
-			if (trainingSheetsIds.isEmpty()) {
-				throw new BusinessException("No training sheets found for the coach.");
-			}
 			return trainingSheetRepository.getTrainingSheetsByCoachId(coach.getId(), pageable);
 		} else {
 			throw new BusinessException(Errors.PERSON_NOT_FOUND);
@@ -158,6 +163,116 @@ public class trainingSheetService implements TrainingSheetServiceInputPort {
 		return trainingSheetRepository.getTrainingSheets(pageable);
 	}
 
+	/**
+	 * Retrieves the training sheets that follow a keyset position.
+	 *
+	 * @param position the position of the last training sheet already returned
+	 * @param size     the maximum number of training sheets
+	 * @return a window of training sheets
+	 * @throws BusinessException if the size is not positive or exceeds the maximum
+	 */
+	@Override
+	public Window<TrainingSheet> getTrainingSheets(ScrollPosition position, int size) throws BusinessException {
+		log.debug("getTrainingSheetsByPosition");
+
+		if (size <= 0) {
+			throw new BusinessException(Errors.INVALID_PAGE_SIZE);
+		}
+		if (size >= Constants.MAXIMUM_PAGINATION) {
+			throw new BusinessException(Errors.MAXIMUM_PAGINATION_EXCEEDED);
+		}
+
+		return trainingSheetRepository.getTrainingSheets(position, size);
+	}
+
+	/**
+	 * Counts the training sheets that are not eliminated.
+	 *
+	 * @return the number of training sheets
+	 */
+	@Override
+	public long countTrainingSheets() {
+		log.debug("countTrainingSheets");
+
+		return trainingSheetRepository.countTrainingSheets();
+	}
+
+	/**
+	 * Retrieves a page of the training sheets that match every search criterion.
+	 *
+	 * @param criteria the search criteria
+	 * @param pageable the pagination information
+	 * @return a page of training sheets
+	 * @throws BusinessException if the pagination size exceeds the maximum allowed
+	 *                           or a criterion is not accepted
+	 */
+	@Override
+	public Page<TrainingSheet> searchTrainingSheets(List<SearchCriterion> criteria, Pageable pageable)
+			throws BusinessException {
+		log.debug("searchTrainingSheets");
+
+		if (pageable.getPageSize() >= Constants.MAXIMUM_PAGINATION) {
+			throw new BusinessException(Errors.MAXIMUM_PAGINATION_EXCEEDED);
+		}
+		return trainingSheetRepository.searchTrainingSheets(criteria, pageable);
+	}
+
+	/**
+	 * Retrieves a slice of the training sheets whose observations contain the
+	 * words of the filter, most relevant first, without counting them.
+	 *
+	 * @param filter   the text and the optional athlete, coach and training type
+	 * @param pageable the pagination information
+	 * @return a slice of training sheets
+	 * @throws BusinessException if the text is blank or the pagination size
+	 *                           exceeds the maximum allowed
+	 */
+	@Override
+	public Slice<TrainingSheet> searchTrainingSheets(TrainingSheetFilter filter, Pageable pageable)
+			throws BusinessException {
+		log.debug("searchTrainingSheetsByText");
+
+		if (filter.getText() == null || filter.getText().isBlank()) {
+			throw new BusinessException(Errors.REQUIRED_FIELDS_MISSING);
+		}
+		if (pageable.getPageSize() >= Constants.MAXIMUM_PAGINATION) {
+			throw new BusinessException(Errors.MAXIMUM_PAGINATION_EXCEEDED);
+		}
+		return trainingSheetRepository.findTrainingSheets(filter, pageable);
+	}
+
+	/**
+	 * Counts the training sheets whose observations contain the words of the
+	 * filter.
+	 *
+	 * @param filter the text and the optional athlete, coach and training type
+	 * @return the number of training sheets
+	 */
+	@Override
+	public long countTrainingSheets(TrainingSheetFilter filter) {
+		log.debug("countTrainingSheetsByText");
+
+		return trainingSheetRepository.countTrainingSheets(filter);
+	}
+
+	/**
+	 * Retrieves a slice of training sheets, without counting them.
+	 *
+	 * @param pageable the pagination information
+	 * @return a slice of training sheets
+	 * @throws BusinessException if the pagination size exceeds the maximum allowed
+	 */
+	@Override
+	public Slice<TrainingSheet> getTrainingSheetsSlice(Pageable pageable) throws BusinessException {
+		log.debug("getTrainingSheetsSlice");
+
+		if (pageable.getPageSize() >= Constants.MAXIMUM_PAGINATION) {
+			throw new BusinessException(Errors.MAXIMUM_PAGINATION_EXCEEDED);
+		}
+
+		return trainingSheetRepository.getTrainingSheetsSlice(pageable);
+	}
+
 	/**
 	 * Partially updates a training sheet's information.
 	 *
@@ -219,6 +334,27 @@ public class trainingSheetService implements TrainingSheetServiceInputPort {
 
 		trainingSheetRepository.deleteTrainingSheet(idTrainingSheet);
 
+		if (embeddedIds) {
+			TrainingSheet trainingSheet = optTrainingSheet.get();
+			athleteRepository.removeTrainingSheet(trainingSheet.getAthleteId(), idTrainingSheet);
+			if (trainingSheet.getCoachId() != null) {
+				coachRepository.removeTrainingSheet(trainingSheet.getCoachId(), idTrainingSheet);
+			}
+		}
+
+	}
+
+	/**
+	 * Streams the training sheets not eliminated for an export. The stream must be
+	 * closed once consumed.
+	 *
+	 * @return a stream of training sheets
+	 */
+	@Override
+	public Stream<TrainingSheet> exportTrainingSheets() {
+		log.debug("exportTrainingSheets");
+
+		return trainingSheetRepository.streamTrainingSheets();
 	}
 
 }
@@ -0,0 +1,36 @@
+package demo_healthlifting.domain.model;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Criteria of an appointment search. Every field is optional and the given
+ * ones are combined, so an empty filter matches every active appointment.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AppointmentFilter {
+
+	/**
+	 * Inclusive start of the date range.
+	 */
+	private LocalDateTime from;
+
+	/**
+	 * Inclusive end of the date range.
+	 */
+	private LocalDateTime to;
+
+	private TrainingTypeRecord trainingType;
+
+	private String coachId;
+
+	private String athleteId;
+
+}
@@ -0,0 +1,28 @@
+package demo_healthlifting.domain.model;
+
+import java.io.Serializable;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Row of an athlete listing: the athlete without its appointment and training
+ * sheet ids.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AthleteSummary implements Serializable {
+
+	private String id;
+
+	private int age;
+
+	private String height;
+
+	private PersonalInformation personalInformation;
+
+}
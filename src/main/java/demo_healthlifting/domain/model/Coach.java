@@ -1,5 +1,6 @@
 package demo_healthlifting.domain.model;
 
+import java.io.Serializable;
 import java.util.List;
 
 import lombok.AllArgsConstructor;
@@ -11,7 +12,7 @@ import lombok.NoArgsConstructor;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class Coach {
+public class Coach implements Serializable {
 
 	private String id;
 
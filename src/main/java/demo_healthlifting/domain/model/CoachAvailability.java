@@ -0,0 +1,27 @@
+package demo_healthlifting.domain.model;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Free slots of a coach over a date range.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CoachAvailability {
+
+	private String coachId;
+
+	private String coachName;
+
+	private String coachSurname;
+
+	private List<FreeSlot> freeSlots;
+
+}
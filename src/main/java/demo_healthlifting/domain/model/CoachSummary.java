@@ -0,0 +1,24 @@
+package demo_healthlifting.domain.model;
+
+import java.io.Serializable;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Row of a coach listing: the coach without its appointment and training sheet
+ * ids.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CoachSummary implements Serializable {
+
+	private String id;
+
+	private PersonalInformation personalInformation;
+
+}
@@ -0,0 +1,35 @@
+package demo_healthlifting.domain.model;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Result of a bulk import: the outcome of every row, in request order, and the
+ * totals.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportReport {
+
+	private int total;
+
+	private int created;
+
+	private int rejected;
+
+	private long elapsedMillis;
+
+	private List<ImportResult> results;
+
+	public static ImportReport of(List<ImportResult> results, long elapsedMillis) {
+		int created = (int) results.stream().filter(result -> result.getStatus() == ImportStatus.CREATED).count();
+		return new ImportReport(results.size(), created, results.size() - created, elapsedMillis, results);
+	}
+
+}
@@ -0,0 +1,36 @@
+package demo_healthlifting.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of one row of a bulk import.
+ */
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportResult {
+
+	/** Position of the row in the request. */
+	private int index;
+
+	private ImportStatus status;
+
+	/** Id of the created entity, only when created. */
+	private String id;
+
+	/** Error code, only when not created. */
+	private String error;
+
+	public static ImportResult created(int index, String id) {
+		return new ImportResult(index, ImportStatus.CREATED, id, null);
+	}
+
+	public static ImportResult rejected(int index, ImportStatus status, String error) {
+		return new ImportResult(index, status, null, error);
+	}
+
+}
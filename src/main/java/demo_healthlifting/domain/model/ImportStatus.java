@@ -0,0 +1,5 @@
+package demo_healthlifting.domain.model;
+
+public enum ImportStatus {
+	CREATED, DUPLICATED, INVALID, CONFLICT, FAILED
+}
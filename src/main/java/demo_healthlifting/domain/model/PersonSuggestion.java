@@ -0,0 +1,25 @@
+package demo_healthlifting.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Athlete or coach suggested while typing a name, surname or document.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PersonSuggestion {
+
+	private String id;
+
+	private String name;
+
+	private String surname;
+
+	private String document;
+
+}
@@ -0,0 +1,27 @@
+package demo_healthlifting.domain.model;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Condition of a dynamic search: a field of the aggregate, an operator and
+ * its values as received. The values are converted to the type of the field
+ * by the repository, which only accepts the fields it can search.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchCriterion {
+
+	private String field;
+
+	private SearchOperator operator;
+
+	private List<String> values;
+
+}
@@ -0,0 +1,9 @@
+package demo_healthlifting.domain.model;
+
+/**
+ * Comparison of a search criterion. {@code IN} takes several values and
+ * {@code PREFIX} matches the strings that start with the value.
+ */
+public enum SearchOperator {
+	EQ, NE, GT, GTE, LT, LTE, IN, PREFIX
+}
@@ -1,5 +1,7 @@
 package demo_healthlifting.domain.model;
 
+import java.io.Serializable;
+
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -9,7 +11,7 @@ import lombok.NoArgsConstructor;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class TrainingSheet {
+public class TrainingSheet implements Serializable {
 
 	private String id;
 
@@ -0,0 +1,30 @@
+package demo_healthlifting.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Criteria of a search over the observations of the training sheets. The text
+ * is required and the other fields are optional.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrainingSheetFilter {
+
+	/**
+	 * Words to look for in the observations. A sheet matches any of them unless
+	 * a phrase is quoted or a word is negated with a minus sign.
+	 */
+	private String text;
+
+	private TrainingTypeRecord trainingType;
+
+	private String coachId;
+
+	private String athleteId;
+
+}
@@ -2,6 +2,8 @@ package demo_healthlifting.infraestructure.apirest.configuration;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
@@ -9,6 +11,7 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 public class CorsConfig {
 
 	@Bean
+	@Profile("!reactive")
 	public WebMvcConfigurer corsConfigurer() {
 		return new WebMvcConfigurer() {
 			@Override
@@ -19,4 +22,17 @@ public class CorsConfig {
 			}
 		};
 	}
+
+	@Bean
+	@Profile("reactive")
+	public WebFluxConfigurer reactiveCorsConfigurer() {
+		return new WebFluxConfigurer() {
+			@Override
+			public void addCorsMappings(org.springframework.web.reactive.config.CorsRegistry registry) {
+				registry.addMapping("/**").allowedOrigins("http://localhost:4200", "http://localhost:8080")
+						.allowedMethods("GET", "POST", "PATCH", "PUT", "DELETE").allowedHeaders("*")
+						.allowCredentials(true);
+			}
+		};
+	}
 }
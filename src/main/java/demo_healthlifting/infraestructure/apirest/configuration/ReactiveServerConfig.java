@@ -0,0 +1,21 @@
+package demo_healthlifting.infraestructure.apirest.configuration;
+
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Tomcat is also on the classpath for the servlet stack and Spring Boot would
+ * prefer it for a reactive application, so the reactive profile asks for Netty
+ * and its event loop explicitly.
+ */
+@Configuration
+@Profile("reactive")
+public class ReactiveServerConfig {
+
+	@Bean
+	public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+		return new NettyReactiveWebServerFactory();
+	}
+}
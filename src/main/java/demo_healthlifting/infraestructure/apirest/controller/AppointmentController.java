@@ -1,11 +1,21 @@
 package demo_healthlifting.infraestructure.apirest.controller;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DateTimeFormat.ISO;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.MultiValueMap;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -20,22 +30,36 @@ import org.springframework.web.bind.annotation.RestController;
 import demo_healthlifting.application.ports.input.AppointmentServiceInputPort;
 import demo_healthlifting.domain.exception.BusinessException;
 import demo_healthlifting.domain.model.Appointment;
+import demo_healthlifting.domain.model.AppointmentFilter;
+import demo_healthlifting.domain.model.CoachAvailability;
+import demo_healthlifting.domain.model.SearchCriterion;
+import demo_healthlifting.domain.model.TrainingTypeRecord;
 import demo_healthlifting.infraestructure.apirest.dto.request.PatchAppointmentDto;
 import demo_healthlifting.infraestructure.apirest.dto.request.PostPutAppointmentDto;
 import demo_healthlifting.infraestructure.apirest.dto.response.AppointmentDto;
+import demo_healthlifting.infraestructure.apirest.dto.response.SliceDto;
 import demo_healthlifting.infraestructure.apirest.mapper.AppointmentToAppointmentDtoMapper;
 import demo_healthlifting.infraestructure.apirest.mapper.AppointmentToPatchAppointmentDtoMapper;
 import demo_healthlifting.infraestructure.apirest.mapper.AppointmentToPostPutAppointmentDtoMapper;
+import demo_healthlifting.infraestructure.apirest.mapper.CursorCodec;
+import demo_healthlifting.infraestructure.apirest.mapper.SearchFilterParser;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
 import lombok.extern.slf4j.Slf4j;
 
 @SuppressWarnings("rawtypes")
 @Slf4j
+@Profile("!reactive")
 @RestController
 @RequestMapping("/appointments")
 @CrossOrigin(origins = "localhost:4200") // Aqui ponemos el localhost para que no haya problemas al conectarlo con
 // el back
 public class AppointmentController {
+
+	/**
+	 * The keys of the keyset position of the cursor listing, those of its sort.
+	 */
+	private static final String[] CURSOR_KEYS = { "date", "id" };
 	@Autowired
 	AppointmentServiceInputPort appointmentService;
 
@@ -48,6 +72,15 @@ public class AppointmentController {
 	@Autowired
 	AppointmentToAppointmentDtoMapper appointmentToAppointmentDtoMapper;
 
+	@Autowired
+	CursorCodec cursorCodec;
+
+	@Autowired
+	SearchFilterParser searchFilterParser;
+
+	@Autowired
+	Validator validator;
+
 	/**
 	 * Receive a list of all appointments.
 	 * 
@@ -68,6 +101,82 @@ public class AppointmentController {
 		return ResponseEntity.ok(appointmentToAppointmentDtoMapper.fromInputToOutput(listDomain));
 	}
 
+	/**
+	 * Receive a slice of appointments. No count is run unless the total is
+	 * requested, and then the active appointments are counted on the index of the
+	 * listing, since the collection metadata would include the eliminated ones.
+	 * 
+	 * @param pageable the pagination information
+	 * @param total    whether to count the appointments
+	 * @return response entity with the slice of appointments
+	 */
+	@GetMapping(params = "slice=true")
+	public ResponseEntity getAppointmentsSlice(Pageable pageable, @RequestParam(defaultValue = "false") boolean total) {
+		log.debug("getAppointmentsSlice");
+
+		try {
+			Slice<AppointmentDto> slice = appointmentService.getAppointmentsSlice(pageable)
+					.map(appointmentToAppointmentDtoMapper::fromInputToOutput);
+			Long totalElements = total ? appointmentService.countAppointments() : null;
+			return ResponseEntity.ok(SliceDto.of(slice, totalElements));
+		} catch (BusinessException e) {
+			log.error("Error Getting Appointments");
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
+	}
+
+	/**
+	 * Receive a list of appointments using keyset pagination. The first page is
+	 * requested with an empty cursor and every response carries the cursor of the
+	 * next one.
+	 * 
+	 * @param cursor the continuation token, empty for the first page
+	 * @param size   the maximum number of appointments
+	 * @param total  whether to count all the appointments
+	 * @return response entity with the page of appointments
+	 */
+	@GetMapping(params = { "cursor", "!slice" })
+	public ResponseEntity getAppointmentsByCursor(@RequestParam String cursor,
+			@RequestParam(defaultValue = "20") int size, @RequestParam(defaultValue = "false") boolean total) {
+		log.debug("getAppointmentsByCursor");
+
+		try {
+			ScrollPosition position = cursorCodec.decode(cursor, CURSOR_KEYS);
+			Window<AppointmentDto> window = appointmentService.getAppointments(position, size)
+					.map(appointmentToAppointmentDtoMapper::fromInputToOutput);
+			Long totalElements = total ? appointmentService.countAppointments() : null;
+			return ResponseEntity.ok(cursorCodec.toCursorPage(window, totalElements));
+		} catch (BusinessException e) {
+			log.error("Error Getting Appointments");
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
+	}
+
+	/**
+	 * Search the appointments with repeated {@code filter} parameters of the form
+	 * {@code field:operator:value}, such as {@code date:gte:2024-01-01T00:00:00}. The
+	 * filters are combined with "and" and only some fields can be searched or
+	 * sorted.
+	 * 
+	 * @param parameters the request parameters, with the filters
+	 * @param pageable   the pagination information
+	 * @return response entity with the page of appointments
+	 */
+	@GetMapping("/query")
+	public ResponseEntity queryAppointments(@RequestParam MultiValueMap<String, String> parameters, Pageable pageable) {
+		log.debug("queryAppointments");
+
+		Page<Appointment> listDomain;
+		try {
+			List<SearchCriterion> criteria = searchFilterParser.parse(parameters.get("filter"));
+			listDomain = appointmentService.searchAppointments(criteria, pageable);
+		} catch (BusinessException e) {
+			log.error("Error searching appointments", e);
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
+		return ResponseEntity.ok(appointmentToAppointmentDtoMapper.fromInputToOutput(listDomain));
+	}
+
 	/**
 	 * Receive an appointment by its ID
 	 * 
@@ -134,13 +243,18 @@ public class AppointmentController {
 	 * Retrieve a list of appointments by coach ID.
 	 * 
 	 * @param id       the ID of the coach
+	 * @param from     the optional inclusive start date
+	 * @param to       the optional inclusive end date
 	 * @param pageable the pagination information
 	 * @return response entity with the list of appointments
 	 */
 	@GetMapping("/coaches/{id}")
-	public ResponseEntity getAppointmentsByCoachId(@PathVariable String id, Pageable pageable) {
+	public ResponseEntity getAppointmentsByCoachId(@PathVariable String id,
+			@RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE_TIME) LocalDateTime from,
+			@RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE_TIME) LocalDateTime to,
+			Pageable pageable) {
 		try {
-			Page<Appointment> coachAppointments = appointmentService.getAppointmentsByCoachId(id, pageable);
+			Page<Appointment> coachAppointments = appointmentService.getAppointmentsByCoachId(id, from, to, pageable);
 			log.debug("Retrieved appointments: {}", coachAppointments.getContent());
 			return ResponseEntity.ok(coachAppointments);
 		} catch (BusinessException e) {
@@ -149,17 +263,50 @@ public class AppointmentController {
 		}
 	}
 
+	/**
+	 * Retrieve a slice of appointments by coach ID. The total, when requested, is
+	 * an exact count of the filtered appointments.
+	 * 
+	 * @param id       the ID of the coach
+	 * @param from     the optional inclusive start date
+	 * @param to       the optional inclusive end date
+	 * @param pageable the pagination information
+	 * @param total    whether to count the appointments
+	 * @return response entity with the slice of appointments
+	 */
+	@GetMapping(value = "/coaches/{id}", params = "slice=true")
+	public ResponseEntity getAppointmentsSliceByCoachId(@PathVariable String id,
+			@RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE_TIME) LocalDateTime from,
+			@RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE_TIME) LocalDateTime to,
+			Pageable pageable, @RequestParam(defaultValue = "false") boolean total) {
+		try {
+			Slice<AppointmentDto> slice = appointmentService.getAppointmentsSliceByCoachId(id, from, to, pageable)
+					.map(appointmentToAppointmentDtoMapper::fromInputToOutput);
+			Long totalElements = total ? appointmentService.countAppointmentsByCoachId(id, from, to) : null;
+			return ResponseEntity.ok(SliceDto.of(slice, totalElements));
+		} catch (BusinessException e) {
+			log.error("Error getting appointments", e);
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
+	}
+
 	/**
 	 * Retrieve a list of appointments by athlete ID.
 	 * 
 	 * @param id       the ID of the athlete
+	 * @param from     the optional inclusive start date
+	 * @param to       the optional inclusive end date
 	 * @param pageable the pagination information
 	 * @return response entity with the list of appointments
 	 */
 	@GetMapping("/athletes/{id}")
-	public ResponseEntity getAppointmentsByAthleteId(@PathVariable String id, Pageable pageable) {
+	public ResponseEntity getAppointmentsByAthleteId(@PathVariable String id,
+			@RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE_TIME) LocalDateTime from,
+			@RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE_TIME) LocalDateTime to,
+			Pageable pageable) {
 		try {
-			Page<Appointment> athletesAppointments = appointmentService.getAppointmentsByAthleteId(id, pageable);
+			Page<Appointment> athletesAppointments = appointmentService.getAppointmentsByAthleteId(id, from, to,
+					pageable);
 			log.debug("Retrieved appointments: {}", athletesAppointments.getContent());
 			return ResponseEntity.ok(athletesAppointments);
 		} catch (BusinessException e) {
@@ -168,6 +315,100 @@ public class AppointmentController {
 		}
 	}
 
+	/**
+	 * Retrieve a slice of appointments by athlete ID. The total, when requested,
+	 * is an exact count of the filtered appointments.
+	 * 
+	 * @param id       the ID of the athlete
+	 * @param from     the optional inclusive start date
+	 * @param to       the optional inclusive end date
+	 * @param pageable the pagination information
+	 * @param total    whether to count the appointments
+	 * @return response entity with the slice of appointments
+	 */
+	@GetMapping(value = "/athletes/{id}", params = "slice=true")
+	public ResponseEntity getAppointmentsSliceByAthleteId(@PathVariable String id,
+			@RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE_TIME) LocalDateTime from,
+			@RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE_TIME) LocalDateTime to,
+			Pageable pageable, @RequestParam(defaultValue = "false") boolean total) {
+		try {
+			Slice<AppointmentDto> slice = appointmentService.getAppointmentsSliceByAthleteId(id, from, to, pageable)
+					.map(appointmentToAppointmentDtoMapper::fromInputToOutput);
+			Long totalElements = total ? appointmentService.countAppointmentsByAthleteId(id, from, to) : null;
+			return ResponseEntity.ok(SliceDto.of(slice, totalElements));
+		} catch (BusinessException e) {
+			log.error("Error getting appointments", e);
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
+	}
+
+	/**
+	 * Search the appointments by date range, training type, coach and athlete.
+	 * Every filter is optional. The total, when requested, is an exact count of
+	 * the filtered appointments.
+	 * 
+	 * @param from         the optional inclusive start date
+	 * @param to           the optional inclusive end date
+	 * @param trainingType the optional training type
+	 * @param coachId      the optional ID of the coach
+	 * @param athleteId    the optional ID of the athlete
+	 * @param pageable     the pagination information
+	 * @param total        whether to count the appointments
+	 * @return response entity with the slice of appointments
+	 */
+	@GetMapping("/search")
+	public ResponseEntity searchAppointments(
+			@RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE_TIME) LocalDateTime from,
+			@RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE_TIME) LocalDateTime to,
+			@RequestParam(required = false) TrainingTypeRecord trainingType,
+			@RequestParam(required = false) String coachId, @RequestParam(required = false) String athleteId,
+			Pageable pageable, @RequestParam(defaultValue = "false") boolean total) {
+		log.debug("searchAppointments");
+
+		try {
+			AppointmentFilter filter = AppointmentFilter.builder().from(from).to(to).trainingType(trainingType)
+					.coachId(coachId).athleteId(athleteId).build();
+			Slice<AppointmentDto> slice = appointmentService.searchAppointments(filter, pageable)
+					.map(appointmentToAppointmentDtoMapper::fromInputToOutput);
+			Long totalElements = total ? appointmentService.countAppointments(filter) : null;
+			return ResponseEntity.ok(SliceDto.of(slice, totalElements));
+		} catch (BusinessException e) {
+			log.error("Error searching appointments", e);
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
+	}
+
+	/**
+	 * Retrieve the free slots of one or many coaches over a date range, within
+	 * working hours. The session lasts the given minutes or, if not given, the
+	 * duration of the training type.
+	 * 
+	 * @param coachId      the IDs of the coaches
+	 * @param from         the inclusive start date
+	 * @param to           the exclusive end date
+	 * @param trainingType the optional training type of the session
+	 * @param minutes      the optional length of the session
+	 * @return response entity with the free slots of every coach
+	 */
+	@GetMapping("/availability")
+	public ResponseEntity getAvailability(@RequestParam List<String> coachId,
+			@RequestParam @DateTimeFormat(iso = ISO.DATE_TIME) LocalDateTime from,
+			@RequestParam @DateTimeFormat(iso = ISO.DATE_TIME) LocalDateTime to,
+			@RequestParam(required = false) TrainingTypeRecord trainingType,
+			@RequestParam(required = false) Integer minutes) {
+		log.debug("getAvailability");
+
+		try {
+			Duration duration = minutes != null ? Duration.ofMinutes(minutes) : null;
+			List<CoachAvailability> availability = appointmentService.getCoachesAvailability(coachId, from, to,
+					trainingType, duration);
+			return ResponseEntity.ok(availability);
+		} catch (BusinessException e) {
+			log.error("Error getting availability", e);
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
+	}
+
 	/**
 	 * post/create a new appointment
 	 * 
@@ -197,6 +438,30 @@ public class AppointmentController {
 		}
 	}
 
+	/**
+	 * post/create a batch of appointments. Every row is validated on its own, rows
+	 * that break the constraints of a single post are reported as invalid, and
+	 * the response reports the result of each one, in request order.
+	 * 
+	 * @param appointmentDtos the appointment data transfer objects
+	 * @return response entity with the import report
+	 */
+	@PostMapping("/batch")
+	public ResponseEntity postAppointmentsBatch(@RequestBody List<PostPutAppointmentDto> appointmentDtos) {
+		log.debug("postAppointmentsBatch");
+
+		try {
+			// invalid rows are mapped to null, which the service reports as invalid
+			List<Appointment> appointments = appointmentToPostPutAppointmentDtoMapper
+					.fromOutputToInput(appointmentDtos.stream()
+							.map(dto -> dto == null || !validator.validate(dto).isEmpty() ? null : dto).toList());
+			return ResponseEntity.ok(appointmentService.importAppointments(appointments));
+		} catch (BusinessException e) {
+			log.error("Error Importing Appointments");
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
+	}
+
 	/**
 	 * Partially modifies an appointment.
 	 * 
@@ -1,12 +1,17 @@
 package demo_healthlifting.infraestructure.apirest.controller;
 
 import java.net.URI;
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.MultiValueMap;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -15,29 +20,46 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import demo_healthlifting.application.ports.input.AthleteServiceInputPort;
+import demo_healthlifting.application.ports.utils.Errors;
 import demo_healthlifting.domain.exception.BusinessException;
 import demo_healthlifting.domain.model.Athlete;
+import demo_healthlifting.domain.model.SearchCriterion;
 import demo_healthlifting.infraestructure.apirest.dto.request.PatchAthleteDto;
 import demo_healthlifting.infraestructure.apirest.dto.request.PostPutAthleteDto;
 import demo_healthlifting.infraestructure.apirest.dto.response.AthleteDto;
+import demo_healthlifting.infraestructure.apirest.dto.response.SliceDto;
 import demo_healthlifting.infraestructure.apirest.mapper.AthleteToAthleteDtoMapper;
 import demo_healthlifting.infraestructure.apirest.mapper.AthleteToPatchAthleteDtoMapper;
 import demo_healthlifting.infraestructure.apirest.mapper.AthleteToPostPutAthleteDtoMapper;
+import demo_healthlifting.infraestructure.apirest.mapper.CursorCodec;
+import demo_healthlifting.infraestructure.apirest.mapper.SearchFilterParser;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
 import lombok.extern.slf4j.Slf4j;
 
 @SuppressWarnings("rawtypes")
 @Slf4j
+@Profile("!reactive")
 @RestController
 @RequestMapping("/athletes")
 @CrossOrigin(origins = "localhost:4200") // Aqui ponemos el localhost para que no haya problemas al conectarlo con
 // el back
 public class AthleteController {
 
+	/**
+	 * The keys of the keyset position of the cursor listing, those of its sort.
+	 */
+	private static final String[] CURSOR_KEYS = { "id" };
+
+	private static final String FULL_VIEW = "full";
+
+	private static final String SUMMARY_VIEW = "summary";
+
 	@Autowired
 	AthleteServiceInputPort athleteService;
 
@@ -50,18 +72,36 @@ public class AthleteController {
 	@Autowired
 	AthleteToAthleteDtoMapper athleteToAthleteDtoMapper;
 
+	@Autowired
+	CursorCodec cursorCodec;
+
+	@Autowired
+	SearchFilterParser searchFilterParser;
+
+	@Autowired
+	Validator validator;
+
 	/**
-	 * Receive a list of all athletes.
+	 * Receive a list of all athletes. The summary view only reads and returns the
+	 * fields shown in a listing.
 	 * 
 	 * @param pageable the pagination information
+	 * @param view     full (default) or summary
 	 * @return response entity with the list of athletes
 	 */
 	@GetMapping
-	public ResponseEntity getAthletes(Pageable pageable) {
+	public ResponseEntity getAthletes(Pageable pageable, @RequestParam(defaultValue = FULL_VIEW) String view) {
 		log.debug("getAthletes");
 
+		if (!FULL_VIEW.equals(view) && !SUMMARY_VIEW.equals(view)) {
+			return ResponseEntity.badRequest().body(Errors.INVALID_VIEW);
+		}
+
 		Page<Athlete> listDomain;
 		try {
+			if (SUMMARY_VIEW.equals(view)) {
+				return ResponseEntity.ok(athleteService.getAthleteSummaries(pageable));
+			}
 			listDomain = athleteService.getAthletes(pageable);
 		} catch (BusinessException e) {
 			log.error("Error Getting Athletes");
@@ -70,6 +110,112 @@ public class AthleteController {
 		return ResponseEntity.ok(athleteToAthleteDtoMapper.fromInputToOutput(listDomain));
 	}
 
+	/**
+	 * Receive a slice of athletes. No count is run unless the total is
+	 * requested, and then the active athletes are counted on the index of the
+	 * listing, since the collection metadata would include the eliminated ones.
+	 * 
+	 * @param pageable the pagination information
+	 * @param total    whether to count the athletes
+	 * @param view     full (default) or summary
+	 * @return response entity with the slice of athletes
+	 */
+	@GetMapping(params = "slice=true")
+	public ResponseEntity getAthletesSlice(Pageable pageable, @RequestParam(defaultValue = "false") boolean total,
+			@RequestParam(defaultValue = FULL_VIEW) String view) {
+		log.debug("getAthletesSlice");
+
+		if (!FULL_VIEW.equals(view) && !SUMMARY_VIEW.equals(view)) {
+			return ResponseEntity.badRequest().body(Errors.INVALID_VIEW);
+		}
+
+		try {
+			Long totalElements = total ? athleteService.countAthletes() : null;
+			if (SUMMARY_VIEW.equals(view)) {
+				return ResponseEntity
+						.ok(SliceDto.of(athleteService.getAthleteSummariesSlice(pageable), totalElements));
+			}
+			Slice<AthleteDto> slice = athleteService.getAthletesSlice(pageable)
+					.map(athleteToAthleteDtoMapper::fromInputToOutput);
+			return ResponseEntity.ok(SliceDto.of(slice, totalElements));
+		} catch (BusinessException e) {
+			log.error("Error Getting Athletes");
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
+	}
+
+	/**
+	 * Receive a list of athletes using keyset pagination. The first page is
+	 * requested with an empty cursor and every response carries the cursor of the
+	 * next one.
+	 * 
+	 * @param cursor the continuation token, empty for the first page
+	 * @param size   the maximum number of athletes
+	 * @param total  whether to count all the athletes
+	 * @return response entity with the page of athletes
+	 */
+	@GetMapping(params = { "cursor", "!slice" })
+	public ResponseEntity getAthletesByCursor(@RequestParam String cursor,
+			@RequestParam(defaultValue = "20") int size, @RequestParam(defaultValue = "false") boolean total) {
+		log.debug("getAthletesByCursor");
+
+		try {
+			Window<AthleteDto> window = athleteService.getAthletes(cursorCodec.decode(cursor, CURSOR_KEYS), size)
+					.map(athleteToAthleteDtoMapper::fromInputToOutput);
+			Long totalElements = total ? athleteService.countAthletes() : null;
+			return ResponseEntity.ok(cursorCodec.toCursorPage(window, totalElements));
+		} catch (BusinessException e) {
+			log.error("Error Getting Athletes");
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
+	}
+
+	/**
+	 * Search the athletes with repeated {@code filter} parameters of the form
+	 * {@code field:operator:value}, such as
+	 * {@code personalInformation.name:prefix:Ju}. The filters are combined with "and"
+	 * and only some fields can be searched or sorted.
+	 * 
+	 * @param parameters the request parameters, with the filters
+	 * @param pageable   the pagination information
+	 * @return response entity with the page of athletes
+	 */
+	@GetMapping("/query")
+	public ResponseEntity queryAthletes(@RequestParam MultiValueMap<String, String> parameters, Pageable pageable) {
+		log.debug("queryAthletes");
+
+		Page<Athlete> listDomain;
+		try {
+			List<SearchCriterion> criteria = searchFilterParser.parse(parameters.get("filter"));
+			listDomain = athleteService.searchAthletes(criteria, pageable);
+		} catch (BusinessException e) {
+			log.error("Error searching athletes", e);
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
+		return ResponseEntity.ok(athleteToAthleteDtoMapper.fromInputToOutput(listDomain));
+	}
+
+	/**
+	 * Suggest athletes while typing, by the start of their name, surname or
+	 * document
+	 * 
+	 * @param prefix the text typed
+	 * @param limit  the maximum number of suggestions
+	 * @return response entity with the suggested athletes
+	 */
+	@GetMapping("/autocomplete")
+	public ResponseEntity autocompleteAthletes(@RequestParam String prefix,
+			@RequestParam(defaultValue = "10") int limit) {
+		log.debug("autocompleteAthletes");
+
+		try {
+			return ResponseEntity.ok(athleteService.suggestAthletes(prefix, limit));
+		} catch (BusinessException e) {
+			log.error("Error suggesting athletes", e);
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
+	}
+
 	/**
 	 * Receive an athlete by its ID
 	 * 
@@ -128,6 +274,29 @@ public class AthleteController {
 		return ResponseEntity.ok(response);
 	}
 
+	/**
+	 * post/create a batch of athletes. Every row is validated on its own, rows
+	 * that break the constraints of a single post are reported as invalid, and
+	 * the response reports the result of each one, in request order.
+	 * 
+	 * @param athleteDtos the athlete data transfer objects
+	 * @return response entity with the import report
+	 */
+	@PostMapping("/batch")
+	public ResponseEntity postAthletesBatch(@RequestBody List<PostPutAthleteDto> athleteDtos) {
+		log.debug("postAthletesBatch");
+
+		try {
+			// invalid rows are mapped to null, which the service reports as invalid
+			List<Athlete> athletes = athleteToPostPutAthleteDtoMapper.fromOutputToInput(athleteDtos.stream()
+					.map(dto -> dto == null || !validator.validate(dto).isEmpty() ? null : dto).toList());
+			return ResponseEntity.ok(athleteService.importAthletes(athletes));
+		} catch (BusinessException e) {
+			log.error("Error Importing Athletes");
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
+	}
+
 	/**
 	 * Partially modifies an athlete.
 	 * 
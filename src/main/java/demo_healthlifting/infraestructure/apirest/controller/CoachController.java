@@ -1,12 +1,17 @@
 package demo_healthlifting.infraestructure.apirest.controller;
 
 import java.net.URI;
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.MultiValueMap;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -15,28 +20,45 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import demo_healthlifting.application.ports.input.CoachServiceInputPort;
+import demo_healthlifting.application.ports.utils.Errors;
 import demo_healthlifting.domain.exception.BusinessException;
 import demo_healthlifting.domain.model.Coach;
+import demo_healthlifting.domain.model.SearchCriterion;
 import demo_healthlifting.infraestructure.apirest.dto.request.PatchCoachDto;
 import demo_healthlifting.infraestructure.apirest.dto.request.PostPutCoachDto;
 import demo_healthlifting.infraestructure.apirest.dto.response.CoachDto;
+import demo_healthlifting.infraestructure.apirest.dto.response.SliceDto;
 import demo_healthlifting.infraestructure.apirest.mapper.CoachToCoachDtoMapper;
 import demo_healthlifting.infraestructure.apirest.mapper.CoachToPatchCoachDtoMapper;
 import demo_healthlifting.infraestructure.apirest.mapper.CoachToPostPutCoachDtoMapper;
+import demo_healthlifting.infraestructure.apirest.mapper.CursorCodec;
+import demo_healthlifting.infraestructure.apirest.mapper.SearchFilterParser;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
 import lombok.extern.slf4j.Slf4j;
 
 @SuppressWarnings("rawtypes")
 @Slf4j
+@Profile("!reactive")
 @RestController
 @RequestMapping("/coaches")
 @CrossOrigin(origins = "localhost:4200") // Aqui ponemos el localhost para que no haya problemas al conectarlo con
 // el back
 public class CoachController {
+
+	/**
+	 * The keys of the keyset position of the cursor listing, those of its sort.
+	 */
+	private static final String[] CURSOR_KEYS = { "id" };
+
+	private static final String FULL_VIEW = "full";
+
+	private static final String SUMMARY_VIEW = "summary";
 	@Autowired
 	CoachServiceInputPort coachService;
 
@@ -49,18 +71,36 @@ public class CoachController {
 	@Autowired
 	CoachToCoachDtoMapper coachToCoachDtoMapper;
 
+	@Autowired
+	CursorCodec cursorCodec;
+
+	@Autowired
+	SearchFilterParser searchFilterParser;
+
+	@Autowired
+	Validator validator;
+
 	/**
-	 * Receive a list of all coaches.
+	 * Receive a list of all coaches. The summary view only reads and returns the
+	 * fields shown in a listing.
 	 * 
 	 * @param pageable the pagination information
+	 * @param view     full (default) or summary
 	 * @return response entity with the list of coaches
 	 */
 	@GetMapping
-	public ResponseEntity getCoaches(Pageable pageable) {
+	public ResponseEntity getCoaches(Pageable pageable, @RequestParam(defaultValue = FULL_VIEW) String view) {
 		log.debug("getCoaches");
 
+		if (!FULL_VIEW.equals(view) && !SUMMARY_VIEW.equals(view)) {
+			return ResponseEntity.badRequest().body(Errors.INVALID_VIEW);
+		}
+
 		Page<Coach> listDomain;
 		try {
+			if (SUMMARY_VIEW.equals(view)) {
+				return ResponseEntity.ok(coachService.getCoachSummaries(pageable));
+			}
 			listDomain = coachService.getCoaches(pageable);
 		} catch (BusinessException e) {
 			log.error("Error Getting Coaches");
@@ -69,6 +109,112 @@ public class CoachController {
 		return ResponseEntity.ok(coachToCoachDtoMapper.fromInputToOutput(listDomain));
 	}
 
+	/**
+	 * Receive a slice of coaches. No count is run unless the total is
+	 * requested, and then the active coaches are counted on the index of the
+	 * listing, since the collection metadata would include the eliminated ones.
+	 * 
+	 * @param pageable the pagination information
+	 * @param total    whether to count the coaches
+	 * @param view     full (default) or summary
+	 * @return response entity with the slice of coaches
+	 */
+	@GetMapping(params = "slice=true")
+	public ResponseEntity getCoachesSlice(Pageable pageable, @RequestParam(defaultValue = "false") boolean total,
+			@RequestParam(defaultValue = FULL_VIEW) String view) {
+		log.debug("getCoachesSlice");
+
+		if (!FULL_VIEW.equals(view) && !SUMMARY_VIEW.equals(view)) {
+			return ResponseEntity.badRequest().body(Errors.INVALID_VIEW);
+		}
+
+		try {
+			Long totalElements = total ? coachService.countCoaches() : null;
+			if (SUMMARY_VIEW.equals(view)) {
+				return ResponseEntity
+						.ok(SliceDto.of(coachService.getCoachSummariesSlice(pageable), totalElements));
+			}
+			Slice<CoachDto> slice = coachService.getCoachesSlice(pageable)
+					.map(coachToCoachDtoMapper::fromInputToOutput);
+			return ResponseEntity.ok(SliceDto.of(slice, totalElements));
+		} catch (BusinessException e) {
+			log.error("Error Getting Coaches");
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
+	}
+
+	/**
+	 * Receive a list of coaches using keyset pagination. The first page is
+	 * requested with an empty cursor and every response carries the cursor of the
+	 * next one.
+	 * 
+	 * @param cursor the continuation token, empty for the first page
+	 * @param size   the maximum number of coaches
+	 * @param total  whether to count all the coaches
+	 * @return response entity with the page of coaches
+	 */
+	@GetMapping(params = { "cursor", "!slice" })
+	public ResponseEntity getCoachesByCursor(@RequestParam String cursor,
+			@RequestParam(defaultValue = "20") int size, @RequestParam(defaultValue = "false") boolean total) {
+		log.debug("getCoachesByCursor");
+
+		try {
+			Window<CoachDto> window = coachService.getCoaches(cursorCodec.decode(cursor, CURSOR_KEYS), size)
+					.map(coachToCoachDtoMapper::fromInputToOutput);
+			Long totalElements = total ? coachService.countCoaches() : null;
+			return ResponseEntity.ok(cursorCodec.toCursorPage(window, totalElements));
+		} catch (BusinessException e) {
+			log.error("Error Getting Coaches");
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
+	}
+
+	/**
+	 * Search the coaches with repeated {@code filter} parameters of the form
+	 * {@code field:operator:value}, such as
+	 * {@code personalInformation.document:eq:12345678A}. The filters are
+	 * combined with "and" and only some fields can be searched or sorted.
+	 * 
+	 * @param parameters the request parameters, with the filters
+	 * @param pageable   the pagination information
+	 * @return response entity with the page of coaches
+	 */
+	@GetMapping("/query")
+	public ResponseEntity queryCoaches(@RequestParam MultiValueMap<String, String> parameters, Pageable pageable) {
+		log.debug("queryCoaches");
+
+		Page<Coach> listDomain;
+		try {
+			List<SearchCriterion> criteria = searchFilterParser.parse(parameters.get("filter"));
+			listDomain = coachService.searchCoaches(criteria, pageable);
+		} catch (BusinessException e) {
+			log.error("Error searching coaches", e);
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
+		return ResponseEntity.ok(coachToCoachDtoMapper.fromInputToOutput(listDomain));
+	}
+
+	/**
+	 * Suggest coaches while typing, by the start of their name, surname or
+	 * document
+	 * 
+	 * @param prefix the text typed
+	 * @param limit  the maximum number of suggestions
+	 * @return response entity with the suggested coaches
+	 */
+	@GetMapping("/autocomplete")
+	public ResponseEntity autocompleteCoaches(@RequestParam String prefix,
+			@RequestParam(defaultValue = "10") int limit) {
+		log.debug("autocompleteCoaches");
+
+		try {
+			return ResponseEntity.ok(coachService.suggestCoaches(prefix, limit));
+		} catch (BusinessException e) {
+			log.error("Error suggesting coaches", e);
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
+	}
+
 	/**
 	 * Receive an coach by its ID
 	 * 
@@ -129,6 +275,29 @@ public class CoachController {
 		return ResponseEntity.ok(response);
 	}
 
+	/**
+	 * post/create a batch of coaches. Every row is validated on its own, rows
+	 * that break the constraints of a single post are reported as invalid, and
+	 * the response reports the result of each one, in request order.
+	 * 
+	 * @param coachDtos the coach data transfer objects
+	 * @return response entity with the import report
+	 */
+	@PostMapping("/batch")
+	public ResponseEntity postCoachesBatch(@RequestBody List<PostPutCoachDto> coachDtos) {
+		log.debug("postCoachesBatch");
+
+		try {
+			// invalid rows are mapped to null, which the service reports as invalid
+			List<Coach> coaches = coachToPostPutCoachDtoMapper.fromOutputToInput(coachDtos.stream()
+					.map(dto -> dto == null || !validator.validate(dto).isEmpty() ? null : dto).toList());
+			return ResponseEntity.ok(coachService.importCoaches(coaches));
+		} catch (BusinessException e) {
+			log.error("Error Importing Coaches");
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
+	}
+
 	/**
 	 * Partially modifies a coach.
 	 * 
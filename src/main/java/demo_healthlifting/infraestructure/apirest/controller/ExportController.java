@@ -0,0 +1,187 @@
+package demo_healthlifting.infraestructure.apirest.controller;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import demo_healthlifting.application.ports.input.AppointmentServiceInputPort;
+import demo_healthlifting.application.ports.input.AthleteServiceInputPort;
+import demo_healthlifting.application.ports.input.CoachServiceInputPort;
+import demo_healthlifting.application.ports.input.TrainingSheetServiceInputPort;
+import demo_healthlifting.domain.exception.BusinessException;
+import demo_healthlifting.domain.model.Appointment;
+import demo_healthlifting.domain.model.Athlete;
+import demo_healthlifting.domain.model.Coach;
+import demo_healthlifting.domain.model.PersonalInformation;
+import demo_healthlifting.domain.model.TrainingSheet;
+import demo_healthlifting.infraestructure.apirest.export.CsvColumn;
+import demo_healthlifting.infraestructure.apirest.export.ExportFormat;
+import demo_healthlifting.infraestructure.apirest.export.ExportWriter;
+import demo_healthlifting.infraestructure.apirest.mapper.AppointmentToAppointmentDtoMapper;
+import demo_healthlifting.infraestructure.apirest.mapper.AthleteToAthleteDtoMapper;
+import demo_healthlifting.infraestructure.apirest.mapper.CoachToCoachDtoMapper;
+import demo_healthlifting.infraestructure.apirest.mapper.TrainingSheetToTrainingSheetDtoMapper;
+import lombok.extern.slf4j.Slf4j;
+
+@SuppressWarnings("rawtypes")
+@Slf4j
+@Profile("!reactive")
+@RestController
+@RequestMapping("/export")
+@CrossOrigin(origins = "localhost:4200")
+public class ExportController {
+
+	private static final List<CsvColumn<Athlete>> ATHLETE_COLUMNS = List.of(CsvColumn.of("id", Athlete::getId),
+			CsvColumn.of("name", a -> name(a.getPersonalInformation())),
+			CsvColumn.of("surname", a -> surname(a.getPersonalInformation())),
+			CsvColumn.of("documentType", a -> documentType(a.getPersonalInformation())),
+			CsvColumn.of("document", a -> document(a.getPersonalInformation())), CsvColumn.of("age", Athlete::getAge),
+			CsvColumn.of("height", Athlete::getHeight));
+
+	private static final List<CsvColumn<Coach>> COACH_COLUMNS = List.of(CsvColumn.of("id", Coach::getId),
+			CsvColumn.of("name", c -> name(c.getPersonalInformation())),
+			CsvColumn.of("surname", c -> surname(c.getPersonalInformation())),
+			CsvColumn.of("documentType", c -> documentType(c.getPersonalInformation())),
+			CsvColumn.of("document", c -> document(c.getPersonalInformation())));
+
+	private static final List<CsvColumn<Appointment>> APPOINTMENT_COLUMNS = List.of(
+			CsvColumn.of("id", Appointment::getId), CsvColumn.of("date", Appointment::getDate),
+			CsvColumn.of("trainingType", Appointment::getTrainingTypeRecord),
+			CsvColumn.of("coachId", Appointment::getCoachId),
+			CsvColumn.of("coachDocument", Appointment::getCoachDocument),
+			CsvColumn.of("athleteId", Appointment::getAthleteId),
+			CsvColumn.of("athleteDocument", Appointment::getAthleteDocument));
+
+	private static final List<CsvColumn<TrainingSheet>> TRAINING_SHEET_COLUMNS = List.of(
+			CsvColumn.of("id", TrainingSheet::getId),
+			CsvColumn.of("trainingType", TrainingSheet::getTrainingTypeRecord),
+			CsvColumn.of("coachId", TrainingSheet::getCoachId),
+			CsvColumn.of("athleteId", TrainingSheet::getAthleteId),
+			CsvColumn.of("appointmentId", TrainingSheet::getAppointmentId),
+			CsvColumn.of("observations", TrainingSheet::getObservations));
+
+	@Autowired
+	AthleteServiceInputPort athleteService;
+
+	@Autowired
+	CoachServiceInputPort coachService;
+
+	@Autowired
+	AppointmentServiceInputPort appointmentService;
+
+	@Autowired
+	TrainingSheetServiceInputPort trainingSheetService;
+
+	@Autowired
+	ExportWriter exportWriter;
+
+	@Autowired
+	AthleteToAthleteDtoMapper athleteToAthleteDtoMapper;
+
+	@Autowired
+	CoachToCoachDtoMapper coachToCoachDtoMapper;
+
+	@Autowired
+	AppointmentToAppointmentDtoMapper appointmentToAppointmentDtoMapper;
+
+	@Autowired
+	TrainingSheetToTrainingSheetDtoMapper trainingSheetToTrainingSheetDtoMapper;
+
+	/**
+	 * Export every athlete.
+	 * 
+	 * @param format ndjson (default) or csv
+	 * @return response entity streaming the athletes
+	 */
+	@GetMapping("/athletes")
+	public ResponseEntity exportAthletes(@RequestParam(defaultValue = "ndjson") String format) {
+		log.debug("exportAthletes");
+		return export("athletes", athleteService::exportAthletes, format, athleteToAthleteDtoMapper::fromInputToOutput,
+				ATHLETE_COLUMNS);
+	}
+
+	/**
+	 * Export every coach.
+	 * 
+	 * @param format ndjson (default) or csv
+	 * @return response entity streaming the coaches
+	 */
+	@GetMapping("/coaches")
+	public ResponseEntity exportCoaches(@RequestParam(defaultValue = "ndjson") String format) {
+		log.debug("exportCoaches");
+		return export("coaches", coachService::exportCoaches, format, coachToCoachDtoMapper::fromInputToOutput,
+				COACH_COLUMNS);
+	}
+
+	/**
+	 * Export every appointment.
+	 * 
+	 * @param format ndjson (default) or csv
+	 * @return response entity streaming the appointments
+	 */
+	@GetMapping("/appointments")
+	public ResponseEntity exportAppointments(@RequestParam(defaultValue = "ndjson") String format) {
+		log.debug("exportAppointments");
+		return export("appointments", appointmentService::exportAppointments, format,
+				appointmentToAppointmentDtoMapper::fromInputToOutput, APPOINTMENT_COLUMNS);
+	}
+
+	/**
+	 * Export every training sheet.
+	 * 
+	 * @param format ndjson (default) or csv
+	 * @return response entity streaming the training sheets
+	 */
+	@GetMapping("/trainingsheets")
+	public ResponseEntity exportTrainingSheets(@RequestParam(defaultValue = "ndjson") String format) {
+		log.debug("exportTrainingSheets");
+		return export("trainingsheets", trainingSheetService::exportTrainingSheets, format,
+				trainingSheetToTrainingSheetDtoMapper::fromInputToOutput, TRAINING_SHEET_COLUMNS);
+	}
+
+	private <T> ResponseEntity export(String name, Supplier<Stream<T>> rows, String format, Function<T, ?> toDto,
+			List<CsvColumn<T>> columns) {
+		ExportFormat exportFormat;
+		try {
+			exportFormat = ExportFormat.of(format);
+		} catch (BusinessException e) {
+			log.error("Error exporting {}", name);
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
+		ContentDisposition disposition = ContentDisposition.attachment()
+				.filename(name + "." + exportFormat.getExtension()).build();
+		StreamingResponseBody body = exportWriter.write(rows, exportFormat, toDto, columns);
+		return ResponseEntity.ok().contentType(exportFormat.getMediaType())
+				.header(HttpHeaders.CONTENT_DISPOSITION, disposition.toString()).body(body);
+	}
+
+	private static Object name(PersonalInformation personalInformation) {
+		return personalInformation == null ? null : personalInformation.getName();
+	}
+
+	private static Object surname(PersonalInformation personalInformation) {
+		return personalInformation == null ? null : personalInformation.getSurname();
+	}
+
+	private static Object documentType(PersonalInformation personalInformation) {
+		return personalInformation == null ? null : personalInformation.getDocumentType();
+	}
+
+	private static Object document(PersonalInformation personalInformation) {
+		return personalInformation == null ? null : personalInformation.getDocument();
+	}
+
+}
@@ -0,0 +1,186 @@
+package demo_healthlifting.infraestructure.apirest.controller;
+
+import java.time.LocalDateTime;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DateTimeFormat.ISO;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import demo_healthlifting.application.ports.input.ReactiveAppointmentServiceInputPort;
+import demo_healthlifting.domain.exception.BusinessException;
+import demo_healthlifting.domain.model.Appointment;
+import demo_healthlifting.infraestructure.apirest.dto.request.PatchAppointmentDto;
+import demo_healthlifting.infraestructure.apirest.dto.request.PostPutAppointmentDto;
+import demo_healthlifting.infraestructure.apirest.mapper.AppointmentToAppointmentDtoMapper;
+import demo_healthlifting.infraestructure.apirest.mapper.AppointmentToPatchAppointmentDtoMapper;
+import demo_healthlifting.infraestructure.apirest.mapper.AppointmentToPostPutAppointmentDtoMapper;
+import jakarta.validation.Valid;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive counterpart of {@link AppointmentController}, active with the
+ * "reactive" profile.
+ */
+@Slf4j
+@Profile("reactive")
+@RestController
+@RequestMapping("/appointments")
+@CrossOrigin(origins = "localhost:4200")
+public class ReactiveAppointmentController {
+
+	@Autowired
+	ReactiveAppointmentServiceInputPort appointmentService;
+
+	@Autowired
+	AppointmentToPatchAppointmentDtoMapper appointmentToPatchAppointmentDtoMapper;
+
+	@Autowired
+	AppointmentToPostPutAppointmentDtoMapper appointmentToPostPutAppointmentDtoMapper;
+
+	@Autowired
+	AppointmentToAppointmentDtoMapper appointmentToAppointmentDtoMapper;
+
+	/**
+	 * Receive a page of appointments.
+	 * 
+	 * @param page the page number
+	 * @param size the page size
+	 * @return response entity with the list of appointments
+	 */
+	@GetMapping
+	public Mono<ResponseEntity<Object>> getAppointments(@RequestParam(defaultValue = "0") int page,
+			@RequestParam(defaultValue = "20") int size) {
+		log.debug("getAppointments");
+
+		return ReactiveResponses
+				.ok(appointmentService.getAppointments(PageRequest.of(page, size))
+						.map(appointmentToAppointmentDtoMapper::fromInputToOutput))
+				.onErrorResume(BusinessException.class, ReactiveResponses::badRequest);
+	}
+
+	/**
+	 * Receive an appointment by its ID
+	 * 
+	 * @param idAppointment the ID of the appointment
+	 * @return response entity with the appointment
+	 */
+	@GetMapping("/{appointmentId}")
+	public Mono<ResponseEntity<Object>> getAppointment(@PathVariable("appointmentId") String idAppointment) {
+		log.debug("getAppointment");
+
+		return ReactiveResponses.okOrNoContent(appointmentService.getAppointment(idAppointment)
+				.map(appointmentToAppointmentDtoMapper::fromInputToOutput));
+	}
+
+	/**
+	 * Retrieve a page of appointments by coach ID, optionally within a date
+	 * range.
+	 * 
+	 * @param id   the ID of the coach
+	 * @param from the optional inclusive start date
+	 * @param to   the optional inclusive end date
+	 * @param page the page number
+	 * @param size the page size
+	 * @return response entity with the list of appointments
+	 */
+	@GetMapping("/coaches/{id}")
+	public Mono<ResponseEntity<Object>> getAppointmentsByCoachId(@PathVariable String id,
+			@RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE_TIME) LocalDateTime from,
+			@RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE_TIME) LocalDateTime to,
+			@RequestParam(defaultValue = "0") int page, @RequestParam(defaultValue = "20") int size) {
+		log.debug("getAppointmentsByCoachId");
+
+		return ReactiveResponses
+				.ok(appointmentService.getAppointmentsByCoachId(id, from, to, PageRequest.of(page, size))
+						.map(appointmentToAppointmentDtoMapper::fromInputToOutput))
+				.onErrorResume(BusinessException.class, ReactiveResponses::badRequest);
+	}
+
+	/**
+	 * Retrieve a page of appointments by athlete ID, optionally within a date
+	 * range.
+	 * 
+	 * @param id   the ID of the athlete
+	 * @param from the optional inclusive start date
+	 * @param to   the optional inclusive end date
+	 * @param page the page number
+	 * @param size the page size
+	 * @return response entity with the list of appointments
+	 */
+	@GetMapping("/athletes/{id}")
+	public Mono<ResponseEntity<Object>> getAppointmentsByAthleteId(@PathVariable String id,
+			@RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE_TIME) LocalDateTime from,
+			@RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE_TIME) LocalDateTime to,
+			@RequestParam(defaultValue = "0") int page, @RequestParam(defaultValue = "20") int size) {
+		log.debug("getAppointmentsByAthleteId");
+
+		return ReactiveResponses
+				.ok(appointmentService.getAppointmentsByAthleteId(id, from, to, PageRequest.of(page, size))
+						.map(appointmentToAppointmentDtoMapper::fromInputToOutput))
+				.onErrorResume(BusinessException.class, ReactiveResponses::badRequest);
+	}
+
+	/**
+	 * post/create a new appointment
+	 * 
+	 * @param appointmentDto the appointment data transfer object
+	 * @return response entity with the created appointment information
+	 */
+	@PostMapping
+	public Mono<ResponseEntity<Object>> postAppointment(@RequestBody @Valid PostPutAppointmentDto appointmentDto) {
+		log.debug("postAppointment");
+
+		Appointment appointment = appointmentToPostPutAppointmentDtoMapper.fromOutputToInput(appointmentDto);
+		return ReactiveResponses.ok(appointmentService.createAppointment(appointment).map(id -> {
+			appointment.setId(id);
+			return appointmentToAppointmentDtoMapper.fromInputToOutput(appointment);
+		})).onErrorResume(BusinessException.class, ReactiveResponses::badRequest);
+	}
+
+	/**
+	 * Partially modifies an appointment.
+	 * 
+	 * @param id  the ID of the appointment
+	 * @param dto the appointment data transfer object
+	 * @return response entity with the result of the operation
+	 */
+	@PatchMapping("/{appointmentId}")
+	public Mono<ResponseEntity<Object>> patchAppointment(@PathVariable("appointmentId") String id,
+			@RequestBody PatchAppointmentDto dto) {
+		log.debug("patchAppointment");
+
+		Appointment domain = appointmentToPatchAppointmentDtoMapper.fromOutputToInput(dto);
+		domain.setId(id);
+		return ReactiveResponses.okWhenDone(appointmentService.modificationPartialAppointment(domain))
+				.onErrorResume(BusinessException.class, ReactiveResponses::badRequest);
+	}
+
+	/**
+	 * Deletes an existent appointment by ID.
+	 * 
+	 * @param id the ID of the appointment
+	 * @return response entity with the result of the operation
+	 */
+	@DeleteMapping("/{appointmentId}")
+	public Mono<ResponseEntity<Object>> deleteAppointment(@PathVariable("appointmentId") String id) {
+		log.debug("deleteAppointment");
+
+		return ReactiveResponses.noContentWhenDone(appointmentService.deleteAppointment(id))
+				.onErrorResume(BusinessException.class, ReactiveResponses::badRequest);
+	}
+
+}
@@ -0,0 +1,145 @@
+package demo_healthlifting.infraestructure.apirest.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import demo_healthlifting.application.ports.input.ReactiveAthleteServiceInputPort;
+import demo_healthlifting.domain.exception.BusinessException;
+import demo_healthlifting.domain.model.Athlete;
+import demo_healthlifting.infraestructure.apirest.dto.request.PatchAthleteDto;
+import demo_healthlifting.infraestructure.apirest.dto.request.PostPutAthleteDto;
+import demo_healthlifting.infraestructure.apirest.mapper.AthleteToAthleteDtoMapper;
+import demo_healthlifting.infraestructure.apirest.mapper.AthleteToPatchAthleteDtoMapper;
+import demo_healthlifting.infraestructure.apirest.mapper.AthleteToPostPutAthleteDtoMapper;
+import jakarta.validation.Valid;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive counterpart of {@link AthleteController}, active with the
+ * "reactive" profile.
+ */
+@Slf4j
+@Profile("reactive")
+@RestController
+@RequestMapping("/athletes")
+@CrossOrigin(origins = "localhost:4200")
+public class ReactiveAthleteController {
+
+	@Autowired
+	ReactiveAthleteServiceInputPort athleteService;
+
+	@Autowired
+	AthleteToPatchAthleteDtoMapper athleteToPatchAthleteDtoMapper;
+
+	@Autowired
+	AthleteToPostPutAthleteDtoMapper athleteToPostPutAthleteDtoMapper;
+
+	@Autowired
+	AthleteToAthleteDtoMapper athleteToAthleteDtoMapper;
+
+	/**
+	 * Receive a page of athletes.
+	 * 
+	 * @param page the page number
+	 * @param size the page size
+	 * @return response entity with the list of athletes
+	 */
+	@GetMapping
+	public Mono<ResponseEntity<Object>> getAthletes(@RequestParam(defaultValue = "0") int page,
+			@RequestParam(defaultValue = "20") int size) {
+		log.debug("getAthletes");
+
+		return ReactiveResponses
+				.ok(athleteService.getAthletes(PageRequest.of(page, size))
+						.map(athleteToAthleteDtoMapper::fromInputToOutput))
+				.onErrorResume(BusinessException.class, ReactiveResponses::badRequest);
+	}
+
+	/**
+	 * Receive an athlete by its ID
+	 * 
+	 * @param idAthlete the ID of the athlete
+	 * @return response entity with the athlete
+	 */
+	@GetMapping("/{athleteId}")
+	public Mono<ResponseEntity<Object>> getAthlete(@PathVariable("athleteId") String idAthlete) {
+		log.debug("getAthlete");
+
+		return ReactiveResponses.okOrNoContent(athleteService.getAthlete(idAthlete));
+	}
+
+	/**
+	 * Retrieve an athlete by athlete document.
+	 * 
+	 * @param document the document of the athlete
+	 * @return response entity with the athlete
+	 */
+	@GetMapping("/list/{document}")
+	public Mono<ResponseEntity<Object>> getAthleteByDocument(@PathVariable("document") String document) {
+		log.debug("getAthleteDocument");
+
+		return ReactiveResponses.okOrNotFound(athleteService.findByAthletePersonalInformationDocument(document)
+				.map(athleteToAthleteDtoMapper::fromInputToOutput));
+	}
+
+	/**
+	 * post/create a new athlete
+	 * 
+	 * @param athleteDto the athlete data transfer object
+	 * @return response entity with the created athlete information
+	 */
+	@PostMapping
+	public Mono<ResponseEntity<Object>> postAthlete(@Valid @RequestBody PostPutAthleteDto athleteDto) {
+		log.debug("postAthlete");
+
+		Athlete athlete = athleteToPostPutAthleteDtoMapper.fromOutputToInput(athleteDto);
+		return ReactiveResponses.ok(athleteService.createAthlete(athlete)
+				.map(id -> athleteToAthleteDtoMapper.fromInputToOutput(athlete)));
+	}
+
+	/**
+	 * Partially modifies an athlete.
+	 * 
+	 * @param id  the ID of the athlete
+	 * @param dto the athlete data transfer object
+	 * @return response entity with the result of the operation
+	 */
+	@PatchMapping("/{athleteDetailId}")
+	public Mono<ResponseEntity<Object>> patchAthlete(@PathVariable("athleteDetailId") String id,
+			@RequestBody PatchAthleteDto dto) {
+		log.debug("patchAthlete");
+
+		Athlete domain = athleteToPatchAthleteDtoMapper.fromOutputToInput(dto);
+		domain.setId(id);
+		return ReactiveResponses.okWhenDone(athleteService.modificationPartialAthlete(domain))
+				.onErrorResume(BusinessException.class, ReactiveResponses::badRequest);
+	}
+
+	/**
+	 * Deletes an existent athlete by ID.
+	 * 
+	 * @param id the ID of the athlete
+	 * @return response entity with the result of the operation
+	 */
+	@DeleteMapping("/{athleteId}")
+	public Mono<ResponseEntity<Object>> deleteAthlete(@PathVariable("athleteId") String id) {
+		log.debug("deleteAthlete");
+
+		return ReactiveResponses.noContentWhenDone(athleteService.deleteAthlete(id))
+				.onErrorResume(BusinessException.class, ReactiveResponses::badRequest);
+	}
+
+}
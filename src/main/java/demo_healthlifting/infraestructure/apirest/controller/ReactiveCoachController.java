@@ -0,0 +1,145 @@
+package demo_healthlifting.infraestructure.apirest.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import demo_healthlifting.application.ports.input.ReactiveCoachServiceInputPort;
+import demo_healthlifting.domain.exception.BusinessException;
+import demo_healthlifting.domain.model.Coach;
+import demo_healthlifting.infraestructure.apirest.dto.request.PatchCoachDto;
+import demo_healthlifting.infraestructure.apirest.dto.request.PostPutCoachDto;
+import demo_healthlifting.infraestructure.apirest.mapper.CoachToCoachDtoMapper;
+import demo_healthlifting.infraestructure.apirest.mapper.CoachToPatchCoachDtoMapper;
+import demo_healthlifting.infraestructure.apirest.mapper.CoachToPostPutCoachDtoMapper;
+import jakarta.validation.Valid;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive counterpart of {@link CoachController}, active with the
+ * "reactive" profile.
+ */
+@Slf4j
+@Profile("reactive")
+@RestController
+@RequestMapping("/coaches")
+@CrossOrigin(origins = "localhost:4200")
+public class ReactiveCoachController {
+
+	@Autowired
+	ReactiveCoachServiceInputPort coachService;
+
+	@Autowired
+	CoachToPatchCoachDtoMapper coachToPatchCoachDtoMapper;
+
+	@Autowired
+	CoachToPostPutCoachDtoMapper coachToPostPutCoachDtoMapper;
+
+	@Autowired
+	CoachToCoachDtoMapper coachToCoachDtoMapper;
+
+	/**
+	 * Receive a page of coaches.
+	 * 
+	 * @param page the page number
+	 * @param size the page size
+	 * @return response entity with the list of coaches
+	 */
+	@GetMapping
+	public Mono<ResponseEntity<Object>> getCoaches(@RequestParam(defaultValue = "0") int page,
+			@RequestParam(defaultValue = "20") int size) {
+		log.debug("getCoaches");
+
+		return ReactiveResponses
+				.ok(coachService.getCoaches(PageRequest.of(page, size))
+						.map(coachToCoachDtoMapper::fromInputToOutput))
+				.onErrorResume(BusinessException.class, ReactiveResponses::badRequest);
+	}
+
+	/**
+	 * Receive a coach by its ID
+	 * 
+	 * @param idCoach the ID of the coach
+	 * @return response entity with the coach
+	 */
+	@GetMapping("/{coachId}")
+	public Mono<ResponseEntity<Object>> getCoach(@PathVariable("coachId") String idCoach) {
+		log.debug("getCoach");
+
+		return ReactiveResponses.okOrNoContent(coachService.getCoach(idCoach));
+	}
+
+	/**
+	 * Retrieve a coach by coach document.
+	 * 
+	 * @param document the document of the coach
+	 * @return response entity with the coach
+	 */
+	@GetMapping("/list/{document}")
+	public Mono<ResponseEntity<Object>> getCoachByDocument(@PathVariable("document") String document) {
+		log.debug("getCoachDocument");
+
+		return ReactiveResponses.okOrNotFound(coachService.findByCoachPersonalInformationDocument(document)
+				.map(coachToCoachDtoMapper::fromInputToOutput));
+	}
+
+	/**
+	 * post/create a new coach
+	 * 
+	 * @param coachDto the coach data transfer object
+	 * @return response entity with the created coach information
+	 */
+	@PostMapping
+	public Mono<ResponseEntity<Object>> postCoach(@Valid @RequestBody PostPutCoachDto coachDto) {
+		log.debug("postCoach");
+
+		Coach coach = coachToPostPutCoachDtoMapper.fromOutputToInput(coachDto);
+		return ReactiveResponses.ok(coachService.createCoach(coach)
+				.map(id -> coachToCoachDtoMapper.fromInputToOutput(coach)));
+	}
+
+	/**
+	 * Partially modifies a coach.
+	 * 
+	 * @param id  the ID of the coach
+	 * @param dto the coach data transfer object
+	 * @return response entity with the result of the operation
+	 */
+	@PatchMapping("/{coachId}")
+	public Mono<ResponseEntity<Object>> patchCoach(@PathVariable("coachId") String id,
+			@RequestBody PatchCoachDto dto) {
+		log.debug("patchCoach");
+
+		Coach domain = coachToPatchCoachDtoMapper.fromOutputToInput(dto);
+		domain.setId(id);
+		return ReactiveResponses.okWhenDone(coachService.modificationPartialCoach(domain))
+				.onErrorResume(BusinessException.class, ReactiveResponses::badRequest);
+	}
+
+	/**
+	 * Deletes an existent coach by ID.
+	 * 
+	 * @param id the ID of the coach
+	 * @return response entity with the result of the operation
+	 */
+	@DeleteMapping("/{coachId}")
+	public Mono<ResponseEntity<Object>> deleteCoach(@PathVariable("coachId") String id) {
+		log.debug("deleteCoach");
+
+		return ReactiveResponses.noContentWhenDone(coachService.deleteCoach(id))
+				.onErrorResume(BusinessException.class, ReactiveResponses::badRequest);
+	}
+
+}
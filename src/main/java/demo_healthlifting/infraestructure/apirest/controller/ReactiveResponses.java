@@ -0,0 +1,49 @@
+package demo_healthlifting.infraestructure.apirest.controller;
+
+import org.springframework.http.ResponseEntity;
+
+import demo_healthlifting.domain.exception.BusinessException;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Builds the responses of the reactive controllers with the same statuses as
+ * the servlet controllers.
+ */
+@Slf4j
+final class ReactiveResponses {
+
+	private ReactiveResponses() {
+	}
+
+	static Mono<ResponseEntity<Object>> ok(Mono<?> body) {
+		return body.map(value -> ResponseEntity.ok((Object) value));
+	}
+
+	static Mono<ResponseEntity<Object>> ok(Flux<?> body) {
+		return ok(body.collectList());
+	}
+
+	static Mono<ResponseEntity<Object>> okOrNoContent(Mono<?> body) {
+		return ok(body).defaultIfEmpty(ResponseEntity.noContent().build());
+	}
+
+	static Mono<ResponseEntity<Object>> okOrNotFound(Mono<?> body) {
+		return ok(body).defaultIfEmpty(ResponseEntity.notFound().build());
+	}
+
+	static Mono<ResponseEntity<Object>> okWhenDone(Mono<Void> operation) {
+		return operation.then(Mono.fromSupplier(() -> ResponseEntity.ok().build()));
+	}
+
+	static Mono<ResponseEntity<Object>> noContentWhenDone(Mono<Void> operation) {
+		return operation.then(Mono.fromSupplier(() -> ResponseEntity.noContent().build()));
+	}
+
+	static Mono<ResponseEntity<Object>> badRequest(BusinessException e) {
+		log.error("Business error: {}", e.getMessage());
+		return Mono.just(ResponseEntity.badRequest().body(e.getMessage()));
+	}
+
+}
@@ -0,0 +1,168 @@
+package demo_healthlifting.infraestructure.apirest.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import demo_healthlifting.application.ports.input.ReactiveTrainingSheetServiceInputPort;
+import demo_healthlifting.domain.exception.BusinessException;
+import demo_healthlifting.domain.model.TrainingSheet;
+import demo_healthlifting.infraestructure.apirest.dto.request.PatchTrainingSheetDto;
+import demo_healthlifting.infraestructure.apirest.dto.request.PostPutTrainingSheetDto;
+import demo_healthlifting.infraestructure.apirest.mapper.TrainingSheetToPatchTrainingSheetDtoMapper;
+import demo_healthlifting.infraestructure.apirest.mapper.TrainingSheetToPostPutTrainingSheetDtoMapper;
+import demo_healthlifting.infraestructure.apirest.mapper.TrainingSheetToTrainingSheetDtoMapper;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive counterpart of {@link TrainingSheetController}, active with the
+ * "reactive" profile.
+ */
+@Slf4j
+@Profile("reactive")
+@RestController
+@RequestMapping("/trainingsheets")
+@CrossOrigin(origins = "localhost:4200")
+public class ReactiveTrainingSheetController {
+
+	@Autowired
+	ReactiveTrainingSheetServiceInputPort trainingSheetService;
+
+	@Autowired
+	TrainingSheetToPatchTrainingSheetDtoMapper trainingSheetToPatchTrainingSheetDtoMapper;
+
+	@Autowired
+	TrainingSheetToPostPutTrainingSheetDtoMapper trainingSheetToPostPutTrainingSheetDtoMapper;
+
+	@Autowired
+	TrainingSheetToTrainingSheetDtoMapper trainingSheetToTrainingSheetDtoMapper;
+
+	/**
+	 * post/create a new trainingsheet
+	 * 
+	 * @param trainingSheetDto the trainingsheet data transfer object
+	 * @return response entity with the created trainingsheet information
+	 */
+	@PostMapping
+	public Mono<ResponseEntity<Object>> postTrainingSheet(@RequestBody PostPutTrainingSheetDto trainingSheetDto) {
+		log.debug("postTrainingSheet");
+
+		TrainingSheet trainingSheet = trainingSheetToPostPutTrainingSheetDtoMapper.fromOutputToInput(trainingSheetDto);
+		return ReactiveResponses.ok(trainingSheetService.createTrainingSheet(trainingSheet).map(id -> {
+			trainingSheet.setId(id);
+			return trainingSheetToTrainingSheetDtoMapper.fromInputToOutput(trainingSheet);
+		})).onErrorResume(BusinessException.class, ReactiveResponses::badRequest);
+	}
+
+	/**
+	 * Receive a trainingSheet by its ID
+	 * 
+	 * @param id the ID of the trainingSheet
+	 * @return response entity with the trainingSheet
+	 */
+	@GetMapping("/{trainingSheetId}")
+	public Mono<ResponseEntity<Object>> getTrainingSheet(@PathVariable("trainingSheetId") String id) {
+		log.debug("getTrainingSheet");
+
+		return ReactiveResponses.okOrNoContent(trainingSheetService.getTrainingSheet(id));
+	}
+
+	/**
+	 * Receive the trainingSheets of an athlete.
+	 * 
+	 * @param athleteId the ID of the athlete
+	 * @param page      the page number
+	 * @param size      the page size
+	 * @return response entity with the trainingsheets of the athlete
+	 */
+	@GetMapping("/athletes/{athleteId}")
+	public Mono<ResponseEntity<Object>> getTrainingSheetsByAthleteId(@PathVariable String athleteId,
+			@RequestParam(defaultValue = "0") int page, @RequestParam(defaultValue = "20") int size) {
+		log.debug("getTrainingSheetsByAthleteId");
+
+		return ReactiveResponses
+				.ok(trainingSheetService.getTrainingSheetsByAthleteId(athleteId, PageRequest.of(page, size)))
+				.onErrorResume(BusinessException.class, ReactiveResponses::badRequest);
+	}
+
+	/**
+	 * Receive the trainingSheets of a coach.
+	 * 
+	 * @param coachId the ID of the coach
+	 * @param page    the page number
+	 * @param size    the page size
+	 * @return response entity with the trainingsheets of the coach
+	 */
+	@GetMapping("/coaches/{coachId}")
+	public Mono<ResponseEntity<Object>> getTrainingSheetsByCoachId(@PathVariable String coachId,
+			@RequestParam(defaultValue = "0") int page, @RequestParam(defaultValue = "20") int size) {
+		log.debug("getTrainingSheetsByCoachId");
+
+		return ReactiveResponses
+				.ok(trainingSheetService.getTrainingSheetsByCoachId(coachId, PageRequest.of(page, size)))
+				.onErrorResume(BusinessException.class, ReactiveResponses::badRequest);
+	}
+
+	/**
+	 * Receive a page of trainingSheets.
+	 * 
+	 * @param page the page number
+	 * @param size the page size
+	 * @return response entity with the list of trainingSheets
+	 */
+	@GetMapping
+	public Mono<ResponseEntity<Object>> getTrainingSheets(@RequestParam(defaultValue = "0") int page,
+			@RequestParam(defaultValue = "20") int size) {
+		log.debug("getTrainingSheets");
+
+		return ReactiveResponses
+				.ok(trainingSheetService.getTrainingSheets(PageRequest.of(page, size))
+						.map(trainingSheetToTrainingSheetDtoMapper::fromInputToOutput))
+				.onErrorResume(BusinessException.class, ReactiveResponses::badRequest);
+	}
+
+	/**
+	 * Partially modifies a trainingSheet.
+	 * 
+	 * @param id  the ID of the trainingSheet
+	 * @param dto the trainingSheet data transfer object
+	 * @return response entity with the result of the operation
+	 */
+	@PatchMapping("/{trainingSheetId}")
+	public Mono<ResponseEntity<Object>> patchTrainingSheet(@PathVariable("trainingSheetId") String id,
+			@RequestBody PatchTrainingSheetDto dto) {
+		log.debug("patchTrainingSheet");
+
+		TrainingSheet domain = trainingSheetToPatchTrainingSheetDtoMapper.fromOutputToInput(dto);
+		domain.setId(id);
+		return ReactiveResponses.okWhenDone(trainingSheetService.modificationPartialTrainingSheet(domain))
+				.onErrorResume(BusinessException.class, ReactiveResponses::badRequest);
+	}
+
+	/**
+	 * Deletes an existent trainingSheet by ID.
+	 * 
+	 * @param id the ID of the trainingSheet
+	 * @return response entity with the result of the operation
+	 */
+	@DeleteMapping("/{trainingSheetId}")
+	public Mono<ResponseEntity<Object>> deleteTrainingSheet(@PathVariable("trainingSheetId") String id) {
+		log.debug("deleteTrainingSheet");
+
+		return ReactiveResponses.noContentWhenDone(trainingSheetService.deleteTrainingSheet(id))
+				.onErrorResume(BusinessException.class, ReactiveResponses::badRequest);
+	}
+
+}
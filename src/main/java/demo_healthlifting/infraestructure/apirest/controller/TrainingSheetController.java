@@ -1,12 +1,18 @@
 package demo_healthlifting.infraestructure.apirest.controller;
 
 import java.net.URI;
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.MultiValueMap;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -15,15 +21,22 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import demo_healthlifting.application.ports.input.TrainingSheetServiceInputPort;
 import demo_healthlifting.domain.exception.BusinessException;
+import demo_healthlifting.domain.model.SearchCriterion;
 import demo_healthlifting.domain.model.TrainingSheet;
+import demo_healthlifting.domain.model.TrainingSheetFilter;
+import demo_healthlifting.domain.model.TrainingTypeRecord;
 import demo_healthlifting.infraestructure.apirest.dto.request.PatchTrainingSheetDto;
 import demo_healthlifting.infraestructure.apirest.dto.request.PostPutTrainingSheetDto;
 import demo_healthlifting.infraestructure.apirest.dto.response.TrainingSheetDto;
+import demo_healthlifting.infraestructure.apirest.dto.response.SliceDto;
+import demo_healthlifting.infraestructure.apirest.mapper.CursorCodec;
+import demo_healthlifting.infraestructure.apirest.mapper.SearchFilterParser;
 import demo_healthlifting.infraestructure.apirest.mapper.TrainingSheetToPatchTrainingSheetDtoMapper;
 import demo_healthlifting.infraestructure.apirest.mapper.TrainingSheetToPostPutTrainingSheetDtoMapper;
 import demo_healthlifting.infraestructure.apirest.mapper.TrainingSheetToTrainingSheetDtoMapper;
@@ -32,12 +45,18 @@ import lombok.extern.slf4j.Slf4j;
 
 @SuppressWarnings("rawtypes")
 @Slf4j
+@Profile("!reactive")
 @RestController
 @RequestMapping("/trainingsheets")
 @CrossOrigin(origins = "localhost:4200") // Aqui ponemos el localhost para que no haya problemas al conectarlo con
 // el back
 public class TrainingSheetController {
 
+	/**
+	 * The keys of the keyset position of the cursor listing, those of its sort.
+	 */
+	private static final String[] CURSOR_KEYS = { "id" };
+
 	@Autowired
 	TrainingSheetServiceInputPort trainingSheetService;
 
@@ -50,6 +69,12 @@ public class TrainingSheetController {
 	@Autowired
 	TrainingSheetToTrainingSheetDtoMapper trainingSheetToTrainingSheetDtoMapper;
 
+	@Autowired
+	CursorCodec cursorCodec;
+
+	@Autowired
+	SearchFilterParser searchFilterParser;
+
 	/**
 	 * post/create a new trainingsheet
 	 * 
@@ -71,6 +96,65 @@ public class TrainingSheetController {
 		return ResponseEntity.ok(response);
 	}
 
+	/**
+	 * Search the training sheets with repeated {@code filter} parameters of the
+	 * form {@code field:operator:value}, such as
+	 * {@code trainingTypeRecord:in:HIIT|POWER}. The filters are combined with "and" and
+	 * only some fields can be searched or sorted.
+	 * 
+	 * @param parameters the request parameters, with the filters
+	 * @param pageable   the pagination information
+	 * @return response entity with the page of training sheets
+	 */
+	@GetMapping("/query")
+	public ResponseEntity queryTrainingSheets(@RequestParam MultiValueMap<String, String> parameters,
+			Pageable pageable) {
+		log.debug("queryTrainingSheets");
+
+		Page<TrainingSheet> listDomain;
+		try {
+			List<SearchCriterion> criteria = searchFilterParser.parse(parameters.get("filter"));
+			listDomain = trainingSheetService.searchTrainingSheets(criteria, pageable);
+		} catch (BusinessException e) {
+			log.error("Error searching training sheets", e);
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
+		return ResponseEntity.ok(trainingSheetToTrainingSheetDtoMapper.fromInputToOutput(listDomain));
+	}
+
+	/**
+	 * Search the training sheets whose observations contain some words, such as
+	 * {@code knee pain}, or a quoted phrase, most relevant first. The athlete,
+	 * coach and training type filters are optional.
+	 * 
+	 * @param text         the words to look for
+	 * @param trainingType the optional training type
+	 * @param coachId      the optional ID of the coach
+	 * @param athleteId    the optional ID of the athlete
+	 * @param pageable     the pagination information
+	 * @param total        whether to count the training sheets
+	 * @return response entity with the slice of training sheets
+	 */
+	@GetMapping("/search")
+	public ResponseEntity searchTrainingSheets(@RequestParam String text,
+			@RequestParam(required = false) TrainingTypeRecord trainingType,
+			@RequestParam(required = false) String coachId, @RequestParam(required = false) String athleteId,
+			Pageable pageable, @RequestParam(defaultValue = "false") boolean total) {
+		log.debug("searchTrainingSheetsByText");
+
+		try {
+			TrainingSheetFilter filter = TrainingSheetFilter.builder().text(text).trainingType(trainingType)
+					.coachId(coachId).athleteId(athleteId).build();
+			Slice<TrainingSheetDto> slice = trainingSheetService.searchTrainingSheets(filter, pageable)
+					.map(trainingSheetToTrainingSheetDtoMapper::fromInputToOutput);
+			Long totalElements = total ? trainingSheetService.countTrainingSheets(filter) : null;
+			return ResponseEntity.ok(SliceDto.of(slice, totalElements));
+		} catch (BusinessException e) {
+			log.error("Error searching training sheets", e);
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
+	}
+
 	/**
 	 * Receive an trainingSheet by its ID
 	 * 
@@ -137,6 +221,58 @@ public class TrainingSheetController {
 		return ResponseEntity.ok(trainingSheetToTrainingSheetDtoMapper.fromInputToOutput(listDomain));
 	}
 
+	/**
+	 * Receive a slice of training sheets. No count is run unless the total is
+	 * requested, and then the active training sheets are counted on the index of the
+	 * listing, since the collection metadata would include the eliminated ones.
+	 * 
+	 * @param pageable the pagination information
+	 * @param total    whether to count the training sheets
+	 * @return response entity with the slice of training sheets
+	 */
+	@GetMapping(params = "slice=true")
+	public ResponseEntity getTrainingSheetsSlice(Pageable pageable,
+			@RequestParam(defaultValue = "false") boolean total) {
+		log.debug("getTrainingSheetsSlice");
+
+		try {
+			Slice<TrainingSheetDto> slice = trainingSheetService.getTrainingSheetsSlice(pageable)
+					.map(trainingSheetToTrainingSheetDtoMapper::fromInputToOutput);
+			Long totalElements = total ? trainingSheetService.countTrainingSheets() : null;
+			return ResponseEntity.ok(SliceDto.of(slice, totalElements));
+		} catch (BusinessException e) {
+			log.error("Error Getting trainingSheets");
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
+	}
+
+	/**
+	 * Receive a list of trainingSheets using keyset pagination. The first page is
+	 * requested with an empty cursor and every response carries the cursor of the
+	 * next one.
+	 * 
+	 * @param cursor the continuation token, empty for the first page
+	 * @param size   the maximum number of trainingSheets
+	 * @param total  whether to count all the trainingSheets
+	 * @return response entity with the page of trainingSheets
+	 */
+	@GetMapping(params = { "cursor", "!slice" })
+	public ResponseEntity getTrainingSheetsByCursor(@RequestParam String cursor,
+			@RequestParam(defaultValue = "20") int size, @RequestParam(defaultValue = "false") boolean total) {
+		log.debug("getTrainingSheetsByCursor");
+
+		try {
+			ScrollPosition position = cursorCodec.decode(cursor, CURSOR_KEYS);
+			Window<TrainingSheetDto> window = trainingSheetService.getTrainingSheets(position, size)
+					.map(trainingSheetToTrainingSheetDtoMapper::fromInputToOutput);
+			Long totalElements = total ? trainingSheetService.countTrainingSheets() : null;
+			return ResponseEntity.ok(cursorCodec.toCursorPage(window, totalElements));
+		} catch (BusinessException e) {
+			log.error("Error Getting trainingSheets");
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
+	}
+
 	/**
 	 * Partially modifies a trainingSheet.
 	 * 
@@ -0,0 +1,34 @@
+package demo_healthlifting.infraestructure.apirest.dto.response;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.extern.jackson.Jacksonized;
+
+@Data
+@Builder
+@Jacksonized
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageDto<T> {
+	private List<T> content;
+
+	private boolean hasNext;
+
+	/**
+	 * Opaque token to request the next page, null on the last page.
+	 */
+	private String next;
+
+	/**
+	 * Total number of elements, only present when requested.
+	 */
+	@JsonInclude(JsonInclude.Include.NON_NULL)
+	private Long totalElements;
+
+}
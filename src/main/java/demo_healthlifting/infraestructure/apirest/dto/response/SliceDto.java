@@ -0,0 +1,40 @@
+package demo_healthlifting.infraestructure.apirest.dto.response;
+
+import java.util.List;
+
+import org.springframework.data.domain.Slice;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.extern.jackson.Jacksonized;
+
+@Data
+@Builder
+@Jacksonized
+@NoArgsConstructor
+@AllArgsConstructor
+public class SliceDto<T> {
+	private List<T> content;
+
+	private int number;
+
+	private int size;
+
+	private boolean hasNext;
+
+	/**
+	 * Total number of elements, only present when requested.
+	 */
+	@JsonInclude(JsonInclude.Include.NON_NULL)
+	private Long totalElements;
+
+	public static <T> SliceDto<T> of(Slice<T> slice, Long totalElements) {
+		return SliceDto.<T>builder().content(slice.getContent()).number(slice.getNumber()).size(slice.getSize())
+				.hasNext(slice.hasNext()).totalElements(totalElements).build();
+	}
+
+}
@@ -0,0 +1,18 @@
+package demo_healthlifting.infraestructure.apirest.export;
+
+import java.util.function.Function;
+
+/**
+ * Column of a CSV export: its header and how to read its value from a row.
+ *
+ * @param <T>    the type of the exported rows
+ * @param header the header of the column
+ * @param value  the function reading the value of the column, may return null
+ */
+public record CsvColumn<T>(String header, Function<T, Object> value) {
+
+	public static <T> CsvColumn<T> of(String header, Function<T, Object> value) {
+		return new CsvColumn<>(header, value);
+	}
+
+}
@@ -0,0 +1,50 @@
+package demo_healthlifting.infraestructure.apirest.export;
+
+import org.springframework.http.MediaType;
+
+import demo_healthlifting.application.ports.utils.Errors;
+import demo_healthlifting.domain.exception.BusinessException;
+
+/**
+ * Output formats of the export endpoints.
+ */
+public enum ExportFormat {
+
+	/** One JSON document per line. */
+	NDJSON(MediaType.parseMediaType("application/x-ndjson"), "ndjson"),
+
+	/** Comma separated values with a header row. */
+	CSV(MediaType.parseMediaType("text/csv"), "csv");
+
+	private final MediaType mediaType;
+
+	private final String extension;
+
+	ExportFormat(MediaType mediaType, String extension) {
+		this.mediaType = mediaType;
+		this.extension = extension;
+	}
+
+	/**
+	 * @param name the name of the format, case insensitive
+	 * @return the format
+	 * @throws BusinessException if the format is not supported
+	 */
+	public static ExportFormat of(String name) throws BusinessException {
+		for (ExportFormat format : values()) {
+			if (format.name().equalsIgnoreCase(name)) {
+				return format;
+			}
+		}
+		throw new BusinessException(Errors.UNSUPPORTED_EXPORT_FORMAT);
+	}
+
+	public MediaType getMediaType() {
+		return mediaType;
+	}
+
+	public String getExtension() {
+		return extension;
+	}
+
+}
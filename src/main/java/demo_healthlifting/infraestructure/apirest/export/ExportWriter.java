@@ -0,0 +1,128 @@
+package demo_healthlifting.infraestructure.apirest.export;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Writes a stream of rows to the response as NDJSON or CSV while it is read, so
+ * that the memory used does not depend on the number of rows. The output is
+ * flushed every {@code healthlifting.export.batch-size} rows, in step with the
+ * batches fetched from the Mongo cursor. NDJSON rows are written as the same
+ * response DTOs as the rest of the API, and CSV cells that a spreadsheet would
+ * run as a formula are prefixed with a quote.
+ */
+@Slf4j
+@Component
+public class ExportWriter {
+
+	private static final String FORMULA_LEADERS = "=+-@\t\r";
+
+	@Autowired
+	ObjectMapper objectMapper;
+
+	@Value("${healthlifting.export.batch-size:500}")
+	int batchSize;
+
+	/**
+	 * Builds the body of an export response. The stream is opened when the body
+	 * is written and always closed afterwards.
+	 *
+	 * @param <T>     the type of the exported rows
+	 * @param rows    supplies the stream of rows
+	 * @param format  the output format
+	 * @param toDto   maps a row to the response DTO of the NDJSON format
+	 * @param columns the columns of the CSV format
+	 * @return the streaming response body
+	 */
+	public <T> StreamingResponseBody write(Supplier<Stream<T>> rows, ExportFormat format, Function<T, ?> toDto,
+			List<CsvColumn<T>> columns) {
+		return outputStream -> {
+			long count = 0;
+			try (Stream<T> stream = rows.get()) {
+				count = format == ExportFormat.CSV ? writeCsv(stream.iterator(), columns, outputStream)
+						: writeNdjson(stream.iterator(), toDto, outputStream);
+			} finally {
+				log.debug("Exported {} rows as {}", count, format);
+			}
+		};
+	}
+
+	private <T> long writeNdjson(Iterator<T> rows, Function<T, ?> toDto, OutputStream outputStream)
+			throws IOException {
+		ObjectWriter writer = objectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+				.without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+		Writer out = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+		long count = 0;
+		while (rows.hasNext()) {
+			writer.writeValue(out, toDto.apply(rows.next()));
+			out.write('\n');
+			if (++count % batchSize == 0) {
+				out.flush();
+			}
+		}
+		out.flush();
+		return count;
+	}
+
+	private <T> long writeCsv(Iterator<T> rows, List<CsvColumn<T>> columns, OutputStream outputStream)
+			throws IOException {
+		Writer out = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+		for (int i = 0; i < columns.size(); i++) {
+			out.write(i == 0 ? "" : ",");
+			out.write(escape(columns.get(i).header()));
+		}
+		out.write("\r\n");
+		long count = 0;
+		while (rows.hasNext()) {
+			T row = rows.next();
+			for (int i = 0; i < columns.size(); i++) {
+				Object value = columns.get(i).value().apply(row);
+				out.write(i == 0 ? "" : ",");
+				out.write(value == null ? "" : escape(value.toString()));
+			}
+			out.write("\r\n");
+			if (++count % batchSize == 0) {
+				out.flush();
+			}
+		}
+		out.flush();
+		return count;
+	}
+
+	/**
+	 * Quotes a cell with a separator, a quote or a line break, and prefixes with
+	 * a quote the cells that start like a formula.
+	 */
+	static String escape(String value) {
+		if (!value.isEmpty() && FORMULA_LEADERS.indexOf(value.charAt(0)) >= 0) {
+			value = "'" + value;
+		}
+		if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0
+				&& value.indexOf('\r') < 0) {
+			return value;
+		}
+		return '"' + value.replace("\"", "\"\"") + '"';
+	}
+
+}
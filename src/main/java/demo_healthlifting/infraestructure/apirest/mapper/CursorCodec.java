@@ -0,0 +1,134 @@
+package demo_healthlifting.infraestructure.apirest.mapper;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import demo_healthlifting.application.ports.utils.Errors;
+import demo_healthlifting.domain.exception.BusinessException;
+import demo_healthlifting.infraestructure.apirest.dto.response.CursorPageDto;
+
+/**
+ * Converts keyset scroll positions to the opaque continuation tokens exposed by
+ * the cursor endpoints and back. A token holds the values of the sort key and
+ * the id of the last element returned, each tagged with its type so that it is
+ * compared with the stored value and not with its text.
+ */
+@Component
+public class CursorCodec {
+
+	private static final TypeReference<LinkedHashMap<String, String>> TOKEN_TYPE = new TypeReference<>() {
+	};
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	/**
+	 * Decodes a continuation token. An empty token requests the first page.
+	 *
+	 * @param cursor the token received from the client
+	 * @param keys   the sort keys of the listing, which the token must hold
+	 * @return the keyset position to continue from
+	 * @throws BusinessException if the token is malformed or holds other keys
+	 */
+	public ScrollPosition decode(String cursor, String... keys) throws BusinessException {
+		if (cursor == null || cursor.isBlank()) {
+			return ScrollPosition.keyset();
+		}
+		try {
+			String json = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+			Map<String, String> token = objectMapper.readValue(json, TOKEN_TYPE);
+			if (token == null || !token.keySet().equals(Set.of(keys))) {
+				throw new BusinessException(Errors.INVALID_CURSOR);
+			}
+			Map<String, Object> position = new LinkedHashMap<>();
+			token.forEach((key, value) -> position.put(key, decodeValue(value)));
+			return ScrollPosition.forward(position);
+		} catch (IllegalArgumentException | DateTimeParseException | JsonProcessingException e) {
+			throw new BusinessException(Errors.INVALID_CURSOR);
+		}
+	}
+
+	/**
+	 * Encodes a keyset position as an opaque token.
+	 *
+	 * @param position the position of the last element returned
+	 * @return the token, or null if the position is not a keyset position
+	 */
+	public String encode(ScrollPosition position) {
+		if (!(position instanceof KeysetScrollPosition keyset) || keyset.isInitial()) {
+			return null;
+		}
+		Map<String, String> token = new LinkedHashMap<>();
+		keyset.getKeys().forEach((key, value) -> token.put(key, encodeValue(value)));
+		try {
+			return Base64.getUrlEncoder().withoutPadding()
+					.encodeToString(objectMapper.writeValueAsBytes(token));
+		} catch (JsonProcessingException e) {
+			throw new IllegalStateException("Cannot encode cursor", e);
+		}
+	}
+
+	/**
+	 * Builds the response of a cursor endpoint from a window of results.
+	 *
+	 * @param <T>           the type of the elements
+	 * @param window        the window of results
+	 * @param totalElements the total number of elements, or null if not requested
+	 * @return the cursor page
+	 */
+	public <T> CursorPageDto<T> toCursorPage(Window<T> window, Long totalElements) {
+		String next = window.hasNext() && !window.isEmpty() ? encode(window.positionAt(window.size() - 1)) : null;
+		return CursorPageDto.<T>builder().content(window.getContent()).hasNext(next != null).next(next)
+				.totalElements(totalElements).build();
+	}
+
+	private String encodeValue(Object value) {
+		if (value instanceof String string) {
+			return "s:" + string;
+		} else if (value instanceof LocalDateTime date) {
+			return "t:" + date;
+		} else if (value instanceof Long number) {
+			return "l:" + number;
+		} else if (value instanceof Integer number) {
+			return "i:" + number;
+		} else if (value instanceof Boolean bool) {
+			return "b:" + bool;
+		}
+		throw new IllegalArgumentException("Unsupported cursor value " + value);
+	}
+
+	private Object decodeValue(String value) {
+		if (value == null || value.length() < 2 || value.charAt(1) != ':') {
+			throw new IllegalArgumentException("Malformed cursor value");
+		}
+		String text = value.substring(2);
+		switch (value.charAt(0)) {
+		case 's':
+			return text;
+		case 't':
+			return LocalDateTime.parse(text);
+		case 'l':
+			return Long.valueOf(text);
+		case 'i':
+			return Integer.valueOf(text);
+		case 'b':
+			return Boolean.valueOf(text);
+		default:
+			throw new IllegalArgumentException("Malformed cursor value");
+		}
+	}
+
+}
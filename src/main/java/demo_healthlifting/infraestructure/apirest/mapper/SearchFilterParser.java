@@ -0,0 +1,68 @@
+package demo_healthlifting.infraestructure.apirest.mapper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+import org.springframework.stereotype.Component;
+
+import demo_healthlifting.application.ports.utils.Constants;
+import demo_healthlifting.application.ports.utils.Errors;
+import demo_healthlifting.domain.exception.BusinessException;
+import demo_healthlifting.domain.model.SearchCriterion;
+import demo_healthlifting.domain.model.SearchOperator;
+
+/**
+ * Parses the {@code filter} parameters of the search endpoints. Every filter
+ * is {@code field:operator:value}, where the operator is one of
+ * {@link SearchOperator} and the values of {@code in} are separated by
+ * {@code |}, for example {@code personalInformation.name:prefix:Ju} or
+ * {@code trainingTypeRecord:in:HIIT|STRENGHT}. Only the syntax is checked here,
+ * the fields and operators allowed are checked by each repository.
+ */
+@Component
+public class SearchFilterParser {
+
+	private static final Pattern FIELD = Pattern.compile("[A-Za-z][A-Za-z0-9]*(\\.[A-Za-z][A-Za-z0-9]*)*");
+
+	private static final Pattern VALUE_SEPARATOR = Pattern.compile("\\|");
+
+	/**
+	 * Parses the filters of a request.
+	 *
+	 * @param filters the filter parameters, or null if there are none
+	 * @return the search criteria, in the same order
+	 * @throws BusinessException if there are too many filters or one is malformed
+	 */
+	public List<SearchCriterion> parse(List<String> filters) throws BusinessException {
+		if (filters == null) {
+			return List.of();
+		}
+		if (filters.size() > Constants.MAXIMUM_SEARCH_FILTERS) {
+			throw new BusinessException(Errors.MAXIMUM_SEARCH_FILTERS_EXCEEDED);
+		}
+		List<SearchCriterion> criteria = new ArrayList<>(filters.size());
+		for (String filter : filters) {
+			criteria.add(parseFilter(filter));
+		}
+		return criteria;
+	}
+
+	private SearchCriterion parseFilter(String filter) throws BusinessException {
+		String[] parts = filter.split(":", 3);
+		if (parts.length < 3 || !FIELD.matcher(parts[0]).matches() || parts[2].isEmpty()) {
+			throw new BusinessException(Errors.INVALID_SEARCH_FILTER);
+		}
+		SearchOperator operator;
+		try {
+			operator = SearchOperator.valueOf(parts[1].toUpperCase(Locale.ROOT));
+		} catch (IllegalArgumentException e) {
+			throw new BusinessException(Errors.INVALID_SEARCH_FILTER);
+		}
+		List<String> values = operator == SearchOperator.IN ? List.of(VALUE_SEPARATOR.split(parts[2], -1))
+				: List.of(parts[2]);
+		return SearchCriterion.builder().field(parts[0]).operator(operator).values(values).build();
+	}
+
+}
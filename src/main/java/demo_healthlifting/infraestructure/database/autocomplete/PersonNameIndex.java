@@ -0,0 +1,199 @@
+package demo_healthlifting.infraestructure.database.autocomplete;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import demo_healthlifting.domain.model.PersonSuggestion;
+import demo_healthlifting.domain.model.PersonalInformation;
+import demo_healthlifting.infraestructure.database.autocomplete.PrefixIndex.Person;
+import demo_healthlifting.infraestructure.database.entity.AthleteEntity;
+import demo_healthlifting.infraestructure.database.entity.CoachEntity;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps the names, surnames and documents of the active athletes and coaches
+ * in memory to suggest them while typing. They are loaded at startup, or the
+ * first time they are searched if the load is disabled, and the repository
+ * services update them on every create, modify and delete. The writes of other
+ * instances are applied by the {@code ChangeStreamInvalidator} when it is
+ * enabled.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+public class PersonNameIndex implements ApplicationRunner {
+
+	private static final int WARM_UP_BATCH_SIZE = 1000;
+
+	/**
+	 * The people that can be suggested and their collection.
+	 */
+	public enum PersonType {
+		ATHLETE(AthleteEntity.class), COACH(CoachEntity.class);
+
+		private final Class<?> entity;
+
+		PersonType(Class<?> entity) {
+			this.entity = entity;
+		}
+	}
+
+	@Autowired
+	MongoTemplate mongoTemplate;
+
+	@Value("${healthlifting.autocomplete.warm-up-on-startup:true}")
+	boolean warmUpOnStartup;
+
+	private final Map<PersonType, PrefixIndex> indexes = Map.of(PersonType.ATHLETE, new PrefixIndex(),
+			PersonType.COACH, new PrefixIndex());
+
+	private final Set<PersonType> loaded = ConcurrentHashMap.newKeySet();
+
+	@Override
+	public void run(ApplicationArguments args) {
+		if (!warmUpOnStartup) {
+			log.debug("Autocomplete warm-up on startup is disabled");
+			return;
+		}
+		try {
+			for (PersonType type : PersonType.values()) {
+				ensureLoaded(type);
+			}
+		} catch (RuntimeException e) {
+			log.error("Error warming up the autocomplete index, it is loaded on the first search", e);
+		}
+	}
+
+	/**
+	 * Suggests the people with a word of their name or surname, or their
+	 * document, that starts with each word typed. Accents and case are ignored.
+	 *
+	 * @param type  athletes or coaches
+	 * @param text  the text typed
+	 * @param limit the maximum number of suggestions
+	 * @return the suggestions
+	 */
+	public List<PersonSuggestion> suggest(PersonType type, String text, int limit) {
+		ensureLoaded(type);
+		return indexes.get(type).find(text, limit).stream()
+				.map(person -> PersonSuggestion.builder().id(person.id()).name(person.name())
+						.surname(person.surname()).document(person.document()).build())
+				.toList();
+	}
+
+	/**
+	 * Adds a person, or replaces it if it is already indexed.
+	 *
+	 * @param type                athletes or coaches
+	 * @param id                  the ID of the person
+	 * @param personalInformation the name, surname and document of the person
+	 */
+	public void put(PersonType type, String id, PersonalInformation personalInformation) {
+		putAll(type, Collections.singletonMap(id, personalInformation));
+	}
+
+	/**
+	 * Adds or replaces several people with a single update of the index.
+	 *
+	 * @param type   athletes or coaches
+	 * @param people the personal information of every person, by ID
+	 */
+	public void putAll(PersonType type, Map<String, PersonalInformation> people) {
+		if (isLoaded(type)) {
+			List<Person> added = new ArrayList<>(people.size());
+			people.forEach((id, personalInformation) -> added.add(person(id, personalInformation)));
+			indexes.get(type).update(List.of(), added);
+		}
+	}
+
+	/**
+	 * Removes a person from the suggestions.
+	 *
+	 * @param type athletes or coaches
+	 * @param id   the ID of the person
+	 */
+	public void remove(PersonType type, String id) {
+		if (isLoaded(type)) {
+			indexes.get(type).update(List.of(id), List.of());
+		}
+	}
+
+	/**
+	 * Drops the people of a type, when some writes may have been missed. They are
+	 * loaded again on the next search.
+	 *
+	 * @param type athletes or coaches
+	 */
+	public synchronized void unload(PersonType type) {
+		loaded.remove(type);
+		log.info("Autocomplete index of {} unloaded", type);
+	}
+
+	/**
+	 * Loads the people of a type once. A write waits for a load in progress, and
+	 * is skipped while nothing is loaded since the load reads it from MongoDB.
+	 */
+	private void ensureLoaded(PersonType type) {
+		if (loaded.contains(type)) {
+			return;
+		}
+		synchronized (this) {
+			if (loaded.contains(type)) {
+				return;
+			}
+			long start = System.nanoTime();
+			Query query = Query.query(Criteria.where("eliminate").is(false)).cursorBatchSize(WARM_UP_BATCH_SIZE);
+			query.fields().include("personalInformation");
+			List<Person> people = new ArrayList<>();
+			try (Stream<?> stream = mongoTemplate.stream(query, type.entity)) {
+				stream.forEach(entity -> people.add(person(entity)));
+			}
+			indexes.get(type).load(people);
+			loaded.add(type);
+			log.info("Autocomplete index of {} loaded with {} people in {} ms", type, people.size(),
+					(System.nanoTime() - start) / 1_000_000);
+		}
+	}
+
+	private boolean isLoaded(PersonType type) {
+		if (loaded.contains(type)) {
+			return true;
+		}
+		synchronized (this) {
+			return loaded.contains(type);
+		}
+	}
+
+	private Person person(Object entity) {
+		if (entity instanceof AthleteEntity athlete) {
+			return person(athlete.getId(), athlete.getPersonalInformation());
+		}
+		CoachEntity coach = (CoachEntity) entity;
+		return person(coach.getId(), coach.getPersonalInformation());
+	}
+
+	private Person person(String id, PersonalInformation personalInformation) {
+		if (personalInformation == null) {
+			return new Person(id, null, null, null);
+		}
+		return new Person(id, personalInformation.getName(), personalInformation.getSurname(),
+				personalInformation.getDocument());
+	}
+
+}
@@ -0,0 +1,236 @@
+package demo_healthlifting.infraestructure.database.autocomplete;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Sorted array of the normalized words of the names, surnames and documents of
+ * a set of people, searched by prefix with a binary search. Reads work on an
+ * immutable snapshot without locking. Writes are serialized and publish a new
+ * snapshot, built by copying the unchanged ranges of the previous one, so a
+ * write costs a copy of the arrays and a batch of writes costs a single copy.
+ */
+final class PrefixIndex {
+
+	private static final Pattern ACCENTS = Pattern.compile("\\p{M}+");
+
+	private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+	private static final Comparator<Entry> ORDER = Comparator.comparing(Entry::key)
+			.thenComparing(entry -> entry.person().id());
+
+	private volatile Snapshot snapshot = new Snapshot(new String[0], new Person[0]);
+
+	/**
+	 * People in the snapshot by id, to find the words of a replaced person.
+	 * Only accessed by writers.
+	 */
+	private final Map<String, Person> people = new HashMap<>();
+
+	/**
+	 * A person and its words, normalized once when it is indexed.
+	 */
+	record Person(String id, String name, String surname, String document, List<String> keys) {
+
+		Person(String id, String name, String surname, String document) {
+			this(id, name, surname, document, PrefixIndex.keys(name, surname, document));
+		}
+	}
+
+	private record Entry(String key, Person person) {
+	}
+
+	private record Snapshot(String[] keys, Person[] people) {
+	}
+
+	synchronized int size() {
+		return people.size();
+	}
+
+	/**
+	 * Finds the people with a word that starts with every word of the query, in
+	 * the order of the word that matched. The most selective word of the query
+	 * is looked up and the others are checked on its matches.
+	 *
+	 * @param query the text typed, with one or more words
+	 * @param limit the maximum number of people
+	 * @return the people found
+	 */
+	List<Person> find(String query, int limit) {
+		List<String> tokens = words(query);
+		if (tokens.isEmpty() || limit <= 0) {
+			return List.of();
+		}
+		Snapshot current = snapshot;
+		String lookup = null;
+		int from = 0;
+		int to = 0;
+		for (String token : tokens) {
+			int tokenFrom = lowerBound(current.keys(), token);
+			int tokenTo = lowerBound(current.keys(), token + Character.MAX_VALUE);
+			if (lookup == null || tokenTo - tokenFrom < to - from) {
+				lookup = token;
+				from = tokenFrom;
+				to = tokenTo;
+			}
+		}
+		List<String> others = new ArrayList<>(tokens);
+		others.remove(lookup);
+		Map<String, Person> found = new LinkedHashMap<>();
+		for (int i = from; i < to && found.size() < limit; i++) {
+			Person person = current.people()[i];
+			if (!found.containsKey(person.id()) && matchesAll(person, others)) {
+				found.put(person.id(), person);
+			}
+		}
+		return List.copyOf(found.values());
+	}
+
+	/**
+	 * Replaces the people with the given ids, removing the ones not given again.
+	 *
+	 * @param removed the ids of the people to remove or replace
+	 * @param added   the people to add or replace
+	 */
+	synchronized void update(Collection<String> removed, Collection<Person> added) {
+		Snapshot current = snapshot;
+		List<Integer> removedPositions = new ArrayList<>();
+		List<String> replaced = new ArrayList<>(removed);
+		added.forEach(person -> replaced.add(person.id()));
+		for (String id : replaced) {
+			Person previous = people.remove(id);
+			if (previous != null) {
+				for (String key : previous.keys()) {
+					removedPositions.add(lowerBound(current, new Entry(key, previous)));
+				}
+			}
+		}
+		List<Entry> entries = new ArrayList<>();
+		for (Person person : added) {
+			if (people.putIfAbsent(person.id(), person) == null) {
+				person.keys().forEach(key -> entries.add(new Entry(key, person)));
+			}
+		}
+		entries.sort(ORDER);
+		int[] removedAt = removedPositions.stream().mapToInt(Integer::intValue).sorted().distinct().toArray();
+		snapshot = merge(current, removedAt, entries);
+	}
+
+	/**
+	 * Replaces every person of the index.
+	 *
+	 * @param all the people
+	 */
+	synchronized void load(Collection<Person> all) {
+		people.clear();
+		List<Entry> entries = new ArrayList<>();
+		for (Person person : all) {
+			if (people.putIfAbsent(person.id(), person) == null) {
+				person.keys().forEach(key -> entries.add(new Entry(key, person)));
+			}
+		}
+		entries.sort(ORDER);
+		snapshot = merge(new Snapshot(new String[0], new Person[0]), new int[0], entries);
+	}
+
+	private Snapshot merge(Snapshot current, int[] removedAt, List<Entry> added) {
+		int size = current.keys().length;
+		String[] keys = new String[size - removedAt.length + added.size()];
+		Person[] persons = new Person[keys.length];
+		int[] addedAt = new int[added.size()];
+		for (int i = 0; i < addedAt.length; i++) {
+			addedAt[i] = lowerBound(current, added.get(i));
+		}
+		int source = 0;
+		int target = 0;
+		int removedIndex = 0;
+		int addedIndex = 0;
+		while (true) {
+			int nextRemoved = removedIndex < removedAt.length ? removedAt[removedIndex] : size;
+			int nextAdded = addedIndex < addedAt.length ? addedAt[addedIndex] : size;
+			int next = Math.min(nextRemoved, nextAdded);
+			System.arraycopy(current.keys(), source, keys, target, next - source);
+			System.arraycopy(current.people(), source, persons, target, next - source);
+			target += next - source;
+			source = next;
+			if (addedIndex < addedAt.length && addedAt[addedIndex] == source) {
+				keys[target] = added.get(addedIndex).key();
+				persons[target++] = added.get(addedIndex++).person();
+			} else if (removedIndex < removedAt.length && removedAt[removedIndex] == source) {
+				source++;
+				removedIndex++;
+			} else {
+				return new Snapshot(keys, persons);
+			}
+		}
+	}
+
+	private boolean matchesAll(Person person, List<String> tokens) {
+		if (tokens.isEmpty()) {
+			return true;
+		}
+		return tokens.stream().allMatch(token -> person.keys().stream().anyMatch(key -> key.startsWith(token)));
+	}
+
+	private static int lowerBound(String[] keys, String key) {
+		int low = 0;
+		int high = keys.length;
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			if (keys[middle].compareTo(key) < 0) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+		return low;
+	}
+
+	private static int lowerBound(Snapshot current, Entry entry) {
+		int low = 0;
+		int high = current.keys().length;
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			Entry other = new Entry(current.keys()[middle], current.people()[middle]);
+			if (ORDER.compare(other, entry) < 0) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+		return low;
+	}
+
+	/**
+	 * The words of a person: each word of the name and the surname and the whole
+	 * document, without separators.
+	 */
+	private static List<String> keys(String name, String surname, String document) {
+		List<String> keys = new ArrayList<>(words(name));
+		keys.addAll(words(surname));
+		String documentKey = String.join("", words(document));
+		if (!documentKey.isEmpty()) {
+			keys.add(documentKey);
+		}
+		return keys.stream().distinct().toList();
+	}
+
+	static List<String> words(String text) {
+		if (text == null || text.isBlank()) {
+			return List.of();
+		}
+		String normalized = ACCENTS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+				.toLowerCase(Locale.ROOT);
+		return Arrays.stream(SEPARATORS.split(normalized)).filter(word -> !word.isEmpty()).distinct().toList();
+	}
+
+}
@@ -0,0 +1,79 @@
+package demo_healthlifting.infraestructure.database.cache;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Set of strings that answers "maybe present" or "certainly absent" in a fixed
+ * amount of memory. Strings can only be added, so a removed value stays maybe
+ * present. It is sized for an expected number of values and a false positive
+ * rate, and keeps working with more values at a higher rate. Adds and lookups
+ * can run concurrently.
+ */
+final class BloomFilter {
+
+	private final AtomicLongArray bits;
+
+	private final long size;
+
+	private final int hashes;
+
+	/**
+	 * @param expectedValues    the number of values expected
+	 * @param falsePositiveRate the rate of absent values reported as maybe present
+	 *                          with that number of values
+	 */
+	BloomFilter(long expectedValues, double falsePositiveRate) {
+		long values = Math.max(1, expectedValues);
+		long optimalSize = (long) Math.ceil(-values * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+		this.bits = new AtomicLongArray((int) Math.min(Integer.MAX_VALUE - 8, (optimalSize + 63) / 64));
+		this.size = bits.length() * 64L;
+		this.hashes = Math.max(1, (int) Math.round((double) size / values * Math.log(2)));
+	}
+
+	void add(String value) {
+		long hash = hash(value);
+		int first = (int) hash;
+		int second = (int) (hash >>> 32);
+		for (int i = 0; i < hashes; i++) {
+			long bit = Math.floorMod(first + (long) i * second, size);
+			int word = (int) (bit >>> 6);
+			long mask = 1L << bit;
+			long current = bits.get(word);
+			while ((current & mask) == 0 && !bits.compareAndSet(word, current, current | mask)) {
+				current = bits.get(word);
+			}
+		}
+	}
+
+	boolean mightContain(String value) {
+		long hash = hash(value);
+		int first = (int) hash;
+		int second = (int) (hash >>> 32);
+		for (int i = 0; i < hashes; i++) {
+			long bit = Math.floorMod(first + (long) i * second, size);
+			if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * 64-bit FNV-1a of the characters, finished with the MurmurHash3 mix so that
+	 * both halves can be used as independent hashes.
+	 */
+	private static long hash(String value) {
+		long hash = 0xcbf29ce484222325L;
+		for (int i = 0; i < value.length(); i++) {
+			hash ^= value.charAt(i);
+			hash *= 0x100000001b3L;
+		}
+		hash ^= hash >>> 33;
+		hash *= 0xff51afd7ed558ccdL;
+		hash ^= hash >>> 33;
+		hash *= 0xc4ceb93fe1a85ec3L;
+		hash ^= hash >>> 33;
+		return hash;
+	}
+
+}
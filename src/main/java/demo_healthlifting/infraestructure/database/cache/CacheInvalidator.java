@@ -0,0 +1,200 @@
+package demo_healthlifting.infraestructure.database.cache;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Evicts only the cache entries affected by a write: the entries holding the
+ * written entity, the lists it may appear in and the keys described by the
+ * scopes given by the caller (see {@link CacheKey#scope(CacheQuery, String)}).
+ * A scope evicts the single entry with that key and every page of that query
+ * for that value. The loads in flight and the empty lookups of the cache are
+ * dropped too, see {@link LoadCoalescer} and {@link NegativeLookupCache}, and
+ * the shared entries of a {@link TwoLevelCache} other than the lookups by id
+ * move to a new generation.
+ */
+@Slf4j
+@Component
+public class CacheInvalidator {
+
+	@Autowired
+	CacheManager cacheManager;
+
+	@Autowired
+	LoadCoalescer loadCoalescer;
+
+	@Autowired
+	NegativeLookupCache negativeLookupCache;
+
+	/**
+	 * A created entity can appear in every page of all entities, in the pages of
+	 * its scopes, and may replace a cached "not found" result.
+	 *
+	 * @param cacheName the cache name
+	 * @param scopes    the scopes of the created entity
+	 */
+	public void onCreated(String cacheName, CacheKey... scopes) {
+		log.debug("onCreated {}", cacheName);
+		loadCoalescer.forget(cacheName);
+		negativeLookupCache.forget(cacheName, null, scopes);
+		Cache cache = cacheManager.getCache(cacheName);
+		evictSharedQueries(cache);
+		if (cache instanceof IndexedCache indexedCache) {
+			evictLists(indexedCache, true, scopes);
+			evictScopes(indexedCache, scopes);
+		} else if (cache != null) {
+			cache.clear();
+		}
+	}
+
+	/**
+	 * A modified entity affects the entries that contain it and, as any field the
+	 * lists are sorted or filtered by may have changed, the pages of all entities
+	 * and of its new scopes, where it may now appear or move.
+	 *
+	 * @param cacheName the cache name
+	 * @param id        the id of the modified entity
+	 * @param scopes    the scopes of the modified entity
+	 */
+	public void onModified(String cacheName, String id, CacheKey... scopes) {
+		log.debug("onModified {} {}", cacheName, id);
+		loadCoalescer.forget(cacheName);
+		negativeLookupCache.forget(cacheName, id, scopes);
+		Cache cache = cacheManager.getCache(cacheName);
+		evictSharedQueries(cache);
+		if (cache instanceof IndexedCache indexedCache) {
+			evictDependents(indexedCache, id);
+			evictLists(indexedCache, true, scopes);
+			evictScopes(indexedCache, scopes);
+		} else if (cache != null) {
+			cache.clear();
+		}
+	}
+
+	/**
+	 * A write that only adds or removes the ids of related entities held by the
+	 * entity, which no list is sorted or filtered by, affects the entries that
+	 * contain it.
+	 *
+	 * @param cacheName the cache name
+	 * @param id        the id of the linked entity
+	 */
+	public void onLinked(String cacheName, String id) {
+		log.debug("onLinked {} {}", cacheName, id);
+		loadCoalescer.forget(cacheName);
+		Cache cache = cacheManager.getCache(cacheName);
+		evictSharedQueries(cache);
+		if (cache instanceof IndexedCache indexedCache) {
+			evictDependents(indexedCache, id);
+		} else if (cache != null) {
+			cache.clear();
+		}
+	}
+
+	/**
+	 * A deleted entity affects the entries that contain it and the membership of
+	 * the pages of all entities and of its scopes.
+	 *
+	 * @param cacheName the cache name
+	 * @param id        the id of the deleted entity
+	 * @param scopes    the scopes of the deleted entity
+	 */
+	public void onDeleted(String cacheName, String id, CacheKey... scopes) {
+		log.debug("onDeleted {} {}", cacheName, id);
+		loadCoalescer.forget(cacheName);
+		negativeLookupCache.forget(cacheName, id, scopes);
+		Cache cache = cacheManager.getCache(cacheName);
+		evictSharedQueries(cache);
+		if (cache instanceof IndexedCache indexedCache) {
+			evictDependents(indexedCache, id);
+			evictLists(indexedCache, true, scopes);
+			evictScopes(indexedCache, scopes);
+		} else if (cache != null) {
+			cache.clear();
+		}
+	}
+
+	/**
+	 * A write made by another instance, whose previous state is unknown. Unless
+	 * it only linked the entity to related ones it may have changed the lists the
+	 * entity belongs to or its place in them, and affects the same entries as a
+	 * delete.
+	 *
+	 * @param cacheName    the cache name
+	 * @param id           the id of the written entity
+	 * @param listsChanged whether the write may have changed the lists the entity
+	 *                     belongs to or its place in them
+	 * @param scopes       the scopes of the entity after the write
+	 */
+	public void onChanged(String cacheName, String id, boolean listsChanged, CacheKey... scopes) {
+		log.debug("onChanged {} {} {}", cacheName, id, listsChanged);
+		if (listsChanged) {
+			onDeleted(cacheName, id, scopes);
+		} else {
+			onLinked(cacheName, id);
+		}
+	}
+
+	/**
+	 * When any entity may have changed every entry of the cache is dropped.
+	 *
+	 * @param cacheName the cache name
+	 */
+	public void onInvalidated(String cacheName) {
+		log.debug("onInvalidated {}", cacheName);
+		loadCoalescer.forget(cacheName);
+		negativeLookupCache.forgetAll(cacheName);
+		Cache cache = cacheManager.getCache(cacheName);
+		if (cache != null) {
+			cache.clear();
+		}
+	}
+
+	private void evictSharedQueries(Cache cache) {
+		if (cache instanceof IndexedCache indexedCache && indexedCache.getDelegate() instanceof TwoLevelCache shared) {
+			shared.evictSharedQueries();
+		}
+	}
+
+	private void evictDependents(IndexedCache cache, String id) {
+		if (id == null) {
+			return;
+		}
+		cache.getIndex().keysOf(id).forEach(cache::evict);
+		cache.evict(CacheKey.scope(CacheQuery.ID, id));
+		cache.evict(CacheKey.scope(CacheQuery.ACTIVE_ID, id));
+	}
+
+	private void evictLists(IndexedCache cache, boolean membershipChanged, CacheKey... scopes) {
+		for (Object key : cache.getIndex().listKeys()) {
+			if (key instanceof CacheKey cacheKey && affects(cacheKey, membershipChanged, scopes)) {
+				cache.evict(key);
+			}
+		}
+	}
+
+	private boolean affects(CacheKey key, boolean membershipChanged, CacheKey... scopes) {
+		if (membershipChanged && key.query().scope() == CacheQuery.ACTIVE_PAGE) {
+			return true;
+		}
+		for (CacheKey scope : scopes) {
+			if (scope != null && key.matches(scope)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private void evictScopes(IndexedCache cache, CacheKey... scopes) {
+		for (CacheKey scope : scopes) {
+			if (scope != null && scope.value() != null) {
+				cache.evict(scope);
+			}
+		}
+	}
+
+}
@@ -0,0 +1,66 @@
+package demo_healthlifting.infraestructure.database.cache;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+import org.springframework.data.domain.Pageable;
+
+/**
+ * Structured cache key made of the query kind, the filter value, any further
+ * filter arguments and, for paged queries, the requested page and sort.
+ *
+ * @param query  the query kind
+ * @param value  the filter value (id, document or owner), may be null
+ * @param filter the remaining filter arguments, null when there are none
+ * @param page   the requested page, null for single entity lookups
+ */
+public record CacheKey(CacheQuery query, String value, String filter, PageKey page) implements Serializable {
+
+	/**
+	 * Builds a key matching every page of a query for a given value. It is used to
+	 * describe which entries a write affects.
+	 *
+	 * @param query the query kind
+	 * @param value the filter value
+	 * @return the scope key
+	 */
+	public static CacheKey scope(CacheQuery query, String value) {
+		return new CacheKey(query, value, null, null);
+	}
+
+	/**
+	 * @param scope a key built with {@link #scope(CacheQuery, String)}
+	 * @return whether this key has the query kind, or a slice of it, and the value
+	 *         of the scope, whatever its filter and page
+	 */
+	public boolean matches(CacheKey scope) {
+		return query.scope() == scope.query && Objects.equals(value, scope.value);
+	}
+
+	@Override
+	public String toString() {
+		return query + ":" + value + (filter == null ? "" : ":" + filter) + (page == null ? "" : ":" + page);
+	}
+
+	/**
+	 * Page and sort part of a key.
+	 *
+	 * @param number the page number, -1 when unpaged
+	 * @param size   the page size, -1 when unpaged
+	 * @param sort   the sort description
+	 */
+	public record PageKey(int number, int size, String sort) implements Serializable {
+
+		public static PageKey of(Pageable pageable) {
+			return pageable.isPaged()
+					? new PageKey(pageable.getPageNumber(), pageable.getPageSize(), pageable.getSort().toString())
+					: new PageKey(-1, -1, pageable.getSort().toString());
+		}
+
+		@Override
+		public String toString() {
+			return "p" + number + ",s" + size + "," + sort;
+		}
+	}
+
+}
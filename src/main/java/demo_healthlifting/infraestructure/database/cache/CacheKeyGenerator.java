@@ -0,0 +1,68 @@
+package demo_healthlifting.infraestructure.database.cache;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.aop.support.AopUtils;
+import org.springframework.cache.annotation.CacheConfig;
+import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import demo_healthlifting.infraestructure.database.cache.CacheKey.PageKey;
+
+/**
+ * Builds a {@link CacheKey} for methods annotated with {@link CachedQuery}: the
+ * query kind comes from the annotation, the value from the first
+ * {@link String} argument, the page from the {@link Pageable} argument and the
+ * filter from every other argument.
+ */
+@Component(CacheKeyGenerator.NAME)
+public class CacheKeyGenerator implements KeyGenerator {
+
+	public static final String NAME = "cacheKeyGenerator";
+
+	private final Map<Class<?>, String> cacheNames = new ConcurrentHashMap<>();
+
+	@Override
+	public Object generate(Object target, Method method, Object... params) {
+		Method specificMethod = AopUtils.getMostSpecificMethod(method, target.getClass());
+		CachedQuery cachedQuery = AnnotatedElementUtils.findMergedAnnotation(specificMethod, CachedQuery.class);
+		if (cachedQuery == null) {
+			throw new IllegalStateException("Method " + specificMethod + " is not annotated with @CachedQuery");
+		}
+
+		String value = null;
+		PageKey page = null;
+		StringJoiner filter = new StringJoiner("|");
+		boolean filtered = false;
+		for (Object param : params) {
+			if (value == null && !filtered && param instanceof String string) {
+				value = string;
+			} else if (param instanceof Pageable pageable) {
+				page = PageKey.of(pageable);
+			} else {
+				filter.add(String.valueOf(param));
+				filtered = true;
+			}
+		}
+		return new CacheKey(cachedQuery.value(), value, filtered ? filter.toString() : null, page);
+	}
+
+	/**
+	 * @param type the class of a bean with {@link CachedQuery} methods
+	 * @return the cache name of its {@link CacheConfig}, or the class name
+	 */
+	public String cacheName(Class<?> type) {
+		return cacheNames.computeIfAbsent(type, t -> {
+			CacheConfig cacheConfig = AnnotationUtils.findAnnotation(t, CacheConfig.class);
+			return cacheConfig != null && cacheConfig.cacheNames().length > 0 ? cacheConfig.cacheNames()[0]
+					: t.getName();
+		});
+	}
+
+}
@@ -0,0 +1,129 @@
+package demo_healthlifting.infraestructure.database.cache;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.data.domain.Slice;
+
+import demo_healthlifting.domain.model.Appointment;
+import demo_healthlifting.domain.model.Athlete;
+import demo_healthlifting.domain.model.AthleteSummary;
+import demo_healthlifting.domain.model.Coach;
+import demo_healthlifting.domain.model.CoachSummary;
+import demo_healthlifting.domain.model.TrainingSheet;
+
+/**
+ * Reverse index of a single cache: for every entity id it keeps the cache keys
+ * whose value contains that entity, and it remembers which keys hold lists or
+ * pages.
+ */
+public class CacheKeyIndex {
+
+	private final Map<String, Set<Object>> keysById = new ConcurrentHashMap<>();
+
+	private final Map<Object, Set<String>> idsByKey = new ConcurrentHashMap<>();
+
+	private final Set<Object> listKeys = ConcurrentHashMap.newKeySet();
+
+	/**
+	 * Registers a cached value under its key, indexing the ids of the entities it
+	 * contains.
+	 *
+	 * @param key   the cache key
+	 * @param value the cached value
+	 */
+	public void register(Object key, Object value) {
+		Object unwrapped = value instanceof Optional<?> optional ? optional.orElse(null) : value;
+		if (unwrapped == null) {
+			return;
+		}
+
+		Set<String> ids = new HashSet<>();
+		if (unwrapped instanceof Slice<?> slice) {
+			listKeys.add(key);
+			slice.forEach(element -> addId(ids, element));
+		} else if (unwrapped instanceof Iterable<?> iterable) {
+			listKeys.add(key);
+			iterable.forEach(element -> addId(ids, element));
+		} else {
+			addId(ids, unwrapped);
+		}
+
+		if (!ids.isEmpty()) {
+			idsByKey.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).addAll(ids);
+			for (String id : ids) {
+				keysById.computeIfAbsent(id, k -> ConcurrentHashMap.newKeySet()).add(key);
+			}
+		}
+	}
+
+	/**
+	 * Removes a key from the index once it is no longer in the cache.
+	 *
+	 * @param key the cache key
+	 */
+	public void unregister(Object key) {
+		listKeys.remove(key);
+		Set<String> ids = idsByKey.remove(key);
+		if (ids == null) {
+			return;
+		}
+		for (String id : ids) {
+			keysById.computeIfPresent(id, (k, keys) -> {
+				keys.remove(key);
+				return keys.isEmpty() ? null : keys;
+			});
+		}
+	}
+
+	/**
+	 * @param id the entity id
+	 * @return a snapshot of the keys whose cached value contains the entity
+	 */
+	public Set<Object> keysOf(String id) {
+		Set<Object> keys = keysById.get(id);
+		return keys == null ? Collections.emptySet() : new HashSet<>(keys);
+	}
+
+	/**
+	 * @return a snapshot of the keys holding lists or pages
+	 */
+	public Set<Object> listKeys() {
+		return new HashSet<>(listKeys);
+	}
+
+	public void clear() {
+		keysById.clear();
+		idsByKey.clear();
+		listKeys.clear();
+	}
+
+	private static void addId(Set<String> ids, Object element) {
+		String id = idOf(element);
+		if (id != null) {
+			ids.add(id);
+		}
+	}
+
+	private static String idOf(Object element) {
+		if (element instanceof Athlete athlete) {
+			return athlete.getId();
+		} else if (element instanceof Coach coach) {
+			return coach.getId();
+		} else if (element instanceof AthleteSummary athlete) {
+			return athlete.getId();
+		} else if (element instanceof CoachSummary coach) {
+			return coach.getId();
+		} else if (element instanceof Appointment appointment) {
+			return appointment.getId();
+		} else if (element instanceof TrainingSheet trainingSheet) {
+			return trainingSheet.getId();
+		}
+		return null;
+	}
+
+}
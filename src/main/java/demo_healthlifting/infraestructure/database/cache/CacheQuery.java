@@ -0,0 +1,74 @@
+package demo_healthlifting.infraestructure.database.cache;
+
+/**
+ * Kind of query whose result is cached. It is part of every {@link CacheKey},
+ * so that lookups with different filters never share an entry.
+ */
+public enum CacheQuery {
+
+	/** Single entity by id, including eliminated ones. */
+	ID(false),
+
+	/** Single entity by id, excluding eliminated ones. */
+	ACTIVE_ID(false),
+
+	/** Single entity by personal information document, excluding eliminated. */
+	ACTIVE_DOCUMENT(false),
+
+	/** Page of every non eliminated entity. */
+	ACTIVE_PAGE(true),
+
+	/** Page of non eliminated entities owned by a coach id. */
+	ACTIVE_PAGE_BY_COACH(true),
+
+	/** Page of non eliminated entities owned by an athlete id. */
+	ACTIVE_PAGE_BY_ATHLETE(true),
+
+	/** Page of non eliminated entities owned by a coach document. */
+	ACTIVE_PAGE_BY_COACH_DOCUMENT(true),
+
+	/** Page of non eliminated entities owned by an athlete document. */
+	ACTIVE_PAGE_BY_ATHLETE_DOCUMENT(true),
+
+	/** Slice, without total, of every non eliminated entity. */
+	ACTIVE_SLICE(ACTIVE_PAGE),
+
+	/** Slice of non eliminated entities owned by a coach id. */
+	ACTIVE_SLICE_BY_COACH(ACTIVE_PAGE_BY_COACH),
+
+	/** Slice of non eliminated entities owned by an athlete id. */
+	ACTIVE_SLICE_BY_ATHLETE(ACTIVE_PAGE_BY_ATHLETE),
+
+	/** Page of the summaries of every non eliminated entity. */
+	ACTIVE_SUMMARY_PAGE(ACTIVE_PAGE),
+
+	/** Slice of the summaries of every non eliminated entity. */
+	ACTIVE_SUMMARY_SLICE(ACTIVE_PAGE);
+
+	private final boolean list;
+
+	private final CacheQuery scope;
+
+	CacheQuery(boolean list) {
+		this.list = list;
+		this.scope = null;
+	}
+
+	CacheQuery(CacheQuery scope) {
+		this.list = scope.list;
+		this.scope = scope;
+	}
+
+	public boolean isList() {
+		return list;
+	}
+
+	/**
+	 * @return the query whose scopes also evict this one: slices and summaries are
+	 *         evicted together with the pages of the same filter
+	 */
+	public CacheQuery scope() {
+		return scope == null ? this : scope;
+	}
+
+}
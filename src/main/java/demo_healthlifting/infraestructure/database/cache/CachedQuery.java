@@ -0,0 +1,28 @@
+package demo_healthlifting.infraestructure.database.cache;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.springframework.cache.annotation.Cacheable;
+
+/**
+ * Caches the result of a repository read under a {@link CacheKey} built by
+ * {@link CacheKeyGenerator} from the declared query kind and the method
+ * arguments. The cache name comes from the class level
+ * {@link org.springframework.cache.annotation.CacheConfig}. Lookups that find
+ * nothing are not cached here but in the {@link NegativeLookupCache}.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Inherited
+@Documented
+@Cacheable(keyGenerator = CacheKeyGenerator.NAME, unless = "#result == null")
+public @interface CachedQuery {
+
+	CacheQuery value();
+
+}
@@ -0,0 +1,66 @@
+package demo_healthlifting.infraestructure.database.cache;
+
+import java.time.Duration;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+/**
+ * Shared cache store kept in the memory of this instance. It stands in for a
+ * store shared by every instance in tests and single instance deployments.
+ */
+public class InMemorySharedCacheStore implements SharedCacheStore {
+
+	private record Key(String cacheName, String key) {
+	}
+
+	private record Entry(byte[] value, Duration timeToLive) {
+	}
+
+	private final Cache<Key, Entry> entries;
+
+	/**
+	 * @param maximumSize the maximum number of values of all caches
+	 */
+	public InMemorySharedCacheStore(long maximumSize) {
+		entries = Caffeine.newBuilder().maximumSize(maximumSize).expireAfter(new Expiry<Key, Entry>() {
+			@Override
+			public long expireAfterCreate(Key key, Entry entry, long currentTime) {
+				return entry.timeToLive().toNanos();
+			}
+
+			@Override
+			public long expireAfterUpdate(Key key, Entry entry, long currentTime, long currentDuration) {
+				return entry.timeToLive().toNanos();
+			}
+
+			@Override
+			public long expireAfterRead(Key key, Entry entry, long currentTime, long currentDuration) {
+				return currentDuration;
+			}
+		}).build();
+	}
+
+	@Override
+	public byte[] get(String cacheName, String key) {
+		Entry entry = entries.getIfPresent(new Key(cacheName, key));
+		return entry == null ? null : entry.value();
+	}
+
+	@Override
+	public void put(String cacheName, String key, byte[] value, Duration timeToLive) {
+		entries.put(new Key(cacheName, key), new Entry(value, timeToLive));
+	}
+
+	@Override
+	public void evict(String cacheName, String key) {
+		entries.invalidate(new Key(cacheName, key));
+	}
+
+	@Override
+	public void clear(String cacheName) {
+		entries.asMap().keySet().removeIf(key -> key.cacheName().equals(cacheName));
+	}
+
+}
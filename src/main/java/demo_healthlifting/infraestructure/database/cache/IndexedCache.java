@@ -0,0 +1,113 @@
+package demo_healthlifting.infraestructure.database.cache;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+import org.springframework.cache.Cache;
+
+/**
+ * Cache decorator that keeps a {@link CacheKeyIndex} in sync with the entries
+ * written to and evicted from the underlying cache.
+ */
+public class IndexedCache implements Cache {
+
+	private final Cache delegate;
+
+	private final CacheKeyIndex index;
+
+	public IndexedCache(Cache delegate, CacheKeyIndex index) {
+		this.delegate = delegate;
+		this.index = index;
+	}
+
+	public CacheKeyIndex getIndex() {
+		return index;
+	}
+
+	public Cache getDelegate() {
+		return delegate;
+	}
+
+	@Override
+	public String getName() {
+		return delegate.getName();
+	}
+
+	@Override
+	public Object getNativeCache() {
+		return delegate.getNativeCache();
+	}
+
+	@Override
+	public ValueWrapper get(Object key) {
+		return delegate.get(key);
+	}
+
+	@Override
+	public <T> T get(Object key, Class<T> type) {
+		return delegate.get(key, type);
+	}
+
+	@Override
+	public <T> T get(Object key, Callable<T> valueLoader) {
+		T value = delegate.get(key, valueLoader);
+		index.register(key, value);
+		return value;
+	}
+
+	@Override
+	public CompletableFuture<?> retrieve(Object key) {
+		return delegate.retrieve(key);
+	}
+
+	@Override
+	public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+		return delegate.retrieve(key, valueLoader).thenApply(value -> {
+			index.register(key, value);
+			return value;
+		});
+	}
+
+	@Override
+	public void put(Object key, Object value) {
+		delegate.put(key, value);
+		index.register(key, value);
+	}
+
+	@Override
+	public ValueWrapper putIfAbsent(Object key, Object value) {
+		ValueWrapper existing = delegate.putIfAbsent(key, value);
+		if (existing == null) {
+			index.register(key, value);
+		}
+		return existing;
+	}
+
+	@Override
+	public void evict(Object key) {
+		delegate.evict(key);
+		index.unregister(key);
+	}
+
+	@Override
+	public boolean evictIfPresent(Object key) {
+		boolean evicted = delegate.evictIfPresent(key);
+		index.unregister(key);
+		return evicted;
+	}
+
+	@Override
+	public void clear() {
+		delegate.clear();
+		index.clear();
+	}
+
+	@Override
+	public boolean invalidate() {
+		boolean invalidated = delegate.invalidate();
+		index.clear();
+		return invalidated;
+	}
+
+}
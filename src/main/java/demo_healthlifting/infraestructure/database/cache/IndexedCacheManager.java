@@ -0,0 +1,55 @@
+package demo_healthlifting.infraestructure.database.cache;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+/**
+ * Cache manager that decorates every cache of a delegate manager with an
+ * {@link IndexedCache}, so that writes can evict single entries instead of
+ * whole caches.
+ */
+public class IndexedCacheManager implements CacheManager {
+
+	private final CacheManager delegate;
+
+	private final Map<String, CacheKeyIndex> indexes;
+
+	private final Map<String, IndexedCache> caches = new ConcurrentHashMap<>();
+
+	/**
+	 * @param delegate the cache manager holding the actual entries
+	 * @param indexes  the reverse indexes by cache name, shared with the delegate
+	 *                 so that it can unregister keys it evicts on its own
+	 */
+	public IndexedCacheManager(CacheManager delegate, Map<String, CacheKeyIndex> indexes) {
+		this.delegate = delegate;
+		this.indexes = indexes;
+	}
+
+	@Override
+	public Cache getCache(String name) {
+		IndexedCache cache = caches.get(name);
+		if (cache != null) {
+			return cache;
+		}
+		Cache target = delegate.getCache(name);
+		if (target == null) {
+			return null;
+		}
+		return caches.computeIfAbsent(name, n -> new IndexedCache(target, index(n)));
+	}
+
+	@Override
+	public Collection<String> getCacheNames() {
+		return delegate.getCacheNames();
+	}
+
+	public CacheKeyIndex index(String name) {
+		return indexes.computeIfAbsent(name, n -> new CacheKeyIndex());
+	}
+
+}
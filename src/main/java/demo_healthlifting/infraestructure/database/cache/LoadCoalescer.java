@@ -0,0 +1,119 @@
+package demo_healthlifting.infraestructure.database.cache;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import demo_healthlifting.infraestructure.database.configuration.CacheProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Shares a single load between concurrent identical reads that miss the cache.
+ * It runs inside the cache interceptor on the methods annotated with
+ * {@link CachedQuery}, so hits never reach it. The first miss of a key runs the
+ * query and the misses that arrive while it runs wait for its result instead
+ * of running the same query. A write drops the loads in flight of its cache,
+ * so the reads that start after it run a new query.
+ *
+ * <p>
+ * The counters {@code healthlifting.cache.loads} and
+ * {@code healthlifting.cache.coalesced}, tagged by cache, count the queries run
+ * and the reads that reused another query.
+ */
+@Slf4j
+@Aspect
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+public class LoadCoalescer {
+
+	@Autowired
+	CacheProperties cacheProperties;
+
+	@Autowired
+	CacheKeyGenerator cacheKeyGenerator;
+
+	@Autowired
+	MeterRegistry meterRegistry;
+
+	private final Map<String, Map<Object, CompletableFuture<Object>>> inFlight = new ConcurrentHashMap<>();
+
+	/**
+	 * Runs the query, or waits for the identical query in flight.
+	 *
+	 * @param joinPoint the cached read
+	 * @return the result of the query
+	 * @throws Throwable the exception thrown by the query
+	 */
+	@Around("@annotation(demo_healthlifting.infraestructure.database.cache.CachedQuery)")
+	public Object coalesce(ProceedingJoinPoint joinPoint) throws Throwable {
+		if (!cacheProperties.isCoalesceLoads()) {
+			return joinPoint.proceed();
+		}
+		Object target = joinPoint.getTarget();
+		Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+		String cacheName = cacheKeyGenerator.cacheName(target.getClass());
+		Object key = cacheKeyGenerator.generate(target, method, joinPoint.getArgs());
+
+		Map<Object, CompletableFuture<Object>> loads = inFlight.computeIfAbsent(cacheName,
+				name -> new ConcurrentHashMap<>());
+		CompletableFuture<Object> load = new CompletableFuture<>();
+		CompletableFuture<Object> running = loads.putIfAbsent(key, load);
+		if (running != null) {
+			counter("healthlifting.cache.coalesced", cacheName).increment();
+			return await(running, joinPoint);
+		}
+
+		counter("healthlifting.cache.loads", cacheName).increment();
+		try {
+			Object result = joinPoint.proceed();
+			load.complete(result);
+			return result;
+		} catch (Throwable e) {
+			load.completeExceptionally(e);
+			throw e;
+		} finally {
+			loads.remove(key, load);
+		}
+	}
+
+	/**
+	 * Makes the reads of a cache that start from now on run their own query,
+	 * since the loads in flight may have read the data before a write. The reads
+	 * already waiting still get the result of their load.
+	 *
+	 * @param cacheName the cache name
+	 */
+	public void forget(String cacheName) {
+		log.debug("forget {}", cacheName);
+		inFlight.remove(cacheName);
+	}
+
+	private Object await(CompletableFuture<Object> running, ProceedingJoinPoint joinPoint) throws Throwable {
+		try {
+			return running.get();
+		} catch (ExecutionException e) {
+			throw e.getCause();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return joinPoint.proceed();
+		}
+	}
+
+	private Counter counter(String name, String cacheName) {
+		return Counter.builder(name).tag("cache", cacheName).register(meterRegistry);
+	}
+
+}
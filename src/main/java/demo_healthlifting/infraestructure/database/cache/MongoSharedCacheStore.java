@@ -0,0 +1,71 @@
+package demo_healthlifting.infraestructure.database.cache;
+
+import java.time.Duration;
+import java.util.Date;
+
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import demo_healthlifting.infraestructure.database.entity.SharedCacheEntryEntity;
+
+/**
+ * Shared cache store kept in the {@code CACHE} collection, one document per
+ * value. A TTL index, created with the first write, removes the expired values,
+ * and reads ignore those it has not removed yet. Each read is a single lookup
+ * by {@code _id}, much cheaper than the paged queries and counts whose results
+ * it holds.
+ */
+public class MongoSharedCacheStore implements SharedCacheStore {
+
+	private final MongoTemplate mongoTemplate;
+
+	private volatile boolean indexed;
+
+	/**
+	 * @param mongoTemplate the template of the database holding the values
+	 */
+	public MongoSharedCacheStore(MongoTemplate mongoTemplate) {
+		this.mongoTemplate = mongoTemplate;
+	}
+
+	@Override
+	public byte[] get(String cacheName, String key) {
+		SharedCacheEntryEntity entry = mongoTemplate.findById(id(cacheName, key), SharedCacheEntryEntity.class);
+		return entry == null || entry.getExpiresAt().before(new Date()) ? null : entry.getValue();
+	}
+
+	@Override
+	public void put(String cacheName, String key, byte[] value, Duration timeToLive) {
+		ensureIndexes();
+		mongoTemplate.save(SharedCacheEntryEntity.builder().id(id(cacheName, key)).cache(cacheName).value(value)
+				.expiresAt(new Date(System.currentTimeMillis() + timeToLive.toMillis())).build());
+	}
+
+	@Override
+	public void evict(String cacheName, String key) {
+		mongoTemplate.remove(Query.query(Criteria.where("_id").is(id(cacheName, key))),
+				SharedCacheEntryEntity.class);
+	}
+
+	@Override
+	public void clear(String cacheName) {
+		mongoTemplate.remove(Query.query(Criteria.where("cache").is(cacheName)), SharedCacheEntryEntity.class);
+	}
+
+	private void ensureIndexes() {
+		if (!indexed) {
+			IndexOperations indexOperations = mongoTemplate.indexOps(SharedCacheEntryEntity.class);
+			new MongoPersistentEntityIndexResolver(mongoTemplate.getConverter().getMappingContext())
+					.resolveIndexFor(SharedCacheEntryEntity.class).forEach(indexOperations::ensureIndex);
+			indexed = true;
+		}
+	}
+
+	private String id(String cacheName, String key) {
+		return cacheName + "|" + key;
+	}
+
+}
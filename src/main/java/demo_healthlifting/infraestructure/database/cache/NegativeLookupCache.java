@@ -0,0 +1,270 @@
+package demo_healthlifting.infraestructure.database.cache;
+
+import java.lang.reflect.Method;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import demo_healthlifting.infraestructure.database.configuration.CacheProperties;
+import demo_healthlifting.infraestructure.database.configuration.CacheProperties.NegativeSpec;
+import demo_healthlifting.infraestructure.database.entity.AthleteEntity;
+import demo_healthlifting.infraestructure.database.entity.CoachEntity;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Answers the {@link CachedQuery} lookups by id or document that find nothing
+ * without querying MongoDB. It runs after the cache, which does not keep empty
+ * results, and before the {@link LoadCoalescer}.
+ *
+ * <p>
+ * A lookup that found nothing is remembered for
+ * {@code healthlifting.cache.negative.expire-after-write}, and the writes of
+ * the cache forget it through the {@link CacheInvalidator}. For athletes and
+ * coaches, the ids and documents are also loaded at startup into a
+ * {@link BloomFilter}, kept up to date by the repository services, which
+ * answers the unknown ones from the first lookup. The filters are only loaded
+ * when {@code healthlifting.cache.invalidation.enabled} is set, since they
+ * would otherwise deny until the next restart the entities written by other
+ * instances or directly to MongoDB; the {@code ChangeStreamInvalidator} adds
+ * those to the filters.
+ *
+ * <p>
+ * The counter {@code healthlifting.cache.negative.hits}, tagged by cache and
+ * source, counts the lookups answered by the filter or the cache.
+ */
+@Slf4j
+@Aspect
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
+public class NegativeLookupCache implements ApplicationRunner {
+
+	private static final Set<CacheQuery> LOOKUPS = EnumSet.of(CacheQuery.ID, CacheQuery.ACTIVE_ID,
+			CacheQuery.ACTIVE_DOCUMENT);
+
+	private static final Map<String, Class<?>> FILTERED = Map.of("athletes", AthleteEntity.class, "coaches",
+			CoachEntity.class);
+
+	private static final int LOAD_BATCH_SIZE = 1000;
+
+	@Autowired
+	CacheProperties cacheProperties;
+
+	@Autowired
+	CacheKeyGenerator cacheKeyGenerator;
+
+	@Autowired
+	MongoTemplate mongoTemplate;
+
+	@Autowired
+	MeterRegistry meterRegistry;
+
+	private Cache<Miss, Boolean> misses;
+
+	/**
+	 * Filters of the caches in {@link #FILTERED}, created when their load starts
+	 * so that the writes during the load are not lost.
+	 */
+	private final Map<String, BloomFilter> filters = new ConcurrentHashMap<>();
+
+	/**
+	 * Filters whose load has finished, the only ones used to answer lookups.
+	 */
+	private final Map<String, BloomFilter> loadedFilters = new ConcurrentHashMap<>();
+
+	/**
+	 * Writes seen by each cache, so that a lookup that ran during a write does
+	 * not remember its empty result.
+	 */
+	private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+
+	private record Miss(String cacheName, CacheKey key) {
+	}
+
+	@PostConstruct
+	void init() {
+		NegativeSpec spec = cacheProperties.getNegative();
+		misses = Caffeine.newBuilder().maximumSize(spec.getMaximumSize()).expireAfterWrite(spec.getExpireAfterWrite())
+				.build();
+	}
+
+	@Override
+	public void run(ApplicationArguments args) {
+		NegativeSpec spec = cacheProperties.getNegative();
+		if (!spec.isEnabled() || !spec.isBloomFilter()) {
+			log.debug("Negative lookup Bloom filters are disabled");
+			return;
+		}
+		if (!cacheProperties.getInvalidation().isEnabled()) {
+			log.info("Negative lookup Bloom filters are not loaded, they need healthlifting.cache.invalidation to "
+					+ "see the writes of other instances");
+			return;
+		}
+		FILTERED.forEach((cacheName, entity) -> {
+			try {
+				load(cacheName, entity, spec);
+			} catch (RuntimeException e) {
+				log.error("Error loading the negative lookup Bloom filter of {}, it is not used", cacheName, e);
+			}
+		});
+	}
+
+	/**
+	 * Answers the lookup with an empty result if it is known to find nothing,
+	 * otherwise runs it and remembers an empty result.
+	 *
+	 * @param joinPoint the cached read
+	 * @return the result of the lookup
+	 * @throws Throwable the exception thrown by the lookup
+	 */
+	@Around("@annotation(demo_healthlifting.infraestructure.database.cache.CachedQuery)")
+	public Object shortCircuit(ProceedingJoinPoint joinPoint) throws Throwable {
+		Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+		if (!cacheProperties.getNegative().isEnabled() || method.getReturnType() != Optional.class) {
+			return joinPoint.proceed();
+		}
+		Object target = joinPoint.getTarget();
+		CacheKey key = (CacheKey) cacheKeyGenerator.generate(target, method, joinPoint.getArgs());
+		if (!LOOKUPS.contains(key.query()) || key.value() == null) {
+			return joinPoint.proceed();
+		}
+
+		String cacheName = cacheKeyGenerator.cacheName(target.getClass());
+		BloomFilter filter = loadedFilters.get(cacheName);
+		if (filter != null && !filter.mightContain(filterValue(key.query(), key.value()))) {
+			hit(cacheName, "bloom");
+			return Optional.empty();
+		}
+		Miss miss = new Miss(cacheName, key);
+		if (misses.getIfPresent(miss) != null) {
+			hit(cacheName, "cache");
+			return Optional.empty();
+		}
+
+		AtomicLong generation = generation(cacheName);
+		long before = generation.get();
+		Object result = joinPoint.proceed();
+		if (result instanceof Optional<?> optional && optional.isEmpty()) {
+			misses.put(miss, Boolean.TRUE);
+			if (generation.get() != before) {
+				misses.invalidate(miss);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Adds a created or modified entity to the Bloom filter of its cache, before
+	 * the write is notified to the {@link CacheInvalidator}.
+	 *
+	 * @param cacheName the cache name
+	 * @param id        the id of the entity
+	 * @param document  the personal information document, may be null
+	 */
+	public void register(String cacheName, String id, String document) {
+		BloomFilter filter = filters.get(cacheName);
+		if (filter == null) {
+			return;
+		}
+		if (id != null) {
+			filter.add(filterValue(CacheQuery.ID, id));
+		}
+		if (document != null) {
+			filter.add(filterValue(CacheQuery.ACTIVE_DOCUMENT, document));
+		}
+	}
+
+	/**
+	 * Forgets the empty results that a write may have changed: the lookups of
+	 * the id and of the scopes given.
+	 *
+	 * @param cacheName the cache name
+	 * @param id        the id of the written entity, may be null
+	 * @param scopes    the scopes of the written entity
+	 */
+	public void forget(String cacheName, String id, CacheKey... scopes) {
+		generation(cacheName).incrementAndGet();
+		if (id != null) {
+			misses.invalidate(new Miss(cacheName, CacheKey.scope(CacheQuery.ID, id)));
+			misses.invalidate(new Miss(cacheName, CacheKey.scope(CacheQuery.ACTIVE_ID, id)));
+		}
+		for (CacheKey scope : scopes) {
+			if (scope != null && scope.value() != null) {
+				misses.invalidate(new Miss(cacheName, scope));
+			}
+		}
+	}
+
+	/**
+	 * Forgets every empty result of a cache. Its Bloom filter, which may have
+	 * missed some ids, is no longer used.
+	 *
+	 * @param cacheName the cache name
+	 */
+	public void forgetAll(String cacheName) {
+		generation(cacheName).incrementAndGet();
+		misses.asMap().keySet().removeIf(miss -> miss.cacheName().equals(cacheName));
+		if (loadedFilters.remove(cacheName) != null) {
+			filters.remove(cacheName);
+			log.warn("Negative lookup Bloom filter of {} dropped, it is loaded again on restart", cacheName);
+		}
+	}
+
+	private void load(String cacheName, Class<?> entity, NegativeSpec spec) {
+		long start = System.nanoTime();
+		BloomFilter filter = new BloomFilter(spec.getExpectedEntries(), spec.getFalsePositiveRate());
+		filters.put(cacheName, filter);
+		Query query = new Query().cursorBatchSize(LOAD_BATCH_SIZE);
+		query.fields().include("_id").include("personalInformation.document");
+		long count = 0;
+		try (Stream<Document> stream = mongoTemplate.stream(query, Document.class,
+				mongoTemplate.getCollectionName(entity))) {
+			for (Document document : (Iterable<Document>) stream::iterator) {
+				register(cacheName, String.valueOf(document.get("_id")),
+						document.getEmbedded(List.of("personalInformation", "document"), String.class));
+				count++;
+			}
+		}
+		loadedFilters.put(cacheName, filter);
+		log.info("Negative lookup Bloom filter of {} loaded with {} entities in {} ms", cacheName, count,
+				(System.nanoTime() - start) / 1_000_000);
+	}
+
+	private String filterValue(CacheQuery query, String value) {
+		return (query == CacheQuery.ACTIVE_DOCUMENT ? "document:" : "id:") + value;
+	}
+
+	private AtomicLong generation(String cacheName) {
+		return generations.computeIfAbsent(cacheName, name -> new AtomicLong());
+	}
+
+	private void hit(String cacheName, String source) {
+		Counter.builder("healthlifting.cache.negative.hits").tag("cache", cacheName).tag("source", source)
+				.register(meterRegistry).increment();
+	}
+
+}
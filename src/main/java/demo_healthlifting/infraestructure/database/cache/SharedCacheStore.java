@@ -0,0 +1,40 @@
+package demo_healthlifting.infraestructure.database.cache;
+
+import java.time.Duration;
+
+/**
+ * Second level of the {@link TwoLevelCache}, shared by every instance. It
+ * holds serialized values by cache name and key, and may lose any of them at
+ * any time. Implementations must be thread safe.
+ */
+public interface SharedCacheStore {
+
+	/**
+	 * @param cacheName the cache name
+	 * @param key       the key
+	 * @return the serialized value, or null if it is not stored or expired
+	 */
+	byte[] get(String cacheName, String key);
+
+	/**
+	 * Stores a value, replacing the previous one.
+	 *
+	 * @param cacheName  the cache name
+	 * @param key        the key
+	 * @param value      the serialized value
+	 * @param timeToLive how long the value can be read
+	 */
+	void put(String cacheName, String key, byte[] value, Duration timeToLive);
+
+	/**
+	 * @param cacheName the cache name
+	 * @param key       the key to remove
+	 */
+	void evict(String cacheName, String key);
+
+	/**
+	 * @param cacheName the cache whose values are removed
+	 */
+	void clear(String cacheName);
+
+}
@@ -0,0 +1,305 @@
+package demo_healthlifting.infraestructure.database.cache;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.NotSerializableException;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Cache that reads through a small local cache, then a {@link SharedCacheStore}
+ * shared by every instance, and only then runs the query. Values found in the
+ * store are copied to the local cache, and values loaded are written to both.
+ * Values are stored with Java serialization and keys by their string form;
+ * values that cannot be serialized are only kept locally, and a failing store
+ * behaves as an empty one. Only the domain model, the page types and the JDK
+ * types they are made of are read back from the store.
+ *
+ * <p>
+ * Lookups by id are stored under their key, and the writes of the entity evict
+ * them. The other entries, such as pages or lookups by document, cannot be
+ * found by the instances that did not cache them, so they are stored under the
+ * current generation of the cache, and every write moves the cache to a new one
+ * with {@link #evictSharedQueries()}. The generation is kept in memory and
+ * read again from the store when older than {@code generationRefresh}, so the
+ * new generation of another instance is seen after at most that long.
+ *
+ * <p>
+ * The counter {@code healthlifting.cache.shared}, tagged by cache and result,
+ * counts the local misses found or not found in the store.
+ */
+@Slf4j
+public class TwoLevelCache implements Cache {
+
+	private static final String GENERATION = "generation";
+
+	private static final ObjectInputFilter FILTER = ObjectInputFilter.Config
+			.createFilter("maxdepth=32;maxrefs=1000000;demo_healthlifting.domain.model.*;java.lang.*;java.util.*;"
+					+ "java.time.*;java.math.*;org.springframework.data.domain.*;!*");
+
+	private final Cache local;
+
+	private final SharedCacheStore store;
+
+	private final Duration timeToLive;
+
+	private final long generationRefresh;
+
+	private final BiConsumer<Object, Object> onSharedHit;
+
+	private final Counter hits;
+
+	private final Counter misses;
+
+	private final AtomicReference<Generation> generation = new AtomicReference<>();
+
+	/**
+	 * @param value  the generation of the shared pages
+	 * @param readAt the {@link System#nanoTime()} when it was read or started
+	 */
+	private record Generation(String value, long readAt) {
+	}
+
+	/**
+	 * @param local             the local cache
+	 * @param store             the shared store
+	 * @param timeToLive        how long the values are kept in the store
+	 * @param generationRefresh how often the generation of the shared pages is
+	 *                          read again from the store
+	 * @param onSharedHit       called with the key and value of every entry
+	 *                          copied from the store to the local cache
+	 * @param meterRegistry     the registry of the hit and miss counters
+	 */
+	public TwoLevelCache(Cache local, SharedCacheStore store, Duration timeToLive, Duration generationRefresh,
+			BiConsumer<Object, Object> onSharedHit, MeterRegistry meterRegistry) {
+		this.local = local;
+		this.store = store;
+		this.timeToLive = timeToLive;
+		this.generationRefresh = generationRefresh.toNanos();
+		this.onSharedHit = onSharedHit;
+		this.hits = counter(meterRegistry, "hit");
+		this.misses = counter(meterRegistry, "miss");
+	}
+
+	@Override
+	public String getName() {
+		return local.getName();
+	}
+
+	@Override
+	public Object getNativeCache() {
+		return local.getNativeCache();
+	}
+
+	@Override
+	public ValueWrapper get(Object key) {
+		ValueWrapper value = local.get(key);
+		if (value != null) {
+			return value;
+		}
+		Object shared = getShared(key);
+		if (shared == null) {
+			return null;
+		}
+		local.put(key, shared);
+		onSharedHit.accept(key, shared);
+		return new SimpleValueWrapper(shared);
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T> T get(Object key, Class<T> type) {
+		ValueWrapper wrapper = get(key);
+		Object value = wrapper == null ? null : wrapper.get();
+		if (value != null && type != null && !type.isInstance(value)) {
+			throw new IllegalStateException(
+					"Cached value is not of required type [" + type.getName() + "]: " + value);
+		}
+		return (T) value;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T> T get(Object key, Callable<T> valueLoader) {
+		return local.get(key, () -> {
+			Object shared = getShared(key);
+			if (shared != null) {
+				return (T) shared;
+			}
+			T value = valueLoader.call();
+			putShared(key, value);
+			return value;
+		});
+	}
+
+	@Override
+	public CompletableFuture<?> retrieve(Object key) {
+		return local.retrieve(key);
+	}
+
+	@Override
+	public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+		return local.retrieve(key, valueLoader);
+	}
+
+	@Override
+	public void put(Object key, Object value) {
+		local.put(key, value);
+		putShared(key, value);
+	}
+
+	@Override
+	public ValueWrapper putIfAbsent(Object key, Object value) {
+		ValueWrapper existing = local.putIfAbsent(key, value);
+		if (existing == null) {
+			putShared(key, value);
+		}
+		return existing;
+	}
+
+	@Override
+	public void evict(Object key) {
+		local.evict(key);
+		evictShared(key);
+	}
+
+	@Override
+	public boolean evictIfPresent(Object key) {
+		boolean evicted = local.evictIfPresent(key);
+		evictShared(key);
+		return evicted;
+	}
+
+	@Override
+	public void clear() {
+		local.clear();
+		try {
+			store.clear(getName());
+		} catch (RuntimeException e) {
+			log.warn("Error clearing the shared cache {}", getName(), e);
+		}
+	}
+
+	@Override
+	public boolean invalidate() {
+		boolean invalidated = local.invalidate();
+		clear();
+		return invalidated;
+	}
+
+	/**
+	 * Moves the shared entries other than the lookups by id to a new generation,
+	 * after a write that may have changed any of them.
+	 */
+	public void evictSharedQueries() {
+		String started = UUID.randomUUID().toString();
+		try {
+			store.put(getName(), GENERATION, started.getBytes(StandardCharsets.UTF_8), timeToLive);
+			generation.set(new Generation(started, System.nanoTime()));
+		} catch (RuntimeException e) {
+			log.warn("Error starting a new generation of the shared cache {}", getName(), e);
+		}
+	}
+
+	private Object getShared(Object key) {
+		try {
+			byte[] bytes = store.get(getName(), sharedKey(key));
+			if (bytes == null) {
+				misses.increment();
+				return null;
+			}
+			hits.increment();
+			try (ObjectInputStream input = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+				input.setObjectInputFilter(FILTER);
+				return input.readObject();
+			}
+		} catch (IOException | ClassNotFoundException | RuntimeException e) {
+			log.warn("Error reading {} from the shared cache {}", key, getName(), e);
+			return null;
+		}
+	}
+
+	private void putShared(Object key, Object value) {
+		if (value == null) {
+			return;
+		}
+		try {
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			try (ObjectOutputStream output = new ObjectOutputStream(bytes)) {
+				output.writeObject(value);
+			}
+			store.put(getName(), sharedKey(key), bytes.toByteArray(), timeToLive);
+		} catch (NotSerializableException e) {
+			log.debug("{} of the cache {} is not serializable, it is only cached locally: {}", key, getName(),
+					e.getMessage());
+		} catch (IOException | RuntimeException e) {
+			log.warn("Error writing {} to the shared cache {}", key, getName(), e);
+		}
+	}
+
+	private void evictShared(Object key) {
+		if (!isLookupById(key)) {
+			return;
+		}
+		try {
+			store.evict(getName(), sharedKey(key));
+		} catch (RuntimeException e) {
+			log.warn("Error evicting {} from the shared cache {}", key, getName(), e);
+		}
+	}
+
+	/**
+	 * Lookups by id are stored under their key, the other entries under the
+	 * current generation. The generation expires like any value; by then the
+	 * entries of the initial one, all written before it, have expired too.
+	 */
+	private String sharedKey(Object key) {
+		if (isLookupById(key)) {
+			return key.toString();
+		}
+		return generation() + "|" + key;
+	}
+
+	/**
+	 * Reads the generation again once it is older than the refresh. A generation
+	 * started meanwhile by this instance is not replaced by the one read.
+	 */
+	private String generation() {
+		Generation current = generation.get();
+		long now = System.nanoTime();
+		if (current != null && now - current.readAt() < generationRefresh) {
+			return current.value();
+		}
+		byte[] bytes = store.get(getName(), GENERATION);
+		Generation read = new Generation(bytes == null ? "0" : new String(bytes, StandardCharsets.UTF_8), now);
+		return generation.compareAndSet(current, read) ? read.value() : generation.get().value();
+	}
+
+	private boolean isLookupById(Object key) {
+		return key instanceof CacheKey cacheKey
+				&& (cacheKey.query() == CacheQuery.ID || cacheKey.query() == CacheQuery.ACTIVE_ID);
+	}
+
+	private Counter counter(MeterRegistry meterRegistry, String result) {
+		return Counter.builder("healthlifting.cache.shared").tag("cache", local.getName()).tag("result", result)
+				.register(meterRegistry);
+	}
+
+}
@@ -0,0 +1,73 @@
+package demo_healthlifting.infraestructure.database.cache;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Cache manager that puts a {@link SharedCacheStore} behind every cache of a
+ * local cache manager, see {@link TwoLevelCache}.
+ */
+public class TwoLevelCacheManager implements CacheManager {
+
+	private final CacheManager local;
+
+	private final SharedCacheStore store;
+
+	private final Duration timeToLive;
+
+	private final Duration generationRefresh;
+
+	private final Map<String, CacheKeyIndex> indexes;
+
+	private final MeterRegistry meterRegistry;
+
+	private final Map<String, TwoLevelCache> caches = new ConcurrentHashMap<>();
+
+	/**
+	 * @param local             the cache manager of the local caches
+	 * @param store             the shared store
+	 * @param timeToLive        how long the values are kept in the store
+	 * @param generationRefresh how often the generation of the shared pages is
+	 *                          read again from the store
+	 * @param indexes           the reverse indexes by cache name, where the
+	 *                          entries copied from the store are registered
+	 * @param meterRegistry     the registry of the cache metrics
+	 */
+	public TwoLevelCacheManager(CacheManager local, SharedCacheStore store, Duration timeToLive,
+			Duration generationRefresh, Map<String, CacheKeyIndex> indexes, MeterRegistry meterRegistry) {
+		this.local = local;
+		this.store = store;
+		this.timeToLive = timeToLive;
+		this.generationRefresh = generationRefresh;
+		this.indexes = indexes;
+		this.meterRegistry = meterRegistry;
+	}
+
+	@Override
+	public Cache getCache(String name) {
+		TwoLevelCache cache = caches.get(name);
+		if (cache != null) {
+			return cache;
+		}
+		Cache target = local.getCache(name);
+		if (target == null) {
+			return null;
+		}
+		return caches.computeIfAbsent(name, n -> new TwoLevelCache(target, store, timeToLive, generationRefresh,
+				(key, value) -> indexes.computeIfAbsent(n, i -> new CacheKeyIndex()).register(key, value),
+				meterRegistry));
+	}
+
+	@Override
+	public Collection<String> getCacheNames() {
+		return local.getCacheNames();
+	}
+
+}
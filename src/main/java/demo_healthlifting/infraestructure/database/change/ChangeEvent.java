@@ -0,0 +1,41 @@
+package demo_healthlifting.infraestructure.database.change;
+
+import java.util.Set;
+
+import org.bson.Document;
+
+/**
+ * A write to a watched collection, made by this or another instance.
+ *
+ * @param collection    the collection name, null when the whole database
+ *                      changed
+ * @param operation     the kind of write
+ * @param id            the id of the written document, null for
+ *                      {@link Operation#INVALIDATE}
+ * @param document      the document after the write, null for deletes or when
+ *                      it no longer exists
+ * @param updatedFields the top-level fields set or removed by an
+ *                      {@link Operation#UPDATE}, null when unknown
+ */
+public record ChangeEvent(String collection, Operation operation, String id, Document document,
+		Set<String> updatedFields) {
+
+	public enum Operation {
+		INSERT, UPDATE, REPLACE, DELETE,
+
+		/**
+		 * Any document of the collection may have changed, for example after it was
+		 * dropped or some events were lost.
+		 */
+		INVALIDATE
+	}
+
+	/**
+	 * @param collection the collection, or null for every collection
+	 * @return an event that invalidates everything read from the collection
+	 */
+	public static ChangeEvent invalidate(String collection) {
+		return new ChangeEvent(collection, Operation.INVALIDATE, null, null, null);
+	}
+
+}
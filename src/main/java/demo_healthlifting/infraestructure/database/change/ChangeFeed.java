@@ -0,0 +1,26 @@
+package demo_healthlifting.infraestructure.database.change;
+
+import java.util.Collection;
+import java.util.function.Consumer;
+
+/**
+ * Source of the writes made to some collections by every instance of the
+ * application.
+ */
+public interface ChangeFeed {
+
+	/**
+	 * Starts delivering the writes of the collections to the listener, one at a
+	 * time and in the order they were made.
+	 *
+	 * @param collections the collection names
+	 * @param listener    the listener of the writes
+	 */
+	void start(Collection<String> collections, Consumer<ChangeEvent> listener);
+
+	/**
+	 * Stops delivering writes.
+	 */
+	void stop();
+
+}
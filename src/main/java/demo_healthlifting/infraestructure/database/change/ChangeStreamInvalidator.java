@@ -0,0 +1,221 @@
+package demo_healthlifting.infraestructure.database.change;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import demo_healthlifting.domain.model.PersonalInformation;
+import demo_healthlifting.infraestructure.database.autocomplete.PersonNameIndex;
+import demo_healthlifting.infraestructure.database.autocomplete.PersonNameIndex.PersonType;
+import demo_healthlifting.infraestructure.database.cache.CacheInvalidator;
+import demo_healthlifting.infraestructure.database.cache.CacheKey;
+import demo_healthlifting.infraestructure.database.cache.CacheQuery;
+import demo_healthlifting.infraestructure.database.cache.NegativeLookupCache;
+import demo_healthlifting.infraestructure.database.change.ChangeEvent.Operation;
+import demo_healthlifting.infraestructure.database.configuration.CacheProperties;
+import demo_healthlifting.infraestructure.database.entity.AppointmentEntity;
+import demo_healthlifting.infraestructure.database.entity.AthleteEntity;
+import demo_healthlifting.infraestructure.database.entity.CoachEntity;
+import demo_healthlifting.infraestructure.database.entity.TrainingSheetEntity;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Applies the writes of every instance, read from the {@link ChangeFeed}, to
+ * the in-memory state of this one: it evicts the affected cache entries as
+ * for a local write, and keeps the autocomplete index and the negative lookup
+ * Bloom filters of athletes and coaches up to date. It starts before the web
+ * server when {@code healthlifting.cache.invalidation.enabled} is set.
+ *
+ * <p>
+ * The writes of this instance are received too and evict their entries a
+ * second time. The counter {@code healthlifting.cache.invalidation.events},
+ * tagged by collection and operation, counts the events applied.
+ */
+@Slf4j
+@Component
+public class ChangeStreamInvalidator implements SmartLifecycle {
+
+	/**
+	 * The fields holding the ids of related documents, which no list is sorted or
+	 * filtered by.
+	 */
+	private static final Set<String> LINK_FIELDS = Set.of("idAppointments", "idTrainingSheet");
+
+	@Autowired
+	CacheProperties cacheProperties;
+
+	@Autowired
+	ChangeFeed changeFeed;
+
+	@Autowired
+	MongoTemplate mongoTemplate;
+
+	@Autowired
+	CacheInvalidator cacheInvalidator;
+
+	@Autowired
+	NegativeLookupCache negativeLookupCache;
+
+	@Autowired
+	PersonNameIndex personNameIndex;
+
+	@Autowired
+	MeterRegistry meterRegistry;
+
+	/**
+	 * The caches fed by each collection, by collection name.
+	 */
+	private final Map<String, Watched> watched = new HashMap<>();
+
+	private volatile boolean running;
+
+	/**
+	 * @param cacheName  the cache of the collection
+	 * @param personType the autocomplete index of the collection, or null
+	 * @param scopes     the cache scopes of a document of the collection
+	 */
+	private record Watched(String cacheName, PersonType personType, Function<Document, CacheKey[]> scopes) {
+	}
+
+	@PostConstruct
+	void init() {
+		watched.put(mongoTemplate.getCollectionName(AthleteEntity.class),
+				new Watched("athletes", PersonType.ATHLETE, this::personScopes));
+		watched.put(mongoTemplate.getCollectionName(CoachEntity.class),
+				new Watched("coaches", PersonType.COACH, this::personScopes));
+		watched.put(mongoTemplate.getCollectionName(AppointmentEntity.class),
+				new Watched("appointments", null, this::appointmentScopes));
+		watched.put(mongoTemplate.getCollectionName(TrainingSheetEntity.class),
+				new Watched("trainingSheet", null, this::trainingSheetScopes));
+	}
+
+	@Override
+	public void start() {
+		if (!cacheProperties.getInvalidation().isEnabled()) {
+			log.debug("Cache invalidation from the change feed is disabled");
+			return;
+		}
+		changeFeed.start(watched.keySet(), this::onChange);
+		running = true;
+	}
+
+	@Override
+	public void stop() {
+		if (running) {
+			changeFeed.stop();
+			running = false;
+		}
+	}
+
+	@Override
+	public boolean isRunning() {
+		return running;
+	}
+
+	/**
+	 * Starts before the web server, so that no request is served from a cache
+	 * that misses the writes of the other instances.
+	 */
+	@Override
+	public int getPhase() {
+		return SmartLifecycle.DEFAULT_PHASE - 2048;
+	}
+
+	void onChange(ChangeEvent event) {
+		log.debug("onChange {} {} {}", event.collection(), event.operation(), event.id());
+		Counter.builder("healthlifting.cache.invalidation.events")
+				.tag("collection", String.valueOf(event.collection())).tag("operation", event.operation().name())
+				.register(meterRegistry).increment();
+		try {
+			if (event.collection() == null) {
+				watched.values().forEach(this::invalidate);
+				return;
+			}
+			Watched target = watched.get(event.collection());
+			if (target == null) {
+				return;
+			}
+			if (event.operation() == Operation.INVALIDATE) {
+				invalidate(target);
+				return;
+			}
+			if (target.personType() != null) {
+				updatePerson(target, event);
+			}
+			CacheKey[] scopes = event.document() == null ? new CacheKey[0] : target.scopes().apply(event.document());
+			cacheInvalidator.onChanged(target.cacheName(), event.id(), changesLists(event), scopes);
+		} catch (RuntimeException e) {
+			log.error("Error applying the change {} {} {}", event.collection(), event.operation(), event.id(), e);
+		}
+	}
+
+	/**
+	 * An update only leaves the lists of the document as they were when it just
+	 * links it to related documents, such as the coach of a new booking, and does
+	 * not delete it logically. A missing document may have been deleted since.
+	 */
+	private boolean changesLists(ChangeEvent event) {
+		return switch (event.operation()) {
+		case UPDATE -> event.document() == null || event.document().getBoolean("eliminate", false)
+				|| event.updatedFields() == null || !LINK_FIELDS.containsAll(event.updatedFields());
+		default -> true;
+		};
+	}
+
+	private void invalidate(Watched target) {
+		cacheInvalidator.onInvalidated(target.cacheName());
+		if (target.personType() != null) {
+			personNameIndex.unload(target.personType());
+		}
+	}
+
+	private void updatePerson(Watched target, ChangeEvent event) {
+		Document document = event.document();
+		PersonalInformation personalInformation = personalInformation(document);
+		if (document != null) {
+			negativeLookupCache.register(target.cacheName(), event.id(),
+					personalInformation == null ? null : personalInformation.getDocument());
+		}
+		if (event.operation() == Operation.DELETE || document == null || document.getBoolean("eliminate", false)) {
+			personNameIndex.remove(target.personType(), event.id());
+		} else {
+			personNameIndex.put(target.personType(), event.id(), personalInformation);
+		}
+	}
+
+	private PersonalInformation personalInformation(Document document) {
+		Document personalInformation = document == null ? null
+				: document.get("personalInformation", Document.class);
+		return personalInformation == null ? null
+				: mongoTemplate.getConverter().read(PersonalInformation.class, personalInformation);
+	}
+
+	private CacheKey[] personScopes(Document document) {
+		PersonalInformation personalInformation = personalInformation(document);
+		return personalInformation == null ? new CacheKey[0]
+				: new CacheKey[] { CacheKey.scope(CacheQuery.ACTIVE_DOCUMENT, personalInformation.getDocument()) };
+	}
+
+	private CacheKey[] appointmentScopes(Document document) {
+		return new CacheKey[] { CacheKey.scope(CacheQuery.ACTIVE_PAGE_BY_COACH, document.getString("coachId")),
+				CacheKey.scope(CacheQuery.ACTIVE_PAGE_BY_ATHLETE, document.getString("athleteId")),
+				CacheKey.scope(CacheQuery.ACTIVE_PAGE_BY_COACH_DOCUMENT, document.getString("coachDocument")),
+				CacheKey.scope(CacheQuery.ACTIVE_PAGE_BY_ATHLETE_DOCUMENT, document.getString("athleteDocument")) };
+	}
+
+	private CacheKey[] trainingSheetScopes(Document document) {
+		return new CacheKey[] { CacheKey.scope(CacheQuery.ACTIVE_PAGE_BY_COACH, document.getString("coachId")),
+				CacheKey.scope(CacheQuery.ACTIVE_PAGE_BY_ATHLETE, document.getString("athleteId")) };
+	}
+
+}
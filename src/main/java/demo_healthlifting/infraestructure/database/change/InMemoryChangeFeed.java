@@ -0,0 +1,45 @@
+package demo_healthlifting.infraestructure.database.change;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Change feed whose writes are published by hand, delivered synchronously on
+ * the publishing thread. It stands in for the change streams of a replica set
+ * in tests and in deployments without one.
+ */
+@Slf4j
+public class InMemoryChangeFeed implements ChangeFeed {
+
+	private volatile Set<String> collections = Set.of();
+
+	private volatile Consumer<ChangeEvent> listener;
+
+	@Override
+	public synchronized void start(Collection<String> collections, Consumer<ChangeEvent> listener) {
+		this.collections = Set.copyOf(collections);
+		this.listener = listener;
+	}
+
+	@Override
+	public synchronized void stop() {
+		this.listener = null;
+	}
+
+	/**
+	 * Delivers a write to the listener if the feed is started and its collection
+	 * is watched.
+	 *
+	 * @param event the write
+	 */
+	public synchronized void publish(ChangeEvent event) {
+		log.debug("publish {}", event);
+		if (listener != null && (event.collection() == null || collections.contains(event.collection()))) {
+			listener.accept(event);
+		}
+	}
+
+}
@@ -0,0 +1,188 @@
+package demo_healthlifting.infraestructure.database.change;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import com.mongodb.MongoException;
+import com.mongodb.MongoNamespace;
+import com.mongodb.client.ChangeStreamIterable;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocument;
+import com.mongodb.client.model.changestream.OperationType;
+import com.mongodb.client.model.changestream.UpdateDescription;
+
+import demo_healthlifting.infraestructure.database.change.ChangeEvent.Operation;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Change feed that tails a MongoDB change stream of the database, filtered to
+ * the watched collections, on a daemon thread. Updates carry the document as
+ * it is when the event is read. After a failure the stream is resumed after
+ * the last event delivered; when that is not possible, because no event was
+ * delivered yet or the oplog no longer has it, an {@link Operation#INVALIDATE}
+ * event of every collection is delivered once the new stream is open, since
+ * some writes may have been missed. Change streams need a replica set or a
+ * sharded cluster.
+ */
+@Slf4j
+public class MongoChangeStreamFeed implements ChangeFeed {
+
+	private static final int CHANGE_STREAM_HISTORY_LOST = 286;
+
+	private final MongoTemplate mongoTemplate;
+
+	private final Duration retryDelay;
+
+	private volatile boolean running;
+
+	private Thread thread;
+
+	/**
+	 * @param mongoTemplate the template of the database to watch
+	 * @param retryDelay    the time to wait before reopening a failed stream
+	 */
+	public MongoChangeStreamFeed(MongoTemplate mongoTemplate, Duration retryDelay) {
+		this.mongoTemplate = mongoTemplate;
+		this.retryDelay = retryDelay;
+	}
+
+	@Override
+	public synchronized void start(Collection<String> collections, Consumer<ChangeEvent> listener) {
+		if (running) {
+			return;
+		}
+		running = true;
+		List<String> names = List.copyOf(collections);
+		thread = new Thread(() -> tail(names, listener), "change-stream-feed");
+		thread.setDaemon(true);
+		thread.start();
+		log.info("Watching the change streams of {}", names);
+	}
+
+	@Override
+	public synchronized void stop() {
+		running = false;
+		if (thread != null) {
+			thread.interrupt();
+			thread = null;
+		}
+	}
+
+	private void tail(List<String> collections, Consumer<ChangeEvent> listener) {
+		BsonDocument resumeToken = null;
+		boolean eventsLost = false;
+		while (running) {
+			try {
+				ChangeStreamIterable<Document> stream = mongoTemplate.getDb()
+						.watch(List.of(Aggregates.match(Filters.in("ns.coll", collections))))
+						.fullDocument(FullDocument.UPDATE_LOOKUP).maxAwaitTime(1, TimeUnit.SECONDS);
+				if (resumeToken != null) {
+					stream = stream.resumeAfter(resumeToken);
+				}
+				try (MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor = stream.cursor()) {
+					if (eventsLost) {
+						listener.accept(ChangeEvent.invalidate(null));
+						eventsLost = false;
+					}
+					while (running) {
+						ChangeStreamDocument<Document> change = cursor.tryNext();
+						if (change == null) {
+							continue;
+						}
+						resumeToken = change.getResumeToken();
+						listener.accept(toEvent(change));
+						if (change.getOperationType() == OperationType.INVALIDATE) {
+							// The stream is closed and cannot be resumed after an invalidate
+							resumeToken = null;
+							eventsLost = true;
+							break;
+						}
+					}
+				}
+			} catch (RuntimeException e) {
+				if (!running) {
+					return;
+				}
+				if (resumeToken == null || e instanceof MongoException mongoException
+						&& mongoException.getCode() == CHANGE_STREAM_HISTORY_LOST) {
+					resumeToken = null;
+					eventsLost = true;
+				}
+				log.warn("Change stream failed, reopening it in {}", retryDelay, e);
+				try {
+					Thread.sleep(retryDelay.toMillis());
+				} catch (InterruptedException interrupted) {
+					Thread.currentThread().interrupt();
+					return;
+				}
+			}
+		}
+	}
+
+	private ChangeEvent toEvent(ChangeStreamDocument<Document> change) {
+		MongoNamespace namespace = change.getNamespace();
+		String collection = namespace == null ? null : namespace.getCollectionName();
+		Operation operation = switch (change.getOperationType()) {
+		case INSERT -> Operation.INSERT;
+		case UPDATE -> Operation.UPDATE;
+		case REPLACE -> Operation.REPLACE;
+		case DELETE -> Operation.DELETE;
+		default -> Operation.INVALIDATE;
+		};
+		if (operation == Operation.INVALIDATE || change.getDocumentKey() == null) {
+			return ChangeEvent.invalidate(collection);
+		}
+		return new ChangeEvent(collection, operation, id(change.getDocumentKey().get("_id")),
+				change.getFullDocument(), updatedFields(change.getUpdateDescription()));
+	}
+
+	/**
+	 * @return the top-level fields of the update, such as {@code idAppointments}
+	 *         for {@code idAppointments.3}, or null if it is not an update
+	 */
+	private Set<String> updatedFields(UpdateDescription description) {
+		if (description == null) {
+			return null;
+		}
+		Set<String> fields = new HashSet<>();
+		if (description.getUpdatedFields() != null) {
+			description.getUpdatedFields().keySet().forEach(field -> fields.add(topLevel(field)));
+		}
+		if (description.getRemovedFields() != null) {
+			description.getRemovedFields().forEach(field -> fields.add(topLevel(field)));
+		}
+		if (description.getTruncatedArrays() != null) {
+			description.getTruncatedArrays().forEach(array -> fields.add(topLevel(array.getField())));
+		}
+		return fields;
+	}
+
+	private String topLevel(String field) {
+		int dot = field.indexOf('.');
+		return dot < 0 ? field : field.substring(0, dot);
+	}
+
+	private String id(BsonValue id) {
+		if (id == null) {
+			return null;
+		}
+		if (id.isObjectId()) {
+			return id.asObjectId().getValue().toHexString();
+		}
+		return id.isString() ? id.asString().getValue() : id.toString();
+	}
+
+}
@@ -0,0 +1,180 @@
+package demo_healthlifting.infraestructure.database.configuration;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import demo_healthlifting.infraestructure.database.cache.CacheKeyIndex;
+import demo_healthlifting.infraestructure.database.cache.InMemorySharedCacheStore;
+import demo_healthlifting.infraestructure.database.cache.IndexedCacheManager;
+import demo_healthlifting.infraestructure.database.cache.MongoSharedCacheStore;
+import demo_healthlifting.infraestructure.database.cache.SharedCacheStore;
+import demo_healthlifting.infraestructure.database.cache.TwoLevelCacheManager;
+import demo_healthlifting.infraestructure.database.change.ChangeFeed;
+import demo_healthlifting.infraestructure.database.change.ChangeStreamInvalidator;
+import demo_healthlifting.infraestructure.database.change.InMemoryChangeFeed;
+import demo_healthlifting.infraestructure.database.change.MongoChangeStreamFeed;
+import demo_healthlifting.infraestructure.database.configuration.CacheProperties.CacheSpec;
+import demo_healthlifting.infraestructure.database.configuration.CacheProperties.InvalidationSpec;
+import demo_healthlifting.infraestructure.database.configuration.CacheProperties.SharedSpec;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Configuration
+@EnableConfigurationProperties(CacheProperties.class)
+public class CacheConfig {
+
+	/**
+	 * Builds the cache manager used by the repository services, selecting the
+	 * backend from {@code healthlifting.cache.provider}. Every cache is indexed so
+	 * that writes can evict single entries.
+	 *
+	 * @param cacheProperties  the cache configuration
+	 * @param sharedCacheStore the second level of the two-level provider
+	 * @param meterRegistry    the registry of the cache metrics
+	 * @return the cache manager
+	 */
+	@Bean
+	public CacheManager cacheManager(CacheProperties cacheProperties, SharedCacheStore sharedCacheStore,
+			MeterRegistry meterRegistry) {
+		log.debug("cacheManager with provider {}", cacheProperties.getProvider());
+
+		Map<String, CacheKeyIndex> indexes = new ConcurrentHashMap<>();
+		CacheManager delegate;
+		switch (cacheProperties.getProvider()) {
+		case SIMPLE:
+			delegate = new ConcurrentMapCacheManager(cacheProperties.getCaches().keySet().toArray(String[]::new));
+			break;
+		case NONE:
+			delegate = new NoOpCacheManager();
+			break;
+		case TWO_LEVEL:
+			delegate = new TwoLevelCacheManager(caffeineCacheManager(cacheProperties, indexes), sharedCacheStore,
+					cacheProperties.getShared().getTimeToLive(), cacheProperties.getShared().getGenerationRefresh(),
+					indexes, meterRegistry);
+			break;
+		case CAFFEINE:
+		default:
+			delegate = caffeineCacheManager(cacheProperties, indexes);
+			break;
+		}
+		return new IndexedCacheManager(delegate, indexes);
+	}
+
+	/**
+	 * Builds the store shared by every instance behind the local caches of the
+	 * {@code two-level} provider, selected by
+	 * {@code healthlifting.cache.shared.store}.
+	 *
+	 * @param cacheProperties the cache configuration
+	 * @param mongoTemplate   the template of the database holding the values
+	 * @return the shared cache store
+	 */
+	@Bean
+	public SharedCacheStore sharedCacheStore(CacheProperties cacheProperties, MongoTemplate mongoTemplate) {
+		SharedSpec spec = cacheProperties.getShared();
+		log.debug("sharedCacheStore {}", spec.getStore());
+		switch (spec.getStore()) {
+		case IN_MEMORY:
+			return new InMemorySharedCacheStore(spec.getMaximumSize());
+		case MONGO:
+		default:
+			return new MongoSharedCacheStore(mongoTemplate);
+		}
+	}
+
+	/**
+	 * Builds the feed of the writes of every instance read by the
+	 * {@link ChangeStreamInvalidator}, selected by
+	 * {@code healthlifting.cache.invalidation.feed}.
+	 *
+	 * @param cacheProperties the cache configuration
+	 * @param mongoTemplate   the template of the watched database
+	 * @return the change feed
+	 */
+	@Bean
+	public ChangeFeed changeFeed(CacheProperties cacheProperties, MongoTemplate mongoTemplate) {
+		InvalidationSpec spec = cacheProperties.getInvalidation();
+		log.debug("changeFeed {}", spec.getFeed());
+		switch (spec.getFeed()) {
+		case IN_MEMORY:
+			return new InMemoryChangeFeed();
+		case MONGO:
+		default:
+			return new MongoChangeStreamFeed(mongoTemplate, spec.getRetryDelay());
+		}
+	}
+
+	/**
+	 * Publishes the Caffeine statistics of every cache as metrics. Spring Boot
+	 * cannot bind them on its own because the caches are decorated.
+	 *
+	 * @param cacheManager the cache manager
+	 * @return the meter binder
+	 */
+	@Bean
+	public MeterBinder caffeineCacheMetrics(CacheManager cacheManager) {
+		return registry -> cacheManager.getCacheNames().forEach(name -> {
+			Object nativeCache = cacheManager.getCache(name).getNativeCache();
+			if (nativeCache instanceof Cache<?, ?> caffeineCache) {
+				CaffeineCacheMetrics.monitor(registry, caffeineCache, name);
+			}
+		});
+	}
+
+	/**
+	 * Creates a Caffeine cache manager with one bounded cache per configured name.
+	 * Caches requested at runtime without configuration use the defaults. Entries
+	 * evicted by size or expiration are removed from the reverse index.
+	 *
+	 * @param cacheProperties the cache configuration
+	 * @param indexes         the reverse indexes by cache name
+	 * @return the Caffeine cache manager
+	 */
+	private CaffeineCacheManager caffeineCacheManager(CacheProperties cacheProperties,
+			Map<String, CacheKeyIndex> indexes) {
+		CaffeineCacheManager cacheManager = new CaffeineCacheManager() {
+			@Override
+			protected Cache<Object, Object> createNativeCaffeineCache(String name) {
+				CacheSpec spec = cacheProperties.resolve(name);
+				log.debug("Creating cache {} with {}", name, spec);
+				CacheKeyIndex index = indexes.computeIfAbsent(name, n -> new CacheKeyIndex());
+				return caffeine(spec).evictionListener((key, value, cause) -> index.unregister(key)).build();
+			}
+		};
+		cacheProperties.getCaches().keySet().forEach(cacheManager::getCache);
+		return cacheManager;
+	}
+
+	private Caffeine<Object, Object> caffeine(CacheSpec spec) {
+		Caffeine<Object, Object> builder = Caffeine.newBuilder();
+		if (spec.getMaximumSize() != null) {
+			builder.maximumSize(spec.getMaximumSize());
+		}
+		if (spec.getExpireAfterWrite() != null) {
+			builder.expireAfterWrite(spec.getExpireAfterWrite());
+		}
+		if (spec.getExpireAfterAccess() != null) {
+			builder.expireAfterAccess(spec.getExpireAfterAccess());
+		}
+		if (Boolean.TRUE.equals(spec.getRecordStats())) {
+			builder.recordStats();
+		}
+		return builder;
+	}
+
+}
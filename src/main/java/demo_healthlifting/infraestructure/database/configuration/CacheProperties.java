@@ -0,0 +1,174 @@
+package demo_healthlifting.infraestructure.database.configuration;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@ConfigurationProperties(prefix = "healthlifting.cache")
+public class CacheProperties {
+
+	/**
+	 * Backend used for the repository caches.
+	 */
+	private Provider provider = Provider.CAFFEINE;
+
+	/**
+	 * Specification applied to every cache without its own entry in
+	 * {@link #caches}.
+	 */
+	private CacheSpec defaults = CacheSpec.builder().maximumSize(10_000L).expireAfterWrite(Duration.ofMinutes(10))
+			.recordStats(true).build();
+
+	/**
+	 * Per cache specification, keyed by cache name. Unset values fall back to
+	 * {@link #defaults}.
+	 */
+	private Map<String, CacheSpec> caches = new LinkedHashMap<>();
+
+	/**
+	 * Whether concurrent identical reads that miss the cache share one query.
+	 */
+	private boolean coalesceLoads = true;
+
+	/**
+	 * Cache of the lookups by id or document that found nothing.
+	 */
+	private NegativeSpec negative = new NegativeSpec();
+
+	/**
+	 * Eviction of the entries changed by the writes of other instances.
+	 */
+	private InvalidationSpec invalidation = new InvalidationSpec();
+
+	/**
+	 * Second level shared by every instance, used by the
+	 * {@link Provider#TWO_LEVEL} provider.
+	 */
+	private SharedSpec shared = new SharedSpec();
+
+	/**
+	 * Resolves the effective specification of a cache, merging its own entry with
+	 * the defaults.
+	 *
+	 * @param name the cache name
+	 * @return the effective specification
+	 */
+	public CacheSpec resolve(String name) {
+		CacheSpec spec = caches.getOrDefault(name, new CacheSpec());
+		return CacheSpec.builder()
+				.maximumSize(spec.getMaximumSize() != null ? spec.getMaximumSize() : defaults.getMaximumSize())
+				.expireAfterWrite(spec.getExpireAfterWrite() != null ? spec.getExpireAfterWrite()
+						: defaults.getExpireAfterWrite())
+				.expireAfterAccess(spec.getExpireAfterAccess() != null ? spec.getExpireAfterAccess()
+						: defaults.getExpireAfterAccess())
+				.recordStats(spec.getRecordStats() != null ? spec.getRecordStats() : defaults.getRecordStats())
+				.build();
+	}
+
+	public enum Provider {
+		CAFFEINE, SIMPLE, NONE,
+
+		/**
+		 * Caffeine caches in front of a {@link SharedSpec shared} store.
+		 */
+		TWO_LEVEL
+	}
+
+	@Data
+	@Builder
+	@NoArgsConstructor
+	@AllArgsConstructor
+	public static class CacheSpec {
+		private Long maximumSize;
+		private Duration expireAfterWrite;
+		private Duration expireAfterAccess;
+		private Boolean recordStats;
+	}
+
+	@Data
+	@NoArgsConstructor
+	@AllArgsConstructor
+	public static class NegativeSpec {
+
+		private boolean enabled = true;
+
+		/**
+		 * How long a lookup that found nothing is answered without a query.
+		 */
+		private Duration expireAfterWrite = Duration.ofSeconds(30);
+
+		private long maximumSize = 100_000L;
+
+		/**
+		 * Whether to load the ids and documents of the athletes and coaches at
+		 * startup into Bloom filters that answer unknown ones without a query.
+		 * Only used with {@link InvalidationSpec#isEnabled() invalidation}, which
+		 * adds the entities written by other instances to the filters.
+		 */
+		private boolean bloomFilter = true;
+
+		private long expectedEntries = 1_000_000L;
+
+		private double falsePositiveRate = 0.01;
+	}
+
+	@Data
+	@NoArgsConstructor
+	@AllArgsConstructor
+	public static class InvalidationSpec {
+
+		/**
+		 * Whether to evict the entries changed by any instance, read from the
+		 * change feed. MongoDB change streams need a replica set.
+		 */
+		private boolean enabled = false;
+
+		private Feed feed = Feed.MONGO;
+
+		/**
+		 * How long to wait before reopening a failed change stream.
+		 */
+		private Duration retryDelay = Duration.ofSeconds(5);
+	}
+
+	public enum Feed {
+		MONGO, IN_MEMORY
+	}
+
+	@Data
+	@NoArgsConstructor
+	@AllArgsConstructor
+	public static class SharedSpec {
+
+		private SharedStore store = SharedStore.MONGO;
+
+		/**
+		 * How long the values are kept in the shared store.
+		 */
+		private Duration timeToLive = Duration.ofMinutes(10);
+
+		/**
+		 * How often the generation of the shared pages is read again from the store,
+		 * so that the writes of other instances are seen after at most this long.
+		 */
+		private Duration generationRefresh = Duration.ofSeconds(1);
+
+		/**
+		 * Maximum number of values of the in-memory store.
+		 */
+		private long maximumSize = 100_000L;
+	}
+
+	public enum SharedStore {
+		MONGO, IN_MEMORY
+	}
+
+}
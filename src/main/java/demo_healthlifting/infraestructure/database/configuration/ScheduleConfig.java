@@ -0,0 +1,12 @@
+package demo_healthlifting.infraestructure.database.configuration;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(ScheduleProperties.class)
+public class ScheduleConfig {
+
+}
@@ -0,0 +1,79 @@
+package demo_healthlifting.infraestructure.database.configuration;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalTime;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import demo_healthlifting.domain.model.TrainingTypeRecord;
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "healthlifting.schedule")
+public class ScheduleProperties {
+
+	/**
+	 * Loads every active appointment into the schedule index at startup. When
+	 * disabled, or until the load finishes, the appointments of a coach or an
+	 * athlete are loaded the first time they are needed.
+	 */
+	private boolean warmUpOnStartup = true;
+
+	/**
+	 * How long the sessions are kept in the schedule index after they start.
+	 * Older sessions are neither loaded nor checked against new bookings. It
+	 * must be longer than the longest session.
+	 */
+	private Duration retention = Duration.ofDays(1);
+
+	/**
+	 * Time between two prunings of the sessions older than {@link #retention}.
+	 */
+	private Duration pruneInterval = Duration.ofHours(1);
+
+	/**
+	 * Number of locks shared by the coaches and athletes. Bookings only wait for
+	 * each other when their owners hash to the same lock.
+	 */
+	private int lockStripes = 64;
+
+	/**
+	 * Length of a session whose training type has no entry in
+	 * {@link #durations}.
+	 */
+	private Duration sessionDuration = Duration.ofMinutes(60);
+
+	/**
+	 * Length of a session per training type.
+	 */
+	private Map<TrainingTypeRecord, Duration> durations = new EnumMap<>(TrainingTypeRecord.class);
+
+	/**
+	 * Time the centre opens, the earliest start of a free slot.
+	 */
+	private LocalTime openingTime = LocalTime.of(7, 0);
+
+	/**
+	 * Time the centre closes, the latest end of a free slot.
+	 */
+	private LocalTime closingTime = LocalTime.of(21, 0);
+
+	/**
+	 * Days with working hours.
+	 */
+	private Set<DayOfWeek> workingDays = EnumSet.range(DayOfWeek.MONDAY, DayOfWeek.SATURDAY);
+
+	/**
+	 * @param trainingType the training type of the session, may be null
+	 * @return the length of the session
+	 */
+	public Duration durationOf(TrainingTypeRecord trainingType) {
+		return trainingType != null ? durations.getOrDefault(trainingType, sessionDuration) : sessionDuration;
+	}
+
+}
@@ -3,6 +3,8 @@ package demo_healthlifting.infraestructure.database.entity;
 import java.time.LocalDateTime;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import demo_healthlifting.domain.model.TrainingTypeRecord;
@@ -18,6 +20,12 @@ import lombok.extern.jackson.Jacksonized;
 @NoArgsConstructor
 @AllArgsConstructor
 @Document("APPOINTMENTS")
+@CompoundIndexes({ @CompoundIndex(name = "athlete_active_date", def = "{'athleteId': 1, 'eliminate': 1, 'date': 1}"),
+		@CompoundIndex(name = "coach_active_date", def = "{'coachId': 1, 'eliminate': 1, 'date': 1}"),
+		@CompoundIndex(name = "eliminate_type_date_id",
+				def = "{'eliminate': 1, 'trainingTypeRecord': 1, 'date': 1, '_id': 1}"),
+		@CompoundIndex(name = "eliminate_id", def = "{'eliminate': 1, '_id': 1}"),
+		@CompoundIndex(name = "eliminate_date_id", def = "{'eliminate': 1, 'date': 1, '_id': 1}") })
 public class AppointmentEntity {
 	@Id
 	String id;
@@ -2,6 +2,8 @@ package demo_healthlifting.infraestructure.database.entity;
 
 import java.util.List;
 
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import demo_healthlifting.domain.model.PersonalInformation;
@@ -18,6 +20,10 @@ import lombok.extern.jackson.Jacksonized;
 @NoArgsConstructor
 @AllArgsConstructor
 @Document("ATHLETES")
+@CompoundIndexes({
+		@CompoundIndex(name = "document_active_unique", def = "{'personalInformation.document': 1}", unique = true,
+				partialFilter = "{'eliminate': false}"),
+		@CompoundIndex(name = "eliminate_id", def = "{'eliminate': 1, '_id': 1}") })
 public class AthleteEntity {
 	@Id
 	String id;
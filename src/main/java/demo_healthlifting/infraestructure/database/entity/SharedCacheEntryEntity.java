@@ -0,0 +1,30 @@
+package demo_healthlifting.infraestructure.database.entity;
+
+import java.util.Date;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document("CACHE")
+public class SharedCacheEntryEntity {
+	@Id
+	String id;
+
+	@Indexed(name = "cache")
+	private String cache;
+
+	private byte[] value;
+
+	@Indexed(name = "expires_at_ttl", expireAfterSeconds = 0)
+	private Date expiresAt;
+}
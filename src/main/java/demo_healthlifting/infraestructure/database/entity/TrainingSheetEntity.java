@@ -1,5 +1,8 @@
 package demo_healthlifting.infraestructure.database.entity;
 
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.TextIndexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import demo_healthlifting.domain.model.TrainingTypeRecord;
@@ -15,13 +18,17 @@ import lombok.extern.jackson.Jacksonized;
 @Jacksonized
 @NoArgsConstructor
 @AllArgsConstructor
-@Document("TRAININGSHEETS")
+@Document(collection = "TRAININGSHEETS", language = "spanish")
+@CompoundIndexes({ @CompoundIndex(name = "athlete_active", def = "{'athleteId': 1, 'eliminate': 1}"),
+		@CompoundIndex(name = "coach_active", def = "{'coachId': 1, 'eliminate': 1}"),
+		@CompoundIndex(name = "eliminate_id", def = "{'eliminate': 1, '_id': 1}") })
 public class TrainingSheetEntity {
 	@Id
 	String id;
 
 	private TrainingTypeRecord trainingTypeRecord;
 
+	@TextIndexed
 	private String observations;
 
 	private String coachId;
@@ -0,0 +1,34 @@
+package demo_healthlifting.infraestructure.database.index;
+
+import java.util.List;
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class IndexReport {
+
+	private String collection;
+
+	private List<DeclaredIndex> declared;
+
+	private List<String> undeclared;
+
+	@Data
+	@Builder
+	@NoArgsConstructor
+	@AllArgsConstructor
+	public static class DeclaredIndex {
+		private String name;
+		private Map<String, Object> keys;
+		private Map<String, Object> options;
+		private boolean present;
+	}
+
+}
@@ -0,0 +1,26 @@
+package demo_healthlifting.infraestructure.database.index;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Actuator endpoint ({@code /actuator/mongoindexes}) listing the declared
+ * indexes of every collection and whether they exist.
+ */
+@Component
+@Endpoint(id = "mongoindexes")
+public class MongoIndexEndpoint {
+
+	@Autowired
+	MongoIndexProvisioner mongoIndexProvisioner;
+
+	@ReadOperation
+	public List<IndexReport> indexes() {
+		return mongoIndexProvisioner.report();
+	}
+
+}
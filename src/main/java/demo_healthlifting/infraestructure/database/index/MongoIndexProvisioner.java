@@ -0,0 +1,121 @@
+package demo_healthlifting.infraestructure.database.index;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.stereotype.Component;
+
+import demo_healthlifting.infraestructure.database.entity.AppointmentEntity;
+import demo_healthlifting.infraestructure.database.entity.AthleteEntity;
+import demo_healthlifting.infraestructure.database.entity.CoachEntity;
+import demo_healthlifting.infraestructure.database.entity.TrainingSheetEntity;
+import demo_healthlifting.infraestructure.database.index.IndexReport.DeclaredIndex;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Creates at startup the indexes declared on the entities with
+ * {@code @CompoundIndex} and {@code @Indexed}, and reports which of them exist
+ * in the database.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class MongoIndexProvisioner implements ApplicationRunner {
+
+	static final List<Class<?>> ENTITIES = List.of(AthleteEntity.class, CoachEntity.class, AppointmentEntity.class,
+			TrainingSheetEntity.class);
+
+	@Autowired
+	MongoTemplate mongoTemplate;
+
+	@Autowired
+	MongoMappingContext mongoMappingContext;
+
+	@Value("${healthlifting.mongo.indexes.provision-on-startup:true}")
+	boolean provisionOnStartup;
+
+	@Value("${healthlifting.mongo.indexes.fail-on-error:false}")
+	boolean failOnError;
+
+	@Override
+	public void run(ApplicationArguments args) {
+		if (!provisionOnStartup) {
+			log.debug("Index provisioning on startup is disabled");
+			return;
+		}
+		try {
+			provision();
+		} catch (RuntimeException e) {
+			if (failOnError) {
+				throw e;
+			}
+			log.error("Error provisioning indexes, the application starts without them", e);
+		}
+	}
+
+	/**
+	 * Ensures every declared index exists. Creating an index that already exists
+	 * with the same definition is a no-op in MongoDB.
+	 */
+	public void provision() {
+		for (Class<?> entity : ENTITIES) {
+			IndexOperations indexOperations = mongoTemplate.indexOps(entity);
+			for (IndexDefinition definition : declaredIndexes(entity)) {
+				String name = indexOperations.ensureIndex(definition);
+				log.debug("Index {} ensured on {}", name, mongoTemplate.getCollectionName(entity));
+			}
+		}
+	}
+
+	/**
+	 * Compares the declared indexes of every collection with the ones present in
+	 * the database.
+	 *
+	 * @return one report per collection
+	 */
+	public List<IndexReport> report() {
+		List<IndexReport> reports = new ArrayList<>();
+		for (Class<?> entity : ENTITIES) {
+			Set<String> existing = mongoTemplate.indexOps(entity).getIndexInfo().stream().map(IndexInfo::getName)
+					.collect(Collectors.toSet());
+
+			List<DeclaredIndex> declared = new ArrayList<>();
+			for (IndexDefinition definition : declaredIndexes(entity)) {
+				String name = definition.getIndexOptions().getString("name");
+				declared.add(DeclaredIndex.builder().name(name).keys(definition.getIndexKeys())
+						.options(definition.getIndexOptions()).present(existing.remove(name)).build());
+			}
+			existing.remove("_id_");
+
+			reports.add(IndexReport.builder().collection(mongoTemplate.getCollectionName(entity)).declared(declared)
+					.undeclared(new ArrayList<>(existing)).build());
+		}
+		return reports;
+	}
+
+	/**
+	 * @param entity the entity class
+	 * @return the indexes declared on the entity
+	 */
+	public List<IndexDefinition> declaredIndexes(Class<?> entity) {
+		List<IndexDefinition> definitions = new ArrayList<>();
+		new MongoPersistentEntityIndexResolver(mongoMappingContext).resolveIndexFor(entity)
+				.forEach(definitions::add);
+		return definitions;
+	}
+
+}
@@ -3,10 +3,16 @@ package demo_healthlifting.infraestructure.database.repository;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.config.EnableMongoRepositories;
+import org.springframework.data.querydsl.QuerydslPredicateExecutor;
 import org.springframework.stereotype.Repository;
 
 import demo_healthlifting.infraestructure.database.entity.AppointmentEntity;
@@ -14,16 +20,19 @@ import jakarta.validation.Valid;
 
 @Repository
 @EnableMongoRepositories
-public interface AppointmentRepository extends MongoRepository<AppointmentEntity, String> {
+public interface AppointmentRepository extends MongoRepository<AppointmentEntity, String>,
+		QuerydslPredicateExecutor<AppointmentEntity> {
 
 	Optional<AppointmentEntity> findByIdAndEliminate(@Valid String id, boolean eliminate);
 
 	Page<AppointmentEntity> findByEliminate(boolean eliminate, @Valid Pageable pageable);
 
-	Page<AppointmentEntity> findByIdAndEliminate(boolean b, List<String> appointmentIds, Pageable pageable);
+	Window<AppointmentEntity> findByEliminate(boolean eliminate, ScrollPosition position, Limit limit, Sort sort);
+
+	Slice<AppointmentEntity> findSliceByEliminate(boolean eliminate, Pageable pageable);
 
-	Page<AppointmentEntity> findAthleteByEliminateAndIdIn(boolean b, List<String> appointmentIds, Pageable pageable);
+	long countByEliminate(boolean eliminate);
 
-	Page<AppointmentEntity> findByIdInAndEliminate(List<String> appointmentIds, boolean b, Pageable pageable);
+	Page<AppointmentEntity> findByIdAndEliminate(boolean b, List<String> appointmentIds, Pageable pageable);
 
 }
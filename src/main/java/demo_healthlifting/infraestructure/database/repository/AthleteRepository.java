@@ -1,24 +1,54 @@
 package demo_healthlifting.infraestructure.database.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 import org.springframework.data.mongodb.repository.config.EnableMongoRepositories;
+import org.springframework.data.querydsl.QuerydslPredicateExecutor;
 import org.springframework.stereotype.Repository;
 
+import demo_healthlifting.domain.model.AthleteSummary;
 import demo_healthlifting.infraestructure.database.entity.AthleteEntity;
 import jakarta.validation.Valid;
 
 @Repository
 @EnableMongoRepositories
-public interface AthleteRepository extends MongoRepository<AthleteEntity, String> {
+public interface AthleteRepository extends MongoRepository<AthleteEntity, String>,
+		QuerydslPredicateExecutor<AthleteEntity> {
 
 	Page<AthleteEntity> findByEliminate(boolean eliminate, @Valid Pageable pageable);
 
+	Window<AthleteEntity> findByEliminate(boolean eliminate, ScrollPosition position, Limit limit, Sort sort);
+
+	Slice<AthleteEntity> findSliceByEliminate(boolean eliminate, Pageable pageable);
+
+	long countByEliminate(boolean eliminate);
+
+	Page<AthleteSummary> findSummaryByEliminate(boolean eliminate, Pageable pageable);
+
+	Slice<AthleteSummary> findSummarySliceByEliminate(boolean eliminate, Pageable pageable);
+
 	Optional<AthleteEntity> findByIdAndEliminate(@Valid String id, boolean eliminate);
 
 	Optional<AthleteEntity> findByPersonalInformationDocumentAndEliminate(@Valid String document, boolean b);
 
+	@Query(value = "{ 'personalInformation.document': ?0, 'eliminate': false }", fields = "{ '_id': 1 }")
+	Optional<AthleteEntity> findIdByPersonalInformationDocument(String document);
+
+	@Query(value = "{ 'personalInformation.document': { $in: ?0 }, 'eliminate': false }",
+			fields = "{ 'personalInformation.document': 1 }")
+	List<AthleteEntity> findDocumentsByPersonalInformationDocumentIn(Collection<String> documents);
+
+	List<AthleteSummary> findSummaryByIdInAndEliminate(Collection<String> ids, boolean eliminate);
+
 }
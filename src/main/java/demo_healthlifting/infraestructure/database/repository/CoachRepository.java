@@ -1,24 +1,54 @@
 package demo_healthlifting.infraestructure.database.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 import org.springframework.data.mongodb.repository.config.EnableMongoRepositories;
+import org.springframework.data.querydsl.QuerydslPredicateExecutor;
 import org.springframework.stereotype.Repository;
 
+import demo_healthlifting.domain.model.CoachSummary;
 import demo_healthlifting.infraestructure.database.entity.CoachEntity;
 import jakarta.validation.Valid;
 
 @Repository
 @EnableMongoRepositories
-public interface CoachRepository extends MongoRepository<CoachEntity, String> {
+public interface CoachRepository extends MongoRepository<CoachEntity, String>,
+		QuerydslPredicateExecutor<CoachEntity> {
 
 	Optional<CoachEntity> findByIdAndEliminate(@Valid String id, boolean eliminate);
 
 	Page<CoachEntity> findByEliminate(boolean eliminate, @Valid Pageable pageable);
 
+	Window<CoachEntity> findByEliminate(boolean eliminate, ScrollPosition position, Limit limit, Sort sort);
+
+	Slice<CoachEntity> findSliceByEliminate(boolean eliminate, Pageable pageable);
+
+	long countByEliminate(boolean eliminate);
+
+	Page<CoachSummary> findSummaryByEliminate(boolean eliminate, Pageable pageable);
+
+	Slice<CoachSummary> findSummarySliceByEliminate(boolean eliminate, Pageable pageable);
+
 	Optional<CoachEntity> findByPersonalInformationDocumentAndEliminate(@Valid String document, boolean b);
 
+	@Query(value = "{ 'personalInformation.document': ?0, 'eliminate': false }", fields = "{ '_id': 1 }")
+	Optional<CoachEntity> findIdByPersonalInformationDocument(String document);
+
+	@Query(value = "{ 'personalInformation.document': { $in: ?0 }, 'eliminate': false }",
+			fields = "{ 'personalInformation.document': 1 }")
+	List<CoachEntity> findDocumentsByPersonalInformationDocumentIn(Collection<String> documents);
+
+	List<CoachSummary> findSummaryByIdInAndEliminate(Collection<String> ids, boolean eliminate);
+
 }
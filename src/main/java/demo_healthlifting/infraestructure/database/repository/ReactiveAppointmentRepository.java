@@ -0,0 +1,22 @@
+package demo_healthlifting.infraestructure.database.repository;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.data.mongodb.repository.config.EnableReactiveMongoRepositories;
+import org.springframework.stereotype.Repository;
+
+import demo_healthlifting.infraestructure.database.entity.AppointmentEntity;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Repository
+@Profile("reactive")
+@EnableReactiveMongoRepositories
+public interface ReactiveAppointmentRepository extends ReactiveMongoRepository<AppointmentEntity, String> {
+
+	Flux<AppointmentEntity> findByEliminate(boolean eliminate, Pageable pageable);
+
+	Mono<AppointmentEntity> findByIdAndEliminate(String id, boolean eliminate);
+
+}
@@ -0,0 +1,24 @@
+package demo_healthlifting.infraestructure.database.repository;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.data.mongodb.repository.config.EnableReactiveMongoRepositories;
+import org.springframework.stereotype.Repository;
+
+import demo_healthlifting.infraestructure.database.entity.AthleteEntity;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Repository
+@Profile("reactive")
+@EnableReactiveMongoRepositories
+public interface ReactiveAthleteRepository extends ReactiveMongoRepository<AthleteEntity, String> {
+
+	Flux<AthleteEntity> findByEliminate(boolean eliminate, Pageable pageable);
+
+	Mono<AthleteEntity> findByIdAndEliminate(String id, boolean eliminate);
+
+	Mono<AthleteEntity> findByPersonalInformationDocumentAndEliminate(String document, boolean eliminate);
+
+}
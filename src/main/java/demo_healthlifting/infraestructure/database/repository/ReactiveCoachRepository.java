@@ -0,0 +1,24 @@
+package demo_healthlifting.infraestructure.database.repository;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.data.mongodb.repository.config.EnableReactiveMongoRepositories;
+import org.springframework.stereotype.Repository;
+
+import demo_healthlifting.infraestructure.database.entity.CoachEntity;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Repository
+@Profile("reactive")
+@EnableReactiveMongoRepositories
+public interface ReactiveCoachRepository extends ReactiveMongoRepository<CoachEntity, String> {
+
+	Flux<CoachEntity> findByEliminate(boolean eliminate, Pageable pageable);
+
+	Mono<CoachEntity> findByIdAndEliminate(String id, boolean eliminate);
+
+	Mono<CoachEntity> findByPersonalInformationDocumentAndEliminate(String document, boolean eliminate);
+
+}
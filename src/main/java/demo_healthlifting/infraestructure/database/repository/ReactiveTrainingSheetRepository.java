@@ -0,0 +1,26 @@
+package demo_healthlifting.infraestructure.database.repository;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.data.mongodb.repository.config.EnableReactiveMongoRepositories;
+import org.springframework.stereotype.Repository;
+
+import demo_healthlifting.infraestructure.database.entity.TrainingSheetEntity;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Repository
+@Profile("reactive")
+@EnableReactiveMongoRepositories
+public interface ReactiveTrainingSheetRepository extends ReactiveMongoRepository<TrainingSheetEntity, String> {
+
+	Flux<TrainingSheetEntity> findByEliminate(boolean eliminate, Pageable pageable);
+
+	Mono<TrainingSheetEntity> findByIdAndEliminate(String id, boolean eliminate);
+
+	Flux<TrainingSheetEntity> findByCoachIdAndEliminateFalse(String id, Pageable pageable);
+
+	Flux<TrainingSheetEntity> findByAthleteIdAndEliminateFalse(String id, Pageable pageable);
+
+}
@@ -1,12 +1,17 @@
 package demo_healthlifting.infraestructure.database.repository;
 
-import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.config.EnableMongoRepositories;
+import org.springframework.data.querydsl.QuerydslPredicateExecutor;
 import org.springframework.stereotype.Repository;
 
 import demo_healthlifting.infraestructure.database.entity.TrainingSheetEntity;
@@ -14,13 +19,20 @@ import jakarta.validation.Valid;
 
 @Repository
 @EnableMongoRepositories
-public interface TrainingSheetRepository extends MongoRepository<TrainingSheetEntity, String> {
+public interface TrainingSheetRepository extends MongoRepository<TrainingSheetEntity, String>,
+		QuerydslPredicateExecutor<TrainingSheetEntity> {
 
 	Page<TrainingSheetEntity> findByEliminate(boolean eliminate, @Valid Pageable pageable);
 
+	Window<TrainingSheetEntity> findByEliminate(boolean eliminate, ScrollPosition position, Limit limit, Sort sort);
+
+	Slice<TrainingSheetEntity> findSliceByEliminate(boolean eliminate, Pageable pageable);
+
+	long countByEliminate(boolean eliminate);
+
 	Optional<TrainingSheetEntity> findByIdAndEliminate(@Valid String id, boolean eliminate);
 
-	Page<TrainingSheetEntity> findByIdInAndEliminate(List<String> trainingSheetsIds, boolean b, Pageable pageable);
+	Page<TrainingSheetEntity> findByCoachIdAndEliminateFalse(String id, Pageable pageable);
 
 	Page<TrainingSheetEntity> findByAthleteIdAndEliminateFalse(String id, Pageable pageable);
 
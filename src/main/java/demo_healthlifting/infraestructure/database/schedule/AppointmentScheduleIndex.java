@@ -0,0 +1,436 @@
+package demo_healthlifting.infraestructure.database.schedule;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import demo_healthlifting.application.ports.output.AppointmentScheduleOutputPort;
+import demo_healthlifting.application.ports.utils.Errors;
+import demo_healthlifting.domain.exception.BusinessException;
+import demo_healthlifting.domain.model.Appointment;
+import demo_healthlifting.domain.model.FreeSlot;
+import demo_healthlifting.domain.model.TrainingTypeRecord;
+import demo_healthlifting.infraestructure.database.configuration.ScheduleProperties;
+import demo_healthlifting.infraestructure.database.entity.AppointmentEntity;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps the booked sessions of every coach and athlete in memory so that a
+ * booking is checked against their schedules without querying MongoDB. Each
+ * session lasts {@code healthlifting.schedule.session-duration}, or the
+ * duration configured for its training type.
+ * <p>
+ * The active appointments are loaded at startup. Until that load finishes, or
+ * if it is disabled, the appointments of a coach or an athlete are loaded the
+ * first time they are needed. Only the sessions that start after
+ * {@code healthlifting.schedule.retention} ago are loaded and checked, and the
+ * older ones are pruned every {@code healthlifting.schedule.prune-interval}, so
+ * the index only grows with the upcoming schedule. Writes lock the coaches and
+ * athletes involved with a fixed set of striped locks, so bookings for
+ * different coaches do not wait for each other. The index only sees the writes
+ * of this instance.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class AppointmentScheduleIndex implements AppointmentScheduleOutputPort, ApplicationRunner {
+
+	private static final int WARM_UP_BATCH_SIZE = 1000;
+
+	private static final Timeline EMPTY = new Timeline();
+
+	@Autowired
+	MongoTemplate mongoTemplate;
+
+	@Autowired
+	ScheduleProperties scheduleProperties;
+
+	private final Map<Owner, Map<String, Timeline>> timelines = Map.of(Owner.COACH, new ConcurrentHashMap<>(),
+			Owner.ATHLETE, new ConcurrentHashMap<>());
+
+	private ReentrantLock[] locks;
+
+	private volatile boolean warmedUp;
+
+	@PostConstruct
+	void createLocks() {
+		locks = new ReentrantLock[Math.max(1, scheduleProperties.getLockStripes())];
+		for (int i = 0; i < locks.length; i++) {
+			locks[i] = new ReentrantLock();
+		}
+	}
+
+	@Override
+	public void run(ApplicationArguments args) {
+		if (!scheduleProperties.isWarmUpOnStartup()) {
+			log.debug("Schedule warm-up on startup is disabled");
+			return;
+		}
+		try {
+			warmUp();
+		} catch (RuntimeException e) {
+			log.error("Error warming up the schedule index, schedules are loaded on demand", e);
+		}
+	}
+
+	/**
+	 * Loads the upcoming active appointments of every coach and athlete. The ones
+	 * loaded on demand in the meantime are kept, since they are already up to
+	 * date.
+	 */
+	public void warmUp() {
+		long start = System.nanoTime();
+		Map<Owner, Map<String, Timeline>> loaded = Map.of(Owner.COACH, new HashMap<>(), Owner.ATHLETE,
+				new HashMap<>());
+		int appointments = 0;
+		Query query = activeAppointments(Criteria.where("eliminate").is(false)).cursorBatchSize(WARM_UP_BATCH_SIZE);
+		try (Stream<AppointmentEntity> stream = mongoTemplate.stream(query, AppointmentEntity.class)) {
+			for (AppointmentEntity entity : (Iterable<AppointmentEntity>) stream::iterator) {
+				LocalDateTime end = endOf(entity.getDate(), entity.getTrainingTypeRecord());
+				for (Owner owner : Owner.values()) {
+					String id = owner.idOf(entity);
+					if (id != null) {
+						loaded.get(owner).computeIfAbsent(id, key -> new Timeline()).add(entity.getDate(), end);
+					}
+				}
+				appointments++;
+			}
+		}
+		for (Owner owner : Owner.values()) {
+			loaded.get(owner).forEach((id, timeline) -> {
+				ReentrantLock lock = locks[stripe(owner, id)];
+				lock.lock();
+				try {
+					timelines.get(owner).putIfAbsent(id, timeline);
+				} finally {
+					lock.unlock();
+				}
+			});
+		}
+		warmedUp = true;
+		log.info("Schedule index warmed up with {} appointments of {} coaches and {} athletes in {} ms",
+				appointments, loaded.get(Owner.COACH).size(), loaded.get(Owner.ATHLETE).size(),
+				(System.nanoTime() - start) / 1_000_000);
+	}
+
+	/**
+	 * Removes the sessions older than the retention, and the coaches and athletes
+	 * left without sessions.
+	 */
+	@Scheduled(fixedDelayString = "${healthlifting.schedule.prune-interval:PT1H}",
+			initialDelayString = "${healthlifting.schedule.prune-interval:PT1H}")
+	public void prune() {
+		LocalDateTime horizon = horizon();
+		int removed = 0;
+		for (Owner owner : Owner.values()) {
+			Map<String, Timeline> byId = timelines.get(owner);
+			for (String id : byId.keySet()) {
+				ReentrantLock lock = locks[stripe(owner, id)];
+				lock.lock();
+				try {
+					Timeline timeline = byId.get(id);
+					timeline.prune(horizon);
+					if (timeline.isEmpty()) {
+						byId.remove(id);
+						removed++;
+					}
+				} finally {
+					lock.unlock();
+				}
+			}
+		}
+		log.debug("Schedule index pruned before {}, {} empty schedules removed", horizon, removed);
+	}
+
+	/**
+	 * Books the session of an appointment for its coach and its athlete.
+	 *
+	 * @param appointment the appointment to be booked
+	 * @throws BusinessException if the session overlaps another one of the coach
+	 *                           or the athlete
+	 */
+	@Override
+	public void reserve(Appointment appointment) throws BusinessException {
+		log.debug("reserve");
+		if (appointment.getDate() == null) {
+			return;
+		}
+		ReentrantLock[] held = lock(appointment);
+		try {
+			checkFree(appointment);
+			add(appointment);
+		} finally {
+			unlock(held);
+		}
+	}
+
+	/**
+	 * Moves the session of an appointment. Its previous session does not count
+	 * as a conflict and is kept if the new one cannot be booked.
+	 *
+	 * @param previous the appointment before the change
+	 * @param updated  the appointment after the change
+	 * @throws BusinessException if the new session overlaps another one of the
+	 *                           coach or the athlete
+	 */
+	@Override
+	public void reschedule(Appointment previous, Appointment updated) throws BusinessException {
+		log.debug("reschedule");
+		ReentrantLock[] held = lock(previous, updated);
+		try {
+			remove(previous);
+			if (updated.getDate() != null) {
+				try {
+					checkFree(updated);
+				} catch (BusinessException e) {
+					add(previous);
+					throw e;
+				}
+				add(updated);
+			}
+		} finally {
+			unlock(held);
+		}
+	}
+
+	/**
+	 * Frees the session of an appointment.
+	 *
+	 * @param appointment the appointment to be released
+	 */
+	@Override
+	public void release(Appointment appointment) {
+		log.debug("release");
+		ReentrantLock[] held = lock(appointment);
+		try {
+			remove(appointment);
+		} finally {
+			unlock(held);
+		}
+	}
+
+	/**
+	 * @param trainingType the training type of the session, may be null
+	 * @return the length of a session of that training type
+	 */
+	@Override
+	public Duration sessionDuration(TrainingTypeRecord trainingType) {
+		return scheduleProperties.durationOf(trainingType);
+	}
+
+	/**
+	 * Finds the free intervals of a coach within working hours where a session
+	 * fits, reading the schedule index without locking it.
+	 *
+	 * @param coachId  the ID of the coach
+	 * @param from     the inclusive start of the range
+	 * @param to       the exclusive end of the range
+	 * @param duration the length of the session
+	 * @return the free intervals, sorted by start
+	 */
+	@Override
+	public List<FreeSlot> findCoachFreeSlots(String coachId, LocalDateTime from, LocalDateTime to,
+			Duration duration) {
+		List<FreeSlot> slots = new ArrayList<>();
+		readTimeline(Owner.COACH, coachId).addFreeSlots(workingHours(from, to), duration, slots);
+		return slots;
+	}
+
+	/**
+	 * @return the working hours of every working day between two dates, sorted
+	 */
+	private List<FreeSlot> workingHours(LocalDateTime from, LocalDateTime to) {
+		List<FreeSlot> windows = new ArrayList<>();
+		for (LocalDate day = from.toLocalDate(); day.atStartOfDay().isBefore(to); day = day.plusDays(1)) {
+			if (!scheduleProperties.getWorkingDays().contains(day.getDayOfWeek())) {
+				continue;
+			}
+			LocalDateTime opening = max(day.atTime(scheduleProperties.getOpeningTime()), from);
+			LocalDateTime closing = min(day.atTime(scheduleProperties.getClosingTime()), to);
+			if (opening.isBefore(closing)) {
+				windows.add(FreeSlot.builder().start(opening).end(closing).build());
+			}
+		}
+		return windows;
+	}
+
+	private static LocalDateTime max(LocalDateTime a, LocalDateTime b) {
+		return a.isAfter(b) ? a : b;
+	}
+
+	private static LocalDateTime min(LocalDateTime a, LocalDateTime b) {
+		return a.isBefore(b) ? a : b;
+	}
+
+	private void checkFree(Appointment appointment) throws BusinessException {
+		LocalDateTime end = endOf(appointment.getDate(), appointment.getTrainingTypeRecord());
+		for (Owner owner : Owner.values()) {
+			String id = owner.idOf(appointment);
+			if (id != null && timeline(owner, id).overlaps(appointment.getDate(), end)) {
+				log.debug("Session at {} overlaps another one of {} {}", appointment.getDate(), owner, id);
+				throw new BusinessException(Errors.SCHEDULE_CONFLICT);
+			}
+		}
+	}
+
+	private void add(Appointment appointment) {
+		if (appointment.getDate() == null) {
+			return;
+		}
+		LocalDateTime end = endOf(appointment.getDate(), appointment.getTrainingTypeRecord());
+		for (Owner owner : Owner.values()) {
+			String id = owner.idOf(appointment);
+			if (id != null) {
+				timeline(owner, id).add(appointment.getDate(), end);
+			}
+		}
+	}
+
+	private void remove(Appointment appointment) {
+		if (appointment.getDate() == null) {
+			return;
+		}
+		LocalDateTime end = endOf(appointment.getDate(), appointment.getTrainingTypeRecord());
+		for (Owner owner : Owner.values()) {
+			String id = owner.idOf(appointment);
+			if (id != null) {
+				timeline(owner, id).remove(appointment.getDate(), end);
+			}
+		}
+	}
+
+	/**
+	 * Must be called with the lock of the owner held, so that a timeline loaded
+	 * on demand is not modified while it is read from the database.
+	 */
+	private Timeline timeline(Owner owner, String id) {
+		Map<String, Timeline> byId = timelines.get(owner);
+		Timeline timeline = byId.get(id);
+		if (timeline == null) {
+			timeline = warmedUp ? new Timeline() : load(owner, id);
+			byId.put(id, timeline);
+		}
+		return timeline;
+	}
+
+	/**
+	 * Returns the timeline of an owner for reading. A timeline not loaded yet is
+	 * loaded under the owner's lock.
+	 */
+	private Timeline readTimeline(Owner owner, String id) {
+		Timeline timeline = timelines.get(owner).get(id);
+		if (timeline != null) {
+			return timeline;
+		}
+		if (warmedUp) {
+			return EMPTY;
+		}
+		ReentrantLock lock = locks[stripe(owner, id)];
+		lock.lock();
+		try {
+			return timeline(owner, id);
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	private Timeline load(Owner owner, String id) {
+		Timeline timeline = new Timeline();
+		Query query = activeAppointments(Criteria.where(owner.field).is(id).and("eliminate").is(false));
+		for (AppointmentEntity entity : mongoTemplate.find(query, AppointmentEntity.class)) {
+			timeline.add(entity.getDate(), endOf(entity.getDate(), entity.getTrainingTypeRecord()));
+		}
+		log.debug("Loaded {} sessions of {} {}", timeline.size(), owner, id);
+		return timeline;
+	}
+
+	private Query activeAppointments(Criteria criteria) {
+		Query query = Query.query(criteria.and("date").gte(horizon()));
+		query.fields().include("date", "coachId", "athleteId", "trainingTypeRecord");
+		return query;
+	}
+
+	/**
+	 * @return the start of the oldest sessions kept in the index
+	 */
+	private LocalDateTime horizon() {
+		return LocalDateTime.now().minus(scheduleProperties.getRetention());
+	}
+
+	private LocalDateTime endOf(LocalDateTime start, TrainingTypeRecord type) {
+		return start.plus(scheduleProperties.durationOf(type));
+	}
+
+	/**
+	 * Acquires the locks of the coaches and athletes of the appointments in
+	 * ascending order, each one once, so that two bookings cannot deadlock.
+	 */
+	private ReentrantLock[] lock(Appointment... appointments) {
+		TreeSet<Integer> stripes = new TreeSet<>();
+		for (Appointment appointment : appointments) {
+			for (Owner owner : Owner.values()) {
+				String id = owner.idOf(appointment);
+				if (id != null) {
+					stripes.add(stripe(owner, id));
+				}
+			}
+		}
+		ReentrantLock[] held = new ReentrantLock[stripes.size()];
+		int i = 0;
+		for (int stripe : stripes) {
+			held[i] = locks[stripe];
+			held[i++].lock();
+		}
+		return held;
+	}
+
+	private void unlock(ReentrantLock[] held) {
+		for (int i = held.length - 1; i >= 0; i--) {
+			held[i].unlock();
+		}
+	}
+
+	private int stripe(Owner owner, String id) {
+		int hash = 31 * owner.ordinal() + id.hashCode();
+		return Math.floorMod(hash ^ (hash >>> 16), locks.length);
+	}
+
+	private enum Owner {
+		COACH("coachId"), ATHLETE("athleteId");
+
+		private final String field;
+
+		Owner(String field) {
+			this.field = field;
+		}
+
+		String idOf(Appointment appointment) {
+			return this == COACH ? appointment.getCoachId() : appointment.getAthleteId();
+		}
+
+		String idOf(AppointmentEntity entity) {
+			return this == COACH ? entity.getCoachId() : entity.getAthleteId();
+		}
+	}
+
+}
@@ -0,0 +1,124 @@
+package demo_healthlifting.infraestructure.database.schedule;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import demo_healthlifting.domain.model.FreeSlot;
+
+/**
+ * The booked sessions of one coach or athlete, sorted by start. Every session
+ * is kept, even when several start at the same time, as appointments booked on
+ * other instances or loaded from the database may collide. A session overlaps
+ * the interval before a start when it began less than the longest session ago,
+ * so overlap checks only look at those. Reads need no lock, writes are
+ * serialized by the caller.
+ */
+class Timeline {
+
+	private final ConcurrentSkipListMap<LocalDateTime, List<LocalDateTime>> sessions = new ConcurrentSkipListMap<>();
+
+	private volatile Duration longest = Duration.ZERO;
+
+	boolean overlaps(LocalDateTime start, LocalDateTime end) {
+		return !sessions.subMap(start, true, end, false).isEmpty() || busyUntil(start).isAfter(start);
+	}
+
+	void add(LocalDateTime start, LocalDateTime end) {
+		Duration duration = Duration.between(start, end);
+		if (duration.compareTo(longest) > 0) {
+			longest = duration;
+		}
+		sessions.compute(start, (key, ends) -> {
+			List<LocalDateTime> added = ends == null ? new ArrayList<>(1) : new ArrayList<>(ends);
+			added.add(end);
+			return Collections.unmodifiableList(added);
+		});
+	}
+
+	/**
+	 * Removes one session with the given start and end, leaving the others that
+	 * start at the same time booked.
+	 */
+	void remove(LocalDateTime start, LocalDateTime end) {
+		sessions.computeIfPresent(start, (key, ends) -> {
+			List<LocalDateTime> remaining = new ArrayList<>(ends);
+			remaining.remove(end);
+			return remaining.isEmpty() ? null : Collections.unmodifiableList(remaining);
+		});
+	}
+
+	/**
+	 * Removes the sessions that start before a time.
+	 */
+	void prune(LocalDateTime before) {
+		sessions.headMap(before).clear();
+	}
+
+	/**
+	 * Adds to {@code slots} the gaps between the sessions that are at least
+	 * {@code duration} long, within each window. The windows must be sorted and
+	 * must not overlap; the sessions are read in a single pass.
+	 */
+	void addFreeSlots(List<FreeSlot> windows, Duration duration, List<FreeSlot> slots) {
+		if (windows.isEmpty()) {
+			return;
+		}
+		LocalDateTime busyUntil = busyUntil(windows.get(0).getStart());
+		Iterator<Map.Entry<LocalDateTime, List<LocalDateTime>>> iterator = sessions
+				.subMap(windows.get(0).getStart(), true, windows.get(windows.size() - 1).getEnd(), false).entrySet()
+				.iterator();
+		Map.Entry<LocalDateTime, List<LocalDateTime>> next = iterator.hasNext() ? iterator.next() : null;
+		for (FreeSlot window : windows) {
+			LocalDateTime free = busyUntil.isAfter(window.getStart()) ? busyUntil : window.getStart();
+			while (next != null && next.getKey().isBefore(window.getEnd())) {
+				addIfFits(free, next.getKey(), duration, slots);
+				LocalDateTime end = Collections.max(next.getValue());
+				if (end.isAfter(free)) {
+					free = end;
+				}
+				if (end.isAfter(busyUntil)) {
+					busyUntil = end;
+				}
+				next = iterator.hasNext() ? iterator.next() : null;
+			}
+			addIfFits(free, window.getEnd(), duration, slots);
+		}
+	}
+
+	/**
+	 * @return the latest end of the sessions that start before a time, or
+	 *         {@link LocalDateTime#MIN} if none is still running by then
+	 */
+	private LocalDateTime busyUntil(LocalDateTime time) {
+		LocalDateTime busyUntil = LocalDateTime.MIN;
+		for (List<LocalDateTime> ends : sessions.subMap(time.minus(longest), true, time, false).values()) {
+			for (LocalDateTime end : ends) {
+				if (end.isAfter(busyUntil)) {
+					busyUntil = end;
+				}
+			}
+		}
+		return busyUntil;
+	}
+
+	private static void addIfFits(LocalDateTime start, LocalDateTime end, Duration duration, List<FreeSlot> slots) {
+		if (!start.plus(duration).isAfter(end)) {
+			slots.add(FreeSlot.builder().start(start).end(end).build());
+		}
+	}
+
+	boolean isEmpty() {
+		return sessions.isEmpty();
+	}
+
+	int size() {
+		return sessions.values().stream().mapToInt(List::size).sum();
+	}
+
+}
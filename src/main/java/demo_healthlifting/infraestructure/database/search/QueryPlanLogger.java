@@ -0,0 +1,98 @@
+package demo_healthlifting.infraestructure.database.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.repository.support.SpringDataMongodbQuery;
+import org.springframework.stereotype.Component;
+
+import com.querydsl.core.types.Predicate;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Logs the plan that MongoDB chooses for each shape of dynamic search, that is
+ * for each combination of entity, fields, operators and sort. A shape is
+ * explained once, the first time it is searched, when
+ * {@code healthlifting.search.explain-plans} is enabled. Searches that scan
+ * the collection or sort in memory are logged as warnings.
+ */
+@Slf4j
+@Component
+public class QueryPlanLogger {
+
+	private static final int MAXIMUM_SHAPES = 1000;
+
+	@Autowired
+	MongoTemplate mongoTemplate;
+
+	@Value("${healthlifting.search.explain-plans:true}")
+	boolean explainPlans;
+
+	private final Set<String> explained = ConcurrentHashMap.newKeySet();
+
+	void explain(SearchableEntity entity, String shape, Predicate predicate, Sort sort) {
+		if (!explainPlans || explained.size() >= MAXIMUM_SHAPES || !explained.add(shape)) {
+			return;
+		}
+		try {
+			Document queryPlanner = mongoTemplate.executeCommand(explainCommand(entity, predicate, sort))
+					.get("queryPlanner", Document.class);
+			List<String> stages = new ArrayList<>();
+			List<String> indexes = new ArrayList<>();
+			if (queryPlanner != null) {
+				collectStages(queryPlanner.get("winningPlan", Document.class), stages, indexes);
+			}
+			if (stages.contains("COLLSCAN")) {
+				log.warn("Search {} is not index-backed, plan {}", shape, stages);
+			} else if (stages.contains("SORT")) {
+				log.warn("Search {} sorts in memory, plan {} on indexes {}", shape, stages, indexes);
+			} else {
+				log.debug("Search {} plan {} on indexes {}", shape, stages, indexes);
+			}
+		} catch (DataAccessException e) {
+			log.warn("Could not explain search {}", shape, e);
+		}
+	}
+
+	private Document explainCommand(SearchableEntity entity, Predicate predicate, Sort sort) {
+		Document filter = new SpringDataMongodbQuery<>(mongoTemplate, entity.type()).where(predicate).asDocument();
+		Document sortDocument = new Document();
+		sort.forEach(order -> sortDocument.append(order.getProperty(), order.isAscending() ? 1 : -1));
+		Document mappedSort = new QueryMapper(mongoTemplate.getConverter()).getMappedSort(sortDocument,
+				mongoTemplate.getConverter().getMappingContext().getPersistentEntity(entity.type()));
+		Document find = new Document("find", mongoTemplate.getCollectionName(entity.type())).append("filter", filter)
+				.append("sort", mappedSort);
+		return new Document("explain", find).append("verbosity", "queryPlanner");
+	}
+
+	private void collectStages(Document plan, List<String> stages, List<String> indexes) {
+		if (plan == null) {
+			return;
+		}
+		// The slot based engine nests the classic plan under "queryPlan"
+		Document queryPlan = plan.get("queryPlan", Document.class);
+		if (queryPlan != null) {
+			collectStages(queryPlan, stages, indexes);
+			return;
+		}
+		stages.add(plan.getString("stage"));
+		if (plan.getString("indexName") != null) {
+			indexes.add(plan.getString("indexName"));
+		}
+		collectStages(plan.get("inputStage", Document.class), stages, indexes);
+		for (Document input : plan.getList("inputStages", Document.class, List.of())) {
+			collectStages(input, stages, indexes);
+		}
+	}
+
+}
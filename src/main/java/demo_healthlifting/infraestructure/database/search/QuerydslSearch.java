@@ -0,0 +1,115 @@
+package demo_healthlifting.infraestructure.database.search;
+
+import java.time.DateTimeException;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.querydsl.QuerydslPredicateExecutor;
+import org.springframework.stereotype.Component;
+
+import com.querydsl.core.BooleanBuilder;
+import com.querydsl.core.types.Operator;
+import com.querydsl.core.types.Ops;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.dsl.Expressions;
+
+import demo_healthlifting.application.ports.utils.Constants;
+import demo_healthlifting.application.ports.utils.Errors;
+import demo_healthlifting.domain.exception.BusinessException;
+import demo_healthlifting.domain.model.SearchCriterion;
+import demo_healthlifting.domain.model.SearchOperator;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs the dynamic searches on the Querydsl predicate executors of the
+ * repositories. The criteria are translated to a predicate over the active
+ * entities, only on the fields and operators of {@link SearchableEntity}, and
+ * the sort is restricted to the same fields. The plan of every new shape of
+ * search is logged by the {@link QueryPlanLogger}.
+ */
+@Slf4j
+@Component
+public class QuerydslSearch {
+
+	private static final Sort DEFAULT_SORT = Sort.by("id");
+
+	private static final Map<SearchOperator, Operator> OPERATORS = new EnumMap<>(Map.of(
+			SearchOperator.EQ, Ops.EQ, SearchOperator.NE, Ops.NE, SearchOperator.GT, Ops.GT,
+			SearchOperator.GTE, Ops.GOE, SearchOperator.LT, Ops.LT, SearchOperator.LTE, Ops.LOE,
+			SearchOperator.IN, Ops.IN, SearchOperator.PREFIX, Ops.STARTS_WITH));
+
+	@Autowired
+	QueryPlanLogger queryPlanLogger;
+
+	/**
+	 * Retrieves a page of the active entities that match every criterion.
+	 * Unless the pageable is sorted, the entities are ordered by id, and the id
+	 * is always the last sort key so that pages do not overlap.
+	 *
+	 * @param entity     the searched entity
+	 * @param repository the repository of the entity
+	 * @param criteria   the criteria, combined with "and"
+	 * @param pageable   the pagination information
+	 * @return a page of entities
+	 * @throws BusinessException if there are too many criteria, or a criterion or
+	 *                           the sort uses a field or operator not allowed
+	 */
+	public <E> Page<E> search(SearchableEntity entity, QuerydslPredicateExecutor<E> repository,
+			List<SearchCriterion> criteria, Pageable pageable) throws BusinessException {
+		log.debug("search {}", entity);
+		if (criteria.size() > Constants.MAXIMUM_SEARCH_FILTERS) {
+			throw new BusinessException(Errors.MAXIMUM_SEARCH_FILTERS_EXCEEDED);
+		}
+
+		BooleanBuilder predicate = new BooleanBuilder(entity.eliminate().isFalse());
+		for (SearchCriterion criterion : criteria) {
+			predicate.and(toPredicate(entity, criterion));
+		}
+		Sort sort = sort(entity, pageable.getSort());
+		queryPlanLogger.explain(entity, shape(entity, criteria, sort), predicate, sort);
+		return repository.findAll(predicate, PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), sort));
+	}
+
+	private Predicate toPredicate(SearchableEntity entity, SearchCriterion criterion) throws BusinessException {
+		SearchField field = entity.field(criterion.getField());
+		SearchOperator operator = criterion.getOperator();
+		List<String> values = criterion.getValues();
+		if (field == null || operator == null || !field.operators().contains(operator) || values == null
+				|| values.isEmpty() || values.size() > Constants.MAXIMUM_SEARCH_VALUES
+				|| operator != SearchOperator.IN && values.size() > 1) {
+			throw new BusinessException(Errors.INVALID_SEARCH_FILTER);
+		}
+		try {
+			List<?> converted = values.stream().map(field.parser()).toList();
+			Object constant = operator == SearchOperator.IN ? converted : converted.get(0);
+			return Expressions.predicate(OPERATORS.get(operator), field.path(), Expressions.constant(constant));
+		} catch (IllegalArgumentException | DateTimeException e) {
+			throw new BusinessException(Errors.INVALID_SEARCH_FILTER);
+		}
+	}
+
+	private Sort sort(SearchableEntity entity, Sort requested) throws BusinessException {
+		if (requested.isUnsorted()) {
+			return DEFAULT_SORT;
+		}
+		for (Sort.Order order : requested) {
+			if (entity.field(order.getProperty()) == null) {
+				throw new BusinessException(Errors.INVALID_SEARCH_FILTER);
+			}
+		}
+		return requested.getOrderFor("id") != null ? requested : requested.and(DEFAULT_SORT);
+	}
+
+	private String shape(SearchableEntity entity, List<SearchCriterion> criteria, Sort sort) {
+		return entity + criteria.stream().map(criterion -> criterion.getField() + ":" + criterion.getOperator())
+				.sorted().collect(Collectors.joining(",", "[", "]")) + " " + sort;
+	}
+
+}
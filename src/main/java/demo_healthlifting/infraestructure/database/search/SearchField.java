@@ -0,0 +1,45 @@
+package demo_healthlifting.infraestructure.database.search;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.function.Function;
+
+import com.querydsl.core.types.Path;
+
+import demo_healthlifting.domain.model.SearchOperator;
+
+/**
+ * Field that a dynamic search accepts: its Querydsl path, the conversion of
+ * the received text to the stored type and the operators allowed on it.
+ * Strings can only be compared by equality or prefix, which an index serves
+ * as a range, and unordered values such as enums only by equality.
+ */
+record SearchField(Path<?> path, Function<String, ?> parser, Set<SearchOperator> operators) {
+
+	private static final Set<SearchOperator> EQUALITY = EnumSet.of(SearchOperator.EQ, SearchOperator.NE,
+			SearchOperator.IN);
+
+	private static final Set<SearchOperator> ORDERED = EnumSet.of(SearchOperator.EQ, SearchOperator.NE,
+			SearchOperator.IN, SearchOperator.GT, SearchOperator.GTE, SearchOperator.LT, SearchOperator.LTE);
+
+	static SearchField string(Path<String> path) {
+		return new SearchField(path, Function.identity(),
+				EnumSet.of(SearchOperator.EQ, SearchOperator.NE, SearchOperator.IN, SearchOperator.PREFIX));
+	}
+
+	static SearchField integer(Path<Integer> path) {
+		return new SearchField(path, Integer::valueOf, ORDERED);
+	}
+
+	static SearchField dateTime(Path<LocalDateTime> path) {
+		return new SearchField(path, LocalDateTime::parse, ORDERED);
+	}
+
+	@SuppressWarnings("unchecked")
+	static <E extends Enum<E>> SearchField enumeration(Path<E> path) {
+		Class<E> type = (Class<E>) path.getType();
+		return new SearchField(path, value -> Enum.valueOf(type, value), EQUALITY);
+	}
+
+}
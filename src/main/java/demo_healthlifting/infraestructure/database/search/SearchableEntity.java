@@ -0,0 +1,97 @@
+package demo_healthlifting.infraestructure.database.search;
+
+import java.util.Map;
+
+import com.querydsl.core.types.dsl.BooleanPath;
+
+import demo_healthlifting.infraestructure.database.entity.AppointmentEntity;
+import demo_healthlifting.infraestructure.database.entity.AthleteEntity;
+import demo_healthlifting.infraestructure.database.entity.CoachEntity;
+import demo_healthlifting.infraestructure.database.entity.QAppointmentEntity;
+import demo_healthlifting.infraestructure.database.entity.QAthleteEntity;
+import demo_healthlifting.infraestructure.database.entity.QCoachEntity;
+import demo_healthlifting.infraestructure.database.entity.QTrainingSheetEntity;
+import demo_healthlifting.infraestructure.database.entity.TrainingSheetEntity;
+
+/**
+ * Entities with a dynamic search and the fields it accepts, by the name of
+ * their property. Any other field, and the lists of related ids, are rejected.
+ */
+public enum SearchableEntity {
+
+	ATHLETE(AthleteEntity.class, QAthleteEntity.athleteEntity.eliminate, athleteFields()),
+
+	COACH(CoachEntity.class, QCoachEntity.coachEntity.eliminate, coachFields()),
+
+	APPOINTMENT(AppointmentEntity.class, QAppointmentEntity.appointmentEntity.eliminate, appointmentFields()),
+
+	TRAINING_SHEET(TrainingSheetEntity.class, QTrainingSheetEntity.trainingSheetEntity.eliminate,
+			trainingSheetFields());
+
+	private final Class<?> type;
+
+	private final BooleanPath eliminate;
+
+	private final Map<String, SearchField> fields;
+
+	SearchableEntity(Class<?> type, BooleanPath eliminate, Map<String, SearchField> fields) {
+		this.type = type;
+		this.eliminate = eliminate;
+		this.fields = fields;
+	}
+
+	Class<?> type() {
+		return type;
+	}
+
+	BooleanPath eliminate() {
+		return eliminate;
+	}
+
+	SearchField field(String name) {
+		return fields.get(name);
+	}
+
+	private static Map<String, SearchField> athleteFields() {
+		QAthleteEntity athlete = QAthleteEntity.athleteEntity;
+		return Map.of("id", SearchField.string(athlete.id),
+				"age", SearchField.integer(athlete.age),
+				"height", SearchField.string(athlete.height),
+				"personalInformation.name", SearchField.string(athlete.personalInformation.name),
+				"personalInformation.surname", SearchField.string(athlete.personalInformation.surname),
+				"personalInformation.document", SearchField.string(athlete.personalInformation.document),
+				"personalInformation.documentType", SearchField.enumeration(athlete.personalInformation.documentType));
+	}
+
+	private static Map<String, SearchField> coachFields() {
+		QCoachEntity coach = QCoachEntity.coachEntity;
+		return Map.of("id", SearchField.string(coach.id),
+				"personalInformation.name", SearchField.string(coach.personalInformation.name),
+				"personalInformation.surname", SearchField.string(coach.personalInformation.surname),
+				"personalInformation.document", SearchField.string(coach.personalInformation.document),
+				"personalInformation.documentType", SearchField.enumeration(coach.personalInformation.documentType));
+	}
+
+	private static Map<String, SearchField> appointmentFields() {
+		QAppointmentEntity appointment = QAppointmentEntity.appointmentEntity;
+		return Map.of("id", SearchField.string(appointment.id),
+				"date", SearchField.dateTime(appointment.date),
+				"trainingTypeRecord", SearchField.enumeration(appointment.trainingTypeRecord),
+				"coachId", SearchField.string(appointment.coachId),
+				"coachDocument", SearchField.string(appointment.coachDocument),
+				"athleteId", SearchField.string(appointment.athleteId),
+				"athleteDocument", SearchField.string(appointment.athleteDocument));
+	}
+
+	private static Map<String, SearchField> trainingSheetFields() {
+		QTrainingSheetEntity trainingSheet = QTrainingSheetEntity.trainingSheetEntity;
+		return Map.of("id", SearchField.string(trainingSheet.id),
+				"trainingTypeRecord", SearchField.enumeration(trainingSheet.trainingTypeRecord),
+				"coachId", SearchField.string(trainingSheet.coachId),
+				"coachDocument", SearchField.string(trainingSheet.coachDocument),
+				"athleteId", SearchField.string(trainingSheet.athleteId),
+				"athleteDocument", SearchField.string(trainingSheet.athleteDocument),
+				"appointmentId", SearchField.string(trainingSheet.appointmentId));
+	}
+
+}
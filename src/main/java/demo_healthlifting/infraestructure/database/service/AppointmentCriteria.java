@@ -0,0 +1,61 @@
+package demo_healthlifting.infraestructure.database.service;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.mongodb.core.query.Criteria;
+
+import demo_healthlifting.domain.model.AppointmentFilter;
+
+/**
+ * Criteria of the active appointments shared by the blocking and reactive
+ * adapters. The date is only constrained by the bounds given, so that an
+ * owner's schedule without bounds returns every appointment.
+ */
+final class AppointmentCriteria {
+
+	private AppointmentCriteria() {
+	}
+
+	/**
+	 * @param owner the owner field, {@code coachId} or {@code athleteId}
+	 * @param id    the ID of the owner
+	 * @param from  the inclusive start of the date range, or null
+	 * @param to    the inclusive end of the date range, or null
+	 * @return the criteria of the active appointments of the owner
+	 */
+	static Criteria byOwner(String owner, String id, LocalDateTime from, LocalDateTime to) {
+		return dateBetween(Criteria.where(owner).is(id).and("eliminate").is(false), from, to);
+	}
+
+	/**
+	 * @param filter the filter, whose fields are all optional
+	 * @return the criteria of the active appointments that match the filter
+	 */
+	static Criteria byFilter(AppointmentFilter filter) {
+		Criteria criteria = Criteria.where("eliminate").is(false);
+		if (filter.getCoachId() != null) {
+			criteria.and("coachId").is(filter.getCoachId());
+		}
+		if (filter.getAthleteId() != null) {
+			criteria.and("athleteId").is(filter.getAthleteId());
+		}
+		if (filter.getTrainingType() != null) {
+			criteria.and("trainingTypeRecord").is(filter.getTrainingType());
+		}
+		return dateBetween(criteria, filter.getFrom(), filter.getTo());
+	}
+
+	private static Criteria dateBetween(Criteria criteria, LocalDateTime from, LocalDateTime to) {
+		if (from != null || to != null) {
+			Criteria date = criteria.and("date");
+			if (from != null) {
+				date.gte(from);
+			}
+			if (to != null) {
+				date.lte(to);
+			}
+		}
+		return criteria;
+	}
+
+}
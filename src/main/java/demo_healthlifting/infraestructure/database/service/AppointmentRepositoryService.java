@@ -1,19 +1,40 @@
 package demo_healthlifting.infraestructure.database.service;
 
+import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.bson.types.ObjectId;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheConfig;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Component;
 
 import demo_healthlifting.application.ports.output.AppointmentRepositoryOutputPort;
-import demo_healthlifting.application.ports.utils.Errors;
 import demo_healthlifting.domain.exception.BusinessException;
 import demo_healthlifting.domain.model.Appointment;
+import demo_healthlifting.domain.model.AppointmentFilter;
+import demo_healthlifting.domain.model.ImportResult;
+import demo_healthlifting.domain.model.ImportStatus;
+import demo_healthlifting.domain.model.SearchCriterion;
+import demo_healthlifting.infraestructure.database.cache.CacheInvalidator;
+import demo_healthlifting.infraestructure.database.cache.CacheKey;
+import demo_healthlifting.infraestructure.database.cache.CacheQuery;
+import demo_healthlifting.infraestructure.database.cache.CachedQuery;
 import demo_healthlifting.infraestructure.database.entity.AppointmentEntity;
 import demo_healthlifting.infraestructure.database.entity.AthleteEntity;
 import demo_healthlifting.infraestructure.database.entity.CoachEntity;
@@ -21,14 +42,19 @@ import demo_healthlifting.infraestructure.database.mapper.AppointmentToAppointme
 import demo_healthlifting.infraestructure.database.repository.AppointmentRepository;
 import demo_healthlifting.infraestructure.database.repository.AthleteRepository;
 import demo_healthlifting.infraestructure.database.repository.CoachRepository;
+import demo_healthlifting.infraestructure.database.search.QuerydslSearch;
+import demo_healthlifting.infraestructure.database.search.SearchableEntity;
 import jakarta.transaction.Transactional;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 @Component
+@CacheConfig(cacheNames = "appointments")
 public class AppointmentRepositoryService implements AppointmentRepositoryOutputPort {
 
+	private static final Sort SCROLL_SORT = Sort.by("date", "id");
+
 	@Autowired
 	AppointmentRepository appointmentRepository;
 
@@ -41,23 +67,63 @@ public class AppointmentRepositoryService implements AppointmentRepositoryOutput
 	@Autowired
 	AppointmentToAppointmentEntityMapper appointmentToAppointmentEntityMapper;
 
+	@Autowired
+	CacheInvalidator cacheInvalidator;
+
+	@Autowired
+	MongoTemplate mongoTemplate;
+
+	@Autowired
+	QuerydslSearch querydslSearch;
+
+	@Autowired
+	BulkInserter bulkInserter;
+
+	@Value("${healthlifting.export.batch-size:500}")
+	int exportBatchSize;
+
 	/**
-	 * Creates a new appointmentt and evicts all entries in the "tappointment"
+	 * Creates a new appointmentt and evicts the cached lists of the "appointments"
 	 * cache.
 	 *
 	 * @param appointmentt the appointment to be created
 	 * @return the newly created training sheet
 	 */
 	@Override
-	@CacheEvict(value = "appointments", allEntries = true)
 	public Appointment createAppointment(@Valid Appointment appointment) {
 		log.debug("createAppointment");
 		AppointmentEntity appointmentEntity = appointmentToAppointmentEntityMapper.fromInputToOutput(appointment);
 		appointmentEntity.setEliminate(false);
 		AppointmentEntity savedAppointmentEntity = appointmentRepository.save(appointmentEntity);
+		cacheInvalidator.onCreated("appointments", ownerScopes(savedAppointmentEntity));
 		return appointmentToAppointmentEntityMapper.fromOutputToInput(savedAppointmentEntity);
 	}
 
+	/**
+	 * Creates a batch of appointments with unordered bulk inserts and evicts the
+	 * cached lists of the "appointments" cache once for the whole batch.
+	 *
+	 * @param appointments the appointments to be created
+	 * @return the result of every appointment, in the same order
+	 */
+	@Override
+	public List<ImportResult> createAppointments(List<Appointment> appointments) {
+		log.debug("createAppointments");
+		List<AppointmentEntity> entities = appointments.stream()
+				.map(appointmentToAppointmentEntityMapper::fromInputToOutput).toList();
+		entities.forEach(entity -> {
+			entity.setId(new ObjectId().toHexString());
+			entity.setEliminate(false);
+		});
+
+		List<ImportResult> results = bulkInserter.insert(entities, AppointmentEntity.class, AppointmentEntity::getId);
+		CacheKey[] scopes = results.stream().filter(result -> result.getStatus() == ImportStatus.CREATED)
+				.flatMap(result -> Arrays.stream(ownerScopes(entities.get(result.getIndex()))))
+				.distinct().toArray(CacheKey[]::new);
+		cacheInvalidator.onCreated("appointments", scopes);
+		return results;
+	}
+
 	/**
 	 * Retrieves an appointment by ID and caches the result.
 	 *
@@ -66,7 +132,7 @@ public class AppointmentRepositoryService implements AppointmentRepositoryOutput
 	 *         if not
 	 */
 	@Override
-	@Cacheable(value = "appointments", key = "#id")
+	@CachedQuery(CacheQuery.ID)
 	public Optional<Appointment> getAppointment(@Valid String id) {
 		log.debug("getAppointment");
 
@@ -81,7 +147,7 @@ public class AppointmentRepositoryService implements AppointmentRepositoryOutput
 	 * @return a paginated list of appointments
 	 */
 	@Override
-	@Cacheable(value = "appointments", key = "#pageable")
+	@CachedQuery(CacheQuery.ACTIVE_PAGE)
 	public Page<Appointment> getAppointments(@Valid Pageable pageable) {
 		log.debug("getAppointments");
 		Page<AppointmentEntity> listEntity = appointmentRepository.findByEliminate(false, pageable);
@@ -89,28 +155,88 @@ public class AppointmentRepositoryService implements AppointmentRepositoryOutput
 	}
 
 	/**
-	 * Modifies an existing appointment and evicts all entries in the "appointment"
-	 * cache.
+	 * Retrieves the appointments that follow a keyset position, ordered by date
+	 * and id. The cost of a page does not depend on its depth and no count is run.
+	 *
+	 * @param position the position of the last appointment already returned
+	 * @param size     the maximum number of appointments
+	 * @return a window of appointments
+	 */
+	@Override
+	public Window<Appointment> getAppointments(ScrollPosition position, int size) {
+		log.debug("getAppointmentsByPosition");
+		Window<AppointmentEntity> window = appointmentRepository.findByEliminate(false, position, Limit.of(size),
+				SCROLL_SORT);
+		return window.map(appointmentToAppointmentEntityMapper::fromOutputToInput);
+	}
+
+	/**
+	 * Counts the appointments that are not eliminated.
+	 *
+	 * @return the number of appointments
+	 */
+	@Override
+	public long countAppointments() {
+		log.debug("countAppointments");
+		return appointmentRepository.countByEliminate(false);
+	}
+
+	/**
+	 * Retrieves a page of the appointments not eliminated that match every
+	 * criterion, through the Querydsl predicate executor of the repository.
+	 *
+	 * @param criteria the criteria, on the fields accepted by the search
+	 * @param pageable the pagination information
+	 * @return a page of appointments
+	 * @throws BusinessException if a criterion or the sort is not accepted
+	 */
+	@Override
+	public Page<Appointment> searchAppointments(List<SearchCriterion> criteria, Pageable pageable)
+			throws BusinessException {
+		log.debug("searchAppointments");
+		return querydslSearch.search(SearchableEntity.APPOINTMENT, appointmentRepository, criteria, pageable)
+				.map(appointmentToAppointmentEntityMapper::fromOutputToInput);
+	}
+
+	/**
+	 * Retrieves a slice of appointments and caches the result. Unlike the paginated
+	 * list it runs no count, it only reads one more appointment to know whether
+	 * there is a next slice.
+	 *
+	 * @param pageable the pagination information
+	 * @return a slice of appointments
+	 */
+	@Override
+	@CachedQuery(CacheQuery.ACTIVE_SLICE)
+	public Slice<Appointment> getAppointmentsSlice(Pageable pageable) {
+		log.debug("getAppointmentsSlice");
+		Slice<AppointmentEntity> sliceEntity = appointmentRepository.findSliceByEliminate(false, pageable);
+		return sliceEntity.map(appointmentToAppointmentEntityMapper::fromOutputToInput);
+	}
+
+	/**
+	 * Modifies an existing appointment and evicts the entries of the
+	 * "appointments" cache that contain it, along with the cached lists, where a
+	 * new date or owner may move it.
 	 *
 	 * @param updated the appointment with updated information
 	 */
 	@Override
-	@CacheEvict(value = "appointments", allEntries = true)
 	public void modifyAppointment(@Valid Appointment input) {
 		log.debug("modifyAppointment");
 		AppointmentEntity entity = appointmentToAppointmentEntityMapper.fromInputToOutput(input);
 		appointmentRepository.save(entity);
+		cacheInvalidator.onModified("appointments", input.getId(), ownerScopes(entity));
 
 	}
 
 	/**
-	 * Deletes an appointment by marking it as eliminated and evicts all entries in
-	 * the "appointment" cache.
+	 * Deletes an appointment by marking it as eliminated and evicts the entries of
+	 * the "appointments" cache that contain it, along with the cached lists.
 	 *
 	 * @param id the ID of the appointment to be deleted
 	 */
 	@Override
-	@CacheEvict(value = "appointments", allEntries = true)
 	public void deleteAppointment(@Valid String idAppointment) {
 		log.debug("deleteAppointment");
 		Optional<AppointmentEntity> optAppointment = appointmentRepository.findByIdAndEliminate(idAppointment, false);
@@ -118,17 +244,18 @@ public class AppointmentRepositoryService implements AppointmentRepositoryOutput
 			optAppointment.get().setEliminate(true);
 		}
 		appointmentRepository.save(optAppointment.get());
+		cacheInvalidator.onDeleted("appointments", idAppointment, ownerScopes(optAppointment.get()));
 
 	}
 
 	@Override
-	@CacheEvict(value = "appointments", allEntries = true)
 	public Appointment addAppointment(@Valid Appointment appointment) {
 		log.debug("addAppointment");
 
 		AppointmentEntity appointmentEntity = appointmentToAppointmentEntityMapper.fromInputToOutput(appointment);
 		appointmentEntity.setEliminate(false);
 		AppointmentEntity savedAppointmentEntity = appointmentRepository.save(appointmentEntity);
+		cacheInvalidator.onCreated("appointments", ownerScopes(savedAppointmentEntity));
 		return appointmentToAppointmentEntityMapper.fromOutputToInput(savedAppointmentEntity);
 	}
 
@@ -142,16 +269,15 @@ public class AppointmentRepositoryService implements AppointmentRepositoryOutput
 	 *                           coach is not found
 	 */
 	@Override
-	@Cacheable(value = "appointments", key = "#document")
+	@CachedQuery(CacheQuery.ACTIVE_PAGE_BY_COACH_DOCUMENT)
 	public Page<Appointment> getAppointmentsByCoachPersonalInformationDocument(String document, Pageable pageable) {
 		log.debug("getAppointmentsByPersonalInformationDocument");
 
-		Optional<CoachEntity> coachOpt = coachRepository.findByPersonalInformationDocumentAndEliminate(document, false);
-		CoachEntity coach = coachOpt.get();
-		List<String> appointmentIds = coach.getIdAppointments();
-		Page<AppointmentEntity> appointmentEntities = appointmentRepository.findByIdInAndEliminate(appointmentIds,
-				false, pageable);
-		return appointmentEntities.map(appointmentToAppointmentEntityMapper::fromOutputToInput);
+		Optional<CoachEntity> coachOpt = coachRepository.findIdByPersonalInformationDocument(document);
+		if (coachOpt.isEmpty()) {
+			return Page.empty(pageable);
+		}
+		return findPage(AppointmentCriteria.byOwner("coachId", coachOpt.get().getId(), null, null), pageable);
 	}
 
 	/**
@@ -164,72 +290,208 @@ public class AppointmentRepositoryService implements AppointmentRepositoryOutput
 	 *                           athlete is not found
 	 */
 	@Override
-	@Cacheable(value = "appointments", key = "#document")
+	@CachedQuery(CacheQuery.ACTIVE_PAGE_BY_ATHLETE_DOCUMENT)
 	public Page<Appointment> getAppointmentsByAthletePersonalInformationDocument(String document, Pageable pageable) {
 		log.debug("getAppointmentsByAthletePersonalInformationDocument");
 
-		Optional<AthleteEntity> athleteOpt = athleteRepository.findByPersonalInformationDocumentAndEliminate(document,
-				false);
-		AthleteEntity athlete = athleteOpt.get();
-		List<String> appointmentIds = athlete.getIdAppointments();
-		Page<AppointmentEntity> appointmentEntities = appointmentRepository.findAthleteByEliminateAndIdIn(false,
-				appointmentIds, pageable);
-		return appointmentEntities.map(appointmentToAppointmentEntityMapper::fromOutputToInput);
+		Optional<AthleteEntity> athleteOpt = athleteRepository.findIdByPersonalInformationDocument(document);
+		if (athleteOpt.isEmpty()) {
+			return Page.empty(pageable);
+		}
+		return findPage(AppointmentCriteria.byOwner("athleteId", athleteOpt.get().getId(), null, null), pageable);
 	}
 
 	/**
-	 * Retrieves a paginated list of appointments by coach ID and caches the result.
+	 * Retrieves a paginated list of appointments by coach ID, optionally within a
+	 * date range, and caches the result. The appointments are queried by their
+	 * coachId instead of the ids embedded in the coach.
 	 *
-	 * @param id       the ID of the coach
+	 * @param coachId  the ID of the coach
+	 * @param from     the inclusive start of the date range, or null
+	 * @param to       the inclusive end of the date range, or null
 	 * @param pageable the pagination information
 	 * @return a paginated list of appointments
-	 * @throws BusinessException if no appointments are found for the coach or the
-	 *                           coach is not found
+	 * @throws BusinessException if the appointments cannot be retrieved
 	 */
 	@Override
 	@Transactional
-	@Cacheable(value = "appointments", key = "#coachId")
-	public Page<Appointment> getAppointmentsByCoachId(String coachId, Pageable pageable) throws BusinessException {
-		log.debug("getAppointmentsByCoachId");
-
+	@CachedQuery(CacheQuery.ACTIVE_PAGE_BY_COACH)
+	public Page<Appointment> getAppointmentsByCoachId(String coachId, LocalDateTime from, LocalDateTime to,
+			Pageable pageable) throws BusinessException {
 		log.debug("getAppointmentsByCoachId");
 
-		Optional<CoachEntity> coachOpt = coachRepository.findByIdAndEliminate(coachId, false);
-		if (coachOpt.isPresent()) {
-			CoachEntity coach = coachOpt.get();
-			List<String> appointmentIds = coach.getIdAppointments();
-			Page<AppointmentEntity> appointmentEntities = appointmentRepository.findByIdInAndEliminate(appointmentIds,
-					false, pageable);
-			return appointmentEntities.map(appointmentToAppointmentEntityMapper::fromOutputToInput);
-		} else {
-			throw new BusinessException(Errors.PERSON_NOT_FOUND);
-		}
+		return findPage(AppointmentCriteria.byOwner("coachId", coachId, from, to), pageable);
 	}
 
 	/**
-	 * Retrieves a paginated list of appointments by athlete ID and caches the
-	 * result.
+	 * Retrieves a paginated list of appointments by athlete ID, optionally within
+	 * a date range, and caches the result. The appointments are queried by their
+	 * athleteId instead of the ids embedded in the athlete.
 	 *
 	 * @param id       the ID of the athlete
+	 * @param from     the inclusive start of the date range, or null
+	 * @param to       the inclusive end of the date range, or null
 	 * @param pageable the pagination information
 	 * @return a paginated list of appointments
-	 * @throws BusinessException if no appointments are found for the athlete or the
-	 *                           athlete is not found
+	 * @throws BusinessException if the appointments cannot be retrieved
 	 */
 	@Override
-	@Cacheable(value = "appointments", key = "#id")
-	public Page<Appointment> getAppointmentsByAthleteId(String id, Pageable pageable) throws BusinessException {
+	@CachedQuery(CacheQuery.ACTIVE_PAGE_BY_ATHLETE)
+	public Page<Appointment> getAppointmentsByAthleteId(String id, LocalDateTime from, LocalDateTime to,
+			Pageable pageable) throws BusinessException {
 		log.debug("getAppointmentsByAthleteId");
 
-		Optional<AthleteEntity> athleteOpt = athleteRepository.findByIdAndEliminate(id, false);
-		if (athleteOpt.isPresent()) {
-			AthleteEntity athlete = athleteOpt.get();
-			List<String> appointmentIds = athlete.getIdAppointments();
-			Page<AppointmentEntity> appointmentEntities = appointmentRepository.findAthleteByEliminateAndIdIn(false,
-					appointmentIds, pageable);
-			return appointmentEntities.map(appointmentToAppointmentEntityMapper::fromOutputToInput);
-		} else {
-			throw new BusinessException(Errors.PERSON_NOT_FOUND);
-		}
+		return findPage(AppointmentCriteria.byOwner("athleteId", id, from, to), pageable);
+	}
+
+	/**
+	 * Retrieves a slice of appointments by coach ID, optionally within a date
+	 * range, without counting them, and caches the result.
+	 *
+	 * @param coachId  the ID of the coach
+	 * @param from     the inclusive start of the date range, or null
+	 * @param to       the inclusive end of the date range, or null
+	 * @param pageable the pagination information
+	 * @return a slice of appointments
+	 */
+	@Override
+	@CachedQuery(CacheQuery.ACTIVE_SLICE_BY_COACH)
+	public Slice<Appointment> getAppointmentsSliceByCoachId(String coachId, LocalDateTime from, LocalDateTime to,
+			Pageable pageable) {
+		log.debug("getAppointmentsSliceByCoachId");
+
+		return findSlice(AppointmentCriteria.byOwner("coachId", coachId, from, to), pageable.getSort(), pageable);
+	}
+
+	/**
+	 * Retrieves a slice of appointments by athlete ID, optionally within a date
+	 * range, without counting them, and caches the result.
+	 *
+	 * @param id       the ID of the athlete
+	 * @param from     the inclusive start of the date range, or null
+	 * @param to       the inclusive end of the date range, or null
+	 * @param pageable the pagination information
+	 * @return a slice of appointments
+	 */
+	@Override
+	@CachedQuery(CacheQuery.ACTIVE_SLICE_BY_ATHLETE)
+	public Slice<Appointment> getAppointmentsSliceByAthleteId(String id, LocalDateTime from, LocalDateTime to,
+			Pageable pageable) {
+		log.debug("getAppointmentsSliceByAthleteId");
+
+		return findSlice(AppointmentCriteria.byOwner("athleteId", id, from, to), pageable.getSort(), pageable);
+	}
+
+	/**
+	 * Counts the appointments of a coach, optionally within a date range.
+	 *
+	 * @param coachId the ID of the coach
+	 * @param from    the inclusive start of the date range, or null
+	 * @param to      the inclusive end of the date range, or null
+	 * @return the number of appointments
+	 */
+	@Override
+	public long countAppointmentsByCoachId(String coachId, LocalDateTime from, LocalDateTime to) {
+		log.debug("countAppointmentsByCoachId");
+		return mongoTemplate.count(Query.query(AppointmentCriteria.byOwner("coachId", coachId, from, to)),
+				AppointmentEntity.class);
+	}
+
+	/**
+	 * Counts the appointments of an athlete, optionally within a date range.
+	 *
+	 * @param id   the ID of the athlete
+	 * @param from the inclusive start of the date range, or null
+	 * @param to   the inclusive end of the date range, or null
+	 * @return the number of appointments
+	 */
+	@Override
+	public long countAppointmentsByAthleteId(String id, LocalDateTime from, LocalDateTime to) {
+		log.debug("countAppointmentsByAthleteId");
+		return mongoTemplate.count(Query.query(AppointmentCriteria.byOwner("athleteId", id, from, to)),
+				AppointmentEntity.class);
+	}
+
+	/**
+	 * Retrieves a slice of the active appointments that match a filter, without
+	 * counting them. Each combination of filters is served by a compound index of
+	 * {@link AppointmentEntity}: the coach or athlete indexes when an owner is
+	 * given, otherwise the training type or the date index, so the date range is
+	 * an index range scan. Unless the pageable is sorted, appointments are ordered
+	 * by date, and by id when no owner is given, as an owner cannot have two
+	 * appointments at the same time.
+	 *
+	 * @param filter   the filter
+	 * @param pageable the pagination information
+	 * @return a slice of appointments
+	 */
+	@Override
+	public Slice<Appointment> findAppointments(AppointmentFilter filter, Pageable pageable) {
+		log.debug("findAppointments");
+
+		Sort sort = pageable.getSort().isSorted() ? pageable.getSort()
+				: filter.getCoachId() != null || filter.getAthleteId() != null ? Sort.by("date") : SCROLL_SORT;
+		return findSlice(AppointmentCriteria.byFilter(filter), sort, pageable);
+	}
+
+	/**
+	 * Counts the active appointments that match a filter, on the same indexes as
+	 * {@link #findAppointments(AppointmentFilter, Pageable)}.
+	 *
+	 * @param filter the filter
+	 * @return the number of appointments
+	 */
+	@Override
+	public long countAppointments(AppointmentFilter filter) {
+		log.debug("countAppointmentsByFilter");
+		return mongoTemplate.count(Query.query(AppointmentCriteria.byFilter(filter)), AppointmentEntity.class);
+	}
+
+	/**
+	 * Streams the appointments not eliminated, ordered by id, from a server-side
+	 * cursor that fetches {@code healthlifting.export.batch-size} documents at a
+	 * time. The stream must be closed to release the cursor.
+	 *
+	 * @return a stream of appointments
+	 */
+	@Override
+	public Stream<Appointment> streamAppointments() {
+		log.debug("streamAppointments");
+		Query query = Query.query(Criteria.where("eliminate").is(false)).with(Sort.by("id"))
+				.cursorBatchSize(exportBatchSize);
+		return mongoTemplate.stream(query, AppointmentEntity.class)
+				.map(appointmentToAppointmentEntityMapper::fromOutputToInput);
+	}
+
+	/**
+	 * Retrieves a page of the appointments that match the criteria, counting them
+	 * only when the page does not tell the total.
+	 */
+	private Page<Appointment> findPage(Criteria criteria, Pageable pageable) {
+		List<AppointmentEntity> entities = mongoTemplate.find(Query.query(criteria).with(pageable),
+				AppointmentEntity.class);
+		return PageableExecutionUtils
+				.getPage(entities, pageable, () -> mongoTemplate.count(Query.query(criteria), AppointmentEntity.class))
+				.map(appointmentToAppointmentEntityMapper::fromOutputToInput);
+	}
+
+	/**
+	 * Retrieves a slice of the appointments that match the criteria, reading one
+	 * more appointment than the page size to know whether there is a next slice.
+	 */
+	private Slice<Appointment> findSlice(Criteria criteria, Sort sort, Pageable pageable) {
+		Query query = Query.query(criteria).with(sort).skip(pageable.getOffset()).limit(pageable.getPageSize() + 1);
+		List<AppointmentEntity> entities = mongoTemplate.find(query, AppointmentEntity.class);
+		boolean hasNext = entities.size() > pageable.getPageSize();
+		List<Appointment> content = entities.stream().limit(pageable.getPageSize())
+				.map(appointmentToAppointmentEntityMapper::fromOutputToInput).toList();
+		return new SliceImpl<>(content, pageable, hasNext);
+	}
+
+	static CacheKey[] ownerScopes(AppointmentEntity appointment) {
+		return new CacheKey[] { CacheKey.scope(CacheQuery.ACTIVE_PAGE_BY_COACH, appointment.getCoachId()),
+				CacheKey.scope(CacheQuery.ACTIVE_PAGE_BY_ATHLETE, appointment.getAthleteId()),
+				CacheKey.scope(CacheQuery.ACTIVE_PAGE_BY_COACH_DOCUMENT, appointment.getCoachDocument()),
+				CacheKey.scope(CacheQuery.ACTIVE_PAGE_BY_ATHLETE_DOCUMENT, appointment.getAthleteDocument()) };
 	}
 }
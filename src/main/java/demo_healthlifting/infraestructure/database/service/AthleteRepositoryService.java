@@ -1,44 +1,164 @@
 package demo_healthlifting.infraestructure.database.service;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import org.bson.types.ObjectId;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheConfig;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Component;
 
 import demo_healthlifting.application.ports.output.AthleteRepositoryOutputPort;
+import demo_healthlifting.domain.exception.BusinessException;
 import demo_healthlifting.domain.model.Athlete;
+import demo_healthlifting.domain.model.AthleteSummary;
+import demo_healthlifting.domain.model.ImportResult;
+import demo_healthlifting.domain.model.ImportStatus;
+import demo_healthlifting.domain.model.PersonSuggestion;
+import demo_healthlifting.domain.model.PersonalInformation;
+import demo_healthlifting.domain.model.SearchCriterion;
+import demo_healthlifting.infraestructure.database.autocomplete.PersonNameIndex;
+import demo_healthlifting.infraestructure.database.autocomplete.PersonNameIndex.PersonType;
+import demo_healthlifting.infraestructure.database.cache.CacheInvalidator;
+import demo_healthlifting.infraestructure.database.cache.CacheKey;
+import demo_healthlifting.infraestructure.database.cache.CacheQuery;
+import demo_healthlifting.infraestructure.database.cache.CachedQuery;
+import demo_healthlifting.infraestructure.database.cache.NegativeLookupCache;
 import demo_healthlifting.infraestructure.database.entity.AthleteEntity;
 import demo_healthlifting.infraestructure.database.mapper.AthleteToAthleteEntityMapper;
 import demo_healthlifting.infraestructure.database.repository.AthleteRepository;
+import demo_healthlifting.infraestructure.database.search.QuerydslSearch;
+import demo_healthlifting.infraestructure.database.search.SearchableEntity;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 @Component
+@CacheConfig(cacheNames = "athletes")
 public class AthleteRepositoryService implements AthleteRepositoryOutputPort {
 
+	private static final Sort SCROLL_SORT = Sort.by("id");
+
 	@Autowired
 	AthleteRepository athleteRepository;
 
 	@Autowired
 	AthleteToAthleteEntityMapper athleteToAthleteEntityMapper;
 
+	@Autowired
+	CacheInvalidator cacheInvalidator;
+
+	@Autowired
+	MongoTemplate mongoTemplate;
+
+	@Autowired
+	QuerydslSearch querydslSearch;
+
+	@Autowired
+	PersonNameIndex personNameIndex;
+
+	@Autowired
+	NegativeLookupCache negativeLookupCache;
+
+	@Autowired
+	BulkInserter bulkInserter;
+
+	@Value("${healthlifting.export.batch-size:500}")
+	int exportBatchSize;
+
 	/**
-	 * Creates a new athlete and evicts all entries in the "athletes" cache.
+	 * Creates a new athlete and evicts the cached lists of the "athletes" cache
+	 * and any cached miss for its document.
 	 *
 	 * @param input the athlete to be created
 	 * @return the ID of the newly created athlete
 	 */
 	@Override
-	@CacheEvict(value = "athletes", allEntries = true)
 	public String createAthlete(@Valid Athlete input) {
 		log.debug("createAthlete");
 		AthleteEntity entity = athleteToAthleteEntityMapper.fromInputToOutput(input);
-		return athleteRepository.save(entity).getId();
+		String id = athleteRepository.save(entity).getId();
+		negativeLookupCache.register("athletes", id, document(input));
+		cacheInvalidator.onCreated("athletes", documentScope(input));
+		personNameIndex.put(PersonType.ATHLETE, id, input.getPersonalInformation());
+		return id;
+	}
+
+	/**
+	 * Creates a batch of athletes with unordered bulk inserts and evicts the
+	 * cached lists of the "athletes" cache once for the whole batch. Athletes whose
+	 * document is already taken are rejected by the unique document index.
+	 *
+	 * @param input the athletes to be created
+	 * @return the result of every athlete, in the same order
+	 */
+	@Override
+	public List<ImportResult> createAthletes(List<Athlete> input) {
+		log.debug("createAthletes");
+		List<AthleteEntity> entities = input.stream().map(athleteToAthleteEntityMapper::fromInputToOutput).toList();
+		entities.forEach(entity -> entity.setId(new ObjectId().toHexString()));
+
+		List<ImportResult> results = bulkInserter.insert(entities, AthleteEntity.class, AthleteEntity::getId);
+		for (ImportResult result : results) {
+			if (result.getStatus() == ImportStatus.CREATED) {
+				negativeLookupCache.register("athletes", result.getId(), document(input.get(result.getIndex())));
+			}
+		}
+		CacheKey[] scopes = results.stream().filter(result -> result.getStatus() == ImportStatus.CREATED)
+				.map(result -> documentScope(input.get(result.getIndex()))).toArray(CacheKey[]::new);
+		cacheInvalidator.onCreated("athletes", scopes);
+		Map<String, PersonalInformation> created = new HashMap<>();
+		results.stream().filter(result -> result.getStatus() == ImportStatus.CREATED).forEach(
+				result -> created.put(result.getId(), input.get(result.getIndex()).getPersonalInformation()));
+		personNameIndex.putAll(PersonType.ATHLETE, created);
+		return results;
+	}
+
+	/**
+	 * Finds which of the given documents belong to athletes not eliminated. Only
+	 * the document is read.
+	 *
+	 * @param documents the documents to look for
+	 * @return the documents already in use
+	 */
+	@Override
+	public Set<String> findExistingAthleteDocuments(Collection<String> documents) {
+		log.debug("findExistingAthleteDocuments");
+		return athleteRepository.findDocumentsByPersonalInformationDocumentIn(documents).stream()
+				.map(entity -> entity.getPersonalInformation().getDocument()).collect(Collectors.toSet());
+	}
+
+	/**
+	 * Retrieves the summaries of the given athletes, excluding eliminated ones,
+	 * in a single query.
+	 *
+	 * @param ids the IDs of the athletes
+	 * @return the summaries of the athletes found
+	 */
+	@Override
+	public List<AthleteSummary> getAthleteSummariesById(Collection<String> ids) {
+		log.debug("getAthleteSummariesById");
+		return athleteRepository.findSummaryByIdInAndEliminate(ids, false);
 	}
 
 	/**
@@ -49,7 +169,7 @@ public class AthleteRepositoryService implements AthleteRepositoryOutputPort {
 	 *         not
 	 */
 	@Override
-	@Cacheable(value = "athletes", key = "#id")
+	@CachedQuery(CacheQuery.ID)
 	public Optional<Athlete> getAthlete(@Valid String id) {
 		log.debug("getAthlete");
 
@@ -64,7 +184,7 @@ public class AthleteRepositoryService implements AthleteRepositoryOutputPort {
 	 * @return a paginated list of athletes
 	 */
 	@Override
-	@Cacheable(value = "athletes", key = "#pageable")
+	@CachedQuery(CacheQuery.ACTIVE_PAGE)
 	public Page<Athlete> getAthletes(@Valid Pageable pageable) {
 		log.debug("getAthletes");
 		Page<AthleteEntity> listEntity = athleteRepository.findByEliminate(false, pageable);
@@ -72,27 +192,129 @@ public class AthleteRepositoryService implements AthleteRepositoryOutputPort {
 	}
 
 	/**
-	 * Modifies an existing athlete and evicts all entries in the "athletes" cache.
+	 * Retrieves the athletes that follow a keyset position, ordered by id.
+	 * The cost of a page does not depend on its depth and no count is run.
+	 *
+	 * @param position the position of the last athlete already returned
+	 * @param size     the maximum number of athletes
+	 * @return a window of athletes
+	 */
+	@Override
+	public Window<Athlete> getAthletes(ScrollPosition position, int size) {
+		log.debug("getAthletesByPosition");
+		Window<AthleteEntity> window = athleteRepository.findByEliminate(false, position, Limit.of(size), SCROLL_SORT);
+		return window.map(athleteToAthleteEntityMapper::fromOutputToInput);
+	}
+
+	/**
+	 * Counts the athletes that are not eliminated.
+	 *
+	 * @return the number of athletes
+	 */
+	@Override
+	public long countAthletes() {
+		log.debug("countAthletes");
+		return athleteRepository.countByEliminate(false);
+	}
+
+	/**
+	 * Retrieves a page of the athletes not eliminated that match every
+	 * criterion, through the Querydsl predicate executor of the repository.
+	 *
+	 * @param criteria the criteria, on the fields accepted by the search
+	 * @param pageable the pagination information
+	 * @return a page of athletes
+	 * @throws BusinessException if a criterion or the sort is not accepted
+	 */
+	@Override
+	public Page<Athlete> searchAthletes(List<SearchCriterion> criteria, Pageable pageable) throws BusinessException {
+		log.debug("searchAthletes");
+		return querydslSearch.search(SearchableEntity.ATHLETE, athleteRepository, criteria, pageable)
+				.map(athleteToAthleteEntityMapper::fromOutputToInput);
+	}
+
+	/**
+	 * Suggests the athletes not eliminated whose name, surname or document starts
+	 * with the text typed, from the in-memory index of names.
+	 *
+	 * @param prefix the text typed
+	 * @param limit  the maximum number of suggestions
+	 * @return the suggested athletes
+	 */
+	@Override
+	public List<PersonSuggestion> suggestAthletes(String prefix, int limit) {
+		log.debug("suggestAthletes");
+		return personNameIndex.suggest(PersonType.ATHLETE, prefix, limit);
+	}
+
+	/**
+	 * Retrieves a slice of athletes and caches the result. Unlike the paginated
+	 * list it runs no count, it only reads one more athlete to know whether
+	 * there is a next slice.
+	 *
+	 * @param pageable the pagination information
+	 * @return a slice of athletes
+	 */
+	@Override
+	@CachedQuery(CacheQuery.ACTIVE_SLICE)
+	public Slice<Athlete> getAthletesSlice(Pageable pageable) {
+		log.debug("getAthletesSlice");
+		Slice<AthleteEntity> sliceEntity = athleteRepository.findSliceByEliminate(false, pageable);
+		return sliceEntity.map(athleteToAthleteEntityMapper::fromOutputToInput);
+	}
+
+	/**
+	 * Retrieves a paginated list of athlete summaries and caches the result. Only
+	 * the summary fields are read from Mongo and no entity is mapped.
+	 *
+	 * @param pageable the pagination information
+	 * @return a paginated list of athlete summaries
+	 */
+	@Override
+	@CachedQuery(CacheQuery.ACTIVE_SUMMARY_PAGE)
+	public Page<AthleteSummary> getAthleteSummaries(Pageable pageable) {
+		log.debug("getAthleteSummaries");
+		return athleteRepository.findSummaryByEliminate(false, pageable);
+	}
+
+	/**
+	 * Retrieves a slice of athlete summaries, without counting them, and caches
+	 * the result.
+	 *
+	 * @param pageable the pagination information
+	 * @return a slice of athlete summaries
+	 */
+	@Override
+	@CachedQuery(CacheQuery.ACTIVE_SUMMARY_SLICE)
+	public Slice<AthleteSummary> getAthleteSummariesSlice(Pageable pageable) {
+		log.debug("getAthleteSummariesSlice");
+		return athleteRepository.findSummarySliceByEliminate(false, pageable);
+	}
+
+	/**
+	 * Modifies an existing athlete and evicts the entries of the "athletes" cache
+	 * that contain it, along with the cached lists, where a new name may move it.
 	 *
 	 * @param input the athlete with updated information
 	 */
 	@Override
-	@CacheEvict(value = "athletes", allEntries = true)
 	public void modifyAthlete(@Valid Athlete input) {
 		log.debug("modifyAthletes");
 		AthleteEntity entity = athleteToAthleteEntityMapper.fromInputToOutput(input);
 		athleteRepository.save(entity);
+		negativeLookupCache.register("athletes", input.getId(), document(input));
+		cacheInvalidator.onModified("athletes", input.getId(), documentScope(input));
+		personNameIndex.put(PersonType.ATHLETE, input.getId(), input.getPersonalInformation());
 
 	}
 
 	/**
-	 * Deletes an athlete by marking them as eliminated and evicts all entries in
-	 * the "athletes" cache.
+	 * Deletes an athlete by marking them as eliminated and evicts the entries of
+	 * the "athletes" cache that contain it, along with the cached lists.
 	 *
 	 * @param idAthlete the ID of the athlete to be deleted
 	 */
 	@Override
-	@CacheEvict(value = "athletes", allEntries = true)
 	public void deleteAthlete(@Valid String idAthlete) {
 		log.debug("deleteAthletes");
 		Optional<AthleteEntity> optAthlete = athleteRepository.findByIdAndEliminate(idAthlete, false);
@@ -100,6 +322,8 @@ public class AthleteRepositoryService implements AthleteRepositoryOutputPort {
 			optAthlete.get().setEliminate(true);
 		}
 		athleteRepository.save(optAthlete.get());
+		cacheInvalidator.onDeleted("athletes", idAthlete);
+		personNameIndex.remove(PersonType.ATHLETE, idAthlete);
 
 	}
 
@@ -112,7 +336,7 @@ public class AthleteRepositoryService implements AthleteRepositoryOutputPort {
 	 *         not
 	 */
 	@Override
-	@Cacheable(value = "athletes", key = "#id")
+	@CachedQuery(CacheQuery.ACTIVE_ID)
 	public Optional<Athlete> getAthleteById(@Valid String id) {
 		log.debug("getAthleteById");
 		Optional<AthleteEntity> athleteEntity = athleteRepository.findByIdAndEliminate(id, false);
@@ -128,11 +352,114 @@ public class AthleteRepositoryService implements AthleteRepositoryOutputPort {
 	 *         not
 	 */
 	@Override
-	@Cacheable(value = "athletes", key = "#document")
+	@CachedQuery(CacheQuery.ACTIVE_DOCUMENT)
 	public Optional<Athlete> findByAthletePersonalInformationDocument(@Valid String document) {
 		log.debug("findByAthletePersonalInformationDocument");
 		Optional<AthleteEntity> athleteEntityOpt = athleteRepository
 				.findByPersonalInformationDocumentAndEliminate(document, false);
 		return athleteEntityOpt.map(athleteToAthleteEntityMapper::fromOutputToInput);
 	}
+
+	/**
+	 * Adds an appointment id to the athlete with an atomic {@code $addToSet}, so
+	 * concurrent bookings do not overwrite each other, and evicts the entries of
+	 * the "athletes" cache that contain the athlete.
+	 *
+	 * @param idAthlete     the ID of the athlete
+	 * @param idAppointment the ID of the appointment
+	 */
+	@Override
+	public void addAppointment(String idAthlete, String idAppointment) {
+		log.debug("addAppointment");
+		update(idAthlete, new Update().addToSet("idAppointments", idAppointment));
+	}
+
+	/**
+	 * Removes an appointment id from the athlete with an atomic {@code $pull} and
+	 * evicts the entries of the "athletes" cache that contain the athlete.
+	 *
+	 * @param idAthlete     the ID of the athlete
+	 * @param idAppointment the ID of the appointment
+	 */
+	@Override
+	public void removeAppointment(String idAthlete, String idAppointment) {
+		log.debug("removeAppointment");
+		update(idAthlete, new Update().pull("idAppointments", idAppointment));
+	}
+
+	/**
+	 * Adds appointment ids to several athletes with one unordered bulk write of
+	 * {@code $addToSet $each} updates, and evicts the entries of the "athletes"
+	 * cache that contain them.
+	 *
+	 * @param idAppointmentsByAthlete the appointment ids to add, by athlete ID
+	 */
+	@Override
+	public void addAppointments(Map<String, List<String>> idAppointmentsByAthlete) {
+		log.debug("addAppointments");
+		if (idAppointmentsByAthlete.isEmpty()) {
+			return;
+		}
+		BulkOperations bulkOperations = mongoTemplate.bulkOps(BulkMode.UNORDERED, AthleteEntity.class);
+		idAppointmentsByAthlete.forEach((id, idAppointments) -> bulkOperations.updateOne(
+				Query.query(Criteria.where("_id").is(id)),
+				new Update().addToSet("idAppointments").each(idAppointments.toArray())));
+		bulkOperations.execute();
+		idAppointmentsByAthlete.keySet().forEach(id -> cacheInvalidator.onLinked("athletes", id));
+	}
+
+	/**
+	 * Adds a training sheet id to the athlete with an atomic {@code $addToSet} and
+	 * evicts the entries of the "athletes" cache that contain the athlete.
+	 *
+	 * @param idAthlete       the ID of the athlete
+	 * @param idTrainingSheet the ID of the training sheet
+	 */
+	@Override
+	public void addTrainingSheet(String idAthlete, String idTrainingSheet) {
+		log.debug("addTrainingSheet");
+		update(idAthlete, new Update().addToSet("idTrainingSheet", idTrainingSheet));
+	}
+
+	/**
+	 * Removes a training sheet id from the athlete with an atomic {@code $pull} and
+	 * evicts the entries of the "athletes" cache that contain the athlete.
+	 *
+	 * @param idAthlete       the ID of the athlete
+	 * @param idTrainingSheet the ID of the training sheet
+	 */
+	@Override
+	public void removeTrainingSheet(String idAthlete, String idTrainingSheet) {
+		log.debug("removeTrainingSheet");
+		update(idAthlete, new Update().pull("idTrainingSheet", idTrainingSheet));
+	}
+
+	/**
+	 * Streams the athletes not eliminated, ordered by id, from a server-side
+	 * cursor that fetches {@code healthlifting.export.batch-size} documents at a
+	 * time. The stream must be closed to release the cursor.
+	 *
+	 * @return a stream of athletes
+	 */
+	@Override
+	public Stream<Athlete> streamAthletes() {
+		log.debug("streamAthletes");
+		Query query = Query.query(Criteria.where("eliminate").is(false)).with(Sort.by("id"))
+				.cursorBatchSize(exportBatchSize);
+		return mongoTemplate.stream(query, AthleteEntity.class).map(athleteToAthleteEntityMapper::fromOutputToInput);
+	}
+
+	private void update(String id, Update update) {
+		mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(id)), update, AthleteEntity.class);
+		cacheInvalidator.onLinked("athletes", id);
+	}
+
+	static String document(Athlete athlete) {
+		return athlete.getPersonalInformation() == null ? null : athlete.getPersonalInformation().getDocument();
+	}
+
+	static CacheKey documentScope(Athlete athlete) {
+		return athlete.getPersonalInformation() == null ? null
+				: CacheKey.scope(CacheQuery.ACTIVE_DOCUMENT, athlete.getPersonalInformation().getDocument());
+	}
 }
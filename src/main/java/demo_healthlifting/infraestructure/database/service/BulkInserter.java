@@ -0,0 +1,84 @@
+package demo_healthlifting.infraestructure.database.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import com.mongodb.bulk.BulkWriteError;
+
+import demo_healthlifting.application.ports.utils.Errors;
+import demo_healthlifting.domain.model.ImportResult;
+import demo_healthlifting.domain.model.ImportStatus;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Inserts lists of entities with unordered bulk writes, in chunks of
+ * {@code healthlifting.import.chunk-size} documents. An unordered bulk write
+ * keeps inserting after a failed document, so every row gets its own result.
+ */
+@Slf4j
+@Component
+public class BulkInserter {
+
+	private static final int DUPLICATE_KEY = 11000;
+
+	@Autowired
+	MongoTemplate mongoTemplate;
+
+	@Value("${healthlifting.import.chunk-size:1000}")
+	int chunkSize;
+
+	/**
+	 * Inserts the entities, which must already have their ids assigned, and
+	 * returns one result per entity in the same order. Documents rejected by a
+	 * unique index are reported as duplicated.
+	 *
+	 * @param entities the entities to insert
+	 * @param type     the entity class
+	 * @param idOf     the id of an entity
+	 * @return the result of every entity, indexed by its position in the list
+	 */
+	public <E> List<ImportResult> insert(List<E> entities, Class<E> type, Function<E, String> idOf) {
+		log.debug("insert {} {}", entities.size(), type.getSimpleName());
+		List<ImportResult> results = new ArrayList<>(entities.size());
+		for (int from = 0; from < entities.size(); from += chunkSize) {
+			List<E> chunk = entities.subList(from, Math.min(from + chunkSize, entities.size()));
+			ImportResult[] chunkResults = insertChunk(chunk, type);
+			for (int i = 0; i < chunk.size(); i++) {
+				ImportResult result = chunkResults[i] != null ? chunkResults[i]
+						: ImportResult.created(from + i, idOf.apply(chunk.get(i)));
+				results.add(result.toBuilder().index(from + i).build());
+			}
+		}
+		return results;
+	}
+
+	private <E> ImportResult[] insertChunk(List<E> chunk, Class<E> type) {
+		ImportResult[] failures = new ImportResult[chunk.size()];
+		try {
+			mongoTemplate.bulkOps(BulkMode.UNORDERED, type).insert(chunk).execute();
+		} catch (BulkOperationException e) {
+			for (BulkWriteError error : e.getErrors()) {
+				failures[error.getIndex()] = error.getCode() == DUPLICATE_KEY
+						? ImportResult.rejected(error.getIndex(), ImportStatus.DUPLICATED, Errors.DUPLICATED_KEY)
+						: ImportResult.rejected(error.getIndex(), ImportStatus.FAILED, Errors.WRITE_FAILED);
+			}
+		} catch (DataAccessException e) {
+			// Write concern errors do not tell which documents were written
+			log.error("Bulk insert of {} {} failed", chunk.size(), type.getSimpleName(), e);
+			for (int i = 0; i < failures.length; i++) {
+				failures[i] = ImportResult.rejected(i, ImportStatus.FAILED, Errors.WRITE_FAILED);
+			}
+		}
+		return failures;
+	}
+
+}
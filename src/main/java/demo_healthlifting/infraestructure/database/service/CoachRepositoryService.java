@@ -1,44 +1,164 @@
 package demo_healthlifting.infraestructure.database.service;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import org.bson.types.ObjectId;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheConfig;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Component;
 
 import demo_healthlifting.application.ports.output.CoachRepositoryOutputPort;
+import demo_healthlifting.domain.exception.BusinessException;
 import demo_healthlifting.domain.model.Coach;
+import demo_healthlifting.domain.model.CoachSummary;
+import demo_healthlifting.domain.model.ImportResult;
+import demo_healthlifting.domain.model.ImportStatus;
+import demo_healthlifting.domain.model.PersonSuggestion;
+import demo_healthlifting.domain.model.PersonalInformation;
+import demo_healthlifting.domain.model.SearchCriterion;
+import demo_healthlifting.infraestructure.database.autocomplete.PersonNameIndex;
+import demo_healthlifting.infraestructure.database.autocomplete.PersonNameIndex.PersonType;
+import demo_healthlifting.infraestructure.database.cache.CacheInvalidator;
+import demo_healthlifting.infraestructure.database.cache.CacheKey;
+import demo_healthlifting.infraestructure.database.cache.CacheQuery;
+import demo_healthlifting.infraestructure.database.cache.CachedQuery;
+import demo_healthlifting.infraestructure.database.cache.NegativeLookupCache;
 import demo_healthlifting.infraestructure.database.entity.CoachEntity;
 import demo_healthlifting.infraestructure.database.mapper.CoachToCoachEntityMapper;
 import demo_healthlifting.infraestructure.database.repository.CoachRepository;
+import demo_healthlifting.infraestructure.database.search.QuerydslSearch;
+import demo_healthlifting.infraestructure.database.search.SearchableEntity;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 @Component
+@CacheConfig(cacheNames = "coaches")
 public class CoachRepositoryService implements CoachRepositoryOutputPort {
 
+	private static final Sort SCROLL_SORT = Sort.by("id");
+
 	@Autowired
 	CoachRepository coachRepository;
 
 	@Autowired
 	CoachToCoachEntityMapper coachToCoachEntityMapper;
 
+	@Autowired
+	CacheInvalidator cacheInvalidator;
+
+	@Autowired
+	MongoTemplate mongoTemplate;
+
+	@Autowired
+	QuerydslSearch querydslSearch;
+
+	@Autowired
+	PersonNameIndex personNameIndex;
+
+	@Autowired
+	NegativeLookupCache negativeLookupCache;
+
+	@Autowired
+	BulkInserter bulkInserter;
+
+	@Value("${healthlifting.export.batch-size:500}")
+	int exportBatchSize;
+
 	/**
-	 * Creates a new coach and evicts all entries in the "coaches" cache.
+	 * Creates a new coach and evicts the cached lists of the "coaches" cache and
+	 * any cached miss for its document.
 	 *
 	 * @param input the coach to be created
 	 * @return the ID of the newly created coach
 	 */
 	@Override
-	@CacheEvict(value = "coaches", allEntries = true)
 	public String createCoach(@Valid Coach input) {
 		log.debug("createCoach");
 		CoachEntity entity = coachToCoachEntityMapper.fromInputToOutput(input);
-		return coachRepository.save(entity).getId();
+		String id = coachRepository.save(entity).getId();
+		negativeLookupCache.register("coaches", id, document(input));
+		cacheInvalidator.onCreated("coaches", documentScope(input));
+		personNameIndex.put(PersonType.COACH, id, input.getPersonalInformation());
+		return id;
+	}
+
+	/**
+	 * Creates a batch of coaches with unordered bulk inserts and evicts the
+	 * cached lists of the "coaches" cache once for the whole batch. Coaches whose
+	 * document is already taken are rejected by the unique document index.
+	 *
+	 * @param input the coaches to be created
+	 * @return the result of every coach, in the same order
+	 */
+	@Override
+	public List<ImportResult> createCoaches(List<Coach> input) {
+		log.debug("createCoaches");
+		List<CoachEntity> entities = input.stream().map(coachToCoachEntityMapper::fromInputToOutput).toList();
+		entities.forEach(entity -> entity.setId(new ObjectId().toHexString()));
+
+		List<ImportResult> results = bulkInserter.insert(entities, CoachEntity.class, CoachEntity::getId);
+		for (ImportResult result : results) {
+			if (result.getStatus() == ImportStatus.CREATED) {
+				negativeLookupCache.register("coaches", result.getId(), document(input.get(result.getIndex())));
+			}
+		}
+		CacheKey[] scopes = results.stream().filter(result -> result.getStatus() == ImportStatus.CREATED)
+				.map(result -> documentScope(input.get(result.getIndex()))).toArray(CacheKey[]::new);
+		cacheInvalidator.onCreated("coaches", scopes);
+		Map<String, PersonalInformation> created = new HashMap<>();
+		results.stream().filter(result -> result.getStatus() == ImportStatus.CREATED).forEach(
+				result -> created.put(result.getId(), input.get(result.getIndex()).getPersonalInformation()));
+		personNameIndex.putAll(PersonType.COACH, created);
+		return results;
+	}
+
+	/**
+	 * Finds which of the given documents belong to coaches not eliminated. Only
+	 * the document is read.
+	 *
+	 * @param documents the documents to look for
+	 * @return the documents already in use
+	 */
+	@Override
+	public Set<String> findExistingCoachDocuments(Collection<String> documents) {
+		log.debug("findExistingCoachDocuments");
+		return coachRepository.findDocumentsByPersonalInformationDocumentIn(documents).stream()
+				.map(entity -> entity.getPersonalInformation().getDocument()).collect(Collectors.toSet());
+	}
+
+	/**
+	 * Retrieves the summaries of the given coaches, excluding eliminated ones,
+	 * in a single query.
+	 *
+	 * @param ids the IDs of the coaches
+	 * @return the summaries of the coaches found
+	 */
+	@Override
+	public List<CoachSummary> getCoachSummariesById(Collection<String> ids) {
+		log.debug("getCoachSummariesById");
+		return coachRepository.findSummaryByIdInAndEliminate(ids, false);
 	}
 
 	/**
@@ -49,7 +169,7 @@ public class CoachRepositoryService implements CoachRepositoryOutputPort {
 	 *         not
 	 */
 	@Override
-	@Cacheable(value = "coaches", key = "#id")
+	@CachedQuery(CacheQuery.ID)
 	public Optional<Coach> getCoach(@Valid String id) {
 		log.debug("getCoach");
 
@@ -64,7 +184,7 @@ public class CoachRepositoryService implements CoachRepositoryOutputPort {
 	 * @return a paginated list of coaches
 	 */
 	@Override
-	@Cacheable(value = "coaches", key = "#pageable")
+	@CachedQuery(CacheQuery.ACTIVE_PAGE)
 	public Page<Coach> getCoaches(@Valid Pageable pageable) {
 		log.debug("getCoaches");
 		Page<CoachEntity> listEntity = coachRepository.findByEliminate(false, pageable);
@@ -72,27 +192,129 @@ public class CoachRepositoryService implements CoachRepositoryOutputPort {
 	}
 
 	/**
-	 * Modifies an existing coach and evicts all entries in the "coaches" cache.
+	 * Retrieves the coaches that follow a keyset position, ordered by id.
+	 * The cost of a page does not depend on its depth and no count is run.
+	 *
+	 * @param position the position of the last coach already returned
+	 * @param size     the maximum number of coaches
+	 * @return a window of coaches
+	 */
+	@Override
+	public Window<Coach> getCoaches(ScrollPosition position, int size) {
+		log.debug("getCoachesByPosition");
+		Window<CoachEntity> window = coachRepository.findByEliminate(false, position, Limit.of(size), SCROLL_SORT);
+		return window.map(coachToCoachEntityMapper::fromOutputToInput);
+	}
+
+	/**
+	 * Counts the coaches that are not eliminated.
+	 *
+	 * @return the number of coaches
+	 */
+	@Override
+	public long countCoaches() {
+		log.debug("countCoaches");
+		return coachRepository.countByEliminate(false);
+	}
+
+	/**
+	 * Retrieves a page of the coaches not eliminated that match every
+	 * criterion, through the Querydsl predicate executor of the repository.
+	 *
+	 * @param criteria the criteria, on the fields accepted by the search
+	 * @param pageable the pagination information
+	 * @return a page of coaches
+	 * @throws BusinessException if a criterion or the sort is not accepted
+	 */
+	@Override
+	public Page<Coach> searchCoaches(List<SearchCriterion> criteria, Pageable pageable) throws BusinessException {
+		log.debug("searchCoaches");
+		return querydslSearch.search(SearchableEntity.COACH, coachRepository, criteria, pageable)
+				.map(coachToCoachEntityMapper::fromOutputToInput);
+	}
+
+	/**
+	 * Suggests the coaches not eliminated whose name, surname or document starts
+	 * with the text typed, from the in-memory index of names.
+	 *
+	 * @param prefix the text typed
+	 * @param limit  the maximum number of suggestions
+	 * @return the suggested coaches
+	 */
+	@Override
+	public List<PersonSuggestion> suggestCoaches(String prefix, int limit) {
+		log.debug("suggestCoaches");
+		return personNameIndex.suggest(PersonType.COACH, prefix, limit);
+	}
+
+	/**
+	 * Retrieves a slice of coaches and caches the result. Unlike the paginated
+	 * list it runs no count, it only reads one more coach to know whether
+	 * there is a next slice.
+	 *
+	 * @param pageable the pagination information
+	 * @return a slice of coaches
+	 */
+	@Override
+	@CachedQuery(CacheQuery.ACTIVE_SLICE)
+	public Slice<Coach> getCoachesSlice(Pageable pageable) {
+		log.debug("getCoachesSlice");
+		Slice<CoachEntity> sliceEntity = coachRepository.findSliceByEliminate(false, pageable);
+		return sliceEntity.map(coachToCoachEntityMapper::fromOutputToInput);
+	}
+
+	/**
+	 * Retrieves a paginated list of coach summaries and caches the result. Only
+	 * the summary fields are read from Mongo and no entity is mapped.
+	 *
+	 * @param pageable the pagination information
+	 * @return a paginated list of coach summaries
+	 */
+	@Override
+	@CachedQuery(CacheQuery.ACTIVE_SUMMARY_PAGE)
+	public Page<CoachSummary> getCoachSummaries(Pageable pageable) {
+		log.debug("getCoachSummaries");
+		return coachRepository.findSummaryByEliminate(false, pageable);
+	}
+
+	/**
+	 * Retrieves a slice of coach summaries, without counting them, and caches
+	 * the result.
+	 *
+	 * @param pageable the pagination information
+	 * @return a slice of coach summaries
+	 */
+	@Override
+	@CachedQuery(CacheQuery.ACTIVE_SUMMARY_SLICE)
+	public Slice<CoachSummary> getCoachSummariesSlice(Pageable pageable) {
+		log.debug("getCoachSummariesSlice");
+		return coachRepository.findSummarySliceByEliminate(false, pageable);
+	}
+
+	/**
+	 * Modifies an existing coach and evicts the entries of the "coaches" cache
+	 * that contain it, along with the cached lists, where a new name may move it.
 	 *
 	 * @param input the coach with updated information
 	 */
 	@Override
-	@CacheEvict(value = "coaches", allEntries = true)
 	public void modifyCoach(@Valid Coach input) {
 		log.debug("modifyCoaches");
 		CoachEntity entity = coachToCoachEntityMapper.fromInputToOutput(input);
 		coachRepository.save(entity);
+		negativeLookupCache.register("coaches", input.getId(), document(input));
+		cacheInvalidator.onModified("coaches", input.getId(), documentScope(input));
+		personNameIndex.put(PersonType.COACH, input.getId(), input.getPersonalInformation());
 
 	}
 
 	/**
-	 * Deletes a coach by marking them as eliminated and evicts all entries in the
-	 * "coaches" cache.
+	 * Deletes a coach by marking them as eliminated and evicts the entries of the
+	 * "coaches" cache that contain it, along with the cached lists.
 	 *
 	 * @param idCoach the ID of the coach to be deleted
 	 */
 	@Override
-	@CacheEvict(value = "coaches", allEntries = true)
 	public void deleteCoach(@Valid String idCoach) {
 		log.debug("deleteAthletes");
 		Optional<CoachEntity> optCoach = coachRepository.findByIdAndEliminate(idCoach, false);
@@ -100,6 +322,8 @@ public class CoachRepositoryService implements CoachRepositoryOutputPort {
 			optCoach.get().setEliminate(true);
 		}
 		coachRepository.save(optCoach.get());
+		cacheInvalidator.onDeleted("coaches", idCoach);
+		personNameIndex.remove(PersonType.COACH, idCoach);
 
 	}
 
@@ -111,7 +335,7 @@ public class CoachRepositoryService implements CoachRepositoryOutputPort {
 	 *         not
 	 */
 	@Override
-	@Cacheable(value = "coach", key = "#id")
+	@CachedQuery(CacheQuery.ACTIVE_ID)
 	public Optional<Coach> getCoachById(@Valid String id) {
 		log.debug("getCoachById");
 		Optional<CoachEntity> coachEntity = coachRepository.findByIdAndEliminate(id, false);
@@ -127,7 +351,7 @@ public class CoachRepositoryService implements CoachRepositoryOutputPort {
 	 *         not
 	 */
 	@Override
-	@Cacheable(value = "coaches", key = "#document")
+	@CachedQuery(CacheQuery.ACTIVE_DOCUMENT)
 	public Optional<Coach> findByCoachPersonalInformationDocument(@Valid String document) {
 		log.debug("findByCoachPersonalInformationDocument");
 		Optional<CoachEntity> coachEntityOpt = coachRepository.findByPersonalInformationDocumentAndEliminate(document,
@@ -135,4 +359,107 @@ public class CoachRepositoryService implements CoachRepositoryOutputPort {
 		return coachEntityOpt.map(coachToCoachEntityMapper::fromOutputToInput);
 	}
 
+	/**
+	 * Adds an appointment id to the coach with an atomic {@code $addToSet}, so
+	 * concurrent bookings do not overwrite each other, and evicts the entries of
+	 * the "coaches" cache that contain the coach.
+	 *
+	 * @param idCoach       the ID of the coach
+	 * @param idAppointment the ID of the appointment
+	 */
+	@Override
+	public void addAppointment(String idCoach, String idAppointment) {
+		log.debug("addAppointment");
+		update(idCoach, new Update().addToSet("idAppointments", idAppointment));
+	}
+
+	/**
+	 * Removes an appointment id from the coach with an atomic {@code $pull} and
+	 * evicts the entries of the "coaches" cache that contain the coach.
+	 *
+	 * @param idCoach       the ID of the coach
+	 * @param idAppointment the ID of the appointment
+	 */
+	@Override
+	public void removeAppointment(String idCoach, String idAppointment) {
+		log.debug("removeAppointment");
+		update(idCoach, new Update().pull("idAppointments", idAppointment));
+	}
+
+	/**
+	 * Adds appointment ids to several coaches with one unordered bulk write of
+	 * {@code $addToSet $each} updates, and evicts the entries of the "coaches"
+	 * cache that contain them.
+	 *
+	 * @param idAppointmentsByCoach the appointment ids to add, by coach ID
+	 */
+	@Override
+	public void addAppointments(Map<String, List<String>> idAppointmentsByCoach) {
+		log.debug("addAppointments");
+		if (idAppointmentsByCoach.isEmpty()) {
+			return;
+		}
+		BulkOperations bulkOperations = mongoTemplate.bulkOps(BulkMode.UNORDERED, CoachEntity.class);
+		idAppointmentsByCoach.forEach((id, idAppointments) -> bulkOperations.updateOne(
+				Query.query(Criteria.where("_id").is(id)),
+				new Update().addToSet("idAppointments").each(idAppointments.toArray())));
+		bulkOperations.execute();
+		idAppointmentsByCoach.keySet().forEach(id -> cacheInvalidator.onLinked("coaches", id));
+	}
+
+	/**
+	 * Adds a training sheet id to the coach with an atomic {@code $addToSet} and
+	 * evicts the entries of the "coaches" cache that contain the coach.
+	 *
+	 * @param idCoach         the ID of the coach
+	 * @param idTrainingSheet the ID of the training sheet
+	 */
+	@Override
+	public void addTrainingSheet(String idCoach, String idTrainingSheet) {
+		log.debug("addTrainingSheet");
+		update(idCoach, new Update().addToSet("idTrainingSheet", idTrainingSheet));
+	}
+
+	/**
+	 * Removes a training sheet id from the coach with an atomic {@code $pull} and
+	 * evicts the entries of the "coaches" cache that contain the coach.
+	 *
+	 * @param idCoach         the ID of the coach
+	 * @param idTrainingSheet the ID of the training sheet
+	 */
+	@Override
+	public void removeTrainingSheet(String idCoach, String idTrainingSheet) {
+		log.debug("removeTrainingSheet");
+		update(idCoach, new Update().pull("idTrainingSheet", idTrainingSheet));
+	}
+
+	/**
+	 * Streams the coaches not eliminated, ordered by id, from a server-side
+	 * cursor that fetches {@code healthlifting.export.batch-size} documents at a
+	 * time. The stream must be closed to release the cursor.
+	 *
+	 * @return a stream of coaches
+	 */
+	@Override
+	public Stream<Coach> streamCoaches() {
+		log.debug("streamCoaches");
+		Query query = Query.query(Criteria.where("eliminate").is(false)).with(Sort.by("id"))
+				.cursorBatchSize(exportBatchSize);
+		return mongoTemplate.stream(query, CoachEntity.class).map(coachToCoachEntityMapper::fromOutputToInput);
+	}
+
+	private void update(String id, Update update) {
+		mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(id)), update, CoachEntity.class);
+		cacheInvalidator.onLinked("coaches", id);
+	}
+
+	static String document(Coach coach) {
+		return coach.getPersonalInformation() == null ? null : coach.getPersonalInformation().getDocument();
+	}
+
+	static CacheKey documentScope(Coach coach) {
+		return coach.getPersonalInformation() == null ? null
+				: CacheKey.scope(CacheQuery.ACTIVE_DOCUMENT, coach.getPersonalInformation().getDocument());
+	}
+
 }
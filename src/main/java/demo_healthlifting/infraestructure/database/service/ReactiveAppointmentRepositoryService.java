@@ -0,0 +1,158 @@
+package demo_healthlifting.infraestructure.database.service;
+
+import java.time.LocalDateTime;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import demo_healthlifting.application.ports.output.ReactiveAppointmentRepositoryOutputPort;
+import demo_healthlifting.domain.model.Appointment;
+import demo_healthlifting.infraestructure.database.cache.CacheInvalidator;
+import demo_healthlifting.infraestructure.database.entity.AppointmentEntity;
+import demo_healthlifting.infraestructure.database.mapper.AppointmentToAppointmentEntityMapper;
+import demo_healthlifting.infraestructure.database.repository.ReactiveAppointmentRepository;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking adapter of the appointments collection, used by the reactive
+ * stack. The schedules of an athlete or a coach are read through the same
+ * owner/date indexes as the blocking adapter, and its writes evict the same
+ * cache entries, see {@link ReactiveEvictions}.
+ */
+@Slf4j
+@Component
+@Profile("reactive")
+public class ReactiveAppointmentRepositoryService implements ReactiveAppointmentRepositoryOutputPort {
+
+	@Autowired
+	ReactiveAppointmentRepository reactiveAppointmentRepository;
+
+	@Autowired
+	AppointmentToAppointmentEntityMapper appointmentToAppointmentEntityMapper;
+
+	@Autowired
+	ReactiveMongoTemplate reactiveMongoTemplate;
+
+	@Autowired
+	CacheInvalidator cacheInvalidator;
+
+	/**
+	 * Creates a new appointment.
+	 *
+	 * @param appointment the appointment to be created
+	 * @return the newly created appointment
+	 */
+	@Override
+	public Mono<Appointment> createAppointment(Appointment appointment) {
+		log.debug("createAppointment");
+		AppointmentEntity entity = appointmentToAppointmentEntityMapper.fromInputToOutput(appointment);
+		entity.setEliminate(false);
+		return reactiveAppointmentRepository.save(entity)
+				.flatMap(saved -> ReactiveEvictions
+						.evict(() -> cacheInvalidator.onCreated("appointments",
+								AppointmentRepositoryService.ownerScopes(saved)))
+						.thenReturn(saved))
+				.map(appointmentToAppointmentEntityMapper::fromOutputToInput);
+	}
+
+	/**
+	 * Retrieves an appointment by ID.
+	 *
+	 * @param id the ID of the appointment to be retrieved
+	 * @return the appointment, or empty if not found
+	 */
+	@Override
+	public Mono<Appointment> getAppointment(String id) {
+		log.debug("getAppointment");
+		return reactiveAppointmentRepository.findById(id).map(appointmentToAppointmentEntityMapper::fromOutputToInput);
+	}
+
+	/**
+	 * Retrieves a page of appointments, without counting them.
+	 *
+	 * @param pageable the pagination information
+	 * @return the appointments of the page
+	 */
+	@Override
+	public Flux<Appointment> getAppointments(Pageable pageable) {
+		log.debug("getAppointments");
+		return reactiveAppointmentRepository.findByEliminate(false, pageable)
+				.map(appointmentToAppointmentEntityMapper::fromOutputToInput);
+	}
+
+	/**
+	 * Retrieves a page of the appointments of a coach, optionally within a date
+	 * range.
+	 *
+	 * @param id       the ID of the coach
+	 * @param from     the inclusive start of the date range, or null
+	 * @param to       the inclusive end of the date range, or null
+	 * @param pageable the pagination information
+	 * @return the appointments of the page
+	 */
+	@Override
+	public Flux<Appointment> getAppointmentsByCoachId(String id, LocalDateTime from, LocalDateTime to,
+			Pageable pageable) {
+		log.debug("getAppointmentsByCoachId");
+		return reactiveMongoTemplate
+				.find(Query.query(AppointmentCriteria.byOwner("coachId", id, from, to)).with(pageable),
+						AppointmentEntity.class)
+				.map(appointmentToAppointmentEntityMapper::fromOutputToInput);
+	}
+
+	/**
+	 * Retrieves a page of the appointments of an athlete, optionally within a
+	 * date range.
+	 *
+	 * @param id       the ID of the athlete
+	 * @param from     the inclusive start of the date range, or null
+	 * @param to       the inclusive end of the date range, or null
+	 * @param pageable the pagination information
+	 * @return the appointments of the page
+	 */
+	@Override
+	public Flux<Appointment> getAppointmentsByAthleteId(String id, LocalDateTime from, LocalDateTime to,
+			Pageable pageable) {
+		log.debug("getAppointmentsByAthleteId");
+		return reactiveMongoTemplate
+				.find(Query.query(AppointmentCriteria.byOwner("athleteId", id, from, to)).with(pageable),
+						AppointmentEntity.class)
+				.map(appointmentToAppointmentEntityMapper::fromOutputToInput);
+	}
+
+	/**
+	 * Modifies an existing appointment.
+	 *
+	 * @param input the appointment with updated information
+	 * @return completion signal
+	 */
+	@Override
+	public Mono<Void> modifyAppointment(Appointment input) {
+		log.debug("modifyAppointment");
+		AppointmentEntity entity = appointmentToAppointmentEntityMapper.fromInputToOutput(input);
+		return reactiveAppointmentRepository.save(entity).then(ReactiveEvictions.evict(() -> cacheInvalidator
+				.onModified("appointments", input.getId(), AppointmentRepositoryService.ownerScopes(entity))));
+	}
+
+	/**
+	 * Deletes an appointment by marking it as eliminated.
+	 *
+	 * @param id the ID of the appointment to be deleted
+	 * @return completion signal
+	 */
+	@Override
+	public Mono<Void> deleteAppointment(String id) {
+		log.debug("deleteAppointment");
+		return reactiveAppointmentRepository.findByIdAndEliminate(id, false).flatMap(entity -> {
+			entity.setEliminate(true);
+			return reactiveAppointmentRepository.save(entity);
+		}).flatMap(deleted -> ReactiveEvictions.evict(() -> cacheInvalidator.onDeleted("appointments", id,
+				AppointmentRepositoryService.ownerScopes(deleted))));
+	}
+}
@@ -0,0 +1,216 @@
+package demo_healthlifting.infraestructure.database.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import demo_healthlifting.application.ports.output.ReactiveAthleteRepositoryOutputPort;
+import demo_healthlifting.domain.model.Athlete;
+import demo_healthlifting.infraestructure.database.autocomplete.PersonNameIndex;
+import demo_healthlifting.infraestructure.database.autocomplete.PersonNameIndex.PersonType;
+import demo_healthlifting.infraestructure.database.cache.CacheInvalidator;
+import demo_healthlifting.infraestructure.database.cache.NegativeLookupCache;
+import demo_healthlifting.infraestructure.database.entity.AthleteEntity;
+import demo_healthlifting.infraestructure.database.mapper.AthleteToAthleteEntityMapper;
+import demo_healthlifting.infraestructure.database.repository.ReactiveAthleteRepository;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking adapter of the athletes collection, used by the reactive stack.
+ * It does not go through the repository caches: every read is a Mongo query
+ * that does not hold a thread while it waits. Its writes evict the cache
+ * entries, the negative lookups and the autocomplete entries as those of the
+ * blocking adapter do, see {@link ReactiveEvictions}.
+ */
+@Slf4j
+@Component
+@Profile("reactive")
+public class ReactiveAthleteRepositoryService implements ReactiveAthleteRepositoryOutputPort {
+
+	@Autowired
+	ReactiveAthleteRepository reactiveAthleteRepository;
+
+	@Autowired
+	AthleteToAthleteEntityMapper athleteToAthleteEntityMapper;
+
+	@Autowired
+	ReactiveMongoTemplate reactiveMongoTemplate;
+
+	@Autowired
+	CacheInvalidator cacheInvalidator;
+
+	@Autowired
+	NegativeLookupCache negativeLookupCache;
+
+	@Autowired
+	PersonNameIndex personNameIndex;
+
+	/**
+	 * Creates a new athlete.
+	 *
+	 * @param input the athlete to be created
+	 * @return the ID of the newly created athlete
+	 */
+	@Override
+	public Mono<String> createAthlete(Athlete input) {
+		log.debug("createAthlete");
+		AthleteEntity entity = athleteToAthleteEntityMapper.fromInputToOutput(input);
+		return reactiveAthleteRepository.save(entity).map(AthleteEntity::getId)
+				.flatMap(id -> ReactiveEvictions.evict(() -> {
+					negativeLookupCache.register("athletes", id, AthleteRepositoryService.document(input));
+					cacheInvalidator.onCreated("athletes", AthleteRepositoryService.documentScope(input));
+					personNameIndex.put(PersonType.ATHLETE, id, input.getPersonalInformation());
+				}).thenReturn(id));
+	}
+
+	/**
+	 * Retrieves an athlete by ID.
+	 *
+	 * @param id the ID of the athlete to be retrieved
+	 * @return the athlete, or empty if not found
+	 */
+	@Override
+	public Mono<Athlete> getAthlete(String id) {
+		log.debug("getAthlete");
+		return reactiveAthleteRepository.findById(id).map(athleteToAthleteEntityMapper::fromOutputToInput);
+	}
+
+	/**
+	 * Retrieves an athlete by ID, excluding eliminated athletes.
+	 *
+	 * @param id the ID of the athlete to be retrieved
+	 * @return the athlete, or empty if not found
+	 */
+	@Override
+	public Mono<Athlete> getAthleteById(String id) {
+		log.debug("getAthleteById");
+		return reactiveAthleteRepository.findByIdAndEliminate(id, false)
+				.map(athleteToAthleteEntityMapper::fromOutputToInput);
+	}
+
+	/**
+	 * Retrieves a page of athletes, without counting them.
+	 *
+	 * @param pageable the pagination information
+	 * @return the athletes of the page
+	 */
+	@Override
+	public Flux<Athlete> getAthletes(Pageable pageable) {
+		log.debug("getAthletes");
+		return reactiveAthleteRepository.findByEliminate(false, pageable)
+				.map(athleteToAthleteEntityMapper::fromOutputToInput);
+	}
+
+	/**
+	 * Finds an athlete by their personal information document, excluding
+	 * eliminated athletes.
+	 *
+	 * @param document the document of the athlete to be found
+	 * @return the athlete, or empty if not found
+	 */
+	@Override
+	public Mono<Athlete> findByAthletePersonalInformationDocument(String document) {
+		log.debug("findByAthletePersonalInformationDocument");
+		return reactiveAthleteRepository.findByPersonalInformationDocumentAndEliminate(document, false)
+				.map(athleteToAthleteEntityMapper::fromOutputToInput);
+	}
+
+	/**
+	 * Modifies an existing athlete.
+	 *
+	 * @param input the athlete with updated information
+	 * @return completion signal
+	 */
+	@Override
+	public Mono<Void> modifyAthlete(Athlete input) {
+		log.debug("modifyAthlete");
+		AthleteEntity entity = athleteToAthleteEntityMapper.fromInputToOutput(input);
+		return reactiveAthleteRepository.save(entity).then(ReactiveEvictions.evict(() -> {
+			negativeLookupCache.register("athletes", input.getId(), AthleteRepositoryService.document(input));
+			cacheInvalidator.onModified("athletes", input.getId(), AthleteRepositoryService.documentScope(input));
+			personNameIndex.put(PersonType.ATHLETE, input.getId(), input.getPersonalInformation());
+		}));
+	}
+
+	/**
+	 * Deletes an athlete by marking them as eliminated.
+	 *
+	 * @param id the ID of the athlete to be deleted
+	 * @return completion signal
+	 */
+	@Override
+	public Mono<Void> deleteAthlete(String id) {
+		log.debug("deleteAthlete");
+		return reactiveAthleteRepository.findByIdAndEliminate(id, false).flatMap(entity -> {
+			entity.setEliminate(true);
+			return reactiveAthleteRepository.save(entity);
+		}).flatMap(deleted -> ReactiveEvictions.evict(() -> {
+			cacheInvalidator.onDeleted("athletes", id);
+			personNameIndex.remove(PersonType.ATHLETE, id);
+		}));
+	}
+
+	/**
+	 * Adds an appointment id to the athlete with an atomic {@code $addToSet}.
+	 *
+	 * @param idAthlete     the ID of the athlete
+	 * @param idAppointment the ID of the appointment
+	 * @return completion signal
+	 */
+	@Override
+	public Mono<Void> addAppointment(String idAthlete, String idAppointment) {
+		log.debug("addAppointment");
+		return update(idAthlete, new Update().addToSet("idAppointments", idAppointment));
+	}
+
+	/**
+	 * Removes an appointment id from the athlete with an atomic {@code $pull}.
+	 *
+	 * @param idAthlete     the ID of the athlete
+	 * @param idAppointment the ID of the appointment
+	 * @return completion signal
+	 */
+	@Override
+	public Mono<Void> removeAppointment(String idAthlete, String idAppointment) {
+		log.debug("removeAppointment");
+		return update(idAthlete, new Update().pull("idAppointments", idAppointment));
+	}
+
+	/**
+	 * Adds a training sheet id to the athlete with an atomic {@code $addToSet}.
+	 *
+	 * @param idAthlete       the ID of the athlete
+	 * @param idTrainingSheet the ID of the training sheet
+	 * @return completion signal
+	 */
+	@Override
+	public Mono<Void> addTrainingSheet(String idAthlete, String idTrainingSheet) {
+		log.debug("addTrainingSheet");
+		return update(idAthlete, new Update().addToSet("idTrainingSheet", idTrainingSheet));
+	}
+
+	/**
+	 * Removes a training sheet id from the athlete with an atomic {@code $pull}.
+	 *
+	 * @param idAthlete       the ID of the athlete
+	 * @param idTrainingSheet the ID of the training sheet
+	 * @return completion signal
+	 */
+	@Override
+	public Mono<Void> removeTrainingSheet(String idAthlete, String idTrainingSheet) {
+		log.debug("removeTrainingSheet");
+		return update(idAthlete, new Update().pull("idTrainingSheet", idTrainingSheet));
+	}
+
+	private Mono<Void> update(String id, Update update) {
+		return reactiveMongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(id)), update, AthleteEntity.class)
+				.then(ReactiveEvictions.evict(() -> cacheInvalidator.onLinked("athletes", id)));
+	}
+}
@@ -0,0 +1,216 @@
+package demo_healthlifting.infraestructure.database.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import demo_healthlifting.application.ports.output.ReactiveCoachRepositoryOutputPort;
+import demo_healthlifting.domain.model.Coach;
+import demo_healthlifting.infraestructure.database.autocomplete.PersonNameIndex;
+import demo_healthlifting.infraestructure.database.autocomplete.PersonNameIndex.PersonType;
+import demo_healthlifting.infraestructure.database.cache.CacheInvalidator;
+import demo_healthlifting.infraestructure.database.cache.NegativeLookupCache;
+import demo_healthlifting.infraestructure.database.entity.CoachEntity;
+import demo_healthlifting.infraestructure.database.mapper.CoachToCoachEntityMapper;
+import demo_healthlifting.infraestructure.database.repository.ReactiveCoachRepository;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking adapter of the coaches collection, used by the reactive stack.
+ * It does not go through the repository caches: every read is a Mongo query
+ * that does not hold a thread while it waits. Its writes evict the cache
+ * entries, the negative lookups and the autocomplete entries as those of the
+ * blocking adapter do, see {@link ReactiveEvictions}.
+ */
+@Slf4j
+@Component
+@Profile("reactive")
+public class ReactiveCoachRepositoryService implements ReactiveCoachRepositoryOutputPort {
+
+	@Autowired
+	ReactiveCoachRepository reactiveCoachRepository;
+
+	@Autowired
+	CoachToCoachEntityMapper coachToCoachEntityMapper;
+
+	@Autowired
+	ReactiveMongoTemplate reactiveMongoTemplate;
+
+	@Autowired
+	CacheInvalidator cacheInvalidator;
+
+	@Autowired
+	NegativeLookupCache negativeLookupCache;
+
+	@Autowired
+	PersonNameIndex personNameIndex;
+
+	/**
+	 * Creates a new coach.
+	 *
+	 * @param input the coach to be created
+	 * @return the ID of the newly created coach
+	 */
+	@Override
+	public Mono<String> createCoach(Coach input) {
+		log.debug("createCoach");
+		CoachEntity entity = coachToCoachEntityMapper.fromInputToOutput(input);
+		return reactiveCoachRepository.save(entity).map(CoachEntity::getId)
+				.flatMap(id -> ReactiveEvictions.evict(() -> {
+					negativeLookupCache.register("coaches", id, CoachRepositoryService.document(input));
+					cacheInvalidator.onCreated("coaches", CoachRepositoryService.documentScope(input));
+					personNameIndex.put(PersonType.COACH, id, input.getPersonalInformation());
+				}).thenReturn(id));
+	}
+
+	/**
+	 * Retrieves a coach by ID.
+	 *
+	 * @param id the ID of the coach to be retrieved
+	 * @return the coach, or empty if not found
+	 */
+	@Override
+	public Mono<Coach> getCoach(String id) {
+		log.debug("getCoach");
+		return reactiveCoachRepository.findById(id).map(coachToCoachEntityMapper::fromOutputToInput);
+	}
+
+	/**
+	 * Retrieves a coach by ID, excluding eliminated coaches.
+	 *
+	 * @param id the ID of the coach to be retrieved
+	 * @return the coach, or empty if not found
+	 */
+	@Override
+	public Mono<Coach> getCoachById(String id) {
+		log.debug("getCoachById");
+		return reactiveCoachRepository.findByIdAndEliminate(id, false)
+				.map(coachToCoachEntityMapper::fromOutputToInput);
+	}
+
+	/**
+	 * Retrieves a page of coaches, without counting them.
+	 *
+	 * @param pageable the pagination information
+	 * @return the coaches of the page
+	 */
+	@Override
+	public Flux<Coach> getCoaches(Pageable pageable) {
+		log.debug("getCoaches");
+		return reactiveCoachRepository.findByEliminate(false, pageable)
+				.map(coachToCoachEntityMapper::fromOutputToInput);
+	}
+
+	/**
+	 * Finds a coach by their personal information document, excluding
+	 * eliminated coaches.
+	 *
+	 * @param document the document of the coach to be found
+	 * @return the coach, or empty if not found
+	 */
+	@Override
+	public Mono<Coach> findByCoachPersonalInformationDocument(String document) {
+		log.debug("findByCoachPersonalInformationDocument");
+		return reactiveCoachRepository.findByPersonalInformationDocumentAndEliminate(document, false)
+				.map(coachToCoachEntityMapper::fromOutputToInput);
+	}
+
+	/**
+	 * Modifies an existing coach.
+	 *
+	 * @param input the coach with updated information
+	 * @return completion signal
+	 */
+	@Override
+	public Mono<Void> modifyCoach(Coach input) {
+		log.debug("modifyCoach");
+		CoachEntity entity = coachToCoachEntityMapper.fromInputToOutput(input);
+		return reactiveCoachRepository.save(entity).then(ReactiveEvictions.evict(() -> {
+			negativeLookupCache.register("coaches", input.getId(), CoachRepositoryService.document(input));
+			cacheInvalidator.onModified("coaches", input.getId(), CoachRepositoryService.documentScope(input));
+			personNameIndex.put(PersonType.COACH, input.getId(), input.getPersonalInformation());
+		}));
+	}
+
+	/**
+	 * Deletes a coach by marking it as eliminated.
+	 *
+	 * @param id the ID of the coach to be deleted
+	 * @return completion signal
+	 */
+	@Override
+	public Mono<Void> deleteCoach(String id) {
+		log.debug("deleteCoach");
+		return reactiveCoachRepository.findByIdAndEliminate(id, false).flatMap(entity -> {
+			entity.setEliminate(true);
+			return reactiveCoachRepository.save(entity);
+		}).flatMap(deleted -> ReactiveEvictions.evict(() -> {
+			cacheInvalidator.onDeleted("coaches", id);
+			personNameIndex.remove(PersonType.COACH, id);
+		}));
+	}
+
+	/**
+	 * Adds an appointment id to the coach with an atomic {@code $addToSet}.
+	 *
+	 * @param idCoach     the ID of the coach
+	 * @param idAppointment the ID of the appointment
+	 * @return completion signal
+	 */
+	@Override
+	public Mono<Void> addAppointment(String idCoach, String idAppointment) {
+		log.debug("addAppointment");
+		return update(idCoach, new Update().addToSet("idAppointments", idAppointment));
+	}
+
+	/**
+	 * Removes an appointment id from the coach with an atomic {@code $pull}.
+	 *
+	 * @param idCoach     the ID of the coach
+	 * @param idAppointment the ID of the appointment
+	 * @return completion signal
+	 */
+	@Override
+	public Mono<Void> removeAppointment(String idCoach, String idAppointment) {
+		log.debug("removeAppointment");
+		return update(idCoach, new Update().pull("idAppointments", idAppointment));
+	}
+
+	/**
+	 * Adds a training sheet id to the coach with an atomic {@code $addToSet}.
+	 *
+	 * @param idCoach       the ID of the coach
+	 * @param idTrainingSheet the ID of the training sheet
+	 * @return completion signal
+	 */
+	@Override
+	public Mono<Void> addTrainingSheet(String idCoach, String idTrainingSheet) {
+		log.debug("addTrainingSheet");
+		return update(idCoach, new Update().addToSet("idTrainingSheet", idTrainingSheet));
+	}
+
+	/**
+	 * Removes a training sheet id from the coach with an atomic {@code $pull}.
+	 *
+	 * @param idCoach       the ID of the coach
+	 * @param idTrainingSheet the ID of the training sheet
+	 * @return completion signal
+	 */
+	@Override
+	public Mono<Void> removeTrainingSheet(String idCoach, String idTrainingSheet) {
+		log.debug("removeTrainingSheet");
+		return update(idCoach, new Update().pull("idTrainingSheet", idTrainingSheet));
+	}
+
+	private Mono<Void> update(String id, Update update) {
+		return reactiveMongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(id)), update, CoachEntity.class)
+				.then(ReactiveEvictions.evict(() -> cacheInvalidator.onLinked("coaches", id)));
+	}
+}
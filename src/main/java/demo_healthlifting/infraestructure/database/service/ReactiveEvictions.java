@@ -0,0 +1,21 @@
+package demo_healthlifting.infraestructure.database.service;
+
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Evictions of the writes of the reactive adapters. They run on a worker
+ * thread, as the two-level cache writes the new generation to the shared store,
+ * and the write completes once they are done, so that the instances sharing
+ * the store do not serve what it replaced.
+ */
+final class ReactiveEvictions {
+
+	private ReactiveEvictions() {
+	}
+
+	static Mono<Void> evict(Runnable eviction) {
+		return Mono.fromRunnable(eviction).subscribeOn(Schedulers.boundedElastic()).then();
+	}
+
+}
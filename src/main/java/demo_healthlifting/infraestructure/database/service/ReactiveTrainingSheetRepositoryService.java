@@ -0,0 +1,138 @@
+package demo_healthlifting.infraestructure.database.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import demo_healthlifting.application.ports.output.ReactiveTrainingSheetRepositoryOutputPort;
+import demo_healthlifting.domain.model.TrainingSheet;
+import demo_healthlifting.infraestructure.database.cache.CacheInvalidator;
+import demo_healthlifting.infraestructure.database.entity.TrainingSheetEntity;
+import demo_healthlifting.infraestructure.database.mapper.TrainingSheetToTrainingSheetEntityMapper;
+import demo_healthlifting.infraestructure.database.repository.ReactiveTrainingSheetRepository;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking adapter of the training sheets collection, used by the reactive
+ * stack. Its writes evict the same cache entries as those of the blocking
+ * adapter, see {@link ReactiveEvictions}.
+ */
+@Slf4j
+@Component
+@Profile("reactive")
+public class ReactiveTrainingSheetRepositoryService implements ReactiveTrainingSheetRepositoryOutputPort {
+
+	@Autowired
+	ReactiveTrainingSheetRepository reactiveTrainingSheetRepository;
+
+	@Autowired
+	TrainingSheetToTrainingSheetEntityMapper trainingSheetToTrainingSheetEntityMapper;
+
+	@Autowired
+	CacheInvalidator cacheInvalidator;
+
+	/**
+	 * Creates a new training sheet.
+	 *
+	 * @param trainingSheet the training sheet to be created
+	 * @return the newly created training sheet
+	 */
+	@Override
+	public Mono<TrainingSheet> createTrainingSheet(TrainingSheet trainingSheet) {
+		log.debug("createTrainingSheet");
+		return reactiveTrainingSheetRepository
+				.save(trainingSheetToTrainingSheetEntityMapper.fromInputToOutput(trainingSheet))
+				.flatMap(saved -> ReactiveEvictions
+						.evict(() -> cacheInvalidator.onCreated("trainingSheet",
+								TrainingSheetRepositoryService.ownerScopes(saved)))
+						.thenReturn(saved))
+				.map(trainingSheetToTrainingSheetEntityMapper::fromOutputToInput);
+	}
+
+	/**
+	 * Retrieves a training sheet by ID.
+	 *
+	 * @param id the ID of the training sheet to be retrieved
+	 * @return the training sheet, or empty if not found
+	 */
+	@Override
+	public Mono<TrainingSheet> getTrainingSheet(String id) {
+		log.debug("getTrainingSheet");
+		return reactiveTrainingSheetRepository.findById(id)
+				.map(trainingSheetToTrainingSheetEntityMapper::fromOutputToInput);
+	}
+
+	/**
+	 * Retrieves a page of training sheets, without counting them.
+	 *
+	 * @param pageable the pagination information
+	 * @return the training sheets of the page
+	 */
+	@Override
+	public Flux<TrainingSheet> getTrainingSheets(Pageable pageable) {
+		log.debug("getTrainingSheets");
+		return reactiveTrainingSheetRepository.findByEliminate(false, pageable)
+				.map(trainingSheetToTrainingSheetEntityMapper::fromOutputToInput);
+	}
+
+	/**
+	 * Retrieves a page of the training sheets of an athlete.
+	 *
+	 * @param id       the ID of the athlete
+	 * @param pageable the pagination information
+	 * @return the training sheets of the page
+	 */
+	@Override
+	public Flux<TrainingSheet> getTrainingSheetsByAthleteId(String id, Pageable pageable) {
+		log.debug("getTrainingSheetsByAthleteId");
+		return reactiveTrainingSheetRepository.findByAthleteIdAndEliminateFalse(id, pageable)
+				.map(trainingSheetToTrainingSheetEntityMapper::fromOutputToInput);
+	}
+
+	/**
+	 * Retrieves a page of the training sheets of a coach.
+	 *
+	 * @param id       the ID of the coach
+	 * @param pageable the pagination information
+	 * @return the training sheets of the page
+	 */
+	@Override
+	public Flux<TrainingSheet> getTrainingSheetsByCoachId(String id, Pageable pageable) {
+		log.debug("getTrainingSheetsByCoachId");
+		return reactiveTrainingSheetRepository.findByCoachIdAndEliminateFalse(id, pageable)
+				.map(trainingSheetToTrainingSheetEntityMapper::fromOutputToInput);
+	}
+
+	/**
+	 * Modifies an existing training sheet.
+	 *
+	 * @param updated the training sheet with updated information
+	 * @return completion signal
+	 */
+	@Override
+	public Mono<Void> modifyTrainingSheet(TrainingSheet updated) {
+		log.debug("modifyTrainingSheet");
+		TrainingSheetEntity entity = trainingSheetToTrainingSheetEntityMapper.fromInputToOutput(updated);
+		return reactiveTrainingSheetRepository.save(entity).then(ReactiveEvictions.evict(() -> cacheInvalidator
+				.onModified("trainingSheet", updated.getId(), TrainingSheetRepositoryService.ownerScopes(entity))));
+	}
+
+	/**
+	 * Deletes a training sheet by marking it as eliminated.
+	 *
+	 * @param id the ID of the training sheet to be deleted
+	 * @return completion signal
+	 */
+	@Override
+	public Mono<Void> deleteTrainingSheet(String id) {
+		log.debug("deleteTrainingSheet");
+		return reactiveTrainingSheetRepository.findByIdAndEliminate(id, false).flatMap(entity -> {
+			entity.setEliminate(true);
+			return reactiveTrainingSheetRepository.save(entity);
+		}).flatMap(deleted -> ReactiveEvictions.evict(() -> cacheInvalidator.onDeleted("trainingSheet", id,
+				TrainingSheetRepositoryService.ownerScopes(deleted))));
+	}
+}
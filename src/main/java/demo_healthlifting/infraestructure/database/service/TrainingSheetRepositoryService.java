@@ -2,58 +2,82 @@ package demo_healthlifting.infraestructure.database.service;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheConfig;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.TextCriteria;
+import org.springframework.data.mongodb.core.query.TextQuery;
 import org.springframework.stereotype.Component;
 
 import demo_healthlifting.application.ports.output.TrainingSheetRepositoryOutputPort;
-import demo_healthlifting.application.ports.utils.Errors;
 import demo_healthlifting.domain.exception.BusinessException;
+import demo_healthlifting.domain.model.SearchCriterion;
 import demo_healthlifting.domain.model.TrainingSheet;
-import demo_healthlifting.infraestructure.database.entity.AthleteEntity;
-import demo_healthlifting.infraestructure.database.entity.CoachEntity;
+import demo_healthlifting.domain.model.TrainingSheetFilter;
+import demo_healthlifting.infraestructure.database.cache.CacheInvalidator;
+import demo_healthlifting.infraestructure.database.cache.CacheKey;
+import demo_healthlifting.infraestructure.database.cache.CacheQuery;
+import demo_healthlifting.infraestructure.database.cache.CachedQuery;
 import demo_healthlifting.infraestructure.database.entity.TrainingSheetEntity;
 import demo_healthlifting.infraestructure.database.mapper.TrainingSheetToTrainingSheetEntityMapper;
-import demo_healthlifting.infraestructure.database.repository.AthleteRepository;
-import demo_healthlifting.infraestructure.database.repository.CoachRepository;
 import demo_healthlifting.infraestructure.database.repository.TrainingSheetRepository;
+import demo_healthlifting.infraestructure.database.search.QuerydslSearch;
+import demo_healthlifting.infraestructure.database.search.SearchableEntity;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 @Component
+@CacheConfig(cacheNames = "trainingSheet")
 public class TrainingSheetRepositoryService implements TrainingSheetRepositoryOutputPort {
 
+	private static final Sort SCROLL_SORT = Sort.by("id");
+
 	@Autowired
 	TrainingSheetRepository trainingSheetRepository;
 
 	@Autowired
-	AthleteRepository athleteRepository;
+	TrainingSheetToTrainingSheetEntityMapper trainingSheetToTrainingSheetEntityMapper;
 
 	@Autowired
-	CoachRepository coachRepository;
+	CacheInvalidator cacheInvalidator;
 
 	@Autowired
-	TrainingSheetToTrainingSheetEntityMapper trainingSheetToTrainingSheetEntityMapper;
+	MongoTemplate mongoTemplate;
+
+	@Autowired
+	QuerydslSearch querydslSearch;
+
+	@Value("${healthlifting.export.batch-size:500}")
+	int exportBatchSize;
 
 	/**
-	 * Creates a new training sheet and evicts all entries in the "trainingSheet"
-	 * cache.
+	 * Creates a new training sheet and evicts the cached lists of the
+	 * "trainingSheet" cache.
 	 *
 	 * @param trainingSheet the training sheet to be created
 	 * @return the newly created training sheet
 	 */
 	@Override
-	@CacheEvict(value = "trainingSheet", allEntries = true)
 	public TrainingSheet createTrainingSheet(@Valid TrainingSheet trainingSheet) {
 		log.debug("createTrainingSheet");
 		TrainingSheetEntity entity = trainingSheetToTrainingSheetEntityMapper.fromInputToOutput(trainingSheet);
 
 		TrainingSheetEntity saveTrainingSheetEntity = trainingSheetRepository.save(entity);
+		cacheInvalidator.onCreated("trainingSheet", ownerScopes(saveTrainingSheetEntity));
 		return trainingSheetToTrainingSheetEntityMapper.fromOutputToInput(saveTrainingSheetEntity);
 	}
 
@@ -65,7 +89,7 @@ public class TrainingSheetRepositoryService implements TrainingSheetRepositoryOu
 	 *         Optional if not
 	 */
 	@Override
-	@Cacheable(value = "trainingSheet", key = "#id")
+	@CachedQuery(CacheQuery.ID)
 	public Optional<TrainingSheet> getTrainingSheet(@Valid String id) {
 		log.debug("getTrainingSheet");
 
@@ -80,7 +104,7 @@ public class TrainingSheetRepositoryService implements TrainingSheetRepositoryOu
 	 * @return a paginated list of training sheets
 	 */
 	@Override
-	@Cacheable(value = "trainingSheet", key = "#pageable")
+	@CachedQuery(CacheQuery.ACTIVE_PAGE)
 	public Page<TrainingSheet> getTrainingSheets(@Valid Pageable pageable) {
 		log.debug("getTrainingSheets");
 		Page<TrainingSheetEntity> listEntity = trainingSheetRepository.findByEliminate(false, pageable);
@@ -88,28 +112,124 @@ public class TrainingSheetRepositoryService implements TrainingSheetRepositoryOu
 	}
 
 	/**
-	 * Modifies an existing training sheet and evicts all entries in the
-	 * "trainingSheet" cache.
+	 * Retrieves the training sheets that follow a keyset position, ordered by id.
+	 * The cost of a page does not depend on its depth and no count is run.
+	 *
+	 * @param position the position of the last training sheet already returned
+	 * @param size     the maximum number of training sheets
+	 * @return a window of training sheets
+	 */
+	@Override
+	public Window<TrainingSheet> getTrainingSheets(ScrollPosition position, int size) {
+		log.debug("getTrainingSheetsByPosition");
+		Window<TrainingSheetEntity> window = trainingSheetRepository.findByEliminate(false, position, Limit.of(size),
+				SCROLL_SORT);
+		return window.map(trainingSheetToTrainingSheetEntityMapper::fromOutputToInput);
+	}
+
+	/**
+	 * Counts the training sheets that are not eliminated.
+	 *
+	 * @return the number of training sheets
+	 */
+	@Override
+	public long countTrainingSheets() {
+		log.debug("countTrainingSheets");
+		return trainingSheetRepository.countByEliminate(false);
+	}
+
+	/**
+	 * Retrieves a page of the training sheets not eliminated that match every
+	 * criterion, through the Querydsl predicate executor of the repository.
+	 *
+	 * @param criteria the criteria, on the fields accepted by the search
+	 * @param pageable the pagination information
+	 * @return a page of training sheets
+	 * @throws BusinessException if a criterion or the sort is not accepted
+	 */
+	@Override
+	public Page<TrainingSheet> searchTrainingSheets(List<SearchCriterion> criteria, Pageable pageable)
+			throws BusinessException {
+		log.debug("searchTrainingSheets");
+		return querydslSearch.search(SearchableEntity.TRAINING_SHEET, trainingSheetRepository, criteria, pageable)
+				.map(trainingSheetToTrainingSheetEntityMapper::fromOutputToInput);
+	}
+
+	/**
+	 * Retrieves a slice of the active training sheets whose observations contain
+	 * the words of the filter, through the text index of the observations, most
+	 * relevant first. It only reads one more training sheet to know whether
+	 * there is a next slice.
+	 *
+	 * @param filter   the text and the optional athlete, coach and training type
+	 * @param pageable the pagination information, its sort is ignored
+	 * @return a slice of training sheets
+	 */
+	@Override
+	public Slice<TrainingSheet> findTrainingSheets(TrainingSheetFilter filter, Pageable pageable) {
+		log.debug("findTrainingSheets");
+
+		Query query = textQuery(filter).sortByScore().with(SCROLL_SORT).skip(pageable.getOffset())
+				.limit(pageable.getPageSize() + 1);
+		List<TrainingSheetEntity> entities = mongoTemplate.find(query, TrainingSheetEntity.class);
+		boolean hasNext = entities.size() > pageable.getPageSize();
+		List<TrainingSheet> content = entities.stream().limit(pageable.getPageSize())
+				.map(trainingSheetToTrainingSheetEntityMapper::fromOutputToInput).toList();
+		return new SliceImpl<>(content, pageable, hasNext);
+	}
+
+	/**
+	 * Counts the active training sheets whose observations contain the words of
+	 * the filter.
+	 *
+	 * @param filter the text and the optional athlete, coach and training type
+	 * @return the number of training sheets
+	 */
+	@Override
+	public long countTrainingSheets(TrainingSheetFilter filter) {
+		log.debug("countTrainingSheetsByFilter");
+		return mongoTemplate.count(textQuery(filter), TrainingSheetEntity.class);
+	}
+
+	/**
+	 * Retrieves a slice of training sheets and caches the result. Unlike the paginated
+	 * list it runs no count, it only reads one more training sheet to know whether
+	 * there is a next slice.
+	 *
+	 * @param pageable the pagination information
+	 * @return a slice of training sheets
+	 */
+	@Override
+	@CachedQuery(CacheQuery.ACTIVE_SLICE)
+	public Slice<TrainingSheet> getTrainingSheetsSlice(Pageable pageable) {
+		log.debug("getTrainingSheetsSlice");
+		Slice<TrainingSheetEntity> sliceEntity = trainingSheetRepository.findSliceByEliminate(false, pageable);
+		return sliceEntity.map(trainingSheetToTrainingSheetEntityMapper::fromOutputToInput);
+	}
+
+	/**
+	 * Modifies an existing training sheet and evicts the entries of the
+	 * "trainingSheet" cache that contain it, along with the cached lists, where a
+	 * new owner may move it.
 	 *
 	 * @param updated the training sheet with updated information
 	 */
 	@Override
-	@CacheEvict(value = "trainingSheet", allEntries = true)
 	public void modifyTrainingSheet(@Valid TrainingSheet updated) {
 		log.debug("modifyTrainingSheet");
 		TrainingSheetEntity entity = trainingSheetToTrainingSheetEntityMapper.fromInputToOutput(updated);
 		trainingSheetRepository.save(entity);
+		cacheInvalidator.onModified("trainingSheet", updated.getId(), ownerScopes(entity));
 
 	}
 
 	/**
-	 * Deletes a training sheet by marking it as eliminated and evicts all entries
-	 * in the "trainingSheet" cache.
+	 * Deletes a training sheet by marking it as eliminated and evicts the entries
+	 * of the "trainingSheet" cache that contain it, along with the cached lists.
 	 *
 	 * @param id the ID of the training sheet to be deleted
 	 */
 	@Override
-	@CacheEvict(value = "trainingSheet", allEntries = true)
 	public void deleteTrainingSheet(@Valid String id) {
 		log.debug("deleteTrainingSheet");
 		Optional<TrainingSheetEntity> optTrainingSheet = trainingSheetRepository.findByIdAndEliminate(id, false);
@@ -117,66 +237,87 @@ public class TrainingSheetRepositoryService implements TrainingSheetRepositoryOu
 			optTrainingSheet.get().setEliminate(true);
 		}
 		trainingSheetRepository.save(optTrainingSheet.get());
+		cacheInvalidator.onDeleted("trainingSheet", id, ownerScopes(optTrainingSheet.get()));
 
 	}
 
 	/**
 	 * Retrieves a paginated list of training sheets by athlete ID and caches the
-	 * result.
+	 * result. The training sheets are queried by their athleteId instead of the
+	 * ids embedded in the athlete.
 	 *
 	 * @param id       the ID of the athlete
 	 * @param pageable the pagination information
 	 * @return a paginated list of training sheets
-	 * @throws BusinessException if no training sheets are found for the athlete or
-	 *                           the athlete is not found
+	 * @throws BusinessException if no training sheets are found for the athlete
 	 */
 	@Override
-	@Cacheable(value = "trainingSheet", key = "#id")
+	@CachedQuery(CacheQuery.ACTIVE_PAGE_BY_ATHLETE)
 	public Page<TrainingSheet> getTrainingSheetsByAthleteId(String id, Pageable pageable) throws BusinessException {
 		log.debug("getTrainingSheetsByAthleteId");
-		Optional<AthleteEntity> athleteOpt = athleteRepository.findByIdAndEliminate(id, false);
-		if (athleteOpt.isPresent()) {
-			AthleteEntity athlete = athleteOpt.get();
-			List<String> trainingSheetsIds = athlete.getIdTrainingSheet();
-			if (trainingSheetsIds.isEmpty()) {
-				throw new BusinessException("No training sheets found for the athlete.");
-			}
-
-			Page<TrainingSheetEntity> trainingSheetsEntities = trainingSheetRepository
-					.findByIdInAndEliminate(trainingSheetsIds, false, pageable);
-			return trainingSheetsEntities.map(trainingSheetToTrainingSheetEntityMapper::fromOutputToInput);
+		Page<TrainingSheetEntity> trainingSheetsEntities = trainingSheetRepository.findByAthleteIdAndEliminateFalse(id,
+				pageable);
+		if (trainingSheetsEntities.getTotalElements() == 0) {
+			throw new BusinessException("No training sheets found for the athlete.");
 		}
-
-		throw new BusinessException(Errors.PERSON_NOT_FOUND);
+		return trainingSheetsEntities.map(trainingSheetToTrainingSheetEntityMapper::fromOutputToInput);
 	}
 
 	/**
 	 * Retrieves a paginated list of training sheets by coach ID and caches the
-	 * result.
+	 * result. The training sheets are queried by their coachId instead of the ids
+	 * embedded in the coach.
 	 *
 	 * @param id       the ID of the coach
 	 * @param pageable the pagination information
 	 * @return a paginated list of training sheets
-	 * @throws BusinessException if no training sheets are found for the coach or
-	 *                           the coach is not found
+	 * @throws BusinessException if no training sheets are found for the coach
 	 */
 	@Override
-	@Cacheable(value = "trainingSheet", key = "#id")
+	@CachedQuery(CacheQuery.ACTIVE_PAGE_BY_COACH)
 	public Page<TrainingSheet> getTrainingSheetsByCoachId(String id, Pageable pageable) throws BusinessException {
 		log.debug("getTrainingSheetsByCoachId");
-		Optional<CoachEntity> coachOpt = coachRepository.findByIdAndEliminate(id, false);
-		if (coachOpt.isPresent()) {
-			CoachEntity coach = coachOpt.get();
-			List<String> trainingSheetsIds = coach.getIdTrainingSheet();
-			if (trainingSheetsIds.isEmpty()) {
-				throw new BusinessException("No training sheets found for the coach.");
-			}
-
-			Page<TrainingSheetEntity> trainingSheetsEntities = trainingSheetRepository
-					.findByIdInAndEliminate(trainingSheetsIds, false, pageable);
-			return trainingSheetsEntities.map(trainingSheetToTrainingSheetEntityMapper::fromOutputToInput);
+		Page<TrainingSheetEntity> trainingSheetsEntities = trainingSheetRepository.findByCoachIdAndEliminateFalse(id,
+				pageable);
+		if (trainingSheetsEntities.getTotalElements() == 0) {
+			throw new BusinessException("No training sheets found for the coach.");
 		}
+		return trainingSheetsEntities.map(trainingSheetToTrainingSheetEntityMapper::fromOutputToInput);
+	}
 
-		throw new BusinessException(Errors.PERSON_NOT_FOUND);
+	/**
+	 * Streams the training sheets not eliminated, ordered by id, from a
+	 * server-side cursor that fetches {@code healthlifting.export.batch-size}
+	 * documents at a time. The stream must be closed to release the cursor.
+	 *
+	 * @return a stream of training sheets
+	 */
+	@Override
+	public Stream<TrainingSheet> streamTrainingSheets() {
+		log.debug("streamTrainingSheets");
+		Query query = Query.query(Criteria.where("eliminate").is(false)).with(Sort.by("id"))
+				.cursorBatchSize(exportBatchSize);
+		return mongoTemplate.stream(query, TrainingSheetEntity.class)
+				.map(trainingSheetToTrainingSheetEntityMapper::fromOutputToInput);
+	}
+
+	static CacheKey[] ownerScopes(TrainingSheetEntity trainingSheet) {
+		return new CacheKey[] { CacheKey.scope(CacheQuery.ACTIVE_PAGE_BY_COACH, trainingSheet.getCoachId()),
+				CacheKey.scope(CacheQuery.ACTIVE_PAGE_BY_ATHLETE, trainingSheet.getAthleteId()) };
+	}
+
+	private TextQuery textQuery(TrainingSheetFilter filter) {
+		TextQuery query = TextQuery.queryText(TextCriteria.forDefaultLanguage().matching(filter.getText()));
+		query.addCriteria(Criteria.where("eliminate").is(false));
+		if (filter.getAthleteId() != null) {
+			query.addCriteria(Criteria.where("athleteId").is(filter.getAthleteId()));
+		}
+		if (filter.getCoachId() != null) {
+			query.addCriteria(Criteria.where("coachId").is(filter.getCoachId()));
+		}
+		if (filter.getTrainingType() != null) {
+			query.addCriteria(Criteria.where("trainingTypeRecord").is(filter.getTrainingType()));
+		}
+		return query;
 	}
 }
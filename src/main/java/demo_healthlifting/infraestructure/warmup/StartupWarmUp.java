@@ -0,0 +1,262 @@
+package demo_healthlifting.infraestructure.warmup;
+
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import demo_healthlifting.application.ports.output.AppointmentRepositoryOutputPort;
+import demo_healthlifting.application.ports.output.AthleteRepositoryOutputPort;
+import demo_healthlifting.application.ports.output.CoachRepositoryOutputPort;
+import demo_healthlifting.application.ports.output.TrainingSheetRepositoryOutputPort;
+import demo_healthlifting.domain.model.Appointment;
+import demo_healthlifting.domain.model.AppointmentFilter;
+import demo_healthlifting.infraestructure.apirest.mapper.AppointmentToAppointmentDtoMapper;
+import demo_healthlifting.infraestructure.apirest.mapper.AthleteToAthleteDtoMapper;
+import demo_healthlifting.infraestructure.apirest.mapper.CoachToCoachDtoMapper;
+import demo_healthlifting.infraestructure.apirest.mapper.TrainingSheetToTrainingSheetDtoMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Warms up the application at startup, after the other startup tasks and
+ * before it reports it is ready to receive traffic: it loads through the
+ * repository caches today's and tomorrow's appointments, the coaches and
+ * athletes with the most of them, and the first list pages, and then maps and
+ * serializes those pages as the API does so that the JIT compiles those paths.
+ * A failing step is logged and its data is loaded on demand, and the steps
+ * left when {@code healthlifting.warmup.max-duration} is exceeded are skipped.
+ *
+ * <p>
+ * The gauge {@code healthlifting.warmup.progress} goes from 0 to 1 as the
+ * steps finish. The timer {@code healthlifting.warmup.duration}, tagged by
+ * step and outcome, and the counter {@code healthlifting.warmup.entries},
+ * tagged by step, measure each of them.
+ */
+@Slf4j
+@Component
+@Profile("!reactive")
+@Order(Ordered.LOWEST_PRECEDENCE)
+public class StartupWarmUp implements ApplicationRunner {
+
+	private static final int STEPS = 4;
+
+	@Autowired
+	WarmUpProperties warmUpProperties;
+
+	@Autowired
+	AthleteRepositoryOutputPort athleteRepository;
+
+	@Autowired
+	CoachRepositoryOutputPort coachRepository;
+
+	@Autowired
+	AppointmentRepositoryOutputPort appointmentRepository;
+
+	@Autowired
+	TrainingSheetRepositoryOutputPort trainingSheetRepository;
+
+	@Autowired
+	AthleteToAthleteDtoMapper athleteToAthleteDtoMapper;
+
+	@Autowired
+	CoachToCoachDtoMapper coachToCoachDtoMapper;
+
+	@Autowired
+	AppointmentToAppointmentDtoMapper appointmentToAppointmentDtoMapper;
+
+	@Autowired
+	TrainingSheetToTrainingSheetDtoMapper trainingSheetToTrainingSheetDtoMapper;
+
+	@Autowired
+	ObjectMapper objectMapper;
+
+	@Autowired
+	MeterRegistry meterRegistry;
+
+	private final AtomicInteger finishedSteps = new AtomicInteger();
+
+	private long deadline;
+
+	@PostConstruct
+	void registerProgress() {
+		Gauge.builder("healthlifting.warmup.progress", finishedSteps, steps -> (double) steps.get() / STEPS)
+				.register(meterRegistry);
+	}
+
+	@Override
+	public void run(ApplicationArguments args) {
+		if (!warmUpProperties.isEnabled()) {
+			log.debug("Warm-up on startup is disabled");
+			finishedSteps.set(STEPS);
+			return;
+		}
+		long start = System.nanoTime();
+		deadline = start + warmUpProperties.getMaxDuration().toNanos();
+		Map<String, Integer> coaches = new HashMap<>();
+		Map<String, Integer> athletes = new HashMap<>();
+		List<Supplier<Object>> responses = new ArrayList<>();
+
+		step("appointments", () -> loadAppointments(coaches, athletes));
+		step("people", () -> loadPeople(coaches, athletes));
+		step("pages", () -> loadPages(responses));
+		step("serialization", () -> serialize(responses));
+		log.info("Warm-up finished in {} ms", (System.nanoTime() - start) / 1_000_000);
+	}
+
+	private void step(String name, IntSupplier work) {
+		String outcome = "success";
+		Timer.Sample sample = Timer.start(meterRegistry);
+		try {
+			if (expired()) {
+				outcome = "skipped";
+				log.warn("Warm-up step {} skipped, the warm-up took longer than {}", name,
+						warmUpProperties.getMaxDuration());
+				return;
+			}
+			int entries = work.getAsInt();
+			Counter.builder("healthlifting.warmup.entries").tag("step", name).register(meterRegistry)
+					.increment(entries);
+			log.info("Warm-up step {} done with {} entries", name, entries);
+		} catch (RuntimeException e) {
+			outcome = "error";
+			log.error("Error in the warm-up step {}, its data is loaded on demand", name, e);
+		} finally {
+			sample.stop(Timer.builder("healthlifting.warmup.duration").tag("step", name).tag("outcome", outcome)
+					.register(meterRegistry));
+			finishedSteps.incrementAndGet();
+		}
+	}
+
+	/**
+	 * Loads today's and tomorrow's appointments by id and counts them by coach
+	 * and athlete.
+	 */
+	private int loadAppointments(Map<String, Integer> coaches, Map<String, Integer> athletes) {
+		LocalDate today = LocalDate.now();
+		AppointmentFilter filter = AppointmentFilter.builder().from(today.atStartOfDay())
+				.to(today.plusDays(2).atStartOfDay().minusNanos(1)).build();
+		Slice<Appointment> appointments = appointmentRepository.findAppointments(filter,
+				PageRequest.of(0, warmUpProperties.getMaxAppointments()));
+		int loaded = 0;
+		for (Appointment appointment : appointments) {
+			if (expired()) {
+				break;
+			}
+			count(coaches, appointment.getCoachId());
+			count(athletes, appointment.getAthleteId());
+			appointmentRepository.getAppointment(appointment.getId());
+			loaded++;
+		}
+		return loaded;
+	}
+
+	/**
+	 * Loads the coaches and athletes with the most appointments, by id and as
+	 * active, the lookups of their profiles and of new bookings.
+	 */
+	private int loadPeople(Map<String, Integer> coaches, Map<String, Integer> athletes) {
+		int loaded = 0;
+		for (String id : top(coaches)) {
+			if (expired()) {
+				return loaded;
+			}
+			coachRepository.getCoach(id);
+			coachRepository.getCoachById(id);
+			loaded++;
+		}
+		for (String id : top(athletes)) {
+			if (expired()) {
+				return loaded;
+			}
+			athleteRepository.getAthlete(id);
+			athleteRepository.getAthleteById(id);
+			loaded++;
+		}
+		return loaded;
+	}
+
+	private int loadPages(List<Supplier<Object>> responses) {
+		return loadPages(athleteRepository::getAthletes, athleteToAthleteDtoMapper::fromInputToOutput, responses)
+				+ loadPages(coachRepository::getCoaches, coachToCoachDtoMapper::fromInputToOutput, responses)
+				+ loadPages(appointmentRepository::getAppointments,
+						appointmentToAppointmentDtoMapper::fromInputToOutput, responses)
+				+ loadPages(trainingSheetRepository::getTrainingSheets,
+						trainingSheetToTrainingSheetDtoMapper::fromInputToOutput, responses);
+	}
+
+	/**
+	 * Loads the first pages of a list, with the default page request of the API,
+	 * and adds the mapping of each of them to the responses of the API.
+	 */
+	private <T> int loadPages(Function<Pageable, Page<T>> list, Function<Page<T>, Page<?>> toResponse,
+			List<Supplier<Object>> responses) {
+		int loaded = 0;
+		for (int number = 0; number < warmUpProperties.getListPages() && !expired(); number++) {
+			Page<T> page = list.apply(PageRequest.of(number, warmUpProperties.getPageSize()));
+			responses.add(() -> toResponse.apply(page));
+			loaded += page.getNumberOfElements();
+			if (!page.hasNext()) {
+				break;
+			}
+		}
+		return loaded;
+	}
+
+	private int serialize(List<Supplier<Object>> responses) {
+		int serialized = 0;
+		for (int round = 0; round < warmUpProperties.getSerializationRounds() && !expired(); round++) {
+			for (Supplier<Object> response : responses) {
+				try {
+					objectMapper.writeValueAsBytes(response.get());
+				} catch (JsonProcessingException e) {
+					throw new UncheckedIOException(e);
+				}
+				serialized++;
+			}
+		}
+		return serialized;
+	}
+
+	private void count(Map<String, Integer> counts, String id) {
+		if (id != null) {
+			counts.merge(id, 1, Integer::sum);
+		}
+	}
+
+	private List<String> top(Map<String, Integer> counts) {
+		return counts.entrySet().stream().sorted(Map.Entry.<String, Integer>comparingByValue(Comparator.reverseOrder()))
+				.limit(warmUpProperties.getTopPeople()).map(Map.Entry::getKey).toList();
+	}
+
+	private boolean expired() {
+		return System.nanoTime() - deadline > 0;
+	}
+
+}
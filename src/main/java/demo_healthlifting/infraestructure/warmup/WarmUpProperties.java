@@ -0,0 +1,51 @@
+package demo_healthlifting.infraestructure.warmup;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "healthlifting.warmup")
+public class WarmUpProperties {
+
+	/**
+	 * Runs the warm-up at startup, before the application reports it is ready.
+	 */
+	private boolean enabled = true;
+
+	/**
+	 * Maximum number of today's and tomorrow's appointments loaded.
+	 */
+	private int maxAppointments = 500;
+
+	/**
+	 * Number of coaches and of athletes loaded, those with the most of today's
+	 * and tomorrow's appointments.
+	 */
+	private int topPeople = 50;
+
+	/**
+	 * Number of list pages of athletes, coaches, appointments and training sheets
+	 * loaded.
+	 */
+	private int listPages = 3;
+
+	/**
+	 * Size of the list pages, the default page size of the API.
+	 */
+	private int pageSize = 20;
+
+	/**
+	 * Times the loaded pages are mapped to DTOs and serialized to JSON.
+	 */
+	private int serializationRounds = 200;
+
+	/**
+	 * Time after which the remaining warm-up is skipped, so that a slow database
+	 * does not keep the application from being ready.
+	 */
+	private Duration maxDuration = Duration.ofMinutes(2);
+
+}
@@ -0,0 +1,147 @@
+package demo_healthlifting.application.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import demo_healthlifting.application.ports.output.AppointmentRepositoryOutputPort;
+import demo_healthlifting.application.ports.output.AppointmentScheduleOutputPort;
+import demo_healthlifting.application.ports.output.AthleteRepositoryOutputPort;
+import demo_healthlifting.application.ports.output.CoachRepositoryOutputPort;
+import demo_healthlifting.application.ports.utils.Errors;
+import demo_healthlifting.domain.exception.BusinessException;
+import demo_healthlifting.domain.model.Appointment;
+import demo_healthlifting.domain.model.AppointmentFilter;
+import demo_healthlifting.domain.model.Athlete;
+import demo_healthlifting.domain.model.Coach;
+import demo_healthlifting.domain.model.ImportResult;
+import demo_healthlifting.domain.model.ImportStatus;
+import demo_healthlifting.domain.model.PersonalInformation;
+
+class HealthliftingServiceTests {
+
+	HealthliftingService service;
+
+	@BeforeEach
+	void setUp() {
+		service = new HealthliftingService();
+		service.appointmentRepository = mock(AppointmentRepositoryOutputPort.class);
+		service.athleteRepository = mock(AthleteRepositoryOutputPort.class);
+		service.coachRepository = mock(CoachRepositoryOutputPort.class);
+		service.appointmentSchedule = mock(AppointmentScheduleOutputPort.class);
+		service.repositoryExecutor = Runnable::run;
+		service.embeddedIds = true;
+		service.maxImportRows = 100;
+	}
+
+	@Test
+	void cursorListingsRejectSizesOutOfRange() {
+		for (int size : new int[] { 0, -1, 100 }) {
+			assertThrows(BusinessException.class, () -> service.getAppointments(ScrollPosition.keyset(), size));
+		}
+		verifyNoInteractions(service.appointmentRepository);
+	}
+
+	@Test
+	void appointmentSearchSortsByDateOrId() throws Exception {
+		AppointmentFilter filter = AppointmentFilter.builder().coachId("c1").build();
+		Pageable pageable = PageRequest.of(0, 20, Sort.by(Sort.Order.desc("date"), Sort.Order.asc("id")));
+		service.searchAppointments(filter, pageable);
+		verify(service.appointmentRepository).findAppointments(filter, pageable);
+	}
+
+	@Test
+	void appointmentSearchRejectsOtherSorts() {
+		for (String property : new String[] { "coachName", "athleteDocument", "eliminate", "$where" }) {
+			BusinessException e = assertThrows(BusinessException.class, () -> service
+					.searchAppointments(AppointmentFilter.builder().build(), PageRequest.of(0, 20, Sort.by(property))));
+			assertEquals(Errors.INVALID_SEARCH_FILTER, e.getMessage());
+		}
+		verifyNoInteractions(service.appointmentRepository);
+	}
+
+	@Test
+	void importRejectsInvalidAndRepeatedRowsBeforeInserting() throws Exception {
+		List<Athlete> athletes = new ArrayList<>(Arrays.asList(athlete("123"), null, athlete(null), athlete("123"),
+				athlete("456"), athlete("789")));
+		when(service.athleteRepository.findExistingAthleteDocuments(Set.of("123", "456", "789")))
+				.thenReturn(Set.of("456"));
+		when(service.athleteRepository.createAthletes(List.of(athletes.get(0), athletes.get(5))))
+				.thenReturn(List.of(ImportResult.created(0, "a1"),
+						ImportResult.rejected(1, ImportStatus.DUPLICATED, Errors.DUPLICATED_KEY)));
+
+		List<ImportResult> results = service.importAthletes(athletes).getResults();
+
+		assertEquals(List.of(ImportResult.created(0, "a1"),
+				ImportResult.rejected(1, ImportStatus.INVALID, Errors.REQUIRED_FIELDS_MISSING),
+				ImportResult.rejected(2, ImportStatus.INVALID, Errors.REQUIRED_FIELDS_MISSING),
+				ImportResult.rejected(3, ImportStatus.DUPLICATED, Errors.DUPLICATED_DOCUMENT),
+				ImportResult.rejected(4, ImportStatus.DUPLICATED, Errors.DUPLICATED_DOCUMENT),
+				ImportResult.rejected(5, ImportStatus.DUPLICATED, Errors.DUPLICATED_KEY)), results);
+	}
+
+	@Test
+	void failedCoachLinkUndoesTheAthleteLinkAndTheAppointment() throws Exception {
+		Appointment appointment = bookable();
+		doThrow(new IllegalStateException("mongo down")).when(service.coachRepository).addAppointment("c1", "ap1");
+
+		BusinessException e = assertThrows(BusinessException.class, () -> service.createAppointment(appointment));
+
+		assertEquals(Errors.APPOINTMENT_NOT_LINKED, e.getMessage());
+		verify(service.athleteRepository).removeAppointment("a1", "ap1");
+		verify(service.coachRepository, never()).removeAppointment("c1", "ap1");
+		verify(service.appointmentRepository).deleteAppointment("ap1");
+		verify(service.appointmentSchedule).release(appointment);
+	}
+
+	@Test
+	void failedAthleteLinkUndoesTheCoachLinkAndTheAppointment() throws Exception {
+		Appointment appointment = bookable();
+		doThrow(new IllegalStateException("mongo down")).when(service.athleteRepository).addAppointment("a1", "ap1");
+		doThrow(new IllegalStateException("mongo down")).when(service.appointmentRepository).deleteAppointment("ap1");
+
+		BusinessException e = assertThrows(BusinessException.class, () -> service.createAppointment(appointment));
+
+		assertEquals(Errors.APPOINTMENT_NOT_LINKED, e.getMessage());
+		verify(service.athleteRepository, never()).removeAppointment("a1", "ap1");
+		verify(service.coachRepository).removeAppointment("c1", "ap1");
+		verify(service.appointmentSchedule).release(appointment);
+	}
+
+	Appointment bookable() {
+		Appointment appointment = Appointment.builder().athleteId("a1").coachId("c1")
+				.date(LocalDateTime.of(2024, 6, 1, 10, 0)).build();
+		when(service.athleteRepository.getAthleteById("a1")).thenReturn(Optional
+				.of(Athlete.builder().id("a1").personalInformation(PersonalInformation.builder().build()).build()));
+		when(service.coachRepository.getCoachById("c1")).thenReturn(Optional
+				.of(Coach.builder().id("c1").personalInformation(PersonalInformation.builder().build()).build()));
+		when(service.appointmentRepository.addAppointment(appointment))
+				.thenReturn(Appointment.builder().id("ap1").build());
+		return appointment;
+	}
+
+	static Athlete athlete(String document) {
+		return Athlete.builder().personalInformation(PersonalInformation.builder().document(document).build())
+				.build();
+	}
+
+}
@@ -0,0 +1,88 @@
+package demo_healthlifting.infraestructure.apirest.controller;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Window;
+import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import demo_healthlifting.application.ports.input.AthleteServiceInputPort;
+import demo_healthlifting.application.ports.utils.Errors;
+import demo_healthlifting.domain.model.Athlete;
+import demo_healthlifting.infraestructure.apirest.mapper.AthleteToAthleteDtoMapper;
+import demo_healthlifting.infraestructure.apirest.mapper.CursorCodec;
+
+class AthleteControllerTests {
+
+	AthleteController controller;
+
+	MockMvc mockMvc;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		controller = new AthleteController();
+		controller.athleteService = mock(AthleteServiceInputPort.class);
+		controller.athleteToAthleteDtoMapper = mock(AthleteToAthleteDtoMapper.class);
+		controller.cursorCodec = new CursorCodec();
+		when(controller.athleteService.getAthletesSlice(any(Pageable.class)))
+				.thenReturn(new SliceImpl<>(List.<Athlete>of()));
+		when(controller.athleteService.getAthletes(any(ScrollPosition.class), anyInt()))
+				.thenReturn(Window.from(List.<Athlete>of(), index -> ScrollPosition.keyset()));
+		mockMvc = MockMvcBuilders.standaloneSetup(controller)
+				.setCustomArgumentResolvers(new PageableHandlerMethodArgumentResolver()).build();
+	}
+
+	@Test
+	void sliceAndCursorParametersSelectOneListing() throws Exception {
+		mockMvc.perform(get("/athletes").param("slice", "true").param("cursor", "")).andExpect(status().isOk());
+		verify(controller.athleteService).getAthletesSlice(any(Pageable.class));
+
+		mockMvc.perform(get("/athletes").param("cursor", "")).andExpect(status().isOk());
+		verify(controller.athleteService).getAthletes(ScrollPosition.keyset(), 20);
+	}
+
+	@Test
+	void sliceTotalsCountTheActiveAthletes() throws Exception {
+		when(controller.athleteService.countAthletes()).thenReturn(7L);
+
+		mockMvc.perform(get("/athletes").param("slice", "true").param("total", "true")).andExpect(status().isOk())
+				.andExpect(jsonPath("$.totalElements").value(7));
+		verify(controller.athleteService).countAthletes();
+	}
+
+	@Test
+	void unknownViewsAreRejected() throws Exception {
+		mockMvc.perform(get("/athletes").param("view", "compact")).andExpect(status().isBadRequest())
+				.andExpect(content().string(Errors.INVALID_VIEW));
+		mockMvc.perform(get("/athletes").param("slice", "true").param("view", "compact"))
+				.andExpect(status().isBadRequest()).andExpect(content().string(Errors.INVALID_VIEW));
+		verifyNoInteractions(controller.athleteService);
+	}
+
+	@Test
+	void cursorsOfOtherListingsAreRejected() throws Exception {
+		String appointmentCursor = controller.cursorCodec
+				.encode(ScrollPosition.forward(Map.of("date", "2024-06-01", "id", "665f1c")));
+		mockMvc.perform(get("/athletes").param("cursor", appointmentCursor)).andExpect(status().isBadRequest())
+				.andExpect(content().string(Errors.INVALID_CURSOR));
+	}
+
+}
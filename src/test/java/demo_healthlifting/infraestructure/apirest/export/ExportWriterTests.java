@@ -0,0 +1,85 @@
+package demo_healthlifting.infraestructure.apirest.export;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import demo_healthlifting.domain.model.PersonalInformation;
+import demo_healthlifting.infraestructure.apirest.dto.response.CoachDto;
+
+class ExportWriterTests {
+
+	static final List<CsvColumn<PersonalInformation>> COLUMNS = List.of(
+			CsvColumn.of("name", PersonalInformation::getName),
+			CsvColumn.of("surname", PersonalInformation::getSurname));
+
+	ExportWriter exportWriter;
+
+	@BeforeEach
+	void setUp() {
+		exportWriter = new ExportWriter();
+		exportWriter.objectMapper = new ObjectMapper();
+		exportWriter.batchSize = 2;
+	}
+
+	@Test
+	void csvCellsAreQuotedWhenNeeded() throws IOException {
+		String csv = write(ExportFormat.CSV, person("Ana", "Gil"), person("Ana, María", "O\"Neil"),
+				person("Line\nbreak", null), person("", "Carriage\rreturn"));
+
+		assertEquals("name,surname\r\nAna,Gil\r\n\"Ana, María\",\"O\"\"Neil\"\r\n\"Line\nbreak\",\r\n"
+				+ ",\"Carriage\rreturn\"\r\n", csv);
+	}
+
+	@Test
+	void csvFormulasAreNeutralized() throws IOException {
+		String csv = write(ExportFormat.CSV, person("=HYPERLINK(\"http://x\")", "+1"), person("-2", "@SUM(A1)"),
+				person("=1,2", "\tTab"));
+
+		assertEquals("name,surname\r\n\"'=HYPERLINK(\"\"http://x\"\")\",'+1\r\n'-2,'@SUM(A1)\r\n\"'=1,2\",'\tTab\r\n",
+				csv);
+	}
+
+	@Test
+	void ndjsonRowsAreWrittenAsResponseDtos() throws IOException {
+		String ndjson = write(ExportFormat.NDJSON, person("Ana", "Gil"), person("Eva", "Sanz"));
+
+		assertEquals("{\"id\":\"Ana\",\"personalInformation\":null,\"idAppointments\":null,\"idTrainingSheet\":null}\n"
+				+ "{\"id\":\"Eva\",\"personalInformation\":null,\"idAppointments\":null,\"idTrainingSheet\":null}\n",
+				ndjson);
+	}
+
+	@Test
+	void rowsAreClosedAfterWriting() throws IOException {
+		AtomicBoolean closed = new AtomicBoolean();
+
+		exportWriter.write(() -> Stream.of(person("Ana", "Gil")).onClose(() -> closed.set(true)), ExportFormat.CSV,
+				Function.identity(), COLUMNS).writeTo(new ByteArrayOutputStream());
+
+		assertTrue(closed.get());
+	}
+
+	String write(ExportFormat format, PersonalInformation... rows) throws IOException {
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		exportWriter.write(() -> Stream.of(rows), format, row -> CoachDto.builder().id(row.getName()).build(), COLUMNS)
+				.writeTo(output);
+		return output.toString(StandardCharsets.UTF_8);
+	}
+
+	static PersonalInformation person(String name, String surname) {
+		return PersonalInformation.builder().name(name).surname(surname).build();
+	}
+
+}
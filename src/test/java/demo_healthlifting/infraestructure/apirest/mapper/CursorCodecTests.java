@@ -0,0 +1,61 @@
+package demo_healthlifting.infraestructure.apirest.mapper;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+
+import demo_healthlifting.application.ports.utils.Errors;
+import demo_healthlifting.domain.exception.BusinessException;
+
+class CursorCodecTests {
+
+	CursorCodec cursorCodec = new CursorCodec();
+
+	@Test
+	void tokensKeepTheTypeOfTheKeys() throws Exception {
+		Map<String, Object> keys = new LinkedHashMap<>();
+		keys.put("date", LocalDateTime.of(2024, 6, 1, 10, 0));
+		keys.put("id", "665f1c");
+		String cursor = cursorCodec.encode(ScrollPosition.forward(keys));
+
+		KeysetScrollPosition position = (KeysetScrollPosition) cursorCodec.decode(cursor, "date", "id");
+		assertEquals(keys, position.getKeys());
+	}
+
+	@Test
+	void emptyTokensRequestTheFirstPage() throws Exception {
+		assertEquals(ScrollPosition.keyset(), cursorCodec.decode("", "id"));
+	}
+
+	@Test
+	void tokensWithOtherKeysAreRejected() {
+		String foreign = cursorCodec.encode(ScrollPosition.forward(Map.of("eliminate", true, "id", "665f1c")));
+		String partial = cursorCodec.encode(ScrollPosition.forward(Map.of("id", "665f1c")));
+		for (String cursor : new String[] { foreign, partial, encode("{\"$where\":\"s:1\"}"), encode("null") }) {
+			BusinessException e = assertThrows(BusinessException.class, () -> cursorCodec.decode(cursor, "date", "id"));
+			assertEquals(Errors.INVALID_CURSOR, e.getMessage());
+		}
+	}
+
+	@Test
+	void malformedTokensAreRejected() {
+		for (String cursor : new String[] { "%%%", encode("[]"), encode("{\"id\":\"x\"}") }) {
+			BusinessException e = assertThrows(BusinessException.class, () -> cursorCodec.decode(cursor, "id"));
+			assertEquals(Errors.INVALID_CURSOR, e.getMessage());
+		}
+	}
+
+	String encode(String json) {
+		return Base64.getUrlEncoder().encodeToString(json.getBytes(StandardCharsets.UTF_8));
+	}
+
+}
@@ -0,0 +1,57 @@
+package demo_healthlifting.infraestructure.apirest.mapper;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import demo_healthlifting.application.ports.utils.Constants;
+import demo_healthlifting.application.ports.utils.Errors;
+import demo_healthlifting.domain.exception.BusinessException;
+import demo_healthlifting.domain.model.SearchCriterion;
+import demo_healthlifting.domain.model.SearchOperator;
+
+class SearchFilterParserTests {
+
+	SearchFilterParser searchFilterParser = new SearchFilterParser();
+
+	@Test
+	void filtersAreParsedInOrder() throws Exception {
+		List<SearchCriterion> criteria = searchFilterParser
+				.parse(List.of("personalInformation.name:prefix:Ju", "trainingTypeRecord:in:HIIT|STRENGHT",
+						"date:gte:2024-01-01T00:00:00"));
+
+		assertEquals(List.of(
+				new SearchCriterion("personalInformation.name", SearchOperator.PREFIX, List.of("Ju")),
+				new SearchCriterion("trainingTypeRecord", SearchOperator.IN, List.of("HIIT", "STRENGHT")),
+				new SearchCriterion("date", SearchOperator.GTE, List.of("2024-01-01T00:00:00"))), criteria);
+	}
+
+	@Test
+	void missingFiltersAreNoCriteria() throws Exception {
+		assertEquals(List.of(), searchFilterParser.parse(null));
+	}
+
+	@Test
+	void malformedFiltersAreRejected() {
+		for (String filter : new String[] { "age", "age:gt", "age:gt:", "1age:gt:3", "age.:eq:3", "$where:eq:1",
+				"age:like:3", "age::3" }) {
+			BusinessException e = assertThrows(BusinessException.class,
+					() -> searchFilterParser.parse(List.of(filter)));
+			assertEquals(Errors.INVALID_SEARCH_FILTER, e.getMessage(), filter);
+		}
+	}
+
+	@Test
+	void tooManyFiltersAreRejected() {
+		List<String> filters = new ArrayList<>(Collections.nCopies(Constants.MAXIMUM_SEARCH_FILTERS + 1, "age:gt:3"));
+
+		BusinessException e = assertThrows(BusinessException.class, () -> searchFilterParser.parse(filters));
+		assertEquals(Errors.MAXIMUM_SEARCH_FILTERS_EXCEEDED, e.getMessage());
+	}
+
+}
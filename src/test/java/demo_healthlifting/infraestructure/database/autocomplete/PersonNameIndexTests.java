@@ -0,0 +1,102 @@
+package demo_healthlifting.infraestructure.database.autocomplete;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import demo_healthlifting.domain.model.PersonSuggestion;
+import demo_healthlifting.domain.model.PersonalInformation;
+import demo_healthlifting.infraestructure.database.autocomplete.PersonNameIndex.PersonType;
+import demo_healthlifting.infraestructure.database.entity.AthleteEntity;
+import demo_healthlifting.infraestructure.database.entity.CoachEntity;
+
+class PersonNameIndexTests {
+
+	PersonNameIndex personNameIndex;
+
+	@BeforeEach
+	void setUp() {
+		personNameIndex = new PersonNameIndex();
+		personNameIndex.mongoTemplate = mock(MongoTemplate.class);
+		when(personNameIndex.mongoTemplate.stream(any(Query.class), eq(AthleteEntity.class)))
+				.thenAnswer(invocation -> Stream.of(athlete("a1", "Álvaro", "Pérez", "123A"),
+						athlete("a2", "Alba", "Núñez", "456B")));
+		when(personNameIndex.mongoTemplate.stream(any(Query.class), eq(CoachEntity.class)))
+				.thenAnswer(invocation -> Stream.empty());
+	}
+
+	@Test
+	void suggestionsAreLoadedOnTheFirstSearch() {
+		assertEquals(List.of(suggestion("a1", "Álvaro", "Pérez", "123A")),
+				personNameIndex.suggest(PersonType.ATHLETE, "alv", 10));
+		assertEquals(List.of(), personNameIndex.suggest(PersonType.COACH, "alv", 10));
+		personNameIndex.suggest(PersonType.ATHLETE, "nun", 10);
+
+		verify(personNameIndex.mongoTemplate).stream(any(Query.class), eq(AthleteEntity.class));
+	}
+
+	@Test
+	void suggestionsAreLimited() {
+		assertEquals(2, personNameIndex.suggest(PersonType.ATHLETE, "al", 10).size());
+		assertEquals(1, personNameIndex.suggest(PersonType.ATHLETE, "al", 1).size());
+	}
+
+	@Test
+	void writesUpdateTheLoadedSuggestions() {
+		personNameIndex.suggest(PersonType.ATHLETE, "al", 10);
+
+		personNameIndex.put(PersonType.ATHLETE, "a1", information("Bruno", "Pérez", "123A"));
+		personNameIndex.put(PersonType.ATHLETE, "a3", information("Alicia", "Sanz", "789C"));
+		personNameIndex.remove(PersonType.ATHLETE, "a2");
+
+		assertEquals(List.of(suggestion("a3", "Alicia", "Sanz", "789C")),
+				personNameIndex.suggest(PersonType.ATHLETE, "al", 10));
+		assertEquals(List.of(suggestion("a1", "Bruno", "Pérez", "123A")),
+				personNameIndex.suggest(PersonType.ATHLETE, "bru", 10));
+	}
+
+	@Test
+	void writesBeforeTheLoadAreReadFromMongo() {
+		personNameIndex.put(PersonType.ATHLETE, "a9", information("Alberto", "Gil", "999Z"));
+
+		assertEquals(List.of("a2", "a1"), personNameIndex.suggest(PersonType.ATHLETE, "al", 10).stream()
+				.map(PersonSuggestion::getId).toList());
+	}
+
+	@Test
+	void unloadedTypesAreLoadedAgain() {
+		personNameIndex.suggest(PersonType.ATHLETE, "al", 10);
+		personNameIndex.unload(PersonType.ATHLETE);
+		personNameIndex.suggest(PersonType.ATHLETE, "al", 10);
+
+		verify(personNameIndex.mongoTemplate, times(2)).stream(any(Query.class), eq(AthleteEntity.class));
+	}
+
+	static AthleteEntity athlete(String id, String name, String surname, String document) {
+		AthleteEntity athlete = new AthleteEntity();
+		athlete.setId(id);
+		athlete.setPersonalInformation(information(name, surname, document));
+		return athlete;
+	}
+
+	static PersonalInformation information(String name, String surname, String document) {
+		return PersonalInformation.builder().name(name).surname(surname).document(document).build();
+	}
+
+	static PersonSuggestion suggestion(String id, String name, String surname, String document) {
+		return PersonSuggestion.builder().id(id).name(name).surname(surname).document(document).build();
+	}
+
+}
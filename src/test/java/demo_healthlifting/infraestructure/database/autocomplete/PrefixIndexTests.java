@@ -0,0 +1,94 @@
+package demo_healthlifting.infraestructure.database.autocomplete;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import demo_healthlifting.infraestructure.database.autocomplete.PrefixIndex.Person;
+
+class PrefixIndexTests {
+
+	PrefixIndex index;
+
+	@BeforeEach
+	void setUp() {
+		index = new PrefixIndex();
+		index.load(List.of(new Person("p1", "Marta", "Gómez Ruiz", "12.345.678-A"),
+				new Person("p2", "María José", "García", "87654321B"),
+				new Person("p3", "Álvaro", "Martín", "11111111C"),
+				new Person("p4", "Juan", "Alvarez", "22222222D")));
+	}
+
+	@Test
+	void wordsAreFoundByPrefixInTheirOrder() {
+		assertEquals(List.of("p2", "p1", "p3"), ids("mar"));
+		assertEquals(List.of("p2"), ids("jose"));
+		assertEquals(List.of(), ids("ruizz"));
+	}
+
+	@Test
+	void accentsCaseAndSeparatorsAreIgnored() {
+		assertEquals(List.of("p4", "p3"), ids("alv"));
+		assertEquals(List.of("p4", "p3"), ids("ÁLV"));
+		assertEquals(List.of("p1"), ids("gomez"));
+		assertEquals(List.of("p1"), ids("12345678"));
+		assertEquals(List.of("p1"), ids("12345"));
+	}
+
+	@Test
+	void everyWordTypedMustMatch() {
+		assertEquals(List.of("p3"), ids("mar alv"));
+		assertEquals(List.of("p2"), ids("maria garc"));
+		assertEquals(List.of(), ids("juan garcia"));
+	}
+
+	@Test
+	void resultsAreLimited() {
+		assertEquals(List.of("p2", "p1"), index.find("mar", 2).stream().map(Person::id).toList());
+		assertEquals(List.of(), index.find("mar", 0));
+		assertEquals(List.of(), index.find("  ", 10));
+	}
+
+	@Test
+	void peopleMatchedByManyWordsAreFoundOnce() {
+		index.update(List.of(), List.of(new Person("p5", "Ana", "Anaya", null)));
+
+		assertEquals(List.of("p5"), ids("ana"));
+	}
+
+	@Test
+	void putOverAnExistingIdRenamesThePerson() {
+		index.update(List.of(), List.of(new Person("p3", "Bruno", "Martín", "11111111C")));
+
+		assertEquals(List.of("p4"), ids("alv"));
+		assertEquals(List.of("p3"), ids("bru"));
+		assertEquals(List.of("p2", "p1", "p3"), ids("mar"));
+		assertEquals(4, index.size());
+	}
+
+	@Test
+	void removedPeopleAreNotFound() {
+		index.update(List.of("p1", "p9"), List.of());
+
+		assertEquals(List.of("p2", "p3"), ids("mar"));
+		assertEquals(List.of(), ids("12345678"));
+		assertEquals(3, index.size());
+	}
+
+	@Test
+	void batchesOfWritesKeepTheWordsSorted() {
+		index.update(List.of("p2"), List.of(new Person("p6", "Mario", null, null), new Person("p7", "Ma", null, null),
+				new Person("p1", "Marta", "Gómez", null)));
+
+		assertEquals(List.of("p7", "p6", "p1", "p3"), ids("ma"));
+		assertEquals(List.of(), ids("ruiz"));
+	}
+
+	List<String> ids(String query) {
+		return index.find(query, 10).stream().map(Person::id).toList();
+	}
+
+}
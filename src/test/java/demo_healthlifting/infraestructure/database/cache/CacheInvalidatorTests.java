@@ -0,0 +1,147 @@
+package demo_healthlifting.infraestructure.database.cache;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import demo_healthlifting.domain.model.Athlete;
+import demo_healthlifting.domain.model.PersonalInformation;
+import demo_healthlifting.infraestructure.database.cache.CacheKey.PageKey;
+
+class CacheInvalidatorTests {
+
+	static final CacheKey BY_ID = CacheKey.scope(CacheQuery.ID, "a1");
+
+	static final CacheKey ACTIVE_BY_ID = CacheKey.scope(CacheQuery.ACTIVE_ID, "a1");
+
+	static final CacheKey BY_DOCUMENT = CacheKey.scope(CacheQuery.ACTIVE_DOCUMENT, "123");
+
+	static final CacheKey NEW_DOCUMENT = CacheKey.scope(CacheQuery.ACTIVE_DOCUMENT, "999");
+
+	static final CacheKey PAGE_0 = new CacheKey(CacheQuery.ACTIVE_PAGE, null, null,
+			PageKey.of(PageRequest.of(0, 2, Sort.by("personalInformation.name"))));
+
+	static final CacheKey PAGE_1 = new CacheKey(CacheQuery.ACTIVE_PAGE, null, null,
+			PageKey.of(PageRequest.of(1, 2, Sort.by("personalInformation.name"))));
+
+	static final CacheKey COACH_PAGE = new CacheKey(CacheQuery.ACTIVE_SLICE_BY_COACH, "c1", null,
+			PageKey.of(PageRequest.of(0, 20)));
+
+	CacheInvalidator cacheInvalidator;
+
+	Cache athletes;
+
+	@BeforeEach
+	void setUp() {
+		cacheInvalidator = new CacheInvalidator();
+		cacheInvalidator.cacheManager = new IndexedCacheManager(new ConcurrentMapCacheManager("athletes"),
+				new ConcurrentHashMap<>());
+		cacheInvalidator.loadCoalescer = new LoadCoalescer();
+		cacheInvalidator.negativeLookupCache = mock(NegativeLookupCache.class);
+		athletes = cacheInvalidator.cacheManager.getCache("athletes");
+		athletes.put(BY_ID, athlete("a1", "Diego"));
+		athletes.put(ACTIVE_BY_ID, athlete("a1", "Diego"));
+		athletes.put(BY_DOCUMENT, athlete("a1", "Diego"));
+		athletes.put(NEW_DOCUMENT, athlete("a4", "Eva"));
+		athletes.put(PAGE_0, new PageImpl<>(List.of(athlete("a2", "Bea"), athlete("a3", "Carla"))));
+		athletes.put(PAGE_1, new PageImpl<>(List.of(athlete("a1", "Diego"))));
+		athletes.put(COACH_PAGE, new PageImpl<>(List.of(athlete("a2", "Bea"))));
+	}
+
+	@Test
+	void creationEvictsEveryPageAndItsScopes() {
+		cacheInvalidator.onCreated("athletes", CacheKey.scope(CacheQuery.ACTIVE_PAGE_BY_COACH, "c1"), NEW_DOCUMENT);
+
+		assertEvicted(PAGE_0, PAGE_1, COACH_PAGE, NEW_DOCUMENT);
+		assertCached(BY_ID, ACTIVE_BY_ID, BY_DOCUMENT);
+		verify(cacheInvalidator.negativeLookupCache).forget("athletes", null,
+				CacheKey.scope(CacheQuery.ACTIVE_PAGE_BY_COACH, "c1"), NEW_DOCUMENT);
+	}
+
+	@Test
+	void renameEvictsThePagesTheAthleteMayMoveTo() {
+		cacheInvalidator.onModified("athletes", "a1", BY_DOCUMENT);
+
+		assertEvicted(BY_ID, ACTIVE_BY_ID, BY_DOCUMENT, PAGE_0, PAGE_1);
+		assertCached(NEW_DOCUMENT, COACH_PAGE);
+		verify(cacheInvalidator.negativeLookupCache).forget("athletes", "a1", BY_DOCUMENT);
+	}
+
+	@Test
+	void modificationEvictsThePagesOfItsNewScopes() {
+		cacheInvalidator.onModified("athletes", "a1", CacheKey.scope(CacheQuery.ACTIVE_PAGE_BY_COACH, "c1"));
+
+		assertEvicted(COACH_PAGE);
+		assertCached(NEW_DOCUMENT);
+	}
+
+	@Test
+	void deletionEvictsTheAthleteAndEveryPage() {
+		cacheInvalidator.onDeleted("athletes", "a1");
+
+		assertEvicted(BY_ID, ACTIVE_BY_ID, BY_DOCUMENT, PAGE_0, PAGE_1);
+		assertCached(NEW_DOCUMENT, COACH_PAGE);
+	}
+
+	@Test
+	void linkEvictsOnlyTheEntriesHoldingTheAthlete() {
+		cacheInvalidator.onLinked("athletes", "a1");
+
+		assertEvicted(BY_ID, ACTIVE_BY_ID, BY_DOCUMENT, PAGE_1);
+		assertCached(NEW_DOCUMENT, PAGE_0, COACH_PAGE);
+	}
+
+	@Test
+	void remoteLinkEvictsOnlyTheEntriesHoldingTheAthlete() {
+		cacheInvalidator.onChanged("athletes", "a1", false, BY_DOCUMENT);
+
+		assertEvicted(BY_ID, ACTIVE_BY_ID, BY_DOCUMENT, PAGE_1);
+		assertCached(NEW_DOCUMENT, PAGE_0, COACH_PAGE);
+	}
+
+	@Test
+	void remoteWriteOfTheListsEvictsEveryPage() {
+		cacheInvalidator.onChanged("athletes", "a1", true, BY_DOCUMENT);
+
+		assertEvicted(BY_ID, ACTIVE_BY_ID, BY_DOCUMENT, PAGE_0, PAGE_1);
+		assertCached(NEW_DOCUMENT, COACH_PAGE);
+	}
+
+	@Test
+	void invalidationEvictsEverything() {
+		cacheInvalidator.onInvalidated("athletes");
+
+		assertEvicted(BY_ID, ACTIVE_BY_ID, BY_DOCUMENT, NEW_DOCUMENT, PAGE_0, PAGE_1, COACH_PAGE);
+		verify(cacheInvalidator.negativeLookupCache).forgetAll("athletes");
+	}
+
+	void assertEvicted(CacheKey... keys) {
+		for (CacheKey key : keys) {
+			assertNull(athletes.get(key), key::toString);
+		}
+	}
+
+	void assertCached(CacheKey... keys) {
+		for (CacheKey key : keys) {
+			assertNotNull(athletes.get(key), key::toString);
+		}
+	}
+
+	static Athlete athlete(String id, String name) {
+		return Athlete.builder().id(id).personalInformation(PersonalInformation.builder().name(name).build())
+				.build();
+	}
+
+}
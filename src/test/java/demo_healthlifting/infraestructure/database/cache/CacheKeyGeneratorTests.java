@@ -0,0 +1,128 @@
+package demo_healthlifting.infraestructure.database.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.lang.reflect.Method;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.annotation.CacheConfig;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import demo_healthlifting.infraestructure.database.cache.CacheKey.PageKey;
+
+class CacheKeyGeneratorTests {
+
+	CacheKeyGenerator cacheKeyGenerator = new CacheKeyGenerator();
+
+	Athletes athletes = new Athletes();
+
+	@Test
+	void lookupsByIdWithAndWithoutEliminatedHaveDifferentKeys() throws NoSuchMethodException {
+		Object byId = generate("findById", "a1");
+		Object activeById = generate("findActiveById", "a1");
+
+		assertEquals(new CacheKey(CacheQuery.ID, "a1", null, null), byId);
+		assertEquals(new CacheKey(CacheQuery.ACTIVE_ID, "a1", null, null), activeById);
+		assertNotEquals(byId, activeById);
+	}
+
+	@Test
+	void pagesOfTheSameOwnerHaveDifferentKeys() throws NoSuchMethodException {
+		Object first = generate("findByCoach", "c1", PageRequest.of(0, 20));
+
+		assertEquals(first, generate("findByCoach", "c1", PageRequest.of(0, 20)));
+		assertNotEquals(first, generate("findByCoach", "c1", PageRequest.of(1, 20)));
+		assertNotEquals(first, generate("findByCoach", "c1", PageRequest.of(0, 50)));
+		assertNotEquals(first, generate("findByCoach", "c1", PageRequest.of(0, 20, Sort.by("date"))));
+		assertNotEquals(first, generate("findByCoach", "c2", PageRequest.of(0, 20)));
+	}
+
+	@Test
+	void filterArgumentsArePartOfTheKey() throws NoSuchMethodException {
+		LocalDateTime from = LocalDateTime.of(2024, 1, 1, 0, 0);
+		CacheKey key = (CacheKey) generate("findByCoachFrom", "c1", from, PageRequest.of(0, 20));
+
+		assertEquals("c1", key.value());
+		assertEquals(from.toString(), key.filter());
+		assertNotEquals(key, generate("findByCoachFrom", "c1", from.plusDays(1), PageRequest.of(0, 20)));
+		assertNotEquals(key, generate("findByCoachFrom", "c1", null, PageRequest.of(0, 20)));
+	}
+
+	@Test
+	void pageableIsReducedToItsPageKey() {
+		assertEquals(new PageKey(2, 10, "date: DESC"), PageKey.of(PageRequest.of(2, 10, Sort.by("date").descending())));
+		assertEquals(new PageKey(-1, -1, "UNSORTED"), PageKey.of(Pageable.unpaged()));
+	}
+
+	@Test
+	void unannotatedMethodsAreRejected() throws NoSuchMethodException {
+		Method method = Athletes.class.getMethod("count");
+
+		assertThrows(IllegalStateException.class, () -> cacheKeyGenerator.generate(athletes, method));
+	}
+
+	@Test
+	void cacheNameComesFromTheCacheConfig() {
+		assertEquals("athletes", cacheKeyGenerator.cacheName(Athletes.class));
+		assertEquals(String.class.getName(), cacheKeyGenerator.cacheName(String.class));
+	}
+
+	@Test
+	void lookupWithoutValueHasNoValue() throws NoSuchMethodException {
+		CacheKey key = (CacheKey) generate("findAll", PageRequest.of(0, 20));
+
+		assertNull(key.value());
+		assertNull(key.filter());
+		assertEquals(CacheQuery.ACTIVE_PAGE, key.query());
+	}
+
+	Object generate(String name, Object... params) throws NoSuchMethodException {
+		for (Method method : Athletes.class.getMethods()) {
+			if (method.getName().equals(name)) {
+				return cacheKeyGenerator.generate(athletes, method, params);
+			}
+		}
+		throw new NoSuchMethodException(name);
+	}
+
+	@CacheConfig(cacheNames = "athletes")
+	public static class Athletes {
+
+		@CachedQuery(CacheQuery.ID)
+		public Object findById(String id) {
+			return null;
+		}
+
+		@CachedQuery(CacheQuery.ACTIVE_ID)
+		public Object findActiveById(String id) {
+			return null;
+		}
+
+		@CachedQuery(CacheQuery.ACTIVE_PAGE)
+		public Object findAll(Pageable pageable) {
+			return null;
+		}
+
+		@CachedQuery(CacheQuery.ACTIVE_PAGE_BY_COACH)
+		public Object findByCoach(String coachId, Pageable pageable) {
+			return null;
+		}
+
+		@CachedQuery(CacheQuery.ACTIVE_PAGE_BY_COACH)
+		public Object findByCoachFrom(String coachId, LocalDateTime from, Pageable pageable) {
+			return null;
+		}
+
+		public long count() {
+			return 0;
+		}
+
+	}
+
+}
@@ -0,0 +1,91 @@
+package demo_healthlifting.infraestructure.database.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import demo_healthlifting.domain.model.Appointment;
+import demo_healthlifting.domain.model.Athlete;
+import demo_healthlifting.infraestructure.database.cache.CacheKey.PageKey;
+
+class CacheKeyIndexTests {
+
+	static final CacheKey BY_ID = CacheKey.scope(CacheQuery.ID, "a1");
+
+	static final CacheKey PAGE = new CacheKey(CacheQuery.ACTIVE_PAGE, null, null,
+			PageKey.of(PageRequest.of(0, 20)));
+
+	CacheKeyIndex index;
+
+	IndexedCache cache;
+
+	@BeforeEach
+	void setUp() {
+		index = new CacheKeyIndex();
+		cache = new IndexedCache(new ConcurrentMapCache("athletes"), index);
+	}
+
+	@Test
+	void entriesAreIndexedByTheIdsTheyContain() {
+		cache.put(BY_ID, Optional.of(athlete("a1")));
+		cache.put(PAGE, new PageImpl<>(List.of(athlete("a1"), athlete("a2"))));
+
+		assertEquals(Set.of(BY_ID, PAGE), index.keysOf("a1"));
+		assertEquals(Set.of(PAGE), index.keysOf("a2"));
+		assertEquals(Set.of(PAGE), index.listKeys());
+	}
+
+	@Test
+	void emptyResultsAndUnknownTypesAreNotIndexed() {
+		cache.put(BY_ID, Optional.empty());
+		cache.put(CacheKey.scope(CacheQuery.ACTIVE_ID, "a1"), "a1");
+
+		assertTrue(index.keysOf("a1").isEmpty());
+		assertTrue(index.listKeys().isEmpty());
+	}
+
+	@Test
+	void evictedEntriesAreUnregistered() {
+		cache.put(BY_ID, athlete("a1"));
+		cache.put(PAGE, new PageImpl<>(List.of(athlete("a1"), athlete("a2"))));
+
+		cache.evict(PAGE);
+
+		assertEquals(Set.of(BY_ID), index.keysOf("a1"));
+		assertTrue(index.keysOf("a2").isEmpty());
+		assertTrue(index.listKeys().isEmpty());
+	}
+
+	@Test
+	void clearEmptiesTheIndex() {
+		cache.put(BY_ID, athlete("a1"));
+		cache.put(PAGE, List.of(Appointment.builder().id("p1").build()));
+
+		cache.clear();
+
+		assertTrue(index.keysOf("a1").isEmpty());
+		assertTrue(index.keysOf("p1").isEmpty());
+		assertTrue(index.listKeys().isEmpty());
+	}
+
+	@Test
+	void loadedValuesAreIndexed() {
+		cache.get(BY_ID, () -> athlete("a1"));
+
+		assertEquals(Set.of(BY_ID), index.keysOf("a1"));
+	}
+
+	static Athlete athlete(String id) {
+		return Athlete.builder().id(id).build();
+	}
+
+}
@@ -0,0 +1,169 @@
+package demo_healthlifting.infraestructure.database.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import demo_healthlifting.infraestructure.database.configuration.CacheProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@Timeout(10)
+class LoadCoalescerTests {
+
+	static final int WAITERS = 4;
+
+	LoadCoalescer loadCoalescer;
+
+	ProceedingJoinPoint joinPoint;
+
+	CountDownLatch release;
+
+	ExecutorService executor = Executors.newFixedThreadPool(WAITERS + 1);
+
+	@BeforeEach
+	void setUp() throws Exception {
+		loadCoalescer = new LoadCoalescer();
+		loadCoalescer.cacheProperties = new CacheProperties();
+		loadCoalescer.cacheKeyGenerator = mock(CacheKeyGenerator.class);
+		loadCoalescer.meterRegistry = new SimpleMeterRegistry();
+		when(loadCoalescer.cacheKeyGenerator.cacheName(any())).thenReturn("athletes");
+		when(loadCoalescer.cacheKeyGenerator.generate(any(), any(), any()))
+				.thenReturn(CacheKey.scope(CacheQuery.ID, "a1"));
+
+		MethodSignature signature = mock(MethodSignature.class);
+		when(signature.getMethod()).thenReturn(Object.class.getMethod("toString"));
+		joinPoint = mock(ProceedingJoinPoint.class);
+		when(joinPoint.getTarget()).thenReturn(new Object());
+		when(joinPoint.getSignature()).thenReturn(signature);
+		when(joinPoint.getArgs()).thenReturn(new Object[] { "a1" });
+		release = new CountDownLatch(1);
+	}
+
+	@AfterEach
+	void tearDown() {
+		executor.shutdownNow();
+	}
+
+	@Test
+	void concurrentReadsOfAKeyShareOneLoad() throws Throwable {
+		Object athlete = new Object();
+		when(joinPoint.proceed()).thenAnswer(invocation -> {
+			release.await();
+			return athlete;
+		});
+
+		Future<?>[] reads = startReadsAndRelease();
+
+		for (Future<?> read : reads) {
+			assertSame(athlete, read.get(5, TimeUnit.SECONDS));
+		}
+		verify(joinPoint).proceed();
+		assertEquals(WAITERS, counter("healthlifting.cache.coalesced"));
+		assertEquals(1, counter("healthlifting.cache.loads"));
+	}
+
+	@Test
+	void failuresReachEveryWaiter() throws Throwable {
+		IllegalStateException failure = new IllegalStateException("mongo down");
+		when(joinPoint.proceed()).thenAnswer(invocation -> {
+			release.await();
+			throw failure;
+		});
+
+		Future<?>[] reads = startReadsAndRelease();
+
+		for (Future<?> read : reads) {
+			ExecutionException e = assertThrows(ExecutionException.class, () -> read.get(5, TimeUnit.SECONDS));
+			assertSame(failure, e.getCause());
+		}
+		verify(joinPoint).proceed();
+	}
+
+	@Test
+	void finishedLoadsAreNotReused() throws Throwable {
+		when(joinPoint.proceed()).thenReturn("first", "second");
+
+		assertEquals("first", loadCoalescer.coalesce(joinPoint));
+		assertEquals("second", loadCoalescer.coalesce(joinPoint));
+
+		when(joinPoint.proceed()).thenThrow(new IllegalStateException("mongo down")).thenReturn("third");
+		assertThrows(IllegalStateException.class, () -> loadCoalescer.coalesce(joinPoint));
+		assertEquals("third", loadCoalescer.coalesce(joinPoint));
+	}
+
+	@Test
+	void readsAfterAWriteRunTheirOwnLoad() throws Throwable {
+		when(joinPoint.proceed()).thenAnswer(invocation -> {
+			release.await();
+			return "before";
+		}).thenReturn("after");
+		Future<Object> first = executor.submit(() -> call());
+		awaitLoads(1);
+
+		loadCoalescer.forget("athletes");
+
+		assertEquals("after", loadCoalescer.coalesce(joinPoint));
+		release.countDown();
+		assertEquals("before", first.get(5, TimeUnit.SECONDS));
+		verify(joinPoint, times(2)).proceed();
+	}
+
+	/**
+	 * Starts a read that blocks in its load and the waiters, and releases the
+	 * load once every waiter is waiting for it.
+	 */
+	Future<?>[] startReadsAndRelease() throws InterruptedException {
+		Future<?>[] reads = new Future<?>[WAITERS + 1];
+		reads[0] = executor.submit(() -> call());
+		awaitLoads(1);
+		for (int i = 1; i <= WAITERS; i++) {
+			reads[i] = executor.submit(() -> call());
+		}
+		while (counter("healthlifting.cache.coalesced") < WAITERS) {
+			Thread.sleep(5);
+		}
+		release.countDown();
+		return reads;
+	}
+
+	void awaitLoads(int loads) throws InterruptedException {
+		while (counter("healthlifting.cache.loads") < loads) {
+			Thread.sleep(5);
+		}
+	}
+
+	Object call() throws Exception {
+		try {
+			return loadCoalescer.coalesce(joinPoint);
+		} catch (Exception e) {
+			throw e;
+		} catch (Throwable e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	double counter(String name) {
+		return loadCoalescer.meterRegistry.find(name).tag("cache", "athletes").counters().stream()
+				.mapToDouble(counter -> counter.count()).sum();
+	}
+
+}
@@ -0,0 +1,166 @@
+package demo_healthlifting.infraestructure.database.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.cache.annotation.CacheConfig;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import demo_healthlifting.infraestructure.database.configuration.CacheProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class NegativeLookupCacheTests {
+
+	NegativeLookupCache negativeLookupCache;
+
+	Athletes athletes;
+
+	Athletes lookups;
+
+	@BeforeEach
+	void setUp() {
+		negativeLookupCache = new NegativeLookupCache();
+		negativeLookupCache.cacheProperties = new CacheProperties();
+		negativeLookupCache.cacheKeyGenerator = new CacheKeyGenerator();
+		negativeLookupCache.meterRegistry = new SimpleMeterRegistry();
+		negativeLookupCache.mongoTemplate = mock(MongoTemplate.class);
+		when(negativeLookupCache.mongoTemplate.getCollectionName(any())).thenReturn("ATHLETES");
+		when(negativeLookupCache.mongoTemplate.stream(any(Query.class), eq(Document.class), anyString()))
+				.thenAnswer(invocation -> Stream.of(new Document("_id", "a1").append("personalInformation",
+						new Document("document", "123"))));
+		negativeLookupCache.init();
+
+		athletes = new Athletes();
+		athletes.ids.add("a1");
+		AspectJProxyFactory factory = new AspectJProxyFactory(athletes);
+		factory.setProxyTargetClass(true);
+		factory.addAspect(negativeLookupCache);
+		lookups = factory.getProxy();
+	}
+
+	@Test
+	void bloomFiltersAreNotLoadedWithoutInvalidation() {
+		negativeLookupCache.run(null);
+
+		verifyNoInteractions(negativeLookupCache.mongoTemplate);
+		assertFalse(lookups.findById("a2").isPresent());
+		assertEquals(1, athletes.queries);
+	}
+
+	@Test
+	void bloomFiltersAnswerUnknownIdsAndDocuments() {
+		negativeLookupCache.cacheProperties.getInvalidation().setEnabled(true);
+		negativeLookupCache.run(null);
+
+		assertFalse(lookups.findById("a2").isPresent());
+		assertFalse(lookups.findByDocument("456").isPresent());
+		assertEquals(0, athletes.queries);
+		assertTrue(lookups.findById("a1").isPresent());
+		assertFalse(lookups.findByDocument("123").isPresent());
+		assertEquals(2, athletes.queries);
+	}
+
+	@Test
+	void registeredEntitiesPassTheBloomFilter() {
+		negativeLookupCache.cacheProperties.getInvalidation().setEnabled(true);
+		negativeLookupCache.run(null);
+
+		athletes.ids.add("a2");
+		negativeLookupCache.register("athletes", "a2", "456");
+		assertTrue(lookups.findById("a2").isPresent());
+		assertEquals(1, athletes.queries);
+	}
+
+	@Test
+	void droppedBloomFiltersNoLongerAnswer() {
+		negativeLookupCache.cacheProperties.getInvalidation().setEnabled(true);
+		negativeLookupCache.run(null);
+
+		negativeLookupCache.forgetAll("athletes");
+		athletes.ids.add("a2");
+		assertTrue(lookups.findById("a2").isPresent());
+		assertEquals(1, athletes.queries);
+	}
+
+	@Test
+	void missesAreRememberedUntilTheEntityIsWritten() {
+		assertFalse(lookups.findById("a2").isPresent());
+		assertFalse(lookups.findById("a2").isPresent());
+		assertEquals(1, athletes.queries);
+
+		athletes.ids.add("a2");
+		negativeLookupCache.forget("athletes", "a2");
+		assertTrue(lookups.findById("a2").isPresent());
+		assertEquals(2, athletes.queries);
+	}
+
+	@Test
+	void missesOfDocumentsAreForgottenByTheirScope() {
+		assertFalse(lookups.findByDocument("456").isPresent());
+		negativeLookupCache.forget("athletes", "a2", CacheKey.scope(CacheQuery.ACTIVE_DOCUMENT, "456"));
+		assertFalse(lookups.findByDocument("456").isPresent());
+		assertEquals(2, athletes.queries);
+	}
+
+	@Test
+	void missesReadDuringAWriteAreNotRemembered() {
+		athletes.onQuery = () -> negativeLookupCache.forget("athletes", "a3");
+		assertFalse(lookups.findById("a2").isPresent());
+		athletes.onQuery = () -> {
+		};
+		assertFalse(lookups.findById("a2").isPresent());
+		assertFalse(lookups.findById("a2").isPresent());
+		assertEquals(2, athletes.queries);
+	}
+
+	@Test
+	void disabledNegativeCacheAlwaysQueries() {
+		negativeLookupCache.cacheProperties.getNegative().setEnabled(false);
+		lookups.findById("a2");
+		lookups.findById("a2");
+		assertEquals(2, athletes.queries);
+	}
+
+	@CacheConfig(cacheNames = "athletes")
+	public static class Athletes {
+
+		final Set<String> ids = new HashSet<>();
+
+		int queries;
+
+		Runnable onQuery = () -> {
+		};
+
+		@CachedQuery(CacheQuery.ID)
+		public Optional<String> findById(String id) {
+			queries++;
+			onQuery.run();
+			return ids.contains(id) ? Optional.of(id) : Optional.empty();
+		}
+
+		@CachedQuery(CacheQuery.ACTIVE_DOCUMENT)
+		public Optional<String> findByDocument(String document) {
+			queries++;
+			return Optional.empty();
+		}
+
+	}
+
+}
@@ -0,0 +1,127 @@
+package demo_healthlifting.infraestructure.database.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import demo_healthlifting.domain.model.Athlete;
+import demo_healthlifting.infraestructure.database.cache.CacheKey.PageKey;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class TwoLevelCacheTests {
+
+	static final CacheKey BY_ID = CacheKey.scope(CacheQuery.ID, "a1");
+
+	static final CacheKey PAGE = new CacheKey(CacheQuery.ACTIVE_PAGE, null, null,
+			PageKey.of(PageRequest.of(0, 20)));
+
+	InMemorySharedCacheStore store;
+
+	Map<Object, Object> sharedHits;
+
+	@BeforeEach
+	void setUp() {
+		store = new InMemorySharedCacheStore(100);
+		sharedHits = new HashMap<>();
+	}
+
+	@Test
+	void sharedHitFillsTheLocalCache() {
+		instance(Duration.ofMinutes(1)).put(BY_ID, athlete("a1"));
+		ConcurrentMapCache local = new ConcurrentMapCache("athletes");
+		TwoLevelCache other = new TwoLevelCache(local, store, Duration.ofMinutes(10), Duration.ofMinutes(1),
+				sharedHits::put, new SimpleMeterRegistry());
+
+		assertEquals(athlete("a1"), other.get(BY_ID, Athlete.class));
+		assertEquals(athlete("a1"), local.get(BY_ID, Athlete.class));
+		assertEquals(athlete("a1"), sharedHits.get(BY_ID));
+	}
+
+	@Test
+	void evictionByIdReachesTheStore() {
+		TwoLevelCache cache = instance(Duration.ofMinutes(1));
+		cache.put(BY_ID, athlete("a1"));
+
+		cache.evict(BY_ID);
+
+		assertNull(store.get("athletes", BY_ID.toString()));
+		assertNull(instance(Duration.ofMinutes(1)).get(BY_ID));
+	}
+
+	@Test
+	void newGenerationInvalidatesTheSharedPages() {
+		TwoLevelCache cache = instance(Duration.ofMinutes(1));
+		cache.put(PAGE, page());
+		assertNotNull(instance(Duration.ofMinutes(1)).get(PAGE));
+
+		cache.evictSharedQueries();
+		cache.evict(PAGE);
+
+		assertNull(cache.get(PAGE));
+		assertNull(instance(Duration.ofMinutes(1)).get(PAGE));
+	}
+
+	@Test
+	void generationIsReadAgainAfterTheRefresh() {
+		TwoLevelCache cache = instance(Duration.ofMinutes(1));
+		TwoLevelCache cached = instance(Duration.ofMinutes(1));
+		TwoLevelCache refreshed = instance(Duration.ZERO);
+		cache.put(PAGE, page());
+		assertNotNull(cached.get(PAGE));
+		assertNotNull(refreshed.get(PAGE));
+
+		cache.evictSharedQueries();
+		cached.evict(PAGE);
+		refreshed.evict(PAGE);
+
+		assertNotNull(cached.get(PAGE));
+		assertNull(refreshed.get(PAGE));
+	}
+
+	@Test
+	void classesOutsideTheDomainAreNotRead() throws IOException {
+		store.put("athletes", BY_ID.toString(), serialize(new Foreign("a1")), Duration.ofMinutes(10));
+
+		assertNull(instance(Duration.ofMinutes(1)).get(BY_ID));
+	}
+
+	TwoLevelCache instance(Duration generationRefresh) {
+		return new TwoLevelCache(new ConcurrentMapCache("athletes"), store, Duration.ofMinutes(10),
+				generationRefresh, sharedHits::put, new SimpleMeterRegistry());
+	}
+
+	static Athlete athlete(String id) {
+		return Athlete.builder().id(id).build();
+	}
+
+	static PageImpl<Athlete> page() {
+		return new PageImpl<>(List.of(athlete("a1")), PageRequest.of(0, 20), 1);
+	}
+
+	static byte[] serialize(Object value) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (ObjectOutputStream output = new ObjectOutputStream(bytes)) {
+			output.writeObject(value);
+		}
+		return bytes.toByteArray();
+	}
+
+	record Foreign(String id) implements Serializable {
+	}
+
+}
@@ -0,0 +1,154 @@
+package demo_healthlifting.infraestructure.database.change;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import demo_healthlifting.domain.model.Athlete;
+import demo_healthlifting.infraestructure.database.autocomplete.PersonNameIndex;
+import demo_healthlifting.infraestructure.database.cache.CacheInvalidator;
+import demo_healthlifting.infraestructure.database.cache.CacheKey;
+import demo_healthlifting.infraestructure.database.cache.CacheKey.PageKey;
+import demo_healthlifting.infraestructure.database.cache.CacheQuery;
+import demo_healthlifting.infraestructure.database.cache.IndexedCacheManager;
+import demo_healthlifting.infraestructure.database.cache.LoadCoalescer;
+import demo_healthlifting.infraestructure.database.cache.NegativeLookupCache;
+import demo_healthlifting.infraestructure.database.change.ChangeEvent.Operation;
+import demo_healthlifting.infraestructure.database.configuration.CacheProperties;
+import demo_healthlifting.infraestructure.database.entity.AppointmentEntity;
+import demo_healthlifting.infraestructure.database.entity.AthleteEntity;
+import demo_healthlifting.infraestructure.database.entity.CoachEntity;
+import demo_healthlifting.infraestructure.database.entity.TrainingSheetEntity;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ChangeStreamInvalidatorTests {
+
+	static final CacheKey BY_ID = CacheKey.scope(CacheQuery.ID, "a1");
+
+	static final CacheKey BY_DOCUMENT = CacheKey.scope(CacheQuery.ACTIVE_DOCUMENT, "123");
+
+	static final CacheKey PAGE_WITH_A1 = new CacheKey(CacheQuery.ACTIVE_PAGE, null, null,
+			PageKey.of(PageRequest.of(0, 20)));
+
+	static final CacheKey PAGE_WITHOUT_A1 = new CacheKey(CacheQuery.ACTIVE_PAGE, null, null,
+			PageKey.of(PageRequest.of(1, 20)));
+
+	InMemoryChangeFeed changeFeed;
+
+	Cache athletes;
+
+	@BeforeEach
+	void setUp() {
+		IndexedCacheManager cacheManager = new IndexedCacheManager(new ConcurrentMapCacheManager("athletes"),
+				new ConcurrentHashMap<>());
+		NegativeLookupCache negativeLookupCache = mock(NegativeLookupCache.class);
+		CacheInvalidator cacheInvalidator = new CacheInvalidator();
+		ReflectionTestUtils.setField(cacheInvalidator, "cacheManager", cacheManager);
+		ReflectionTestUtils.setField(cacheInvalidator, "loadCoalescer", new LoadCoalescer());
+		ReflectionTestUtils.setField(cacheInvalidator, "negativeLookupCache", negativeLookupCache);
+
+		MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+		when(mongoTemplate.getCollectionName(AthleteEntity.class)).thenReturn("ATHLETES");
+		when(mongoTemplate.getCollectionName(CoachEntity.class)).thenReturn("COACHES");
+		when(mongoTemplate.getCollectionName(AppointmentEntity.class)).thenReturn("APPOINTMENTS");
+		when(mongoTemplate.getCollectionName(TrainingSheetEntity.class)).thenReturn("TRAININGSHEETS");
+		when(mongoTemplate.getConverter())
+				.thenReturn(new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, new MongoMappingContext()));
+
+		changeFeed = new InMemoryChangeFeed();
+		ChangeStreamInvalidator invalidator = new ChangeStreamInvalidator();
+		invalidator.cacheProperties = new CacheProperties();
+		invalidator.cacheProperties.getInvalidation().setEnabled(true);
+		invalidator.changeFeed = changeFeed;
+		invalidator.mongoTemplate = mongoTemplate;
+		invalidator.cacheInvalidator = cacheInvalidator;
+		invalidator.negativeLookupCache = negativeLookupCache;
+		invalidator.personNameIndex = mock(PersonNameIndex.class);
+		invalidator.meterRegistry = new SimpleMeterRegistry();
+		invalidator.init();
+		invalidator.start();
+
+		athletes = cacheManager.getCache("athletes");
+		athletes.put(BY_ID, athlete("a1"));
+		athletes.put(BY_DOCUMENT, athlete("a1"));
+		athletes.put(PAGE_WITH_A1, new PageImpl<>(List.of(athlete("a1"), athlete("a2"))));
+		athletes.put(PAGE_WITHOUT_A1, new PageImpl<>(List.of(athlete("a3"))));
+	}
+
+	@Test
+	void linkEvictsTheEntriesOfTheAthleteOnly() {
+		changeFeed.publish(new ChangeEvent("ATHLETES", Operation.UPDATE, "a1", athleteDocument("a1", false),
+				Set.of("idAppointments")));
+
+		assertNull(athletes.get(BY_ID));
+		assertNull(athletes.get(PAGE_WITH_A1));
+		assertNotNull(athletes.get(PAGE_WITHOUT_A1));
+	}
+
+	@Test
+	void renameEvictsEveryPage() {
+		changeFeed.publish(new ChangeEvent("ATHLETES", Operation.UPDATE, "a1", athleteDocument("a1", false),
+				Set.of("personalInformation")));
+
+		assertNull(athletes.get(BY_ID));
+		assertNull(athletes.get(BY_DOCUMENT));
+		assertNull(athletes.get(PAGE_WITH_A1));
+		assertNull(athletes.get(PAGE_WITHOUT_A1));
+	}
+
+	@Test
+	void logicalDeleteEvictsEveryPage() {
+		changeFeed.publish(new ChangeEvent("ATHLETES", Operation.UPDATE, "a1", athleteDocument("a1", true),
+				Set.of("eliminate")));
+
+		assertNull(athletes.get(BY_ID));
+		assertNull(athletes.get(PAGE_WITH_A1));
+		assertNull(athletes.get(PAGE_WITHOUT_A1));
+	}
+
+	@Test
+	void insertEvictsEveryPageAndKeepsTheOtherAthletes() {
+		changeFeed.publish(new ChangeEvent("ATHLETES", Operation.INSERT, "a4", athleteDocument("a4", false), null));
+
+		assertNotNull(athletes.get(BY_ID));
+		assertNull(athletes.get(PAGE_WITH_A1));
+		assertNull(athletes.get(PAGE_WITHOUT_A1));
+	}
+
+	@Test
+	void deleteEvictsTheAthleteAndEveryPage() {
+		changeFeed.publish(new ChangeEvent("ATHLETES", Operation.DELETE, "a1", null, null));
+
+		assertNull(athletes.get(BY_ID));
+		assertNull(athletes.get(PAGE_WITH_A1));
+		assertNull(athletes.get(PAGE_WITHOUT_A1));
+	}
+
+	static Athlete athlete(String id) {
+		return Athlete.builder().id(id).build();
+	}
+
+	static Document athleteDocument(String id, boolean eliminate) {
+		return new Document("_id", id).append("eliminate", eliminate).append("personalInformation",
+				new Document("document", id.equals("a1") ? "123" : "456"));
+	}
+
+}
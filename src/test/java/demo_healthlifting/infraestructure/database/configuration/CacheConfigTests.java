@@ -0,0 +1,77 @@
+package demo_healthlifting.infraestructure.database.configuration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.CacheManager;
+
+import com.github.benmanes.caffeine.cache.Cache;
+
+import demo_healthlifting.domain.model.Athlete;
+import demo_healthlifting.infraestructure.database.cache.CacheKey;
+import demo_healthlifting.infraestructure.database.cache.CacheQuery;
+import demo_healthlifting.infraestructure.database.cache.IndexedCacheManager;
+import demo_healthlifting.infraestructure.database.configuration.CacheProperties.CacheSpec;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class CacheConfigTests {
+
+	CacheProperties cacheProperties;
+
+	@BeforeEach
+	void setUp() {
+		cacheProperties = new CacheProperties();
+		cacheProperties.getCaches().put("athletes", CacheSpec.builder().maximumSize(2L).build());
+	}
+
+	@Test
+	void configuredCachesAreBoundedByTheirOwnSpec() {
+		Cache<Object, Object> athletes = nativeCache(cacheManager(), "athletes");
+
+		assertEquals(2L, athletes.policy().eviction().orElseThrow().getMaximum());
+		assertEquals(Duration.ofMinutes(10), athletes.policy().expireAfterWrite().orElseThrow().getExpiresAfter());
+	}
+
+	@Test
+	void otherCachesUseTheDefaults() {
+		CacheManager cacheManager = cacheManager();
+		Cache<Object, Object> coaches = nativeCache(cacheManager, "coaches");
+
+		assertTrue(cacheManager.getCacheNames().contains("athletes"));
+		assertEquals(10_000L, coaches.policy().eviction().orElseThrow().getMaximum());
+	}
+
+	@Test
+	void entriesEvictedByCaffeineLeaveTheIndex() {
+		IndexedCacheManager cacheManager = (IndexedCacheManager) cacheManager();
+		for (int i = 1; i <= 3; i++) {
+			cacheManager.getCache("athletes").put(CacheKey.scope(CacheQuery.ID, "a" + i),
+					Athlete.builder().id("a" + i).build());
+		}
+
+		nativeCache(cacheManager, "athletes").cleanUp();
+
+		int indexed = 0;
+		for (int i = 1; i <= 3; i++) {
+			CacheKey key = CacheKey.scope(CacheQuery.ID, "a" + i);
+			boolean cached = nativeCache(cacheManager, "athletes").getIfPresent(key) != null;
+			assertEquals(cached, cacheManager.index("athletes").keysOf("a" + i).contains(key));
+			indexed += cached ? 1 : 0;
+		}
+		assertEquals(2, indexed);
+	}
+
+	CacheManager cacheManager() {
+		return new CacheConfig().cacheManager(cacheProperties, null, new SimpleMeterRegistry());
+	}
+
+	@SuppressWarnings("unchecked")
+	static Cache<Object, Object> nativeCache(CacheManager cacheManager, String name) {
+		return (Cache<Object, Object>) cacheManager.getCache(name).getNativeCache();
+	}
+
+}
@@ -0,0 +1,73 @@
+package demo_healthlifting.infraestructure.database.index;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import demo_healthlifting.infraestructure.database.entity.AppointmentEntity;
+import demo_healthlifting.infraestructure.database.entity.AthleteEntity;
+import demo_healthlifting.infraestructure.database.entity.CoachEntity;
+import demo_healthlifting.infraestructure.database.entity.TrainingSheetEntity;
+
+class MongoIndexProvisionerTests {
+
+	MongoIndexProvisioner provisioner;
+
+	@BeforeEach
+	void setUp() {
+		provisioner = new MongoIndexProvisioner();
+		MongoMappingContext mappingContext = new MongoMappingContext();
+		mappingContext.setSimpleTypeHolder(new MongoCustomConversions(List.of()).getSimpleTypeHolder());
+		provisioner.mongoMappingContext = mappingContext;
+	}
+
+	@Test
+	void documentIsUniqueAmongActiveAthletesAndCoaches() {
+		for (Class<?> entity : List.of(AthleteEntity.class, CoachEntity.class)) {
+			IndexDefinition index = find(entity, "document_active_unique");
+			assertEquals(new Document("personalInformation.document", 1), index.getIndexKeys());
+			assertEquals(true, index.getIndexOptions().get("unique"));
+			assertEquals(new Document("eliminate", false), index.getIndexOptions().get("partialFilterExpression"));
+		}
+	}
+
+	@Test
+	void appointmentsAreIndexedByOwnerStateAndDate() {
+		assertEquals(new Document("athleteId", 1).append("eliminate", 1).append("date", 1),
+				find(AppointmentEntity.class, "athlete_active_date").getIndexKeys());
+		assertEquals(new Document("coachId", 1).append("eliminate", 1).append("date", 1),
+				find(AppointmentEntity.class, "coach_active_date").getIndexKeys());
+	}
+
+	@Test
+	void trainingSheetsAreIndexedByOwnerAndState() {
+		assertEquals(new Document("athleteId", 1).append("eliminate", 1),
+				find(TrainingSheetEntity.class, "athlete_active").getIndexKeys());
+		assertEquals(new Document("coachId", 1).append("eliminate", 1),
+				find(TrainingSheetEntity.class, "coach_active").getIndexKeys());
+	}
+
+	@Test
+	void everyCollectionSupportsTheActiveListing() {
+		for (Class<?> entity : MongoIndexProvisioner.ENTITIES) {
+			assertEquals(new Document("eliminate", 1).append("_id", 1), find(entity, "eliminate_id").getIndexKeys());
+		}
+	}
+
+	private IndexDefinition find(Class<?> entity, String name) {
+		List<IndexDefinition> indexes = provisioner.declaredIndexes(entity);
+		IndexDefinition index = indexes.stream().filter(i -> name.equals(i.getIndexOptions().getString("name")))
+				.findFirst().orElse(null);
+		assertTrue(index != null, "Index " + name + " not declared on " + entity.getSimpleName());
+		return index;
+	}
+
+}
@@ -0,0 +1,138 @@
+package demo_healthlifting.infraestructure.database.schedule;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import demo_healthlifting.application.ports.utils.Errors;
+import demo_healthlifting.domain.exception.BusinessException;
+import demo_healthlifting.domain.model.Appointment;
+import demo_healthlifting.infraestructure.database.configuration.ScheduleProperties;
+import demo_healthlifting.infraestructure.database.entity.AppointmentEntity;
+
+class AppointmentScheduleIndexTests {
+
+	static final LocalDateTime TOMORROW = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.HOURS);
+
+	AppointmentScheduleIndex index;
+
+	@BeforeEach
+	void setUp() {
+		index = new AppointmentScheduleIndex();
+		index.mongoTemplate = mock(MongoTemplate.class);
+		when(index.mongoTemplate.stream(any(Query.class), eq(AppointmentEntity.class))).thenReturn(Stream.empty());
+		index.scheduleProperties = new ScheduleProperties();
+		index.createLocks();
+		index.warmUp();
+	}
+
+	@Test
+	void onlyTheSessionsWithinTheRetentionAreLoaded() {
+		ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+		verify(index.mongoTemplate).stream(query.capture(), eq(AppointmentEntity.class));
+		LocalDateTime horizon = (LocalDateTime) ((Document) query.getValue().getQueryObject().get("date"))
+				.get("$gte");
+		LocalDateTime expected = LocalDateTime.now().minus(index.scheduleProperties.getRetention());
+		assertTrue(Math.abs(ChronoUnit.SECONDS.between(horizon, expected)) < 60);
+	}
+
+	@Test
+	void overlappingBookingsOfTheCoachOrTheAthleteAreRejected() throws Exception {
+		index.reserve(appointment("c1", "a1", TOMORROW));
+
+		assertConflict(appointment("c1", "a2", TOMORROW.plusMinutes(30)));
+		assertConflict(appointment("c2", "a1", TOMORROW.minusMinutes(30)));
+		assertDoesNotThrow(() -> index.reserve(appointment("c1", "a2", TOMORROW.plusHours(1))));
+		assertDoesNotThrow(() -> index.reserve(appointment("c2", "a3", TOMORROW)));
+	}
+
+	@Test
+	void releasingABookingFreesOnlyItsSession() throws Exception {
+		Appointment first = appointment("c1", "a1", TOMORROW);
+		index.reserve(first);
+		index.reserve(appointment("c2", "a2", TOMORROW));
+
+		index.release(first);
+		assertDoesNotThrow(() -> index.reserve(appointment("c1", "a3", TOMORROW)));
+		assertConflict(appointment("c2", "a4", TOMORROW));
+	}
+
+	@Test
+	void concurrentBookingsOfTheSameSlotOnlyReserveOne() throws Exception {
+		int threads = 16;
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<Boolean>> results = new ArrayList<>();
+		try {
+			for (int i = 0; i < threads; i++) {
+				Appointment appointment = appointment("c1", "a" + i, TOMORROW.plusMinutes(i % 4 * 10));
+				results.add(executor.submit(() -> {
+					start.await();
+					try {
+						index.reserve(appointment);
+						return true;
+					} catch (BusinessException e) {
+						return false;
+					}
+				}));
+			}
+			start.countDown();
+			int reserved = 0;
+			for (Future<Boolean> result : results) {
+				reserved += result.get() ? 1 : 0;
+			}
+			assertEquals(1, reserved);
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	void pruningFreesTheSessionsOlderThanTheRetention() throws Exception {
+		LocalDateTime past = LocalDateTime.now().minusDays(3).truncatedTo(ChronoUnit.HOURS);
+		index.reserve(appointment("c1", "a1", past));
+		index.reserve(appointment("c1", "a1", TOMORROW));
+		assertConflict(appointment("c1", "a2", past));
+
+		index.prune();
+		assertDoesNotThrow(() -> index.reserve(appointment("c1", "a2", past)));
+		assertConflict(appointment("c1", "a3", TOMORROW));
+	}
+
+	void assertConflict(Appointment appointment) {
+		BusinessException e = assertThrows(BusinessException.class, () -> index.reserve(appointment));
+		assertEquals(Errors.SCHEDULE_CONFLICT, e.getMessage());
+	}
+
+	static Appointment appointment(String coachId, String athleteId, LocalDateTime date) {
+		Appointment appointment = new Appointment();
+		appointment.setCoachId(coachId);
+		appointment.setAthleteId(athleteId);
+		appointment.setDate(date);
+		return appointment;
+	}
+
+}
@@ -0,0 +1,151 @@
+package demo_healthlifting.infraestructure.database.schedule;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import demo_healthlifting.domain.model.FreeSlot;
+
+class TimelineTests {
+
+	static final LocalDateTime NINE = LocalDateTime.of(2024, 6, 3, 9, 0);
+
+	Timeline timeline = new Timeline();
+
+	@Test
+	void sessionsOverlapOnlyWhenTheyShareTime() {
+		timeline.add(NINE, NINE.plusHours(1));
+
+		assertTrue(timeline.overlaps(NINE, NINE.plusHours(1)));
+		assertTrue(timeline.overlaps(NINE.minusMinutes(30), NINE.plusMinutes(30)));
+		assertTrue(timeline.overlaps(NINE.plusMinutes(30), NINE.plusMinutes(90)));
+		assertTrue(timeline.overlaps(NINE.plusMinutes(15), NINE.plusMinutes(45)));
+		assertFalse(timeline.overlaps(NINE.minusHours(1), NINE));
+		assertFalse(timeline.overlaps(NINE.plusHours(1), NINE.plusHours(2)));
+	}
+
+	@Test
+	void aShortSessionDoesNotHideALongerOneStartedBefore() {
+		timeline.add(NINE, NINE.plusHours(3));
+		timeline.add(NINE.plusHours(1), NINE.plusMinutes(90));
+
+		assertTrue(timeline.overlaps(NINE.plusHours(2), NINE.plusMinutes(150)));
+	}
+
+	@Test
+	void sessionsWithTheSameStartAreAllKept() {
+		timeline.add(NINE, NINE.plusMinutes(30));
+		timeline.add(NINE, NINE.plusHours(1));
+
+		assertEquals(2, timeline.size());
+		assertTrue(timeline.overlaps(NINE.plusMinutes(45), NINE.plusMinutes(75)));
+	}
+
+	@Test
+	void cancellingOneOfTwoSessionsWithTheSameStartKeepsTheOther() {
+		timeline.add(NINE, NINE.plusHours(1));
+		timeline.add(NINE, NINE.plusMinutes(30));
+
+		timeline.remove(NINE, NINE.plusHours(1));
+		assertEquals(1, timeline.size());
+		assertTrue(timeline.overlaps(NINE, NINE.plusMinutes(15)));
+		assertFalse(timeline.overlaps(NINE.plusMinutes(30), NINE.plusHours(1)));
+
+		timeline.remove(NINE, NINE.plusMinutes(30));
+		assertTrue(timeline.isEmpty());
+		assertFalse(timeline.overlaps(NINE, NINE.plusHours(1)));
+	}
+
+	@Test
+	void removingAnUnknownSessionKeepsTheBookedOnes() {
+		timeline.add(NINE, NINE.plusHours(1));
+
+		timeline.remove(NINE, NINE.plusMinutes(45));
+		timeline.remove(NINE.plusHours(1), NINE.plusHours(2));
+		assertEquals(1, timeline.size());
+	}
+
+	@Test
+	void pruningRemovesTheSessionsStartedBefore() {
+		timeline.add(NINE.minusDays(2), NINE.minusDays(2).plusHours(1));
+		timeline.add(NINE, NINE.plusHours(1));
+
+		timeline.prune(NINE.minusDays(1));
+		assertEquals(1, timeline.size());
+		assertTrue(timeline.overlaps(NINE, NINE.plusHours(1)));
+	}
+
+	@Test
+	void freeSlotsAreTheGapsBetweenSessions() {
+		timeline.add(NINE.plusHours(1), NINE.plusHours(2));
+		timeline.add(NINE.plusHours(4), NINE.plusMinutes(270));
+
+		assertEquals(List.of(slot(NINE, NINE.plusHours(1)), slot(NINE.plusHours(2), NINE.plusHours(4)),
+				slot(NINE.plusMinutes(270), NINE.plusHours(8))),
+				freeSlots(Duration.ofMinutes(60), slot(NINE, NINE.plusHours(8))));
+	}
+
+	@Test
+	void sessionsTouchingAWindowLeaveItFree() {
+		timeline.add(NINE.minusHours(1), NINE);
+		timeline.add(NINE.plusHours(2), NINE.plusHours(3));
+
+		assertEquals(List.of(slot(NINE, NINE.plusHours(2))),
+				freeSlots(Duration.ofMinutes(30), slot(NINE, NINE.plusHours(2))));
+	}
+
+	@Test
+	void sessionsStraddlingAWindowEdgeShortenIt() {
+		timeline.add(NINE.minusMinutes(30), NINE.plusMinutes(30));
+		timeline.add(NINE.plusMinutes(90), NINE.plusMinutes(150));
+
+		assertEquals(List.of(slot(NINE.plusMinutes(30), NINE.plusMinutes(90))),
+				freeSlots(Duration.ofMinutes(60), slot(NINE, NINE.plusHours(2))));
+	}
+
+	@Test
+	void aSessionStraddlingTwoWindowsShortensBoth() {
+		LocalDateTime nextDay = NINE.plusDays(1);
+		timeline.add(NINE.plusHours(7), nextDay.plusHours(1));
+
+		assertEquals(List.of(slot(NINE, NINE.plusHours(7)), slot(nextDay.plusHours(1), nextDay.plusHours(8))),
+				freeSlots(Duration.ofMinutes(60), slot(NINE, NINE.plusHours(8)),
+						slot(nextDay, nextDay.plusHours(8))));
+	}
+
+	@Test
+	void aSessionLongerThanEveryGapHasNoFreeSlots() {
+		timeline.add(NINE.plusMinutes(30), NINE.plusHours(1));
+		timeline.add(NINE.plusMinutes(90), NINE.plusHours(2));
+
+		assertEquals(List.of(), freeSlots(Duration.ofMinutes(45), slot(NINE, NINE.plusMinutes(150))));
+		assertEquals(3, freeSlots(Duration.ofMinutes(30), slot(NINE, NINE.plusMinutes(150))).size());
+	}
+
+	@Test
+	void sessionsWithTheSameStartBlockUntilTheLongestEnds() {
+		timeline.add(NINE, NINE.plusMinutes(30));
+		timeline.add(NINE, NINE.plusHours(1));
+
+		assertEquals(List.of(slot(NINE.plusHours(1), NINE.plusHours(2))),
+				freeSlots(Duration.ofMinutes(30), slot(NINE, NINE.plusHours(2))));
+	}
+
+	List<FreeSlot> freeSlots(Duration duration, FreeSlot... windows) {
+		List<FreeSlot> slots = new ArrayList<>();
+		timeline.addFreeSlots(List.of(windows), duration, slots);
+		return slots;
+	}
+
+	static FreeSlot slot(LocalDateTime start, LocalDateTime end) {
+		return FreeSlot.builder().start(start).end(end).build();
+	}
+
+}
@@ -0,0 +1,110 @@
+package demo_healthlifting.infraestructure.database.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import com.querydsl.core.types.Predicate;
+
+import demo_healthlifting.application.ports.utils.Errors;
+import demo_healthlifting.domain.exception.BusinessException;
+import demo_healthlifting.domain.model.SearchCriterion;
+import demo_healthlifting.domain.model.SearchOperator;
+import demo_healthlifting.infraestructure.database.entity.QAthleteEntity;
+import demo_healthlifting.infraestructure.database.repository.AthleteRepository;
+
+class QuerydslSearchTests {
+
+	QuerydslSearch querydslSearch;
+
+	AthleteRepository athleteRepository;
+
+	@BeforeEach
+	void setUp() {
+		querydslSearch = new QuerydslSearch();
+		querydslSearch.queryPlanLogger = mock(QueryPlanLogger.class);
+		athleteRepository = mock(AthleteRepository.class);
+	}
+
+	@Test
+	void criteriaAreCombinedOverTheActiveEntities() throws Exception {
+		querydslSearch.search(SearchableEntity.ATHLETE, athleteRepository,
+				List.of(criterion("age", SearchOperator.GTE, "18"),
+						criterion("personalInformation.name", SearchOperator.PREFIX, "Ju")),
+				PageRequest.of(1, 20, Sort.by("age")));
+
+		QAthleteEntity athlete = QAthleteEntity.athleteEntity;
+		Predicate expected = athlete.eliminate.isFalse().and(athlete.age.goe(18))
+				.and(athlete.personalInformation.name.startsWith("Ju"));
+		ArgumentCaptor<Predicate> predicate = ArgumentCaptor.forClass(Predicate.class);
+		verify(athleteRepository).findAll(predicate.capture(), eq(PageRequest.of(1, 20, Sort.by("age", "id"))));
+		assertEquals(expected.toString(), predicate.getValue().toString());
+	}
+
+	@Test
+	void unsortedSearchesAreOrderedById() throws Exception {
+		querydslSearch.search(SearchableEntity.ATHLETE, athleteRepository,
+				List.of(criterion("personalInformation.documentType", SearchOperator.IN, "DNI", "PASSPORT")),
+				PageRequest.of(0, 20));
+
+		verify(athleteRepository).findAll(any(Predicate.class), eq(PageRequest.of(0, 20, Sort.by("id"))));
+	}
+
+	@Test
+	void unknownFieldsAreRejected() {
+		assertRejected(criterion("idAppointments", SearchOperator.EQ, "ap1"));
+		assertRejected(criterion("eliminate", SearchOperator.EQ, "true"));
+		assertRejected(criterion("personalInformation", SearchOperator.EQ, "x"));
+	}
+
+	@Test
+	void unsupportedOperatorsAreRejected() {
+		assertRejected(criterion("personalInformation.name", SearchOperator.GT, "M"));
+		assertRejected(criterion("personalInformation.documentType", SearchOperator.PREFIX, "D"));
+		assertRejected(criterion("age", SearchOperator.PREFIX, "1"));
+		assertRejected(criterion("age", SearchOperator.EQ, "18", "19"));
+	}
+
+	@Test
+	void malformedValuesAreRejected() {
+		assertRejected(criterion("age", SearchOperator.EQ, "eighteen"));
+		assertRejected(criterion("personalInformation.documentType", SearchOperator.EQ, "NIE"));
+		assertRejected(criterion("age", SearchOperator.IN));
+	}
+
+	@Test
+	void sortsOutsideTheSearchableFieldsAreRejected() {
+		for (Sort sort : new Sort[] { Sort.by("eliminate"), Sort.by("idAppointments"), Sort.by("age", "weight") }) {
+			BusinessException e = assertThrows(BusinessException.class, () -> querydslSearch
+					.search(SearchableEntity.ATHLETE, athleteRepository, List.of(), PageRequest.of(0, 20, sort)));
+			assertEquals(Errors.INVALID_SEARCH_FILTER, e.getMessage(), sort::toString);
+		}
+		verifyNoInteractions(athleteRepository);
+	}
+
+	void assertRejected(SearchCriterion criterion) {
+		Pageable pageable = PageRequest.of(0, 20);
+		BusinessException e = assertThrows(BusinessException.class,
+				() -> querydslSearch.search(SearchableEntity.ATHLETE, athleteRepository, List.of(criterion), pageable));
+		assertEquals(Errors.INVALID_SEARCH_FILTER, e.getMessage(), criterion::toString);
+		verifyNoInteractions(athleteRepository);
+	}
+
+	static SearchCriterion criterion(String field, SearchOperator operator, String... values) {
+		return new SearchCriterion(field, operator, List.of(values));
+	}
+
+}
@@ -0,0 +1,122 @@
+package demo_healthlifting.infraestructure.database.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import demo_healthlifting.infraestructure.database.entity.AppointmentEntity;
+import demo_healthlifting.infraestructure.database.entity.AthleteEntity;
+import demo_healthlifting.infraestructure.database.entity.CoachEntity;
+import demo_healthlifting.infraestructure.database.mapper.AppointmentToAppointmentEntityMapper;
+import demo_healthlifting.infraestructure.database.repository.AthleteRepository;
+import demo_healthlifting.infraestructure.database.repository.CoachRepository;
+
+class AppointmentRepositoryServiceTests {
+
+	static final Pageable PAGEABLE = PageRequest.of(0, 20);
+
+	static final LocalDateTime FROM = LocalDateTime.of(2024, 6, 1, 0, 0);
+
+	static final LocalDateTime TO = LocalDateTime.of(2024, 6, 30, 23, 59);
+
+	AppointmentRepositoryService service;
+
+	MongoTemplate mongoTemplate;
+
+	@BeforeEach
+	void setUp() {
+		service = new AppointmentRepositoryService();
+		mongoTemplate = mock(MongoTemplate.class);
+		service.mongoTemplate = mongoTemplate;
+		service.coachRepository = mock(CoachRepository.class);
+		service.athleteRepository = mock(AthleteRepository.class);
+		service.appointmentToAppointmentEntityMapper = mock(AppointmentToAppointmentEntityMapper.class);
+	}
+
+	@Test
+	void ownerPagesWithoutBoundsDoNotFilterByDate() throws Exception {
+		service.getAppointmentsByCoachId("c1", null, null, PAGEABLE);
+		assertEquals(new Document("coachId", "c1").append("eliminate", false), findQuery());
+
+		setUp();
+		service.getAppointmentsByAthleteId("a1", null, null, PAGEABLE);
+		assertEquals(new Document("athleteId", "a1").append("eliminate", false), findQuery());
+	}
+
+	@Test
+	void ownerPagesFilterByTheBoundsGiven() throws Exception {
+		service.getAppointmentsByCoachId("c1", FROM, TO, PAGEABLE);
+		assertEquals(new Document("$gte", FROM).append("$lte", TO), findQuery().get("date"));
+
+		setUp();
+		service.getAppointmentsByAthleteId("a1", FROM, null, PAGEABLE);
+		assertEquals(new Document("$gte", FROM), findQuery().get("date"));
+
+		setUp();
+		service.getAppointmentsByAthleteId("a1", null, TO, PAGEABLE);
+		assertEquals(new Document("$lte", TO), findQuery().get("date"));
+	}
+
+	@Test
+	void documentPagesDoNotFilterByDate() {
+		when(service.coachRepository.findIdByPersonalInformationDocument("123"))
+				.thenReturn(Optional.of(CoachEntity.builder().id("c1").build()));
+		service.getAppointmentsByCoachPersonalInformationDocument("123", PAGEABLE);
+		assertEquals(new Document("coachId", "c1").append("eliminate", false), findQuery());
+
+		setUp();
+		when(service.athleteRepository.findIdByPersonalInformationDocument("456"))
+				.thenReturn(Optional.of(AthleteEntity.builder().id("a1").build()));
+		service.getAppointmentsByAthletePersonalInformationDocument("456", PAGEABLE);
+		assertEquals(new Document("athleteId", "a1").append("eliminate", false), findQuery());
+	}
+
+	@Test
+	void ownerSlicesWithoutBoundsDoNotFilterByDate() {
+		service.getAppointmentsSliceByCoachId("c1", null, null, PAGEABLE);
+		assertEquals(new Document("coachId", "c1").append("eliminate", false), findQuery());
+
+		setUp();
+		service.getAppointmentsSliceByAthleteId("a1", null, TO, PAGEABLE);
+		assertEquals(new Document("athleteId", "a1").append("eliminate", false).append("date",
+				new Document("$lte", TO)), findQuery());
+	}
+
+	@Test
+	void ownerCountsWithoutBoundsDoNotFilterByDate() {
+		service.countAppointmentsByCoachId("c1", null, null);
+		assertEquals(new Document("coachId", "c1").append("eliminate", false), countQuery());
+
+		setUp();
+		service.countAppointmentsByAthleteId("a1", FROM, TO);
+		assertEquals(new Document("athleteId", "a1").append("eliminate", false).append("date",
+				new Document("$gte", FROM).append("$lte", TO)), countQuery());
+	}
+
+	Document findQuery() {
+		ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+		verify(mongoTemplate).find(query.capture(), eq(AppointmentEntity.class));
+		return query.getValue().getQueryObject();
+	}
+
+	Document countQuery() {
+		ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+		verify(mongoTemplate).count(query.capture(), eq(AppointmentEntity.class));
+		return query.getValue().getQueryObject();
+	}
+
+}
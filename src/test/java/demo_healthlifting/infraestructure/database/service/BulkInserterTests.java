@@ -0,0 +1,97 @@
+package demo_healthlifting.infraestructure.database.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import org.bson.BsonDocument;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.ServerAddress;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+
+import demo_healthlifting.application.ports.utils.Errors;
+import demo_healthlifting.domain.model.ImportResult;
+import demo_healthlifting.domain.model.ImportStatus;
+import demo_healthlifting.infraestructure.database.entity.AthleteEntity;
+
+class BulkInserterTests {
+
+	BulkInserter bulkInserter;
+
+	BulkOperations bulkOperations;
+
+	List<AthleteEntity> athletes = IntStream.range(0, 5).mapToObj(i -> {
+		AthleteEntity athlete = new AthleteEntity();
+		athlete.setId("a" + i);
+		return athlete;
+	}).toList();
+
+	@BeforeEach
+	void setUp() {
+		bulkInserter = new BulkInserter();
+		bulkInserter.chunkSize = 2;
+		bulkInserter.mongoTemplate = mock(MongoTemplate.class);
+		bulkOperations = mock(BulkOperations.class);
+		when(bulkInserter.mongoTemplate.bulkOps(BulkMode.UNORDERED, AthleteEntity.class)).thenReturn(bulkOperations);
+		when(bulkOperations.insert(anyList())).thenReturn(bulkOperations);
+	}
+
+	@Test
+	void entitiesAreInsertedInChunks() {
+		List<ImportResult> results = bulkInserter.insert(athletes, AthleteEntity.class, AthleteEntity::getId);
+
+		verify(bulkOperations).insert(athletes.subList(0, 2));
+		verify(bulkOperations).insert(athletes.subList(2, 4));
+		verify(bulkOperations).insert(athletes.subList(4, 5));
+		assertEquals(IntStream.range(0, 5).mapToObj(i -> ImportResult.created(i, "a" + i)).toList(), results);
+	}
+
+	@Test
+	void duplicateKeysAreReportedAsDuplicated() {
+		when(bulkOperations.execute()).thenReturn(null)
+				.thenThrow(bulkFailure(new BulkWriteError(121, "validation", new BsonDocument(), 0),
+						new BulkWriteError(11000, "duplicate key", new BsonDocument(), 1)))
+				.thenReturn(null);
+
+		List<ImportResult> results = bulkInserter.insert(athletes, AthleteEntity.class, AthleteEntity::getId);
+
+		assertEquals(List.of(ImportResult.created(0, "a0"), ImportResult.created(1, "a1"),
+				ImportResult.rejected(2, ImportStatus.FAILED, Errors.WRITE_FAILED),
+				ImportResult.rejected(3, ImportStatus.DUPLICATED, Errors.DUPLICATED_KEY),
+				ImportResult.created(4, "a4")), results);
+	}
+
+	@Test
+	void failuresWithoutDetailFailTheWholeChunk() {
+		when(bulkOperations.execute()).thenThrow(new DataAccessResourceFailureException("write concern"))
+				.thenReturn(null);
+
+		List<ImportResult> results = bulkInserter.insert(athletes.subList(0, 3), AthleteEntity.class,
+				AthleteEntity::getId);
+
+		assertEquals(List.of(ImportResult.rejected(0, ImportStatus.FAILED, Errors.WRITE_FAILED),
+				ImportResult.rejected(1, ImportStatus.FAILED, Errors.WRITE_FAILED), ImportResult.created(2, "a2")),
+				results);
+	}
+
+	static BulkOperationException bulkFailure(BulkWriteError... errors) {
+		return new BulkOperationException("bulk write failed", new MongoBulkWriteException(
+				BulkWriteResult.unacknowledged(), List.of(errors), null, new ServerAddress(), Set.of()));
+	}
+
+}
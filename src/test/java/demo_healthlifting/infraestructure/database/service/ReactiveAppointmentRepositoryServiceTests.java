@@ -0,0 +1,85 @@
+package demo_healthlifting.infraestructure.database.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import demo_healthlifting.infraestructure.database.cache.CacheInvalidator;
+import demo_healthlifting.infraestructure.database.entity.AppointmentEntity;
+import demo_healthlifting.infraestructure.database.mapper.AppointmentToAppointmentEntityMapper;
+import demo_healthlifting.infraestructure.database.repository.ReactiveAppointmentRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+class ReactiveAppointmentRepositoryServiceTests {
+
+	ReactiveAppointmentRepositoryService service;
+
+	ReactiveMongoTemplate reactiveMongoTemplate;
+
+	@BeforeEach
+	void setUp() {
+		service = new ReactiveAppointmentRepositoryService();
+		reactiveMongoTemplate = mock(ReactiveMongoTemplate.class);
+		when(reactiveMongoTemplate.find(any(Query.class), eq(AppointmentEntity.class))).thenReturn(Flux.empty());
+		service.reactiveMongoTemplate = reactiveMongoTemplate;
+		service.appointmentToAppointmentEntityMapper = mock(AppointmentToAppointmentEntityMapper.class);
+		service.reactiveAppointmentRepository = mock(ReactiveAppointmentRepository.class);
+		service.cacheInvalidator = mock(CacheInvalidator.class);
+	}
+
+	@Test
+	void schedulesWithoutBoundsDoNotFilterByDate() {
+		service.getAppointmentsByCoachId("c1", null, null, PageRequest.of(0, 20)).blockLast();
+		assertEquals(new Document("coachId", "c1").append("eliminate", false), findQuery());
+
+		setUp();
+		service.getAppointmentsByAthleteId("a1", null, null, PageRequest.of(0, 20)).blockLast();
+		assertEquals(new Document("athleteId", "a1").append("eliminate", false), findQuery());
+	}
+
+	@Test
+	void schedulesFilterByTheBoundsGiven() {
+		LocalDateTime from = LocalDateTime.of(2024, 6, 1, 0, 0);
+		service.getAppointmentsByAthleteId("a1", from, null, PageRequest.of(0, 20)).blockLast();
+		assertEquals(new Document("athleteId", "a1").append("eliminate", false).append("date",
+				new Document("$gte", from)), findQuery());
+	}
+
+	@Test
+	void deletionEvictsTheCachedSchedules() {
+		AppointmentEntity entity = new AppointmentEntity();
+		entity.setId("ap1");
+		entity.setAthleteId("a1");
+		entity.setCoachId("c1");
+		when(service.reactiveAppointmentRepository.findByIdAndEliminate("ap1", false)).thenReturn(Mono.just(entity));
+		when(service.reactiveAppointmentRepository.save(entity)).thenReturn(Mono.just(entity));
+
+		service.deleteAppointment("ap1").block();
+
+		assertTrue(entity.isEliminate());
+		verify(service.cacheInvalidator).onDeleted("appointments", "ap1",
+				AppointmentRepositoryService.ownerScopes(entity));
+	}
+
+	Document findQuery() {
+		ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+		verify(reactiveMongoTemplate).find(query.capture(), eq(AppointmentEntity.class));
+		return query.getValue().getQueryObject();
+	}
+
+}
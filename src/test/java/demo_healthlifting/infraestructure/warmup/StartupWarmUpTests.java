@@ -0,0 +1,156 @@
+package demo_healthlifting.infraestructure.warmup;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.springframework.boot.Banner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.availability.ApplicationAvailabilityBean;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import demo_healthlifting.application.ports.output.AppointmentRepositoryOutputPort;
+import demo_healthlifting.application.ports.output.AthleteRepositoryOutputPort;
+import demo_healthlifting.application.ports.output.CoachRepositoryOutputPort;
+import demo_healthlifting.application.ports.output.TrainingSheetRepositoryOutputPort;
+import demo_healthlifting.infraestructure.apirest.mapper.AppointmentToAppointmentDtoMapper;
+import demo_healthlifting.infraestructure.apirest.mapper.AthleteToAthleteDtoMapper;
+import demo_healthlifting.infraestructure.apirest.mapper.CoachToCoachDtoMapper;
+import demo_healthlifting.infraestructure.apirest.mapper.TrainingSheetToTrainingSheetDtoMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@Timeout(10)
+class StartupWarmUpTests {
+
+	AthleteRepositoryOutputPort athleteRepository = mock(AthleteRepositoryOutputPort.class);
+
+	CoachRepositoryOutputPort coachRepository = mock(CoachRepositoryOutputPort.class);
+
+	AppointmentRepositoryOutputPort appointmentRepository = mock(AppointmentRepositoryOutputPort.class);
+
+	TrainingSheetRepositoryOutputPort trainingSheetRepository = mock(TrainingSheetRepositoryOutputPort.class);
+
+	MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	ApplicationAvailabilityBean availability = new ApplicationAvailabilityBean();
+
+	ExecutorService executor = Executors.newSingleThreadExecutor();
+
+	ConfigurableApplicationContext context;
+
+	@BeforeEach
+	void setUp() {
+		when(appointmentRepository.findAppointments(any(), any())).thenReturn(new SliceImpl<>(List.of()));
+		when(athleteRepository.getAthletes(any(Pageable.class))).thenReturn(Page.empty());
+		when(coachRepository.getCoaches(any(Pageable.class))).thenReturn(Page.empty());
+		when(appointmentRepository.getAppointments(any(Pageable.class))).thenReturn(Page.empty());
+		when(trainingSheetRepository.getTrainingSheets(any(Pageable.class))).thenReturn(Page.empty());
+	}
+
+	@AfterEach
+	void tearDown() {
+		executor.shutdownNow();
+		if (context != null) {
+			context.close();
+		}
+	}
+
+	@Test
+	void readinessIsRefusedUntilTheWarmUpFinishes() throws Exception {
+		CountDownLatch warmingUp = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		when(appointmentRepository.findAppointments(any(), any())).thenAnswer(invocation -> {
+			warmingUp.countDown();
+			release.await();
+			return new SliceImpl<>(List.of());
+		});
+
+		Future<ConfigurableApplicationContext> startup = executor.submit(this::start);
+		warmingUp.await();
+
+		assertEquals(ReadinessState.REFUSING_TRAFFIC, availability.getReadinessState());
+		release.countDown();
+		context = startup.get(5, TimeUnit.SECONDS);
+		assertEquals(ReadinessState.ACCEPTING_TRAFFIC, availability.getReadinessState());
+		assertEquals(1.0, progress());
+	}
+
+	@Test
+	void failingStepsDoNotKeepTheApplicationFromBeingReady() {
+		when(appointmentRepository.findAppointments(any(), any())).thenThrow(new IllegalStateException("mongo down"));
+		when(athleteRepository.getAthletes(any(Pageable.class))).thenThrow(new IllegalStateException("mongo down"));
+
+		context = start();
+
+		assertEquals(ReadinessState.ACCEPTING_TRAFFIC, availability.getReadinessState());
+		assertEquals(1.0, progress());
+		assertEquals(1, steps("appointments", "error"));
+		assertEquals(1, steps("pages", "error"));
+		assertEquals(1, steps("people", "success"));
+		assertEquals(1, steps("serialization", "success"));
+	}
+
+	/**
+	 * Starts an application with the warm-up and mocked repositories, which
+	 * reports its availability changes to {@link #availability}.
+	 */
+	ConfigurableApplicationContext start() {
+		SpringApplication application = new SpringApplication(StartupWarmUp.class);
+		application.setWebApplicationType(WebApplicationType.NONE);
+		application.setBannerMode(Banner.Mode.OFF);
+		application.addListeners(availability);
+		application.addInitializers(new ApplicationContextInitializer<GenericApplicationContext>() {
+
+			@Override
+			public void initialize(GenericApplicationContext context) {
+				context.registerBean(WarmUpProperties.class);
+				context.registerBean(AthleteRepositoryOutputPort.class, () -> athleteRepository);
+				context.registerBean(CoachRepositoryOutputPort.class, () -> coachRepository);
+				context.registerBean(AppointmentRepositoryOutputPort.class, () -> appointmentRepository);
+				context.registerBean(TrainingSheetRepositoryOutputPort.class, () -> trainingSheetRepository);
+				context.registerBean(AthleteToAthleteDtoMapper.class, () -> mock(AthleteToAthleteDtoMapper.class));
+				context.registerBean(CoachToCoachDtoMapper.class, () -> mock(CoachToCoachDtoMapper.class));
+				context.registerBean(AppointmentToAppointmentDtoMapper.class,
+						() -> mock(AppointmentToAppointmentDtoMapper.class));
+				context.registerBean(TrainingSheetToTrainingSheetDtoMapper.class,
+						() -> mock(TrainingSheetToTrainingSheetDtoMapper.class));
+				context.registerBean(ObjectMapper.class, () -> new ObjectMapper());
+				context.registerBean(MeterRegistry.class, () -> meterRegistry);
+			}
+
+		});
+		return application.run();
+	}
+
+	double progress() {
+		return meterRegistry.get("healthlifting.warmup.progress").gauge().value();
+	}
+
+	long steps(String step, String outcome) {
+		return meterRegistry.get("healthlifting.warmup.duration").tag("step", step).tag("outcome", outcome).timer()
+				.count();
+	}
+
+}